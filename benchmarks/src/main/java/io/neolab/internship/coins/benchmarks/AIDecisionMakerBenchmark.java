@@ -0,0 +1,64 @@
+package io.neolab.internship.coins.benchmarks;
+
+import io.neolab.internship.coins.ai_vika.bot.decision.AIDecisionMaker;
+import io.neolab.internship.coins.ai_vika.bot.decision.model.Decision;
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Решения AIBot. Ветви считаются в вызывающем потоке (исполнитель без пула),
+ * чтобы время не зависело от числа ядер и загрузки общего пула
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AIDecisionMakerBenchmark {
+    @Param({"3x4", "6x8", "10x10"})
+    private String boardSize;
+
+    @Param({"2", "4"})
+    private int playersCount;
+
+    private IGame game;
+    private Player player;
+    private AIDecisionMaker decisionMaker;
+
+    @Setup(Level.Trial)
+    public void setUp() throws AIBotException, CoinsException {
+        game = BenchmarkGames.createMiddleGame(boardSize, playersCount);
+        player = game.getPlayers().get(0);
+        GameLoopProcessor.updateAchievableCells(player, game.getBoard(), game.getPlayerToAchievableCells().get(player),
+                game.getOwnToCells().get(player), false);
+        decisionMaker = new AIDecisionMaker(AIDecisionMaker.DEFAULT_MAX_DEPTH,
+                AIDecisionMaker.DEFAULT_MAX_NODES_AMOUNT, 1, Runnable::run, 0);
+    }
+
+    @Benchmark
+    public Decision declineRace() {
+        return decisionMaker.getDeclineRaceDecision(player, game);
+    }
+
+    @Benchmark
+    public Decision chooseRace() {
+        return decisionMaker.getChooseRaceDecision(player, game);
+    }
+
+    @Benchmark
+    public Decision catchCell() {
+        return decisionMaker.getChooseCaptureCellDecision(player, game);
+    }
+
+    @Benchmark
+    public Decision distributionUnits() {
+        return decisionMaker.getDistributionUnitsDecision(player, game);
+    }
+}
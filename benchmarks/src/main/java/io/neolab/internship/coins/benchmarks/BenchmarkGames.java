@@ -0,0 +1,41 @@
+package io.neolab.internship.coins.benchmarks;
+
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.bim.bot.ai.SelfPlayEngine;
+import io.neolab.internship.coins.client.bot.IBot;
+import io.neolab.internship.coins.client.bot.SimpleBot;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.utils.RandomGenerator;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Позиции, на которых измеряются бенчмарки: партии простых ботов, сыгранные до середины игры
+ */
+class BenchmarkGames {
+    /* Столько раундов сыграно к началу измерений: у игроков уже есть клетки, юниты и монеты */
+    static final int PLAYED_ROUNDS_COUNT = 3;
+    private static final long SEED = 42; // одна и та же борда и партия при каждом запуске
+
+    /**
+     * @param boardSize    - размер борды вида "3x4"
+     * @param playersCount - число игроков
+     * @return игра в начале хода первого игрока после PLAYED_ROUNDS_COUNT раундов
+     * @throws AIBotException при ошибке бота
+     * @throws CoinsException при ошибке игры
+     */
+    static @NotNull IGame createMiddleGame(final @NotNull String boardSize, final int playersCount)
+            throws AIBotException, CoinsException {
+        RandomGenerator.setSeed(SEED);
+        final String[] sizes = boardSize.split("x");
+        final List<IBot> bots = new ArrayList<>(playersCount);
+        for (int i = 0; i < playersCount; i++) {
+            bots.add(new SimpleBot());
+        }
+        return SelfPlayEngine.playRounds(Integer.parseInt(sizes[0]), Integer.parseInt(sizes[1]), bots,
+                PLAYED_ROUNDS_COUNT);
+    }
+}
@@ -0,0 +1,43 @@
+package io.neolab.internship.coins.benchmarks;
+
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.IBoard;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Копирование игры и борды (так поиск ботов получает независимые позиции)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CopyBenchmark {
+    @Param({"3x4", "6x8", "10x10"})
+    private String boardSize;
+
+    @Param({"2", "4"})
+    private int playersCount;
+
+    private IGame game;
+
+    @Setup(Level.Trial)
+    public void setUp() throws AIBotException, CoinsException {
+        game = BenchmarkGames.createMiddleGame(boardSize, playersCount);
+    }
+
+    @Benchmark
+    public IGame gameCopy() {
+        return game.getCopy();
+    }
+
+    @Benchmark
+    public IBoard boardCopy() {
+        return game.getBoard().getCopy();
+    }
+}
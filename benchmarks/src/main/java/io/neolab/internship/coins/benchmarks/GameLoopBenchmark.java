@@ -0,0 +1,87 @@
+package io.neolab.internship.coins.benchmarks;
+
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.bim.bot.ai.ReversibleMoveProcessor;
+import io.neolab.internship.coins.bim.bot.ai.model.action.CatchCellAction;
+import io.neolab.internship.coins.client.bot.SimpleBot;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.GameCheckpoint;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.utils.Pair;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Правила игры: достижимые клетки, захват клетки и начисление монет.
+ * Все функции вызываются без логгирования, как в поиске ботов
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class GameLoopBenchmark {
+    private static final int CHOOSE_CELL_ATTEMPTS_COUNT = 100;
+
+    @Param({"3x4", "6x8", "10x10"})
+    private String boardSize;
+
+    @Param({"2", "4"})
+    private int playersCount;
+
+    private IGame game;
+    private Player player;
+    private CatchCellAction catchCellAction;
+
+    @Setup(Level.Trial)
+    public void setUp() throws AIBotException, CoinsException {
+        game = BenchmarkGames.createMiddleGame(boardSize, playersCount);
+        player = game.getPlayers().get(0);
+        GameLoopProcessor.updateAchievableCells(player, game.getBoard(), game.getPlayerToAchievableCells().get(player),
+                game.getOwnToCells().get(player), false);
+        final SimpleBot bot = new SimpleBot();
+        Pair<Position, List<Unit>> resolution = null;
+        for (int i = 0; i < CHOOSE_CELL_ATTEMPTS_COUNT && resolution == null; i++) {
+            resolution = bot.chooseCatchingCell(player, game); // бот случайно отказывается от захвата
+        }
+        if (resolution == null) {
+            throw new IllegalStateException("No cell to catch on board " + boardSize);
+        }
+        catchCellAction = new CatchCellAction(resolution);
+    }
+
+    @Benchmark
+    public Set<Cell> updateAchievableCells() {
+        final Set<Cell> achievableCells = game.getPlayerToAchievableCells().get(player);
+        GameLoopProcessor.updateAchievableCells(player, game.getBoard(), achievableCells,
+                game.getOwnToCells().get(player), false);
+        return achievableCells;
+    }
+
+    /**
+     * Захват клетки (через GameLoopProcessor.catchCell) вместе с откатом, который возвращает позицию
+     */
+    @Benchmark
+    public GameCheckpoint catchCell() throws CoinsException {
+        final GameCheckpoint undo = ReversibleMoveProcessor.makeMove(game, player, catchCellAction);
+        ReversibleMoveProcessor.unmakeMove(undo);
+        return undo;
+    }
+
+    @Benchmark
+    public int updateCoinsCount() {
+        player.setCoins(0); // монеты не копятся между вызовами
+        GameLoopProcessor.updateCoinsCount(player, game.getFeudalToCells().get(player), game.getGameFeatures(),
+                game.getBoard(), false);
+        return player.getCoins();
+    }
+}
@@ -0,0 +1,52 @@
+package io.neolab.internship.coins.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.common.message.server.ServerMessage;
+import io.neolab.internship.coins.common.message.server.ServerMessageType;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestion;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionType;
+import io.neolab.internship.coins.common.serialization.Communication;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Сериализация вопроса игроку с полной игрой - самого большого сообщения сервера
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+    @Param({"3x4", "6x8", "10x10"})
+    private String boardSize;
+
+    @Param({"2", "4"})
+    private int playersCount;
+
+    private PlayerQuestion playerQuestion;
+    private String json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws AIBotException, CoinsException, JsonProcessingException {
+        final IGame game = BenchmarkGames.createMiddleGame(boardSize, playersCount);
+        playerQuestion = new PlayerQuestion(ServerMessageType.GAME_QUESTION, PlayerQuestionType.CATCH_CELL, game,
+                game.getPlayers().get(0));
+        json = Communication.serializeServerMessage(playerQuestion);
+    }
+
+    @Benchmark
+    public String serializeServerMessage() throws JsonProcessingException {
+        return Communication.serializeServerMessage(playerQuestion);
+    }
+
+    @Benchmark
+    public ServerMessage deserializeServerMessage() throws JsonProcessingException {
+        return Communication.deserializeServerMessage(json);
+    }
+}
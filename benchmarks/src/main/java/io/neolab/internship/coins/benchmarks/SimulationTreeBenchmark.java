@@ -0,0 +1,51 @@
+package io.neolab.internship.coins.benchmarks;
+
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.ai.SimulationTreeCreator;
+import io.neolab.internship.coins.bim.bot.ai.model.NodeTree;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Построение симуляционного дерева SmartBot в начале хода. Дерево строится в одном потоке,
+ * чтобы время не зависело от числа ядер машины
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimulationTreeBenchmark {
+    @Param({"3x4", "6x8"})
+    private String boardSize;
+
+    @Param({"2", "4"})
+    private int playersCount;
+
+    @Param({"1", "2", "3"})
+    private int depth;
+
+    private IGame game;
+    private SimulationTreeCreator treeCreator;
+
+    @Setup(Level.Trial)
+    public void setUp() throws AIBotException, CoinsException {
+        game = BenchmarkGames.createMiddleGame(boardSize, playersCount);
+        treeCreator = new SimulationTreeCreator(FunctionType.MIN_MAX_VALUE_DIFFERENCE, 1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        treeCreator.close();
+    }
+
+    @Benchmark
+    public NodeTree createTree() {
+        return treeCreator.createTree(game, game.getPlayers().get(0), depth);
+    }
+}
@@ -19,7 +19,9 @@ public class AIClient extends Client {
     public static void main(final String[] args) throws AIBotException {
         try {
             final ClientConfigResource clientConfig = new ClientConfigResource();
-            new AIClient(clientConfig.getHost(), clientConfig.getPort()).startClient();
+            final AIClient client = new AIClient(clientConfig.getHost(), clientConfig.getPort());
+            client.setPreferredCodecType(clientConfig.getCodecType());
+            client.startClient();
         } catch (final CoinsException | NullPointerException exception) {
             LOGGER.error("Error!", exception);
         }
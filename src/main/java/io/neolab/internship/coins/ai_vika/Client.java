@@ -3,13 +3,19 @@ package io.neolab.internship.coins.ai_vika;
 import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
 import io.neolab.internship.coins.client.IClient;
 import io.neolab.internship.coins.client.bot.IBot;
+import io.neolab.internship.coins.client.bot.metrics.BotMetrics;
+import io.neolab.internship.coins.client.bot.metrics.MeasuredBot;
 import io.neolab.internship.coins.common.message.client.ClientMessage;
 import io.neolab.internship.coins.common.message.client.ClientMessageType;
+import io.neolab.internship.coins.common.message.client.GameReadyMessage;
 import io.neolab.internship.coins.common.message.client.answer.*;
 import io.neolab.internship.coins.common.message.server.GameOverMessage;
 import io.neolab.internship.coins.common.message.server.ServerMessage;
 import io.neolab.internship.coins.common.message.server.question.PlayerQuestion;
-import io.neolab.internship.coins.common.serialization.Communication;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionDelta;
+import io.neolab.internship.coins.common.serialization.codec.MessageCodec;
+import io.neolab.internship.coins.common.serialization.codec.MessageCodecType;
+import io.neolab.internship.coins.common.synchronization.GameStateSynchronizer;
 import io.neolab.internship.coins.exceptions.CoinsErrorCode;
 import io.neolab.internship.coins.exceptions.CoinsException;
 import io.neolab.internship.coins.server.service.GameLogger;
@@ -19,10 +25,7 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.*;
 import java.net.InetAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
@@ -36,12 +39,17 @@ public class Client implements IClient {
 
     protected Socket socket = null;
     protected BufferedReader keyboardReader = null; // поток чтения с консоли
-    protected BufferedReader in = null; // поток чтения из сокета
-    protected BufferedWriter out = null; // поток записи в сокет
+    protected InputStream in = null; // поток чтения из сокета
+    protected OutputStream out = null; // поток записи в сокет
+    protected @NotNull MessageCodec codec = MessageCodecType.JSON.getCodec(); // до handShake - всегда json
+    protected @NotNull MessageCodecType preferredCodecType = MessageCodecType.JSON; // кодек, запрашиваемый у сервера
 
     protected @NotNull String nickname = "";
 
     protected final @NotNull IBot bot;
+    protected final @NotNull BotMetrics botMetrics = new BotMetrics(); // время и работа поиска решений бота
+
+    protected final @NotNull GameStateSynchronizer gameStateSynchronizer = new GameStateSynchronizer();
 
     /**
      * Для создания необходимо принять адрес и номер порта
@@ -54,7 +62,7 @@ public class Client implements IClient {
             this.ip = ip;
             this.ipAddress = InetAddress.getByName(ip);
             this.port = port;
-            this.bot = bot;
+            this.bot = new MeasuredBot(bot, botMetrics);
         } catch (final UnknownHostException exception) {
             throw new CoinsException(CoinsErrorCode.CLIENT_CREATION_FAILED);
         }
@@ -103,11 +111,16 @@ public class Client implements IClient {
                 break;
             }
             case CONFIRMATION_OF_READINESS: {
-                sendMessage(new ClientMessage(ClientMessageType.GAME_READY));
+                sendMessage(new GameReadyMessage(preferredCodecType));
+                codec = preferredCodecType.getCodec();
                 break;
             }
             case GAME_QUESTION: {
-                sendMessage(getAnswer((PlayerQuestion) serverMessage));
+                sendMessage(getAnswer(gameStateSynchronizer.applySnapshot((PlayerQuestion) serverMessage)));
+                break;
+            }
+            case GAME_QUESTION_DELTA: {
+                sendMessage(getAnswer(gameStateSynchronizer.applyDelta((PlayerQuestionDelta) serverMessage)));
                 break;
             }
             case GAME_OVER: {
@@ -124,6 +137,15 @@ public class Client implements IClient {
         }
     }
 
+    /**
+     * Задать кодек сообщений, который клиент запросит у сервера при подтверждении готовности к игре
+     *
+     * @param preferredCodecType - тип кодека
+     */
+    public void setPreferredCodecType(final @NotNull MessageCodecType preferredCodecType) {
+        this.preferredCodecType = preferredCodecType;
+    }
+
     /**
      * Отправить сообщение серверу
      *
@@ -132,7 +154,7 @@ public class Client implements IClient {
      */
     private void sendMessage(final @NotNull ClientMessage message) throws IOException {
         LOGGER.info("Output message: {} ", message);
-        ClientServerProcessor.sendMessage(out, Communication.serializeClientMessage(message));
+        codec.writeClientMessage(out, message);
     }
 
     /**
@@ -164,8 +186,8 @@ public class Client implements IClient {
      */
     private void initIO() throws IOException {
         keyboardReader = new BufferedReader(new InputStreamReader(System.in, "CP866"));
-        in = ClientServerProcessor.initReaderBySocket(socket);
-        out = ClientServerProcessor.initWriterBySocket(socket);
+        in = ClientServerProcessor.initInputStreamBySocket(socket);
+        out = ClientServerProcessor.initOutputStreamBySocket(socket);
     }
 
     /**
@@ -175,7 +197,7 @@ public class Client implements IClient {
     private void serverInteract() throws AIBotException {
         try {
             while (true) {
-                processMessage(Communication.deserializeServerMessage(in.readLine())); // ждем сообщения с сервера
+                processMessage(codec.readServerMessage(in)); // ждем сообщения с сервера
             }
         } catch (final CoinsException | IOException exception) {
             if (!(exception instanceof CoinsException) ||
@@ -205,6 +227,7 @@ public class Client implements IClient {
         try {
             if (!socket.isClosed()) {
                 LOGGER.info("Service is downed");
+                LOGGER.info(botMetrics.getReport());
                 socket.close();
                 if (in != null) {
                     in.close();
@@ -1,10 +1,13 @@
 package io.neolab.internship.coins.ai_vika.bot;
 
+import io.neolab.internship.coins.ai_vika.bot.decision.AIDecisionMaker;
 import io.neolab.internship.coins.ai_vika.bot.decision.model.CatchCellDecision;
 import io.neolab.internship.coins.ai_vika.bot.decision.model.ChangeRaceDecision;
 import io.neolab.internship.coins.ai_vika.bot.decision.model.DeclineRaceDecision;
 import io.neolab.internship.coins.ai_vika.bot.decision.model.DistributionUnitsDecision;
-import io.neolab.internship.coins.client.bot.IBot;
+import io.neolab.internship.coins.ai_vika.bot.utils.ExecutorServiceProcessor;
+import io.neolab.internship.coins.client.bot.metrics.IMeasurableBot;
+import io.neolab.internship.coins.client.bot.metrics.SearchCounters;
 import io.neolab.internship.coins.server.game.IGame;
 import io.neolab.internship.coins.server.game.board.Position;
 import io.neolab.internship.coins.server.game.player.Player;
@@ -19,15 +22,46 @@ import org.slf4j.LoggerFactory;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-
-import static io.neolab.internship.coins.ai_vika.bot.decision.AIDecisionMaker.*;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Класс бота с ИИ
  */
-public class AIBot implements IBot {
+public class AIBot implements IMeasurableBot {
     private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(AIBot.class);
 
+    //общий для ботов по умолчанию пул, в котором параллельно считаются решения
+    private static final @NotNull ExecutorService DEFAULT_EXECUTOR = ExecutorServiceProcessor.createDaemonThreadPool(
+            Runtime.getRuntime().availableProcessors(), "ai-bot");
+    //время на одно решение по умолчанию в миллисекундах
+    private static final long DEFAULT_DECISION_TIMEOUT_MILLIS = 500;
+
+    private final @NotNull AIDecisionMaker decisionMaker;
+
+    public AIBot() {
+        this(DEFAULT_EXECUTOR, DEFAULT_DECISION_TIMEOUT_MILLIS);
+    }
+
+    /**
+     * @param executor              - пул, в котором параллельно считаются решения (бот его не завершает)
+     * @param decisionTimeoutMillis - время на одно решение в миллисекундах (0 - без ограничения)
+     */
+    public AIBot(@NotNull final ExecutorService executor, final long decisionTimeoutMillis) {
+        this(new AIDecisionMaker(AIDecisionMaker.DEFAULT_MAX_DEPTH, AIDecisionMaker.DEFAULT_MAX_NODES_AMOUNT,
+                Runtime.getRuntime().availableProcessors(), executor, decisionTimeoutMillis));
+    }
+
+    /**
+     * @param decisionMaker - симуляция принятия решений со своими настройками
+     */
+    public AIBot(@NotNull final AIDecisionMaker decisionMaker) {
+        this.decisionMaker = decisionMaker;
+    }
+
+    @Override
+    public @NotNull SearchCounters getSearchCounters() {
+        return decisionMaker.getSearchCounters();
+    }
 
     /**
      * Возвращает решение бота об упадке расы в игру для совершение хода
@@ -40,7 +74,7 @@ public class AIBot implements IBot {
     public boolean declineRaceChoose(@NotNull final Player player, @NotNull final IGame game) {
         LOGGER.debug("AI bot will decline race");
         final boolean choice;
-        final DeclineRaceDecision decision = (DeclineRaceDecision) getDeclineRaceDecision(player, game);
+        final DeclineRaceDecision decision = (DeclineRaceDecision) decisionMaker.getDeclineRaceDecision(player, game);
         choice = Objects.requireNonNull(decision).isDeclineRace();
         LOGGER.debug("AI bot decline race choice: {} ", choice);
         return choice;
@@ -57,7 +91,7 @@ public class AIBot implements IBot {
     public @NotNull Race chooseRace(@NotNull final Player player, @NotNull final IGame game) {
         LOGGER.debug("AI bot will choose race");
         final Race race;
-        final ChangeRaceDecision decision = (ChangeRaceDecision) getChooseRaceDecision(player, game);
+        final ChangeRaceDecision decision = (ChangeRaceDecision) decisionMaker.getChooseRaceDecision(player, game);
         race = Objects.requireNonNull(decision).getDecision();
         LOGGER.debug("AI bot choice race: {} ", race);
         return Objects.requireNonNull(race);
@@ -75,7 +109,7 @@ public class AIBot implements IBot {
                                                                    @NotNull final IGame game) {
         LOGGER.debug("AI bot will capture of cells");
         final Pair<Position, List<Unit>> captureCell;
-        final CatchCellDecision decision = (CatchCellDecision) getChooseCaptureCellDecision(player, game);
+        final CatchCellDecision decision = (CatchCellDecision) decisionMaker.getChooseCaptureCellDecision(player, game);
         captureCell = Objects.requireNonNull(decision).getDecision();
         LOGGER.debug("Resolution of AI bot: {}", captureCell);
         return captureCell;
@@ -94,7 +128,7 @@ public class AIBot implements IBot {
         LOGGER.debug("AI bot will distribute units");
         final Map<Position, List<Unit>> resolution;
         final DistributionUnitsDecision distributionUnitsDecision = (DistributionUnitsDecision)
-                getDistributionUnitsDecision(player, game);
+                decisionMaker.getDistributionUnitsDecision(player, game);
         resolution = Objects.requireNonNull(distributionUnitsDecision).getResolutions();
         LOGGER.debug("AI bot distributed units: {}", resolution);
         return Objects.requireNonNull(resolution);
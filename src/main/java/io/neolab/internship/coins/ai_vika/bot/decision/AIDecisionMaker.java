@@ -4,9 +4,11 @@ import io.neolab.internship.coins.ai_vika.bot.decision.model.*;
 import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
 import io.neolab.internship.coins.ai_vika.bot.exception.AIBotExceptionErrorCode;
 import io.neolab.internship.coins.ai_vika.bot.utils.AIDecisionMakerUtils;
-import io.neolab.internship.coins.ai_vika.bot.utils.ExecutorServiceProcessor;
 import io.neolab.internship.coins.client.bot.SimpleBot;
+import io.neolab.internship.coins.client.bot.metrics.SearchCounters;
+import io.neolab.internship.coins.server.game.Game;
 import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.ZobristHash;
 import io.neolab.internship.coins.server.game.board.Cell;
 import io.neolab.internship.coins.server.game.board.Position;
 import io.neolab.internship.coins.server.game.player.Player;
@@ -16,31 +18,112 @@ import io.neolab.internship.coins.server.service.GameLoopProcessor;
 import io.neolab.internship.coins.utils.AvailabilityType;
 import io.neolab.internship.coins.utils.Pair;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static io.neolab.internship.coins.ai_vika.bot.decision.AIDecisionSimulationProcessor.*;
 import static io.neolab.internship.coins.ai_vika.bot.utils.AIDecisionMakerUtils.isCatchCellPossible;
 import static io.neolab.internship.coins.utils.RandomGenerator.chooseItemFromList;
 
 /**
- * Симуляция принятия решений в ходе игры
+ * Симуляция принятия решений в ходе игры.
+ * Состояния игры между решениями не хранит - только накапливает счётчики поиска за всё время жизни
+ * (их можно пополнять из нескольких потоков), поэтому один экземпляр могут использовать несколько ботов сразу,
+ * но тогда счётчики у них общие
  */
 public class AIDecisionMaker {
 
+    public static final int DEFAULT_MAX_DEPTH = 1;
+    public static final int DEFAULT_MAX_NODES_AMOUNT = 100;
+
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(AIDecisionMaker.class);
+    //число случайных вариантов, которые оцениваются в каждом узле оппонента и в ходах на следующих раундах
+    private static final int SAMPLED_BRANCHES_AMOUNT = 2;
+    //доля времени на решение, после которой ходы дальше не раскрываются и оцениваются как листья
+    private static final double SEARCH_TIME_SHARE = 0.8;
+
     //глубина построения дерева (максимальное число раундов)
-    private static final int MAX_DEPTH = 1;
-    //игрок, относительно которого принимается решение
-    private static int playerId = 0;
+    private final int maxDepth;
+    //наибольшее число вариантов перераспределения юнитов, которые оцениваются в одном решении
+    private final int maxNodesAmount;
+    //наибольшее число потоков executor, которые одновременно занимает одно решение
+    private final int threadsAmount;
+    private final @NotNull Executor executor;
+    //время на одно решение в миллисекундах (0 - без ограничения)
+    private final long timeoutMillis;
+    //оценённые решения и копии игры всех решений этого экземпляра
+    private final @NotNull SearchCounters searchCounters = new SearchCounters();
 
-    private static final int MAX_NODES_AMOUNT = 100;
+    /**
+     * @param maxDepth       - глубина построения дерева (максимальное число раундов)
+     * @param maxNodesAmount - наибольшее число вариантов перераспределения юнитов в одном решении
+     * @param threadsAmount  - наибольшее число потоков executor, которые одновременно занимает одно решение
+     * @param executor       - исполнитель, в котором параллельно считаются решения
+     * @param timeoutMillis  - время на одно решение в миллисекундах (0 - без ограничения)
+     */
+    public AIDecisionMaker(final int maxDepth, final int maxNodesAmount, final int threadsAmount,
+                           @NotNull final Executor executor, final long timeoutMillis) {
+        if (maxDepth < 1 || maxNodesAmount < 1 || threadsAmount < 1 || timeoutMillis < 0) {
+            throw new IllegalArgumentException("Depth, nodes amount and threads amount must be positive");
+        }
+        this.maxDepth = maxDepth;
+        this.maxNodesAmount = maxNodesAmount;
+        this.threadsAmount = threadsAmount;
+        this.executor = executor;
+        this.timeoutMillis = timeoutMillis;
+    }
 
-    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(AIDecisionMaker.class);
+    public @NotNull SearchCounters getSearchCounters() {
+        return searchCounters;
+    }
+
+    /**
+     * Скопировать игру для оценки одного решения и учесть это в счётчиках
+     *
+     * @param game - текущее состояние игры
+     * @return копия игры
+     */
+    private @NotNull IGame copyGame(@NotNull final IGame game) {
+        searchCounters.incrementExpandedNodes();
+        searchCounters.incrementGameCopies();
+        return game.getCopy();
+    }
+
+    /**
+     * Общее состояние поиска одного решения: игрок, относительно которого принимается решение,
+     * срок, после которого ходы больше не раскрываются, и уже посчитанные оценки позиций.
+     * Ветви, которые ещё считаются после отмены решения, тоже перестают раскрывать ходы
+     */
+    private static class SearchContext {
+        private final int playerId;
+        private final long deadlineNanos;
+        //хэш позиции на начало хода и глубины -> выигрыш игрока относительно его монет в этой позиции
+        private final @NotNull Map<Long, Double> evaluations = new ConcurrentHashMap<>();
+        //отменено ли решение: его ветви больше не нужны
+        private volatile boolean isCancelled = false;
+
+        private SearchContext(final int playerId, final long timeoutMillis) {
+            this.playerId = playerId;
+            this.deadlineNanos = timeoutMillis > 0
+                    ? System.nanoTime() + (long) (timeoutMillis * SEARCH_TIME_SHARE * 1_000_000)
+                    : Long.MAX_VALUE;
+        }
+
+        private boolean isTimeOver() {
+            return isCancelled || System.nanoTime() >= deadlineNanos;
+        }
+
+        private void cancel() {
+            isCancelled = true;
+        }
+    }
 
     /**
      * Возвращает лучшее решение об упадке расы боту
@@ -49,8 +132,7 @@ public class AIDecisionMaker {
      * @param game   - игра
      * @return - решение
      */
-    public static Decision getDeclineRaceDecision(final Player player, final IGame game) {
-        playerId = player.getId();
+    public Decision getDeclineRaceDecision(final Player player, final IGame game) {
         //return Objects.requireNonNull(createDeclineRaceDecision(game, player, 0)).getDecision();
         return Objects.requireNonNull(executeBestDeclineRaceDecision(player, game));
     }
@@ -62,8 +144,7 @@ public class AIDecisionMaker {
      * @param game   - игра
      * @return - решение
      */
-    public static Decision getChooseRaceDecision(final Player player, final IGame game) {
-        playerId = player.getId();
+    public Decision getChooseRaceDecision(final Player player, final IGame game) {
         return Objects.requireNonNull(executeBestChangeRaceDecision(player, game));
         //return Objects.requireNonNull(createChangeRaceDecision(game, player, 0)).getDecision();
     }
@@ -76,8 +157,7 @@ public class AIDecisionMaker {
      * @param game   - игра
      * @return - решение
      */
-    public static Decision getChooseCaptureCellDecision(final Player player, final IGame game) {
-        playerId = player.getId();
+    public Decision getChooseCaptureCellDecision(final Player player, final IGame game) {
         return Objects.requireNonNull(executeBestCatchCellDecision(player, game));
         //return Objects.requireNonNull(createCatchCellDecision(game, player, 0)).getDecision();
     }
@@ -89,8 +169,7 @@ public class AIDecisionMaker {
      * @param game   - игра
      * @return - решение
      */
-    public static Decision getDistributionUnitsDecision(final Player player, final IGame game) {
-        playerId = player.getId();
+    public Decision getDistributionUnitsDecision(final Player player, final IGame game) {
         return Objects.requireNonNull(executeBestDistributionUnitsDecision(player, game));
         //return Objects.requireNonNull(createDistributionUnitsDecision(game, player, 0)).getDecision();
     }
@@ -102,24 +181,26 @@ public class AIDecisionMaker {
      * @param game         - игра
      * @param decisionType - тип нужного решения
      * @param currentDepth - текущая глубина дерева
+     * @param context      - состояние поиска
      * @return - информации о лучшем решении и соответствующем значении монет для этого решения
      * @throws AIBotException - тип решения не найден
      */
-    private static DecisionAndWin getBestDecisionByGameTree(final Player player, final IGame game,
-                                                            @NotNull final DecisionType decisionType,
-                                                            final int currentDepth) throws AIBotException {
+    private DecisionAndWin getBestDecisionByGameTree(final Player player, final IGame game,
+                                                     @NotNull final DecisionType decisionType,
+                                                     final int currentDepth,
+                                                     final @NotNull SearchContext context) throws AIBotException {
         switch (decisionType) {
             case DECLINE_RACE: {
-                return createDeclineRaceDecision(game, player, currentDepth);
+                return createDeclineRaceDecision(game, player, currentDepth, context);
             }
             case CHANGE_RACE: {
-                return createChangeRaceDecision(game, player, currentDepth);
+                return createChangeRaceDecision(game, player, currentDepth, context);
             }
             case CATCH_CELL: {
-                return createCatchCellDecision(game, player, currentDepth);
+                return createCatchCellDecision(game, player, currentDepth, context);
             }
             case DISTRIBUTION_UNITS: {
-                return createDistributionUnitsDecision(game, player, currentDepth);
+                return createDistributionUnitsDecision(game, player, currentDepth, context);
             }
             default:
                 throw new AIBotException(AIBotExceptionErrorCode.DECISION_NOT_EXISTS);
@@ -127,42 +208,54 @@ public class AIDecisionMaker {
     }
 
     /**
-     * Создает дерево решений об упадке расы и возвращает лучшее, используя ExecutorService
+     * Создает дерево решений об упадке расы и возвращает лучшее, считая ветви параллельно в executor
      *
      * @param player - игрок
      * @param game   - текущее состояние игры
      * @return - лучшее решение
      */
-    private static Decision executeBestDeclineRaceDecision(final Player player, final IGame game) {
-        final int DECLINE_RACE_THREADS_AMOUNT = 2;
-        final ExecutorService executorService = Executors.newFixedThreadPool(DECLINE_RACE_THREADS_AMOUNT);
-        final List<DecisionAndWin> decisionAndWins = Collections.synchronizedList(new LinkedList<>());
-        final boolean[] declineRaceTypes = {true, false};
-        for (final boolean declineRaceType : declineRaceTypes) {
-            final int currentDepth = 0;
-            executorService.execute(() ->
-                    addDeclineRaceDecision(declineRaceType, decisionAndWins, player, game, currentDepth));
+    private Decision executeBestDeclineRaceDecision(final Player player, final IGame game) {
+        final SearchContext context = new SearchContext(player.getId(), timeoutMillis);
+        final List<Supplier<DecisionAndWin>> decisionSuppliers = new ArrayList<>(2);
+        for (final boolean declineRaceType : getDeclineRaceTypes(game)) {
+            decisionSuppliers.add(() -> createDeclineRaceDecisionAndWin(declineRaceType, player, game, 0, context));
+        }
+        final List<DecisionAndWin> decisionAndWins = executeDecisions(decisionSuppliers, null, context);
+        if (decisionAndWins.isEmpty()) {
+            return new DeclineRaceDecision(new SimpleBot().declineRaceChoose(player, game));
         }
-        ExecutorServiceProcessor.completeExecutorService(executorService);
         return getBestDecision(decisionAndWins).getDecision();
     }
 
     /**
      * Создает решения об упадке расы
      *
-     * @param game   - игра
-     * @param player - игрок
+     * @param game    - игра
+     * @param player  - игрок
+     * @param context - состояние поиска
      * @return - информации о лучшем решении и соответствующем значении монет для этого решения
      */
-    private static @NotNull DecisionAndWin createDeclineRaceDecision(@NotNull final IGame game,
-                                                                     @NotNull final Player player,
-                                                                     final int currentDepth) {
-        final List<DecisionAndWin> decisionAndWins = Collections.synchronizedList(new LinkedList<>());
-        final boolean[] declineRaceTypes = {true, false};
-        for (final boolean declineRaceType : declineRaceTypes) {
-            addDeclineRaceDecision(declineRaceType, decisionAndWins, player, game, currentDepth);
+    private @NotNull DecisionAndWin createDeclineRaceDecision(@NotNull final IGame game,
+                                                              @NotNull final Player player,
+                                                              final int currentDepth,
+                                                              final @NotNull SearchContext context) {
+        final long key = ZobristHash.hash(game, player) * 31 + currentDepth;
+        final double rootPlayerCoins = getRootPlayerCoins(game, context);
+        final Double evaluation = context.evaluations.get(key);
+        if (evaluation != null) {
+            return new DecisionAndWin(null, new WinCollector(rootPlayerCoins + evaluation));
+        }
+        final List<DecisionAndWin> decisionAndWins = new ArrayList<>(2);
+        for (final boolean declineRaceType : getDeclineRaceTypes(game)) {
+            addIfNotNull(decisionAndWins,
+                    createDeclineRaceDecisionAndWin(declineRaceType, player, game, currentDepth, context));
+        }
+        final DecisionAndWin decisionAndWin = chooseDecision(decisionAndWins, player, game, context);
+        //после срока ходы оцениваются как листья: такая оценка неполная, и запоминать её нельзя
+        if (!context.isTimeOver()) {
+            context.evaluations.put(key, decisionAndWin.getWinCollector().getCoinsAmount() - rootPlayerCoins);
         }
-        return getBestDecision(decisionAndWins);
+        return decisionAndWin;
     }
 
 
@@ -170,123 +263,135 @@ public class AIDecisionMaker {
      * Создает решение об упадке расы
      *
      * @param declineRaceType - идем ли в упадок
-     * @param decisionAndWins - содержит все решения на данном этапе построения дерева
      * @param player          - игрок
      * @param game            - текущее состояние игры
+     * @param context         - состояние поиска
+     * @return - решение и соответствующее ему значение монет или null, если решение не удалось оценить
      */
-    private static void addDeclineRaceDecision(final boolean declineRaceType,
-                                               final List<DecisionAndWin> decisionAndWins, final Player player,
-                                               final IGame game, final int currentDepth) {
+    private DecisionAndWin createDeclineRaceDecisionAndWin(final boolean declineRaceType,
+                                                           final Player player, final IGame game,
+                                                           final int currentDepth,
+                                                           final @NotNull SearchContext context) {
         final Decision declineRaceDecision = new DeclineRaceDecision(declineRaceType);
         try {
-            final IGame gameCopy = game.getCopy();
+            final IGame gameCopy = copyGame(game);
             final Player playerCopy = AIDecisionMakerUtils.getPlayerCopy(gameCopy, player.getId());
             simulateDeclineRaceDecision(playerCopy, gameCopy,
                     (DeclineRaceDecision) declineRaceDecision);
             if (declineRaceType) {
                 final WinCollector winCollector = Objects.requireNonNull(
                         getBestDecisionByGameTree(playerCopy, gameCopy,
-                                DecisionType.CHANGE_RACE, currentDepth)).getWinCollector();
-                decisionAndWins.add(new DecisionAndWin(declineRaceDecision, winCollector));
+                                DecisionType.CHANGE_RACE, currentDepth, context)).getWinCollector();
+                return new DecisionAndWin(declineRaceDecision, winCollector);
             } else {
                 final WinCollector winCollector = Objects.requireNonNull(
                         getBestDecisionByGameTree(playerCopy, gameCopy,
-                                DecisionType.CATCH_CELL, currentDepth)).getWinCollector();
-                decisionAndWins.add(new DecisionAndWin(declineRaceDecision, winCollector));
+                                DecisionType.CATCH_CELL, currentDepth, context)).getWinCollector();
+                return new DecisionAndWin(declineRaceDecision, winCollector);
             }
         } catch (final AIBotException e) {
             e.printStackTrace();
+            return null;
         }
     }
 
     /**
-     * Создает дерево решений о выборе новой расы и возвращает лучшее, используя ExecutorService
+     * Создает дерево решений о выборе новой расы и возвращает лучшее, считая ветви параллельно в executor
      *
      * @param player - игрок
      * @param game   - текущее состояние игры
      * @return - лучшее решение
      */
-    private static Decision executeBestChangeRaceDecision(final Player player, final IGame game) {
+    private Decision executeBestChangeRaceDecision(final Player player, final IGame game) {
+        final SearchContext context = new SearchContext(player.getId(), timeoutMillis);
         final SimpleBot simpleBot = new SimpleBot();
         if (game.getCurrentRound() == 0) {
             return new ChangeRaceDecision(simpleBot.chooseRace(player, game));
         }
-        final List<DecisionAndWin> decisionAndWins = Collections.synchronizedList(new LinkedList<>());
         final List<Race> availableRaces = game.getRacesPool();
-        final int CHANGE_RACE_THREADS_AMOUNT = availableRaces.size();
-        final ExecutorService executorService = Executors.newFixedThreadPool(CHANGE_RACE_THREADS_AMOUNT);
-        availableRaces.forEach(race -> executorService.execute(() -> {
-                    final int currentDepth = 0;
-                    addChangeRaceDecision(race, decisionAndWins, player, game, currentDepth);
-                }
-        ));
-        ExecutorServiceProcessor.completeExecutorService(executorService);
+        final List<Supplier<DecisionAndWin>> decisionSuppliers = new ArrayList<>(availableRaces.size());
+        availableRaces.forEach(race -> {
+            decisionSuppliers.add(() -> createChangeRaceDecisionAndWin(race, player, game, 0, context));
+        });
+        final List<DecisionAndWin> decisionAndWins = executeDecisions(decisionSuppliers, null, context);
+        if (decisionAndWins.isEmpty()) {
+            return new ChangeRaceDecision(simpleBot.chooseRace(player, game));
+        }
         return getBestDecision(decisionAndWins).getDecision();
     }
 
     /**
      * Создает решения о смене расы
      *
-     * @param game   - игра
-     * @param player - игрок
+     * @param game    - игра
+     * @param player  - игрок
+     * @param context - состояние поиска
      * @return - информации о лучшем решении и соответствующем значении монет для этого решения
      */
-    private static @NotNull DecisionAndWin createChangeRaceDecision(@NotNull final IGame game,
-                                                                    @NotNull final Player player,
-                                                                    final int currentDepth) {
-        final List<DecisionAndWin> decisionAndWins = Collections.synchronizedList(new LinkedList<>());
-        final List<Race> availableRaces = game.getRacesPool();
-        availableRaces.forEach(race -> addChangeRaceDecision(race, decisionAndWins, player, game, currentDepth));
-        return getBestDecision(decisionAndWins);
+    private @NotNull DecisionAndWin createChangeRaceDecision(@NotNull final IGame game,
+                                                             @NotNull final Player player,
+                                                             final int currentDepth,
+                                                             final @NotNull SearchContext context) {
+        final List<Race> availableRaces = sampleBranches(game.getRacesPool(), player, currentDepth, context);
+        final List<DecisionAndWin> decisionAndWins = new ArrayList<>(availableRaces.size());
+        availableRaces.forEach(race ->
+                addIfNotNull(decisionAndWins,
+                        createChangeRaceDecisionAndWin(race, player, game, currentDepth, context)));
+        return chooseDecision(decisionAndWins, player, game, context);
     }
 
     /**
      * Создает решение о смене расы
      *
-     * @param race            - новая расв
-     * @param decisionAndWins - содержит все решения на данном этапе построения дерева
-     * @param player          - игрок
-     * @param game            - текущее состояние игры
-     * @param currentDepth    - текущая глубина дерева
+     * @param race         - новая расв
+     * @param player       - игрок
+     * @param game         - текущее состояние игры
+     * @param currentDepth - текущая глубина дерева
+     * @param context      - состояние поиска
+     * @return - решение и соответствующее ему значение монет или null, если решение не удалось оценить
      */
-    private static void addChangeRaceDecision(final Race race, final List<DecisionAndWin> decisionAndWins,
-                                              final Player player, final IGame game, final int currentDepth) {
-        final IGame gameCopy = game.getCopy();
+    private DecisionAndWin createChangeRaceDecisionAndWin(final Race race, final Player player,
+                                                          final IGame game, final int currentDepth,
+                                                          final @NotNull SearchContext context) {
+        final IGame gameCopy = copyGame(game);
         try {
             final Player playerCopy = AIDecisionMakerUtils.getPlayerCopy(gameCopy, player.getId());
             final Decision changeRaceDecision = new ChangeRaceDecision(race);
             simulateChangeRaceDecision(playerCopy, gameCopy, (ChangeRaceDecision) changeRaceDecision);
             final WinCollector winCollector = Objects.requireNonNull(getBestDecisionByGameTree(
-                    playerCopy, gameCopy, DecisionType.CATCH_CELL, currentDepth)).getWinCollector();
-            decisionAndWins.add(new DecisionAndWin(changeRaceDecision, winCollector));
+                    playerCopy, gameCopy, DecisionType.CATCH_CELL, currentDepth, context)).getWinCollector();
+            return new DecisionAndWin(changeRaceDecision, winCollector);
         } catch (final AIBotException e) {
             e.printStackTrace();
+            return null;
         }
     }
 
     /**
-     * Создает дерево решений о выборе клетки для захвата и возвращает лучшее, используя ExecutorService
+     * Создает дерево решений о выборе клетки для захвата и возвращает лучшее, считая ветви параллельно в executor.
+     * Решение о прекращении захвата считается в текущем потоке, пока ветви захвата считаются в executor,
+     * поэтому выбрать есть из чего и по истечении времени
      *
      * @param player - игрок
      * @param game   - текущее состояние игры
      * @return - лучшее решение
      */
-    private static Decision executeBestCatchCellDecision(final Player player, final IGame game) {
-        final List<DecisionAndWin> decisionAndWins = Collections.synchronizedList(new LinkedList<>());
+    private Decision executeBestCatchCellDecision(final Player player, final IGame game) {
+        final SearchContext context = new SearchContext(player.getId(), timeoutMillis);
         final Set<Cell> achievableCells = new HashSet<>(game.getPlayerToAchievableCells().get(player));
         GameLoopProcessor.updateAchievableCells(player, game.getBoard(), achievableCells,
                 game.getOwnToCells().get(player), false);
-        final int CATCH_CELL_THREADS_AMOUNT = achievableCells.size() + 1;
-        final ExecutorService executorService = Executors.newFixedThreadPool(CATCH_CELL_THREADS_AMOUNT);
-        achievableCells.forEach(cell -> executorService.execute(() -> {
+        final List<Supplier<DecisionAndWin>> decisionSuppliers = new ArrayList<>(achievableCells.size());
+        achievableCells.forEach(cell -> {
             if (AIDecisionMakerUtils.checkCellCaptureOpportunity(cell, player, game)) {
-                final int currentDepth = 0;
-                addCatchCellDecision(cell, decisionAndWins, player, game, currentDepth);
+                    decisionSuppliers.add(() -> createCatchCellDecisionAndWin(cell, player, game, 0, context));
             }
-        }));
-        final int currentDepth = 0;
-        addCatchCellNullDecision(decisionAndWins, player, game, currentDepth);
-        ExecutorServiceProcessor.completeExecutorService(executorService);
+        });
+        final List<DecisionAndWin> decisionAndWins = executeDecisions(decisionSuppliers,
+                () -> createCatchCellNullDecisionAndWin(player, game, 0, context), context);
+        if (decisionAndWins.isEmpty()) {
+            return new CatchCellDecision(null);
+        }
         return getBestDecision(decisionAndWins).getDecision();
     }
 
@@ -296,36 +401,41 @@ public class AIDecisionMaker {
      * @param game         - игра
      * @param player       - игрок
      * @param currentDepth - текущая глубина дерева
+     * @param context      - состояние поиска
      * @return - информации о лучшем решении и соответствующем значении монет для этого решения
      */
-    private static @NotNull DecisionAndWin createCatchCellDecision(@NotNull final IGame game,
-                                                                   @NotNull final Player player,
-                                                                   final int currentDepth) {
-        final List<DecisionAndWin> decisionAndWins = Collections.synchronizedList(new LinkedList<>());
+    private @NotNull DecisionAndWin createCatchCellDecision(@NotNull final IGame game,
+                                                            @NotNull final Player player,
+                                                            final int currentDepth,
+                                                            final @NotNull SearchContext context) {
+        final List<DecisionAndWin> decisionAndWins = new ArrayList<>();
         final Set<Cell> achievableCells = new HashSet<>(game.getPlayerToAchievableCells().get(player));
         GameLoopProcessor.updateAchievableCells(player, game.getBoard(), achievableCells,
                 game.getOwnToCells().get(player), false);
-        achievableCells.forEach(cell -> {
-                    if (AIDecisionMakerUtils.checkCellCaptureOpportunity(cell, player, game)) {
-                        addCatchCellDecision(cell, decisionAndWins, player, game, currentDepth);
-                    }
-                }
-        );
-        addCatchCellNullDecision(decisionAndWins, player, game, currentDepth);
-        return getBestDecision(decisionAndWins);
+        final List<Cell> catchingCells = achievableCells
+                .stream()
+                .filter(cell -> AIDecisionMakerUtils.checkCellCaptureOpportunity(cell, player, game))
+                .collect(Collectors.toList());
+        sampleBranches(catchingCells, player, currentDepth, context).forEach(cell ->
+                addIfNotNull(decisionAndWins,
+                        createCatchCellDecisionAndWin(cell, player, game, currentDepth, context)));
+        addIfNotNull(decisionAndWins, createCatchCellNullDecisionAndWin(player, game, currentDepth, context));
+        return chooseDecision(decisionAndWins, player, game, context);
     }
 
     /**
      * Создает решение о захвате клетки
      *
-     * @param cell            - клетка для захвата
-     * @param decisionAndWins - содержит все решения на данном этапе построения дерева
-     * @param player          - игрок
-     * @param game            - текущее состояние игры
-     * @param currentDepth    - текущая глубина дерева
+     * @param cell         - клетка для захвата
+     * @param player       - игрок
+     * @param game         - текущее состояние игры
+     * @param currentDepth - текущая глубина дерева
+     * @param context      - состояние поиска
+     * @return - решение и соответствующее ему значение монет или null, если захват невозможен
      */
-    private static void addCatchCellDecision(final Cell cell, final List<DecisionAndWin> decisionAndWins,
-                                             final Player player, final IGame game, final int currentDepth) {
+    private DecisionAndWin createCatchCellDecisionAndWin(final Cell cell, final Player player,
+                                                         final IGame game, final int currentDepth,
+                                                         final @NotNull SearchContext context) {
         final Position position = game.getBoard().getPositionByCell(cell);
         final List<Unit> unitsForCapture = new LinkedList<>(player.getUnitsByState(AvailabilityType.AVAILABLE));
         final List<Cell> controlledCells = game.getOwnToCells().get(player);
@@ -337,54 +447,58 @@ public class AIDecisionMaker {
                 cell, controlledCells);
         if (isCatchCellPossible(cell, unitsForCapture, game, player)) {
             final Decision decision = new CatchCellDecision(new Pair<>(position, unitsForCapture));
-            final IGame gameCopy = game.getCopy();
+            final IGame gameCopy = copyGame(game);
             try {
                 final Player playerCopy = AIDecisionMakerUtils.getPlayerCopy(gameCopy, player.getId());
                 simulateCatchCellDecision(playerCopy, gameCopy, (CatchCellDecision) decision);
                 final WinCollector winCollector = Objects.requireNonNull(
-                        getBestDecisionByGameTree(playerCopy, gameCopy, DecisionType.DISTRIBUTION_UNITS, currentDepth))
-                        .getWinCollector();
-                decisionAndWins.add(new DecisionAndWin(decision, winCollector));
+                        getBestDecisionByGameTree(playerCopy, gameCopy, DecisionType.DISTRIBUTION_UNITS,
+                                currentDepth, context)).getWinCollector();
+                return new DecisionAndWin(decision, winCollector);
             } catch (final AIBotException e) {
                 e.printStackTrace();
             }
         }
+        return null;
     }
 
     /**
      * Создает решение о прекращении захвата клеток
      *
-     * @param decisionAndWins - содержит все решения на данном этапе построения дерева
-     * @param player          - игрок
-     * @param game            - текущее состояние игры
-     * @param currentDepth    - текущая глубина дерева
+     * @param player       - игрок
+     * @param game         - текущее состояние игры
+     * @param currentDepth - текущая глубина дерева
+     * @param context      - состояние поиска
+     * @return - решение и соответствующее ему значение монет или null, если решение не удалось оценить
      */
-    private static void addCatchCellNullDecision(final List<DecisionAndWin> decisionAndWins, final Player player,
-                                                 final IGame game, final int currentDepth) {
-        final IGame gameCopy = game.getCopy();
+    private DecisionAndWin createCatchCellNullDecisionAndWin(final Player player, final IGame game,
+                                                             final int currentDepth,
+                                                             final @NotNull SearchContext context) {
+        final IGame gameCopy = copyGame(game);
         try {
             final Player playerCopy = AIDecisionMakerUtils.getPlayerCopy(gameCopy, player.getId());
             final Decision decision = new CatchCellDecision(null);
             final WinCollector winCollector = Objects.requireNonNull(getBestDecisionByGameTree(playerCopy, gameCopy,
-                    DecisionType.DISTRIBUTION_UNITS, currentDepth)).getWinCollector();
-            decisionAndWins.add(new DecisionAndWin(decision, winCollector));
+                    DecisionType.DISTRIBUTION_UNITS, currentDepth, context)).getWinCollector();
+            return new DecisionAndWin(decision, winCollector);
         } catch (final AIBotException e) {
             e.printStackTrace();
+            return null;
         }
     }
 
     /**
-     * Создает дерево решений о перераспределении юнитов и возвращает лучшее, используя ExecutorService
+     * Создает дерево решений о перераспределении юнитов и возвращает лучшее, считая ветви параллельно в executor
      *
      * @param player - игрок
      * @param game   - текущее состояние игры
      * @return - лучшее решение
      */
-    private static Decision executeBestDistributionUnitsDecision(final Player player, final IGame game) {
-        final List<DecisionAndWin> decisionAndWins = Collections.synchronizedList(new LinkedList<>());
+    private Decision executeBestDistributionUnitsDecision(final Player player, final IGame game) {
+        final SearchContext context = new SearchContext(player.getId(), timeoutMillis);
         final List<Cell> controlledCells = game.getOwnToCells().get(player);
         if (controlledCells.size() == 0) {
-            final List<DecisionAndWin> emptyDecisionList = Collections.synchronizedList(new LinkedList<>());
+            final List<DecisionAndWin> emptyDecisionList = new ArrayList<>(1);
             emptyDecisionList.add(new DecisionAndWin(new DistributionUnitsDecision(new HashMap<>()),
                     new WinCollector(player.getCoins())));
             return getBestDecision(emptyDecisionList).getDecision();
@@ -392,18 +506,15 @@ public class AIDecisionMaker {
         final Set<Unit> playerUnits = new HashSet<>();
         playerUnits.addAll(player.getUnitsByState(AvailabilityType.AVAILABLE));
         playerUnits.addAll(player.getUnitsByState(AvailabilityType.NOT_AVAILABLE));
-        final List<List<Pair<Cell, Integer>>> combinations = AIDecisionMakerUtils.getDistributionUnitsCombination(
-                new LinkedList<>(controlledCells), playerUnits.size());
-        final int DISTRIBUTION_UNITS_THREADS_AMOUNT = combinations.size();
-        final ExecutorService executorService = Executors.newFixedThreadPool(DISTRIBUTION_UNITS_THREADS_AMOUNT);
-        for (final List<Pair<Cell, Integer>> combination : combinations) {
-            executorService.execute(() -> {
-                final int currentDepth = 0;
-                addDistributionUnitsDecision(combination, player, game, decisionAndWins,
-                        new LinkedList<>(playerUnits), currentDepth);
-            });
+        final List<Supplier<DecisionAndWin>> decisionSuppliers = new ArrayList<>();
+        AIDecisionMakerUtils.getDistributionUnitsCombinations(game, player, controlledCells, playerUnits.size(),
+                maxNodesAmount)
+                .forEach(combination -> decisionSuppliers.add(() -> createDistributionUnitsDecisionAndWin(
+                        combination, player, game, new LinkedList<>(playerUnits), 0, context)));
+        final List<DecisionAndWin> decisionAndWins = executeDecisions(decisionSuppliers, null, context);
+        if (decisionAndWins.isEmpty()) {
+            return new DistributionUnitsDecision(new SimpleBot().distributionUnits(player, game));
         }
-        ExecutorServiceProcessor.completeExecutorService(executorService);
         return getBestDecision(decisionAndWins).getDecision();
     }
 
@@ -413,45 +524,46 @@ public class AIDecisionMaker {
      * @param game         - игра
      * @param player       - игрок
      * @param currentDepth - текущая глубина дерева
+     * @param context      - состояние поиска
      * @return - информации о лучшем решении и соответствующем значении монет для этого решения
      */
-    private static @NotNull DecisionAndWin createDistributionUnitsDecision(@NotNull final IGame game,
-                                                                           @NotNull final Player player,
-                                                                           final int currentDepth) {
-        final List<DecisionAndWin> decisionAndWins = Collections.synchronizedList(new LinkedList<>());
+    private @NotNull DecisionAndWin createDistributionUnitsDecision(@NotNull final IGame game,
+                                                                    @NotNull final Player player,
+                                                                    final int currentDepth,
+                                                                    final @NotNull SearchContext context) {
+        final List<DecisionAndWin> decisionAndWins = new ArrayList<>();
         final List<Cell> controlledCells = game.getOwnToCells().get(player);
-        LOGGER.info("Start create distribution units decisions...");
-        LOGGER.info("CONTROLLED CELLS SIZE: {}", controlledCells.size());
+        LOGGER.debug("Start create distribution units decisions...");
+        LOGGER.debug("CONTROLLED CELLS SIZE: {}", controlledCells.size());
         final Set<Unit> playerUnits = new HashSet<>();
         playerUnits.addAll(player.getUnitsByState(AvailabilityType.AVAILABLE));
         playerUnits.addAll(player.getUnitsByState(AvailabilityType.NOT_AVAILABLE));
-        if (controlledCells.size() == 0) {
-            final List<DecisionAndWin> emptyDecisionList = Collections.synchronizedList(new LinkedList<>());
-            emptyDecisionList.add(new DecisionAndWin(new DistributionUnitsDecision(new HashMap<>()),
-                    new WinCollector(player.getCoins())));
-            return getBestDecision(emptyDecisionList);
-        }
-        final List<List<Pair<Cell, Integer>>> combinations = AIDecisionMakerUtils.getDistributionUnitsCombination(
-                new LinkedList<>(controlledCells), playerUnits.size());
-        for (final List<Pair<Cell, Integer>> combination : combinations) {
-            addDistributionUnitsDecision(combination, player, game, decisionAndWins, new LinkedList<>(playerUnits), currentDepth);
-        }
-        LOGGER.info("DECISION AND WINS: {}", decisionAndWins);
-        return getBestDecision(decisionAndWins);
+        final Stream<List<Pair<Cell, Integer>>> combinations = controlledCells.isEmpty()
+                ? Stream.of(Collections.emptyList())
+                : AIDecisionMakerUtils.getDistributionUnitsCombinations(game, player, controlledCells,
+                playerUnits.size(),
+                isSampled(player, currentDepth, context) ? SAMPLED_BRANCHES_AMOUNT : maxNodesAmount);
+        combinations.forEach(combination -> decisionAndWins.add(createDistributionUnitsDecisionAndWin(
+                combination, player, game, new LinkedList<>(playerUnits), currentDepth, context)));
+        LOGGER.debug("DECISION AND WINS: {}", decisionAndWins);
+        return chooseDecision(decisionAndWins, player, game, context);
     }
 
     /**
      * Создает решение о перераспределении юнитов
      *
-     * @param combination     - комбинация перераспределения
-     * @param decisionAndWins - содержит все решения на данном этапе построения дерева
-     * @param player          - игрок
-     * @param game            - текущее состояние игры
+     * @param combination - комбинация перераспределения
+     * @param player      - игрок
+     * @param game        - текущее состояние игры
+     * @param context     - состояние поиска
+     * @return - решение и соответствующее ему значение монет
      */
-    private static void addDistributionUnitsDecision(final List<Pair<Cell, Integer>> combination, final Player player,
-                                                     final IGame game, final List<DecisionAndWin> decisionAndWins,
-                                                     final List<Unit> playerUnits, final int currentDepth) {
-        final IGame gameCopy = game.getCopy();
+    private DecisionAndWin createDistributionUnitsDecisionAndWin(final List<Pair<Cell, Integer>> combination,
+                                                                 final Player player, final IGame game,
+                                                                 final List<Unit> playerUnits,
+                                                                 final int currentDepth,
+                                                                 final @NotNull SearchContext context) {
+        final IGame gameCopy = copyGame(game);
         final Player playerCopy = AIDecisionMakerUtils.getPlayerCopy(gameCopy, player.getId());
         final Map<Position, List<Unit>> resolutions = new HashMap<>();
         combination
@@ -462,19 +574,85 @@ public class AIDecisionMaker {
         final Decision decision = new DistributionUnitsDecision(resolutions);
         simulateDistributionUnitsDecision((DistributionUnitsDecision) decision, playerCopy, gameCopy);
         updateDecisionNodeCoinsAmount(gameCopy, playerCopy);
-           /* LOGGER.info("CURRENT DEPTH: {}", currentDepth);
-            LOGGER.info("IS CURRENT PLAYER: {}", playerCopy.getId() != playerId);
-            LOGGER.info("IS FINISHED: {}", isDecisionTreeCreationFinished(currentDepth, playerCopy));
-            if (isDecisionTreeCreationFinished(currentDepth, playerCopy)) {
-                decisionAndWins.add(new DecisionAndWin(decision, new WinCollector(playerCopy.getCoins())));
+        final int nextDepth = isOpponent(playerCopy, context.playerId) ? currentDepth : currentDepth + 1;
+        final Player nextPlayer = getNextPlayer(gameCopy, playerCopy.getId());
+        final boolean isNewRound = gameCopy.getPlayers().indexOf(nextPlayer) == 0;
+        if (isDecisionTreeCreationFinished(nextDepth, gameCopy, isNewRound, context)) {
+            return new DecisionAndWin(decision, new WinCollector(getRootPlayerCoins(gameCopy, context)));
+        }
+        if (isNewRound) {
+            gameCopy.incrementCurrentRound();
+        }
+        final WinCollector winCollector = createDeclineRaceDecision(gameCopy, nextPlayer, nextDepth, context)
+                .getWinCollector();
+        return new DecisionAndWin(decision, winCollector);
+    }
+
+    /**
+     * Считает решения в executor, занимая не больше threadsAmount его потоков: ветви делятся между задачами,
+     * и каждая задача считает свои ветви по очереди. Пока ветви считаются, текущий поток считает свое решение.
+     * Ждет не дольше timeoutMillis, после чего решение отменяется: оставшиеся ветви уже не начинаются,
+     * а начатые перестают раскрывать ходы и не попадают в выбор
+     *
+     * @param decisionSuppliers     - расчеты решений в executor
+     * @param currentThreadSupplier - расчет решения в текущем потоке или null
+     * @param context               - состояние поиска
+     * @return - посчитанные решения
+     */
+    private List<DecisionAndWin> executeDecisions(final List<Supplier<DecisionAndWin>> decisionSuppliers,
+                                                  final @Nullable Supplier<DecisionAndWin> currentThreadSupplier,
+                                                  final @NotNull SearchContext context) {
+        final long startNanos = System.nanoTime();
+        final Queue<DecisionAndWin> results = new ConcurrentLinkedQueue<>();
+        final int tasksAmount = Math.min(threadsAmount, decisionSuppliers.size());
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(tasksAmount);
+        for (int i = 0; i < tasksAmount; i++) {
+            final int firstIndex = i;
+            futures.add(CompletableFuture.runAsync(() -> {
+                for (int j = firstIndex; j < decisionSuppliers.size() && !context.isCancelled; j += tasksAmount) {
+                    final DecisionAndWin decisionAndWin = decisionSuppliers.get(j).get();
+                    if (decisionAndWin != null && !context.isCancelled) {
+                        results.add(decisionAndWin);
+                    }
+                }
+            }, executor));
+        }
+        try {
+            if (currentThreadSupplier != null) {
+                addIfNotNull(results, currentThreadSupplier.get());
+            }
+            final CompletableFuture<Void> allFutures =
+                    CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]));
+            if (timeoutMillis > 0) {
+                allFutures.get(Math.max(0, TimeUnit.MILLISECONDS.toNanos(timeoutMillis)
+                        - (System.nanoTime() - startNanos)), TimeUnit.NANOSECONDS);
             } else {
-                final int newDepth = currentDepth + 1;
-                final Player nextPlayer = getNextPlayer(gameCopy, playerCopy.getId());
-                final WinCollector winCollector = Objects.requireNonNull(getBestDecisionByGameTree(nextPlayer,
-                        gameCopy, DecisionType.DECLINE_RACE, newDepth)).getWinCollector();
-                decisionAndWins.add(new DecisionAndWin(decision, winCollector));
-          }*/
-        decisionAndWins.add(new DecisionAndWin(decision, new WinCollector(playerCopy.getCoins())));
+                allFutures.get();
+            }
+        } catch (final TimeoutException e) {
+            LOGGER.warn("Decisions are not completed in {} ms", timeoutMillis);
+        } catch (final ExecutionException e) {
+            LOGGER.error("Decision simulation failed: {}", e.getMessage());
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            context.cancel();
+            futures.forEach(future -> future.cancel(false)); // не начатые задачи не запустятся
+        }
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Добавляет решение в список, если оно есть
+     *
+     * @param decisionAndWins - решения
+     * @param decisionAndWin  - решение или null
+     */
+    private static void addIfNotNull(final Collection<DecisionAndWin> decisionAndWins,
+                                     final DecisionAndWin decisionAndWin) {
+        if (decisionAndWin != null) {
+            decisionAndWins.add(decisionAndWin);
+        }
     }
 
     /**
@@ -484,8 +662,9 @@ public class AIDecisionMaker {
      * @return - лучшее решение
      */
     private static DecisionAndWin getBestDecision(@NotNull final List<DecisionAndWin> decisionAndWins) {
-        decisionAndWins.sort(Comparator.comparingInt(o -> o.getWinCollector().getCoinsAmount()));
-        final int maxCoinsAmount = decisionAndWins.get(decisionAndWins.size() - 1).getWinCollector().getCoinsAmount();
+        decisionAndWins.sort(Comparator.comparingDouble(o -> o.getWinCollector().getCoinsAmount()));
+        final double maxCoinsAmount = decisionAndWins.get(decisionAndWins.size() - 1).getWinCollector()
+                .getCoinsAmount();
         final List<DecisionAndWin> bestDecisions = decisionAndWins
                 .stream()
                 .filter(decisionTreeNode -> decisionTreeNode.getWinCollector().getCoinsAmount() == maxCoinsAmount)
@@ -494,23 +673,114 @@ public class AIDecisionMaker {
     }
 
     /**
-     * Закончено ли построение всего дерева решений: последний игрок совершил последний ход
+     * Закончено ли построение дерева решений: игрок, относительно которого принимается решение,
+     * сделал maxDepth ходов, игра закончилась или истекло время на решение
      *
-     * @param currentDepth - текущая глубина дерева
-     * @param player       - текущий игрок, принимающий решение
+     * @param nextDepth  - число законченных ходов игрока, относительно которого принимается решение
+     * @param game       - игра после хода
+     * @param isNewRound - начинается ли следующим ходом новый раунд
+     * @param context    - состояние поиска
      * @return - закончено ли построение дерева
      */
-    private static boolean isDecisionTreeCreationFinished(final int currentDepth, final Player player) {
-        return currentDepth >= MAX_DEPTH && player.getId() != playerId;
+    private boolean isDecisionTreeCreationFinished(final int nextDepth, @NotNull final IGame game,
+                                                   final boolean isNewRound,
+                                                   @NotNull final SearchContext context) {
+        return nextDepth >= maxDepth
+                || isNewRound && game.getCurrentRound() >= Game.ROUNDS_COUNT
+                || context.isTimeOver();
+    }
+
+    /**
+     * Выбирает решение в узле дерева: игрок, относительно которого принимается решение, берет лучшее,
+     * а ход оппонента оценивается средним по его вариантам (оппонент выбирает любой из них с равной вероятностью)
+     *
+     * @param decisionAndWins - оцененные решения
+     * @param player          - игрок, принимающий решение
+     * @param game            - игра
+     * @param context         - состояние поиска
+     * @return - решение и его оценка (без решения, если выбирать не из чего)
+     */
+    private static @NotNull DecisionAndWin chooseDecision(@NotNull final List<DecisionAndWin> decisionAndWins,
+                                                          @NotNull final Player player, @NotNull final IGame game,
+                                                          @NotNull final SearchContext context) {
+        if (decisionAndWins.isEmpty()) {
+            return new DecisionAndWin(null, new WinCollector(getRootPlayerCoins(game, context)));
+        }
+        if (!isOpponent(player, context.playerId)) {
+            return getBestDecision(decisionAndWins);
+        }
+        final double averageCoinsAmount = decisionAndWins
+                .stream()
+                .mapToDouble(decisionAndWin -> decisionAndWin.getWinCollector().getCoinsAmount())
+                .average()
+                .orElseThrow();
+        return new DecisionAndWin(null, new WinCollector(averageCoinsAmount));
+    }
+
+    /**
+     * Оставляет не больше SAMPLED_BRANCHES_AMOUNT случайных вариантов в узлах оппонентов
+     * и в ходах на следующих раундах. Текущий ход игрока, относительно которого принимается решение,
+     * перебирается полностью
+     *
+     * @param branches     - варианты
+     * @param player       - игрок, принимающий решение
+     * @param currentDepth - текущая глубина дерева
+     * @param context      - состояние поиска
+     * @param <T>          - тип варианта
+     * @return - варианты для оценки
+     */
+    private static <T> List<T> sampleBranches(final List<T> branches, @NotNull final Player player,
+                                              final int currentDepth, @NotNull final SearchContext context) {
+        if (!isSampled(player, currentDepth, context) || branches.size() <= SAMPLED_BRANCHES_AMOUNT) {
+            return branches;
+        }
+        final List<T> shuffledBranches = new ArrayList<>(branches);
+        Collections.shuffle(shuffledBranches);
+        return shuffledBranches.subList(0, SAMPLED_BRANCHES_AMOUNT);
+    }
+
+    /**
+     * Оцениваются ли в узле только случайные варианты: узлы оппонентов и ходы на следующих раундах
+     *
+     * @param player       - игрок, принимающий решение
+     * @param currentDepth - текущая глубина дерева
+     * @param context      - состояние поиска
+     * @return - оцениваются ли только случайные варианты
+     */
+    private static boolean isSampled(@NotNull final Player player, final int currentDepth,
+                                     @NotNull final SearchContext context) {
+        return currentDepth > 0 || isOpponent(player, context.playerId);
+    }
+
+    /**
+     * Возвращает варианты решения об упадке: уходить в упадок можно, только если есть свободные расы
+     *
+     * @param game - игра
+     * @return - варианты решения
+     */
+    private static boolean[] getDeclineRaceTypes(@NotNull final IGame game) {
+        return game.getRacesPool().isEmpty() ? new boolean[]{false} : new boolean[]{true, false};
+    }
+
+    /**
+     * Возвращает монеты игрока, относительно которого принимается решение
+     *
+     * @param game    - игра
+     * @param context - состояние поиска
+     * @return - монеты игрока
+     */
+    private static double getRootPlayerCoins(@NotNull final IGame game, @NotNull final SearchContext context) {
+        return AIDecisionMakerUtils.getPlayerCopy(game, context.playerId).getCoins();
     }
 
     /**
      * Проверяет, является ли игрок, совершающий ход, оппонентом
      *
-     * @param player - игрок для проверки
+     * @param player   - игрок для проверки
+     * @param playerId - id игрока, относительно которого принимается решение
      * @return - оппонент/не оппонент
      */
-    private static boolean isOpponent(@NotNull final Player player) {
+    private static boolean isOpponent(@NotNull final Player player, final int playerId) {
         return player.getId() != playerId;
     }
 
@@ -3,17 +3,17 @@ package io.neolab.internship.coins.ai_vika.bot.decision.model;
 import java.util.Objects;
 
 public class WinCollector {
-    private int coinsAmount;
+    private double coinsAmount;
 
-    public WinCollector(final int coinsAmount) {
+    public WinCollector(final double coinsAmount) {
         this.coinsAmount = coinsAmount;
     }
 
-    public int getCoinsAmount() {
+    public double getCoinsAmount() {
         return coinsAmount;
     }
 
-    public void setCoinsAmount(final int coinsAmount) {
+    public void setCoinsAmount(final double coinsAmount) {
         this.coinsAmount = coinsAmount;
     }
 
@@ -22,7 +22,7 @@ public class WinCollector {
         if (this == o) return true;
         if (!(o instanceof WinCollector)) return false;
         final WinCollector that = (WinCollector) o;
-        return getCoinsAmount() == that.getCoinsAmount();
+        return Double.compare(getCoinsAmount(), that.getCoinsAmount()) == 0;
     }
 
     @Override
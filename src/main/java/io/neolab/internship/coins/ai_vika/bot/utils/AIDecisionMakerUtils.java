@@ -5,12 +5,15 @@ import io.neolab.internship.coins.server.game.board.Cell;
 import io.neolab.internship.coins.server.game.feature.GameFeatures;
 import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
 import io.neolab.internship.coins.utils.AvailabilityType;
+import io.neolab.internship.coins.utils.CompositionIterator;
 import io.neolab.internship.coins.utils.Pair;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Stream;
 
 import static io.neolab.internship.coins.server.service.GameLoopProcessor.getBonusAttackToCatchCell;
 import static io.neolab.internship.coins.server.service.GameLoopProcessor.getUnitsCountNeededToCatchCell;
@@ -39,38 +42,32 @@ public class AIDecisionMakerUtils {
     }
 
     /**
-     * Рекурсивная функция, которая возвращает всевозможные комбинации
-     * (клетка; количество юнитов, отправляемых в клетку)
+     * Возвращает комбинации (клетка; количество юнитов, отправляемых в клетку), в которых отправлены все юниты.
+     * Остальные комбинации не выгоднее их: лишний юнит в клетке не мешает, а клетка без юнитов теряется.
+     * Равноценные клетки (см. GameLoopProcessor.getDistributionClasses) не различаются,
+     * а если комбинаций больше maxAmount, берутся случайные
      *
-     * @param cellForDistribution  - клетки, для которых нужно решить сколько юнитов туда отправлять
-     * @param remainingUnitsAmount - оставшееся количество юнитов
-     * @return - всевозможные комбинации клетка->количество юнитов для нее
+     * @param game                - игра
+     * @param player              - игрок, отправляющий юнитов
+     * @param cellForDistribution - клетки игрока, для которых нужно решить сколько юнитов туда отправлять
+     * @param unitsAmount         - количество юнитов
+     * @param maxAmount           - наибольшее количество комбинаций
+     * @return - поток комбинаций клетка->количество юнитов для нее
      */
     @NotNull
-    public static List<List<Pair<Cell, Integer>>> getDistributionUnitsCombination(final List<Cell> cellForDistribution,
-                                                                                  final int remainingUnitsAmount) {
-        final List<List<Pair<Cell, Integer>>> combinations = new LinkedList<>();
-        if (!cellForDistribution.isEmpty()) {
-            final Cell cell = cellForDistribution.get(0);
-            for (int i = remainingUnitsAmount; i >= 0; i--) {
-                final List<Cell> cellForDistributionCopy = new LinkedList<>(cellForDistribution);
-                cellForDistributionCopy.remove(cell);
-                if (cellForDistributionCopy.isEmpty()) {
-                    final List<Pair<Cell, Integer>> currentDistribution = new LinkedList<>();
-                    currentDistribution.add(new Pair<>(cell, i));
-                    combinations.add(currentDistribution);
-                    i = 0;
-                    continue;
-                }
-                final List<List<Pair<Cell, Integer>>> remainingCombinations = getDistributionUnitsCombination(
-                        cellForDistributionCopy, remainingUnitsAmount - i);
-                final int unitsAmount = i;
-                remainingCombinations.forEach(remainingCombination
-                        -> remainingCombination.add(new Pair<>(cell, unitsAmount)));
-                combinations.addAll(remainingCombinations);
-            }
-        }
-        return combinations;
+    public static Stream<List<Pair<Cell, Integer>>> getDistributionUnitsCombinations(
+            final IGame game, final Player player, final List<Cell> cellForDistribution, final int unitsAmount,
+            final int maxAmount) {
+        return CompositionIterator.limitedStream(unitsAmount, cellForDistribution.size(), 0,
+                GameLoopProcessor.getDistributionClasses(game.getBoard(), game.getOwnToCells(), player,
+                        cellForDistribution), maxAmount)
+                .map(composition -> {
+                    final List<Pair<Cell, Integer>> combination = new ArrayList<>(composition.length);
+                    for (int i = 0; i < composition.length; i++) {
+                        combination.add(new Pair<>(cellForDistribution.get(i), composition[i]));
+                    }
+                    return combination;
+                });
     }
 
     /**
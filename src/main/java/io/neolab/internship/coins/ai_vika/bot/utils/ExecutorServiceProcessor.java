@@ -1,10 +1,31 @@
 package io.neolab.internship.coins.ai_vika.bot.utils;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class ExecutorServiceProcessor {
 
+    /**
+     * Создает долгоживущий пул потоков фиксированного размера. Потоки - демоны,
+     * поэтому пул, который никто не завершил, не мешает завершению программы
+     *
+     * @param threadsAmount - число потоков
+     * @param namePrefix    - префикс имени потоков
+     * @return - пул потоков
+     */
+    public static ExecutorService createDaemonThreadPool(final int threadsAmount, final String namePrefix) {
+        final AtomicInteger threadNumber = new AtomicInteger();
+        final ThreadFactory threadFactory = runnable -> {
+            final Thread thread = new Thread(runnable, namePrefix + "-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(Math.max(1, threadsAmount), threadFactory);
+    }
+
     /**
      * Корректно завершает работу executorService
      * @param executorService - executor Service
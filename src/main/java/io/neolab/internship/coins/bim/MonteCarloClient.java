@@ -0,0 +1,47 @@
+package io.neolab.internship.coins.bim;
+
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.bim.bot.MonteCarloBot;
+import io.neolab.internship.coins.bim.bot.ai.SelfPlayEngine;
+import io.neolab.internship.coins.client.ClientConfigResource;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.Collections;
+
+public class MonteCarloClient extends Client {
+    /**
+     * @param ip               - ip адрес клиента
+     * @param port             - порт соединения
+     * @param timeBudgetMillis - время на одно решение бота в миллисекундах
+     */
+    private MonteCarloClient(final @NotNull String ip, final int port, final long timeBudgetMillis)
+            throws CoinsException {
+        super(ip, port, new MonteCarloBot(0, timeBudgetMillis, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public static void main(final String[] args) throws AIBotException {
+        try {
+            final ClientConfigResource clientConfig = new ClientConfigResource();
+            final BufferedReader keyboardReader =
+                    new BufferedReader(
+                            new InputStreamReader(
+                                    System.in, "CP866"));
+            System.out.println("Enter time budget of bot decision in millis: ");
+            final long botTimeBudgetMillis = Long.parseLong(keyboardReader.readLine());
+            final MonteCarloClient client = new MonteCarloClient(clientConfig.getHost(), clientConfig.getPort(),
+                    botTimeBudgetMillis);
+            client.setPreferredCodecType(clientConfig.getCodecType());
+            try {
+                client.startClient();
+            } finally {
+                SelfPlayEngine.closeBots(Collections.singletonList(client.bot));
+            }
+        } catch (final CoinsException | IOException | IllegalArgumentException | NullPointerException exception) {
+            LOGGER.error("Error!", exception);
+        }
+    }
+}
@@ -22,6 +22,7 @@ public class SimpleClient extends Client {
         try {
             final ClientConfigResource clientConfig = new ClientConfigResource();
             final Client client = new SimpleClient(clientConfig.getHost(), clientConfig.getPort());
+            client.setPreferredCodecType(clientConfig.getCodecType());
             client.startClient();
         } catch (final CoinsException | AIBotException exception) {
             LOGGER.error("Error!", exception);
@@ -4,12 +4,15 @@ import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
 import io.neolab.internship.coins.client.ClientConfigResource;
 import io.neolab.internship.coins.bim.bot.SmartBot;
 import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.SearchType;
+import io.neolab.internship.coins.bim.bot.ai.SelfPlayEngine;
 import io.neolab.internship.coins.exceptions.CoinsException;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.Collections;
 
 public class SmartClient extends Client {
     /**
@@ -17,11 +20,14 @@ public class SmartClient extends Client {
      * @param port             - порт соединения
      * @param botFunctionType  - тип бота для клиента
      * @param smartBotMaxDepth - максимальная глубина бота для клиента
+     * @param timeBudgetMillis - время на одно решение бота (0 - поиск на фиксированную глубину)
      */
     private SmartClient(final @NotNull String ip, final int port, final @NotNull FunctionType botFunctionType,
-                        final int smartBotMaxDepth)
+                        final int smartBotMaxDepth, final long timeBudgetMillis)
             throws CoinsException {
-        super(ip, port, new SmartBot(smartBotMaxDepth, botFunctionType));
+        super(ip, port, timeBudgetMillis > 0
+                ? new SmartBot(smartBotMaxDepth, botFunctionType, SearchType.ITERATIVE_DEEPENING, timeBudgetMillis)
+                : new SmartBot(smartBotMaxDepth, botFunctionType));
     }
 
     public static void main(final String[] args) throws AIBotException {
@@ -44,8 +50,16 @@ public class SmartClient extends Client {
             final int botType = Integer.parseInt(keyboardReader.readLine());
             System.out.println("Enter max depth of bot: ");
             final int botMaxDepth = Integer.parseInt(keyboardReader.readLine());
-            new SmartClient(clientConfig.getHost(), clientConfig.getPort(),
-                    FunctionType.values()[botType - 1], botMaxDepth).startClient();
+            System.out.println("Enter time budget of bot decision in millis (0 - fixed depth): ");
+            final long botTimeBudgetMillis = Long.parseLong(keyboardReader.readLine());
+            final SmartClient client = new SmartClient(clientConfig.getHost(), clientConfig.getPort(),
+                    FunctionType.values()[botType - 1], botMaxDepth, botTimeBudgetMillis);
+            client.setPreferredCodecType(clientConfig.getCodecType());
+            try {
+                client.startClient();
+            } finally {
+                SelfPlayEngine.closeBots(Collections.singletonList(client.bot));
+            }
         } catch (final CoinsException | IOException | NullPointerException exception) {
             LOGGER.error("Error!", exception);
         }
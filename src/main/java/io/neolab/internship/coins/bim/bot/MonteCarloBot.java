@@ -0,0 +1,135 @@
+package io.neolab.internship.coins.bim.bot;
+
+import io.neolab.internship.coins.bim.bot.ai.MonteCarloTreeSearcher;
+import io.neolab.internship.coins.bim.bot.ai.model.action.*;
+import io.neolab.internship.coins.client.bot.SimpleBot;
+import io.neolab.internship.coins.client.bot.metrics.IMeasurableBot;
+import io.neolab.internship.coins.client.bot.metrics.SearchCounters;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.utils.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Бот, выбирающий действия поиском Монте-Карло по дереву.
+ * Сила игры задаётся числом итераций и временем на одно решение
+ */
+public class MonteCarloBot implements IMeasurableBot, AutoCloseable {
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(MonteCarloBot.class);
+    private final @NotNull MonteCarloTreeSearcher searcher;
+    private final @NotNull Set<Cell> prevCatchCells = new HashSet<>(); // клетки, захваченные в текущем ходу
+    private final @NotNull SimpleBot simpleBot = new SimpleBot();
+
+    /**
+     * @param iterationsCount  - число итераций на одно решение (0 - не ограничено)
+     * @param timeBudgetMillis - время на одно решение в миллисекундах (0 - не ограничено)
+     * @param workersCount     - число параллельных исполнителей
+     */
+    public MonteCarloBot(final int iterationsCount, final long timeBudgetMillis, final int workersCount) {
+        this.searcher = new MonteCarloTreeSearcher(iterationsCount, timeBudgetMillis, workersCount);
+    }
+
+    /**
+     * Закрыть пул поисковика
+     */
+    @Override
+    public void close() {
+        searcher.close();
+    }
+
+    @Override
+    public @NotNull SearchCounters getSearchCounters() {
+        return searcher.getSearchCounters();
+    }
+
+    /**
+     * @return число итераций, выполненных при последнем решении
+     */
+    public long getLastIterationsCount() {
+        return searcher.getLastIterationsCount();
+    }
+
+    /**
+     * Найти действие поиском Монте-Карло
+     *
+     * @param actionSearcher - поиск
+     * @return найденное действие или null, если действие не найдено
+     */
+    private @Nullable Action searchAction(final @NotNull ActionSearcher actionSearcher) {
+        try {
+            return actionSearcher.search();
+        } catch (final CoinsException exception) {
+            LOGGER.error("Monte Carlo bot search failed: {} ", exception.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Поиск действия
+     */
+    @FunctionalInterface
+    private interface ActionSearcher {
+        @Nullable Action search() throws CoinsException;
+    }
+
+    @Override
+    public boolean declineRaceChoose(final @NotNull Player player, final @NotNull IGame game) {
+        prevCatchCells.clear();
+        final Action action = searchAction(() -> searcher.chooseDeclineRace(game, player));
+        if (action == null) {
+            return simpleBot.declineRaceChoose(player, game);
+        }
+        final boolean choice = ((DeclineRaceAction) action).isDeclineRace();
+        LOGGER.debug("Monte Carlo bot decline race choice: {} ", choice);
+        return choice;
+    }
+
+    @Override
+    public @NotNull Race chooseRace(final @NotNull Player player, final @NotNull IGame game) {
+        final Action action = searchAction(() -> searcher.chooseChangeRace(game, player));
+        if (action == null) {
+            return simpleBot.chooseRace(player, game);
+        }
+        final Race race = ((ChangeRaceAction) action).getNewRace();
+        LOGGER.debug("Monte Carlo bot choice race: {} ", race);
+        return race;
+    }
+
+    @Override
+    public @Nullable Pair<Position, List<Unit>> chooseCatchingCell(final @NotNull Player player,
+                                                                   final @NotNull IGame game) {
+        final Action action = searchAction(() -> searcher.chooseCatchCell(game, player, prevCatchCells));
+        if (action == null) {
+            return simpleBot.chooseCatchingCell(player, game);
+        }
+        final Pair<Position, List<Unit>> resolution = ((CatchCellAction) action).getResolution();
+        if (resolution != null) {
+            prevCatchCells.add(Objects.requireNonNull(game.getBoard().getCellByPosition(resolution.getFirst())));
+        }
+        LOGGER.debug("Resolution of Monte Carlo bot: {} ", resolution);
+        return resolution;
+    }
+
+    @Override
+    public @NotNull Map<Position, List<Unit>> distributionUnits(final @NotNull Player player,
+                                                                final @NotNull IGame game) {
+        prevCatchCells.clear();
+        final Action action = searchAction(() -> searcher.chooseDistributionUnits(game, player));
+        if (action == null) {
+            return simpleBot.distributionUnits(player, game);
+        }
+        final Map<Position, List<Unit>> resolutions = ((DistributionUnitsAction) action).getResolutions();
+        LOGGER.debug("Monte Carlo bot distributed units: {} ", resolutions);
+        return resolutions;
+    }
+}
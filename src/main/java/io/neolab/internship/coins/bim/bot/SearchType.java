@@ -0,0 +1,13 @@
+package io.neolab.internship.coins.bim.bot;
+
+public enum SearchType {
+    /* Строится симуляционное дерево, по которому бот спускается в течение хода */
+    TREE,
+
+    /* Перед каждым решением выполняется поиск с альфа-бета отсечением без построения дерева */
+    ALPHA_BETA,
+
+    /* Поиск с альфа-бета отсечением и итеративным углублением, пока не истечёт время на решение */
+    ITERATIVE_DEEPENING,
+    ;
+}
@@ -1,13 +1,19 @@
 package io.neolab.internship.coins.bim.bot;
 
 import io.neolab.internship.coins.bim.bot.ai.AIProcessor;
+import io.neolab.internship.coins.bim.bot.ai.AlphaBetaSearcher;
 import io.neolab.internship.coins.bim.bot.ai.SimulationTreeCreatingProcessor;
 import io.neolab.internship.coins.bim.bot.ai.SimulationTreeCreator;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.CoinsEvaluator;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.Evaluator;
 import io.neolab.internship.coins.bim.bot.ai.model.NodeTree;
 import io.neolab.internship.coins.bim.bot.ai.model.action.*;
-import io.neolab.internship.coins.client.bot.IBot;
 import io.neolab.internship.coins.client.bot.SimpleBot;
+import io.neolab.internship.coins.client.bot.metrics.IMeasurableBot;
+import io.neolab.internship.coins.client.bot.metrics.SearchCounters;
+import io.neolab.internship.coins.exceptions.CoinsException;
 import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
 import io.neolab.internship.coins.server.game.board.Position;
 import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.server.game.player.Race;
@@ -21,19 +27,140 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 
-public class SmartBot implements IBot {
+public class SmartBot implements IMeasurableBot, AutoCloseable {
     private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(SimpleBot.class);
-    private final int maxDepth;
+    private static final long DEFAULT_TIME_BUDGET_MILLIS = 500;
+    private final int maxDepth; // для итеративного углубления - наибольшая глубина
+    private int lastSearchDepth; // глубина, на которой принято последнее решение
     private @Nullable NodeTree tree;
+    private @Nullable NodeTree prevTurnTree; // поддерево после распределения юнитов на прошлом ходу
+    private @Nullable IGame prevTurnGame; // игра перед распределением юнитов на прошлом ходу
+    private @Nullable Action prevTurnAction; // распределение юнитов на прошлом ходу
+    private boolean isLastTreeContinued;
     private final @NotNull SimulationTreeCreator treeCreator;
     private final @NotNull FunctionType functionType;
+    private final @NotNull SearchType searchType;
+    private final @NotNull AlphaBetaSearcher alphaBetaSearcher;
+    private final @NotNull Set<Cell> prevCatchCells = new HashSet<>(); // клетки, захваченные в текущем ходу
     private final @NotNull SimpleBot simpleBot = new SimpleBot();
+    private final @NotNull SearchCounters searchCounters = new SearchCounters(); // общие для дерева и поиска
 
-    @Contract(pure = true)
     public SmartBot(final int maxDepth, final @NotNull FunctionType functionType) {
+        this(maxDepth, functionType, SearchType.TREE);
+    }
+
+    public SmartBot(final int maxDepth, final @NotNull FunctionType functionType,
+                    final @NotNull SearchType searchType) {
+        this(maxDepth, functionType, searchType, DEFAULT_TIME_BUDGET_MILLIS);
+    }
+
+    /**
+     * @param maxDepth         - глубина поиска (наибольшая для итеративного углубления)
+     * @param functionType     - тип функции бота
+     * @param searchType       - способ поиска
+     * @param timeBudgetMillis - время на одно решение при итеративном углублении
+     */
+    public SmartBot(final int maxDepth, final @NotNull FunctionType functionType,
+                    final @NotNull SearchType searchType, final long timeBudgetMillis) {
+        this(maxDepth, functionType, searchType, timeBudgetMillis, new CoinsEvaluator());
+    }
+
+    /**
+     * @param maxDepth         - глубина поиска (наибольшая для итеративного углубления)
+     * @param functionType     - тип функции бота
+     * @param searchType       - способ поиска
+     * @param timeBudgetMillis - время на одно решение при итеративном углублении
+     * @param evaluator        - оценка позиции в листьях поиска
+     */
+    public SmartBot(final int maxDepth, final @NotNull FunctionType functionType,
+                    final @NotNull SearchType searchType, final long timeBudgetMillis,
+                    final @NotNull Evaluator evaluator) {
+        this(maxDepth, functionType, searchType, timeBudgetMillis, Runtime.getRuntime().availableProcessors(),
+                evaluator);
+    }
+
+    /**
+     * @param maxDepth         - глубина поиска (наибольшая для итеративного углубления)
+     * @param functionType     - тип функции бота
+     * @param searchType       - способ поиска
+     * @param timeBudgetMillis - время на одно решение при итеративном углублении
+     * @param parallelism      - число потоков собственного пула бота для построения дерева
+     */
+    public SmartBot(final int maxDepth, final @NotNull FunctionType functionType,
+                    final @NotNull SearchType searchType, final long timeBudgetMillis, final int parallelism) {
+        this(maxDepth, functionType, searchType, timeBudgetMillis, parallelism, new CoinsEvaluator());
+    }
+
+    /**
+     * @param maxDepth         - глубина поиска (наибольшая для итеративного углубления)
+     * @param functionType     - тип функции бота
+     * @param searchType       - способ поиска
+     * @param timeBudgetMillis - время на одно решение при итеративном углублении
+     * @param parallelism      - число потоков собственного пула бота для построения дерева
+     * @param evaluator        - оценка позиции в листьях поиска
+     */
+    public SmartBot(final int maxDepth, final @NotNull FunctionType functionType,
+                    final @NotNull SearchType searchType, final long timeBudgetMillis, final int parallelism,
+                    final @NotNull Evaluator evaluator) {
         this.maxDepth = maxDepth;
-        this.treeCreator = new SimulationTreeCreator(functionType);
+        this.treeCreator = new SimulationTreeCreator(functionType, parallelism, evaluator, searchCounters);
         this.functionType = functionType;
+        this.searchType = searchType;
+        this.alphaBetaSearcher = new AlphaBetaSearcher(functionType,
+                searchType == SearchType.ITERATIVE_DEEPENING ? timeBudgetMillis : 0, evaluator, searchCounters);
+    }
+
+    /**
+     * Закрыть пул построителя дерева
+     */
+    @Override
+    public void close() {
+        treeCreator.close();
+    }
+
+    @Override
+    public @NotNull SearchCounters getSearchCounters() {
+        return searchCounters;
+    }
+
+    /**
+     * @return глубину, на которой принято последнее решение (0 - решение принято без поиска)
+     */
+    public int getLastSearchDepth() {
+        return lastSearchDepth;
+    }
+
+    /**
+     * Найти действие поиском с альфа-бета отсечением
+     *
+     * @param actionSearcher - поиск
+     * @return найденное действие или null, если действие не найдено
+     */
+    private @Nullable Action searchAction(final @NotNull ActionSearcher actionSearcher) {
+        try {
+            final Action action = actionSearcher.search();
+            lastSearchDepth = alphaBetaSearcher.getReachedDepth();
+            return action;
+        } catch (final CoinsException exception) {
+            LOGGER.error("Smart bot search failed: {} ", exception.getMessage());
+            lastSearchDepth = 0;
+            return null;
+        }
+    }
+
+    /**
+     * Поиск действия
+     */
+    @FunctionalInterface
+    private interface ActionSearcher {
+        @Nullable Action search() throws CoinsException;
+    }
+
+    /**
+     * @return true, если на последнем ходу продолжено дерево прошлого хода, false - если построено новое
+     */
+    public boolean isLastTreeContinued() {
+        return isLastTreeContinued;
     }
 
     @Contract(mutates = "this")
@@ -41,13 +168,66 @@ public class SmartBot implements IBot {
         tree = null;
     }
 
+    /**
+     * Запомнить поддерево после распределения юнитов, чтобы продолжить его на следующем ходу
+     *
+     * @param game   - игра перед распределением юнитов
+     * @param action - распределение юнитов
+     */
+    @Contract(mutates = "this")
+    private void savePrevTurnTree(final @NotNull IGame game, final @NotNull Action action) {
+        prevTurnTree = SimulationTreeCreatingProcessor.updateTree(Objects.requireNonNull(tree), action);
+        prevTurnGame = null;
+        if (prevTurnTree != null) {
+            prevTurnGame = game.getCopy();
+            searchCounters.incrementGameCopies();
+        }
+        prevTurnAction = action;
+    }
+
+    /**
+     * Построить дерево в начале хода: продолжить дерево прошлого хода, если ходы соперников в нём нашлись,
+     * иначе построить новое
+     *
+     * @param game   - игра
+     * @param player - игрок
+     * @return дерево с корнем в начале хода
+     */
+    private @NotNull NodeTree createTurnTree(final @NotNull IGame game, final @NotNull Player player) {
+        NodeTree turnTree = null;
+        if (prevTurnTree != null && prevTurnGame != null && prevTurnAction != null) {
+            try {
+                turnTree = treeCreator.continueTree(prevTurnTree, prevTurnGame, prevTurnAction, game, player,
+                        maxDepth);
+            } catch (final CoinsException exception) {
+                LOGGER.error("Smart bot tree continuing failed: {} ", exception.getMessage());
+            }
+        }
+        prevTurnTree = null;
+        prevTurnGame = null;
+        prevTurnAction = null;
+        isLastTreeContinued = turnTree != null;
+        return turnTree != null ? turnTree : treeCreator.createTree(game, player, maxDepth);
+    }
+
     @Override
     public boolean declineRaceChoose(final @NotNull Player player, final @NotNull IGame game) {
-        tree = treeCreator.createTree(game, player, maxDepth);
-        if (tree.getEdges().isEmpty()) {
+        if (searchType != SearchType.TREE) {
+            prevCatchCells.clear();
+            final Action action = searchAction(() -> alphaBetaSearcher.chooseDeclineRace(game, player, maxDepth));
+            if (action == null) {
+                return simpleBot.declineRaceChoose(player, game);
+            }
+            final boolean choice = ((DeclineRaceAction) action).isDeclineRace();
+            LOGGER.debug("Smart bot decline race choice: {} ", choice);
+            return choice;
+        }
+        tree = createTurnTree(game, player);
+        lastSearchDepth = maxDepth;
+        if (tree.getEdgesCount() == 0) {
             return simpleBot.declineRaceChoose(player, game);
         }
-        final Action action = AIProcessor.getAction(tree, player, functionType);
+        final Action action = AIProcessor.getAction(tree, game.getPlayers().indexOf(player), functionType);
         tree = SimulationTreeCreatingProcessor.updateTree(tree, action);
         final boolean choice = ((DeclineRaceAction) action).isDeclineRace();
         LOGGER.debug("Smart bot decline race choice: {} ", choice);
@@ -60,10 +240,13 @@ public class SmartBot implements IBot {
         if (isChoiceBeforeGame) {
             return chooseRaceBeforeGame(game, player);
         }
-        if (Objects.requireNonNull(tree).getEdges().isEmpty()) {
+        if (searchType != SearchType.TREE) {
+            return searchRace(game, player, maxDepth);
+        }
+        if (Objects.requireNonNull(tree).getEdgesCount() == 0) {
             return simpleBot.chooseRace(player, game);
         }
-        final Action action = AIProcessor.getAction(tree, player, functionType);
+        final Action action = AIProcessor.getAction(tree, game.getPlayers().indexOf(player), functionType);
         tree = SimulationTreeCreatingProcessor.updateTree(tree, action);
         final Race race = ((ChangeRaceAction) action).getNewRace();
         LOGGER.debug("Smart bot choice race: {} ", race);
@@ -71,25 +254,53 @@ public class SmartBot implements IBot {
     }
 
     private @NotNull Race chooseRaceBeforeGame(final @NotNull IGame game, final @NotNull Player player) {
-        tree = treeCreator.createTree(game, player,
-                game.getPlayers().size() - game.getPlayers().indexOf(player));
-        if (Objects.requireNonNull(tree).getEdges().isEmpty()) {
+        if (searchType != SearchType.TREE) {
+            return searchRace(game, player, game.getPlayers().size() - game.getPlayers().indexOf(player));
+        }
+        final int depth = game.getPlayers().size() - game.getPlayers().indexOf(player);
+        tree = treeCreator.createTree(game, player, depth);
+        lastSearchDepth = depth;
+        if (Objects.requireNonNull(tree).getEdgesCount() == 0) {
             return simpleBot.chooseRace(player, game);
         }
-        final Action action = AIProcessor.getAction(tree, player, functionType);
+        final Action action = AIProcessor.getAction(tree, game.getPlayers().indexOf(player), functionType);
         clearTree();
         final Race race = ((ChangeRaceAction) action).getNewRace();
         LOGGER.debug("Smart bot choice race: {} ", race);
         return race;
     }
 
+    private @NotNull Race searchRace(final @NotNull IGame game, final @NotNull Player player, final int depth) {
+        final Action action = searchAction(() -> alphaBetaSearcher.chooseChangeRace(game, player, depth));
+        if (action == null) {
+            return simpleBot.chooseRace(player, game);
+        }
+        final Race race = ((ChangeRaceAction) action).getNewRace();
+        LOGGER.debug("Smart bot choice race: {} ", race);
+        return race;
+    }
+
     @Override
     public @Nullable Pair<Position, List<Unit>> chooseCatchingCell(final @NotNull Player player,
                                                                    final @NotNull IGame game) {
-        if (Objects.requireNonNull(tree).getEdges().isEmpty()) {
+        if (searchType != SearchType.TREE) {
+            final Action action = searchAction(() ->
+                    alphaBetaSearcher.chooseCatchCell(game, player, maxDepth, prevCatchCells));
+            if (action == null) {
+                return simpleBot.chooseCatchingCell(player, game);
+            }
+            final Pair<Position, List<Unit>> resolution = ((CatchCellAction) action).getResolution();
+            if (resolution != null) {
+                prevCatchCells.add(Objects.requireNonNull(game.getBoard().getCellByPosition(resolution.getFirst())));
+            }
+            LOGGER.debug("Resolution of smart bot: {} ", resolution);
+            return resolution;
+        }
+        if (Objects.requireNonNull(tree).getEdgesCount() == 0) {
             return simpleBot.chooseCatchingCell(player, game);
         }
-        final Action action = AIProcessor.getAction(Objects.requireNonNull(tree), player, functionType);
+        final Action action = AIProcessor.getAction(Objects.requireNonNull(tree), game.getPlayers().indexOf(player),
+                functionType);
         tree = SimulationTreeCreatingProcessor.updateTree(tree, action);
         final Pair<Position, List<Unit>> resolution = ((CatchCellAction) action).getResolution();
         LOGGER.debug("Resolution of smart bot: {} ", resolution);
@@ -99,10 +310,22 @@ public class SmartBot implements IBot {
     @Override
     public @NotNull Map<Position, List<Unit>> distributionUnits(final @NotNull Player player,
                                                                 final @NotNull IGame game) {
-        if (Objects.requireNonNull(tree).getEdges().isEmpty()) {
+        if (searchType != SearchType.TREE) {
+            prevCatchCells.clear();
+            final Action action = searchAction(() -> alphaBetaSearcher.chooseDistributionUnits(game, player, maxDepth));
+            if (action == null) {
+                return simpleBot.distributionUnits(player, game);
+            }
+            final Map<Position, List<Unit>> resolutions = ((DistributionUnitsAction) action).getResolutions();
+            LOGGER.debug("Smart bot distributed units: {} ", resolutions);
+            return resolutions;
+        }
+        if (Objects.requireNonNull(tree).getEdgesCount() == 0) {
             return simpleBot.distributionUnits(player, game);
         }
-        final Action action = AIProcessor.getAction(Objects.requireNonNull(tree), player, functionType);
+        final Action action = AIProcessor.getAction(Objects.requireNonNull(tree), game.getPlayers().indexOf(player),
+                functionType);
+        savePrevTurnTree(game, action);
         clearTree();
         final Map<Position, List<Unit>> resolutions = ((DistributionUnitsAction) action).getResolutions();
         LOGGER.debug("Smart bot distributed units: {} ", resolutions);
@@ -1,12 +1,16 @@
 package io.neolab.internship.coins.bim.bot.ai;
 
+import io.neolab.internship.coins.server.game.IGame;
 import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import io.neolab.internship.coins.utils.CompositionIterator;
 import io.neolab.internship.coins.utils.RandomGenerator;
-import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
+import java.util.stream.Stream;
 
 public class AIDistributionProcessor {
 
@@ -45,65 +49,34 @@ public class AIDistributionProcessor {
     }
 
     /**
-     * Взять всевозможные распределения n юнитов на клетках cells
+     * Взять распределения n юнитов на клетках игрока: в каждой клетке хотя бы один юнит.
+     * Равноценные клетки (см. GameLoopProcessor.getDistributionClasses) не различаются, поэтому
+     * из распределений, отличающихся только перестановкой юнитов между ними, берётся одно.
+     * Если распределений больше maxCount, берутся случайные
      *
-     * @param cells - список клеток
-     * @param n     - число юнитов, которое можно распределить на cells
-     * @return список распределений. Распределение - это список пар (клетка, число юнитов, распределённых в неё)
+     * @param game     - игра
+     * @param player   - игрок
+     * @param cells    - список клеток игрока
+     * @param n        - число юнитов, которое можно распределить на cells
+     * @param maxCount - наибольшее число распределений
+     * @return поток распределений. Распределение - это соответствие клетка -> число юнитов, распределённых в неё
      */
-    @Contract(pure = true)
-    static @NotNull List<Map<Cell, Integer>> getDistributions(final @NotNull List<Cell> cells, final int n) {
-        final List<Map<Cell, Integer>> distributions = new LinkedList<>();
-        if (!cells.isEmpty()) {
-            final Cell cell = cells.get(0);
-            for (int i = n; i > 0; i--) {
-                final List<Cell> otherCells = new LinkedList<>(cells);
-                otherCells.remove(cell);
-                if (otherCells.isEmpty()) {
-                    final Map<Cell, Integer> distribution = new HashMap<>();
-                    distribution.put(cell, i);
-                    distributions.add(distribution);
-                    i = 0;
-                    continue;
-                }
-                final List<Map<Cell, Integer>> miniDistributions = getDistributions(otherCells, n - i);
-                final int unitsToCell = i;
-                miniDistributions.forEach(miniDistribution -> miniDistribution.put(cell, unitsToCell));
-                distributions.addAll(miniDistributions);
-            }
-        }
-        return distributions;
-    }
-
-    /**
-     * Сократить число распределений
-     *
-     * @param distributions        - список распределений
-     * @param controlledCellsCount - число подконтрольных клеток
-     * @return какое-то множество распределений
-     */
-    static @NotNull Set<Map<Cell, Integer>> distributionsNumberReduce(
-            final @NotNull List<Map<Cell, Integer>> distributions, final int controlledCellsCount) {
-        if (controlledCellsCount == 0) {
-            return new HashSet<>(0);
-        }
-        final Set<Map<Cell, Integer>> actualDistributions = new HashSet<>(controlledCellsCount);
-        for (final Map<Cell, Integer> distribution : distributions) {
-            if (RandomGenerator.isYes()) {
-                actualDistributions.add(distribution);
-            }
-            if (actualDistributions.size() >= controlledCellsCount) {
-                break;
-            }
-        }
-        if (actualDistributions.size() < controlledCellsCount) {
-            for (final Map<Cell, Integer> distribution : distributions) {
-                actualDistributions.add(distribution);
-                if (actualDistributions.size() >= controlledCellsCount) {
-                    break;
-                }
-            }
+    static @NotNull Stream<Map<Cell, Integer>> getDistributions(final @NotNull IGame game,
+                                                                final @NotNull Player player,
+                                                                final @NotNull List<Cell> cells, final int n,
+                                                                final int maxCount) {
+        if (maxCount <= 0) {
+            return Stream.empty();
         }
-        return actualDistributions;
+        return CompositionIterator.limitedStream(n, cells.size(), 1,
+                GameLoopProcessor.getDistributionClasses(game.getBoard(), game.getOwnToCells(), player, cells),
+                maxCount)
+                .map(composition -> {
+                    final Map<Cell, Integer> distribution = new HashMap<>(cells.size());
+                    for (int i = 0; i < composition.length; i++) {
+                        distribution.put(cells.get(i), composition[i]);
+                    }
+                    return distribution;
+                });
     }
 }
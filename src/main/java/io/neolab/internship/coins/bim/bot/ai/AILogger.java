@@ -10,8 +10,8 @@ import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 
 class AILogger {
     private static final Logger LOGGER = LoggerFactory.getLogger(AILogger.class);
@@ -99,43 +99,40 @@ class AILogger {
     /**
      * Вывод лога о создании нового терминального узла
      *
-     * @param map - отображение игрока в число побед в данном узле
+     * @param winsCount - индекс игрока -> число побед в данном узле
      */
-    static void printLogNewTerminalNodePercent(final @NotNull Map<Player, Integer> map) {
+    static void printLogNewTerminalNodePercent(final @NotNull int[] winsCount) {
         if (isLoggedOn) {
             LOGGER.debug("!!!!!!!!!!!!!!!!!!!");
             LOGGER.debug("Created new terminal node:");
-            map.forEach((player, integer) -> LOGGER.debug("--- {} -> {}", player.getNickname(), integer));
+            LOGGER.debug("--- wins count: {}", Arrays.toString(winsCount));
         }
     }
 
     /**
      * Вывод лога о создании нового терминального узла
      *
-     * @param playerToMaxAndMinCoinsCount - отображение игрока в пару
-     *                                    (максимально число монет игрока, минимально число монет)
+     * @param coinsCount - индекс игрока -> число монет игрока
      */
-    static void printLogNewTerminalNodeValue(final @NotNull Map<Player, Pair<Integer, Integer>> playerToMaxAndMinCoinsCount) {
+    static void printLogNewTerminalNodeValue(final @NotNull int[] coinsCount) {
         if (isLoggedOn) {
             LOGGER.debug("!!!!!!!!!!!!!!!!!!!");
             LOGGER.debug("Created new terminal node:");
-            playerToMaxAndMinCoinsCount.forEach((player, pair) ->
-                    LOGGER.debug("--- {} -> {}", player.getNickname(), pair));
+            LOGGER.debug("--- coins count: {}", Arrays.toString(coinsCount));
         }
     }
 
     /**
      * Вывод лога о создании нового терминального узла
      *
-     * @param playerToValueDifference - отображение игрока в минимальную разность между его
-     *                                числом монет и числом монет остальных
+     * @param valueDifferences - индекс игрока -> минимальная разность между его
+     *                         числом монет и числом монет остальных
      */
-    static void printLogNewTerminalNodeValueDifference(final @NotNull Map<Player, Integer> playerToValueDifference) {
+    static void printLogNewTerminalNodeValueDifference(final @NotNull int[] valueDifferences) {
         if (isLoggedOn) {
             LOGGER.debug("!!!!!!!!!!!!!!!!!!!");
             LOGGER.debug("Created new terminal node:");
-            playerToValueDifference.forEach((player, integer) ->
-                    LOGGER.debug("--- {} -> {}", player.getNickname(), integer));
+            LOGGER.debug("--- value differences: {}", Arrays.toString(valueDifferences));
         }
     }
 }
@@ -0,0 +1,576 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.CoinsEvaluator;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.Evaluator;
+import io.neolab.internship.coins.bim.bot.ai.model.action.*;
+import io.neolab.internship.coins.client.bot.metrics.SearchCounters;
+import io.neolab.internship.coins.exceptions.CoinsErrorCode;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.GameCheckpoint;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import io.neolab.internship.coins.utils.RandomGenerator;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static io.neolab.internship.coins.bim.bot.ai.SimulationTreeCreatingProcessor.*;
+
+/**
+ * Поиск действия с альфа-бета отсечением без построения симуляционного дерева.
+ * Перебираются те же ветви, что строит SimulationTreeCreator, но в глубину и на одной игре
+ * через обратимые ходы, поэтому в памяти хранится только текущий путь, а ветви,
+ * которые не могут повлиять на выбор, не перебираются.
+ * Если задан бюджет времени, поиск ведётся с итеративным углублением: глубина растёт с 1,
+ * пока не истечёт время, а действия корня перебираются в порядке их значений на предыдущей глубине.
+ * Игра после поиска возвращается в исходное состояние
+ */
+public class AlphaBetaSearcher {
+    private final @NotNull FunctionType functionType;
+    private final long timeBudgetMillis; // 0 - без итеративного углубления, сразу на всю глубину
+    private final @NotNull Evaluator evaluator;
+    private final @NotNull SearchCounters searchCounters;
+    private int maxDepth;
+    private @Nullable Player rootPlayer; // игрок, для которого ищется действие
+    private long visitedNodesCount;
+    private int reachedDepth;
+    private long deadlineNanos = Long.MAX_VALUE;
+
+    /**
+     * Значения действий корня на одной глубине
+     */
+    private static class RootResult {
+        private final @NotNull List<Action> actions;
+        private final @NotNull List<Integer> values;
+
+        private RootResult(final @NotNull List<Action> actions, final @NotNull List<Integer> values) {
+            this.actions = actions;
+            this.values = values;
+        }
+    }
+
+    @Contract(pure = true)
+    public AlphaBetaSearcher(final @NotNull FunctionType functionType) {
+        this(functionType, 0);
+    }
+
+    /**
+     * @param functionType     - тип функции бота
+     * @param timeBudgetMillis - время на одно решение в миллисекундах (0 - искать сразу на всю глубину)
+     */
+    @Contract(pure = true)
+    public AlphaBetaSearcher(final @NotNull FunctionType functionType, final long timeBudgetMillis) {
+        this(functionType, timeBudgetMillis, new CoinsEvaluator());
+    }
+
+    /**
+     * @param functionType     - тип функции бота
+     * @param timeBudgetMillis - время на одно решение в миллисекундах (0 - искать сразу на всю глубину)
+     * @param evaluator        - оценка листьев
+     */
+    @Contract(pure = true)
+    public AlphaBetaSearcher(final @NotNull FunctionType functionType, final long timeBudgetMillis,
+                             final @NotNull Evaluator evaluator) {
+        this(functionType, timeBudgetMillis, evaluator, new SearchCounters());
+    }
+
+    /**
+     * @param functionType     - тип функции бота
+     * @param timeBudgetMillis - время на одно решение в миллисекундах (0 - искать сразу на всю глубину)
+     * @param evaluator        - оценка листьев
+     * @param searchCounters   - счётчики раскрытых узлов
+     */
+    @Contract(pure = true)
+    public AlphaBetaSearcher(final @NotNull FunctionType functionType, final long timeBudgetMillis,
+                             final @NotNull Evaluator evaluator, final @NotNull SearchCounters searchCounters) {
+        this.functionType = functionType;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.evaluator = evaluator;
+        this.searchCounters = searchCounters;
+    }
+
+    /**
+     * Выбрать, уходить ли в упадок
+     *
+     * @param game     - игра
+     * @param player   - игрок
+     * @param maxDepth - глубина поиска
+     * @return выгодное действие или null, если выбирать не из чего
+     * @throws CoinsException при ошибке обновления игры
+     */
+    public @Nullable Action chooseDeclineRace(final @NotNull IGame game, final @NotNull Player player,
+                                              final int maxDepth) throws CoinsException {
+        return chooseAction(game, player, maxDepth, getDeclineRaceActions(game), null);
+    }
+
+    /**
+     * Выбрать новую расу (в том числе до начала игры)
+     *
+     * @param game     - игра
+     * @param player   - игрок
+     * @param maxDepth - глубина поиска
+     * @return выгодное действие или null, если выбирать не из чего
+     * @throws CoinsException при ошибке обновления игры
+     */
+    public @Nullable Action chooseChangeRace(final @NotNull IGame game, final @NotNull Player player,
+                                             final int maxDepth) throws CoinsException {
+        this.maxDepth = maxDepth;
+        return chooseAction(game, player, maxDepth, getChangeRaceActions(game, maxDepth), null);
+    }
+
+    /**
+     * Выбрать клетку для захвата и юнитов (resolution = null - закончить захват)
+     *
+     * @param game           - игра
+     * @param player         - игрок
+     * @param maxDepth       - глубина поиска
+     * @param prevCatchCells - клетки, уже захваченные игроком в этом ходу (не меняется)
+     * @return выгодное действие или null, если выбирать не из чего
+     * @throws CoinsException при ошибке обновления игры
+     */
+    public @Nullable Action chooseCatchCell(final @NotNull IGame game, final @NotNull Player player,
+                                            final int maxDepth, final @NotNull Set<Cell> prevCatchCells)
+            throws CoinsException {
+        this.maxDepth = maxDepth;
+        final Set<Cell> rootCatchCells = new HashSet<>(prevCatchCells);
+        return chooseAction(game, player, maxDepth,
+                getCatchCellActions(game, player, rootCatchCells, maxDepth, evaluator), rootCatchCells);
+    }
+
+    /**
+     * Выбрать распределение юнитов
+     *
+     * @param game     - игра
+     * @param player   - игрок
+     * @param maxDepth - глубина поиска
+     * @return выгодное действие или null, если выбирать не из чего
+     * @throws CoinsException при ошибке обновления игры
+     */
+    public @Nullable Action chooseDistributionUnits(final @NotNull IGame game, final @NotNull Player player,
+                                                    final int maxDepth) throws CoinsException {
+        return chooseAction(game, player, maxDepth, getDistributionUnitsActions(game, player), null);
+    }
+
+    /**
+     * @return число узлов, пройденных при последнем поиске
+     */
+    public long getVisitedNodesCount() {
+        return visitedNodesCount;
+    }
+
+    /**
+     * @return глубину последнего полностью завершённого поиска (0 - не завершён ни один)
+     */
+    public int getReachedDepth() {
+        return reachedDepth;
+    }
+
+    /**
+     * Выбрать выгодное действие из корня: сразу на глубине maxDepth или, если задан бюджет времени,
+     * на наибольшей глубине, поиск на которой успел завершиться
+     *
+     * @param game           - игра
+     * @param player         - игрок
+     * @param maxDepth       - глубина поиска
+     * @param actions        - действия корня
+     * @param prevCatchCells - предыдущие захваченные клетки (null - корень не в фазе захвата)
+     * @return выгодное действие или null, если actions пуст
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private @Nullable Action chooseAction(final @NotNull IGame game, final @NotNull Player player, final int maxDepth,
+                                          final @NotNull List<Action> actions,
+                                          final @Nullable Set<Cell> prevCatchCells) throws CoinsException {
+        this.rootPlayer = player;
+        this.visitedNodesCount = 0;
+        this.reachedDepth = 0;
+        if (actions.isEmpty()) {
+            return null;
+        }
+        if (timeBudgetMillis <= 0) {
+            final RootResult result = searchRoot(game, player, maxDepth, actions, prevCatchCells);
+            reachedDepth = maxDepth;
+            return chooseBestAction(player, result);
+        }
+        deadlineNanos = System.nanoTime() + timeBudgetMillis * 1_000_000;
+        try {
+            Action bestAction = RandomGenerator.chooseItemFromList(actions);
+            List<Action> orderedActions = actions;
+            for (int depth = 1; depth <= maxDepth; depth++) {
+                final RootResult result;
+                try {
+                    result = searchRoot(game, player, depth, orderedActions, prevCatchCells);
+                } catch (final CoinsException exception) {
+                    if (exception.getErrorCode() == CoinsErrorCode.SEARCH_TIME_IS_UP) {
+                        break;
+                    }
+                    throw exception;
+                }
+                bestAction = chooseBestAction(player, result);
+                orderedActions = getOrderedActions(player, result);
+                reachedDepth = depth;
+            }
+            return bestAction;
+        } finally {
+            deadlineNanos = Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Оценить действия корня на заданной глубине. Окно поиска каждой ветви на единицу шире лучшего значения,
+     * поэтому значения равноценных лучшему действий точные
+     *
+     * @param game           - игра
+     * @param player         - игрок
+     * @param depth          - глубина поиска
+     * @param actions        - действия корня
+     * @param prevCatchCells - предыдущие захваченные клетки (null - корень не в фазе захвата, не меняется)
+     * @return значения действий корня
+     * @throws CoinsException при ошибке обновления игры или по истечении времени поиска
+     */
+    private @NotNull RootResult searchRoot(final @NotNull IGame game, final @NotNull Player player, final int depth,
+                                           final @NotNull List<Action> actions,
+                                           final @Nullable Set<Cell> prevCatchCells) throws CoinsException {
+        this.maxDepth = depth;
+        final Set<Cell> searchCatchCells = prevCatchCells != null ? new HashSet<>(prevCatchCells) : null;
+        final boolean isMaximizing = isMaximizing(player, true);
+        int bestValue = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        final List<Integer> values = new ArrayList<>(actions.size());
+        for (final Action action : actions) {
+            final int value = isMaximizing
+                    ? searchAction(1, game, player, action, searchCatchCells,
+                    bestValue == Integer.MIN_VALUE ? Integer.MIN_VALUE : bestValue - 1, Integer.MAX_VALUE)
+                    : searchAction(1, game, player, action, searchCatchCells,
+                    Integer.MIN_VALUE, bestValue == Integer.MAX_VALUE ? Integer.MAX_VALUE : bestValue + 1);
+            values.add(value);
+            bestValue = isMaximizing ? Math.max(bestValue, value) : Math.min(bestValue, value);
+        }
+        return new RootResult(actions, values);
+    }
+
+    /**
+     * @param player - игрок
+     * @param result - значения действий корня
+     * @return случайное из лучших действий
+     */
+    private @NotNull Action chooseBestAction(final @NotNull Player player, final @NotNull RootResult result) {
+        final boolean isMaximizing = isMaximizing(player, true);
+        final int bestValue = isMaximizing ? Collections.max(result.values) : Collections.min(result.values);
+        final List<Action> bestActions = new LinkedList<>();
+        for (int i = 0; i < result.actions.size(); i++) {
+            if (result.values.get(i) == bestValue) {
+                bestActions.add(result.actions.get(i));
+            }
+        }
+        return RandomGenerator.chooseItemFromList(bestActions);
+    }
+
+    /**
+     * @param player - игрок
+     * @param result - значения действий корня
+     * @return действия корня от лучшего к худшему
+     */
+    private @NotNull List<Action> getOrderedActions(final @NotNull Player player, final @NotNull RootResult result) {
+        final boolean isMaximizing = isMaximizing(player, true);
+        final List<Integer> indexes = new ArrayList<>(result.actions.size());
+        for (int i = 0; i < result.actions.size(); i++) {
+            indexes.add(i);
+        }
+        indexes.sort(Comparator.comparingInt(index -> isMaximizing
+                ? -result.values.get(index)
+                : result.values.get(index)));
+        final List<Action> orderedActions = new ArrayList<>(indexes.size());
+        indexes.forEach(index -> orderedActions.add(result.actions.get(index)));
+        return orderedActions;
+    }
+
+    /**
+     * Оценить узел, в котором ходит игрок: выбрать лучшее из значений действий
+     *
+     * @param currentDepth   - текущая глубина
+     * @param game           - игра
+     * @param player         - игрок
+     * @param actions        - действия игрока
+     * @param prevCatchCells - предыдущие захваченные клетки (null - узел не в фазе захвата)
+     * @param alpha          - нижняя граница окна
+     * @param beta           - верхняя граница окна
+     * @return значение узла (точное, если оно внутри окна)
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private int searchActions(final int currentDepth, final @NotNull IGame game, final @NotNull Player player,
+                              final @NotNull List<Action> actions, final @Nullable Set<Cell> prevCatchCells,
+                              final int alpha, final int beta) throws CoinsException {
+        if (actions.isEmpty()) {
+            return evaluate(game);
+        }
+        final boolean isMaximizing = isMaximizing(player, false);
+        int bestValue = isMaximizing ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+        int currentAlpha = alpha;
+        int currentBeta = beta;
+        for (final Action action : actions) {
+            final int value = searchAction(currentDepth, game, player, action, prevCatchCells,
+                    currentAlpha, currentBeta);
+            if (isMaximizing) {
+                bestValue = Math.max(bestValue, value);
+                currentAlpha = Math.max(currentAlpha, bestValue);
+            } else {
+                bestValue = Math.min(bestValue, value);
+                currentBeta = Math.min(currentBeta, bestValue);
+            }
+            if (currentAlpha >= currentBeta) {
+                break; // остальные действия не изменят выбор выше по дереву
+            }
+        }
+        return bestValue;
+    }
+
+    /**
+     * Оценить действие: применить его, оценить следующий узел и отменить действие
+     *
+     * @param currentDepth   - текущая глубина
+     * @param game           - игра
+     * @param player         - игрок
+     * @param action         - действие
+     * @param prevCatchCells - предыдущие захваченные клетки (null - действие не захват клетки)
+     * @param alpha          - нижняя граница окна
+     * @param beta           - верхняя граница окна
+     * @return значение действия
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private int searchAction(final int currentDepth, final @NotNull IGame game, final @NotNull Player player,
+                             final @NotNull Action action, final @Nullable Set<Cell> prevCatchCells,
+                             final int alpha, final int beta) throws CoinsException {
+        if (System.nanoTime() > deadlineNanos) {
+            throw new CoinsException(CoinsErrorCode.SEARCH_TIME_IS_UP);
+        }
+        visitedNodesCount++;
+        searchCounters.incrementExpandedNodes();
+        switch (action.getType()) {
+            case DECLINE_RACE:
+                if (((DeclineRaceAction) action).isDeclineRace()) {
+                    return searchActions(currentDepth, game, player, getChangeRaceActions(game, maxDepth), null,
+                            alpha, beta);
+                }
+                return searchAfterMove(game, player, action, () ->
+                        searchCatchCells(currentDepth, game, player, new HashSet<>(), alpha, beta));
+            case CHANGE_RACE:
+                final boolean isBeforeGame = isBeforeGame(game);
+                return searchAfterMove(game, player, action, () -> isBeforeGame
+                        ? searchAfterChangeRaceBeforeGame(currentDepth, game, player, alpha, beta)
+                        : searchCatchCells(currentDepth, game, player, new HashSet<>(), alpha, beta));
+            case CATCH_CELL:
+                if (((CatchCellAction) action).getResolution() == null) {
+                    return searchCatchCellEnd(currentDepth, game, player, alpha, beta);
+                }
+                return searchAfterMove(game, player, action, () -> searchCatchCells(currentDepth, game, player,
+                        Objects.requireNonNull(prevCatchCells), alpha, beta));
+            case DISTRIBUTION_UNITS:
+                return searchAfterMove(game, player, action, () ->
+                        searchNextTurn(currentDepth, game, player, alpha, beta));
+            default:
+                throw new CoinsException(CoinsErrorCode.ACTION_TYPE_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Оценка узла на игре, изменённой действием
+     */
+    @FunctionalInterface
+    private interface NodeSearcher {
+        int search() throws CoinsException;
+    }
+
+    /**
+     * Применить действие, оценить узел после него и отменить действие
+     *
+     * @param game         - игра
+     * @param player       - игрок
+     * @param action       - действие
+     * @param nodeSearcher - оценка узла после действия
+     * @return значение узла
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private static int searchAfterMove(final @NotNull IGame game, final @NotNull Player player,
+                                       final @NotNull Action action, final @NotNull NodeSearcher nodeSearcher)
+            throws CoinsException {
+        final GameCheckpoint undo = ReversibleMoveProcessor.makeMove(game, player, action);
+        try {
+            return nodeSearcher.search();
+        } finally {
+            ReversibleMoveProcessor.unmakeMove(undo);
+        }
+    }
+
+    /**
+     * Оценить узел после выбора расы до начала игры: расу выбирает следующий игрок,
+     * а после последнего игрока начинается первый раунд
+     *
+     * @param currentDepth - текущая глубина
+     * @param game         - игра
+     * @param player       - игрок, выбравший расу
+     * @param alpha        - нижняя граница окна
+     * @param beta         - верхняя граница окна
+     * @return значение узла
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private int searchAfterChangeRaceBeforeGame(final int currentDepth, final @NotNull IGame game,
+                                                final @NotNull Player player, final int alpha, final int beta)
+            throws CoinsException {
+        final Player nextPlayer = getNextPlayerInThisRound(game, player);
+        if (nextPlayer != null) {
+            return searchActions(currentDepth, game, nextPlayer, getChangeRaceActions(game, maxDepth), null,
+                    alpha, beta);
+        }
+        game.incrementCurrentRound();
+        final Player firstPlayer = game.getPlayers().get(0);
+        return searchActions(currentDepth, game, firstPlayer, getDeclineRaceActions(game), null, alpha, beta);
+    }
+
+    /**
+     * Оценить узел захвата клеток
+     *
+     * @param currentDepth   - текущая глубина
+     * @param game           - игра
+     * @param player         - игрок
+     * @param prevCatchCells - предыдущие захваченные клетки
+     * @param alpha          - нижняя граница окна
+     * @param beta           - верхняя граница окна
+     * @return значение узла
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private int searchCatchCells(final int currentDepth, final @NotNull IGame game, final @NotNull Player player,
+                                 final @NotNull Set<Cell> prevCatchCells, final int alpha, final int beta)
+            throws CoinsException {
+        return searchActions(currentDepth, game, player,
+                getCatchCellActions(game, player, prevCatchCells, maxDepth, evaluator), prevCatchCells, alpha, beta);
+    }
+
+    /**
+     * Оценить окончание захвата клеток: юниты снимаются с клеток и распределяются заново
+     *
+     * @param currentDepth - текущая глубина
+     * @param game         - игра
+     * @param player       - игрок
+     * @param alpha        - нижняя граница окна
+     * @param beta         - верхняя граница окна
+     * @return значение узла
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private int searchCatchCellEnd(final int currentDepth, final @NotNull IGame game, final @NotNull Player player,
+                                   final int alpha, final int beta) throws CoinsException {
+        final GameCheckpoint undo =
+                ReversibleMoveProcessor.createUndo(game, new ArrayList<>(game.getOwnToCells().get(player)));
+        try {
+            GameLoopProcessor.makeAllUnitsSomeState(player, AvailabilityType.AVAILABLE);
+            updateGameAfterCatchCellsEnd(game, player);
+            return searchActions(currentDepth, game, player, getDistributionUnitsActions(game, player), null,
+                    alpha, beta);
+        } finally {
+            ReversibleMoveProcessor.unmakeMove(undo);
+        }
+    }
+
+    /**
+     * Оценить узел после распределения юнитов: ход следующего игрока, новый раунд или конец поиска
+     *
+     * @param currentDepth - текущая глубина
+     * @param game         - игра
+     * @param player       - игрок, закончивший ход
+     * @param alpha        - нижняя граница окна
+     * @param beta         - верхняя граница окна
+     * @return значение узла
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private int searchNextTurn(final int currentDepth, final @NotNull IGame game, final @NotNull Player player,
+                               final int alpha, final int beta) throws CoinsException {
+        final Player nextPlayer = getNextPlayerInThisRound(game, player);
+        final int newDepth = currentDepth + 1;
+        if (newDepth > maxDepth) {
+            updateCoins(game);
+            return evaluate(game);
+        }
+        if (nextPlayer != null) {
+            return searchActions(newDepth, game, nextPlayer, getDeclineRaceActions(game), null, alpha, beta);
+        }
+        final Player firstPlayer = getNextPlayerFromBeginList(game);
+        updateGameBeforeNewDepth(newDepth, game, player, firstPlayer);
+        if (firstPlayer == null) {
+            return evaluate(game);
+        }
+        return searchActions(newDepth, game, firstPlayer, getDeclineRaceActions(game), null, alpha, beta);
+    }
+
+    /**
+     * Максимизирует ли значение узел, в котором ходит игрок?
+     * Соответствует выбору действия в AIProcessor: MAX_* рассчитывает на лучший исход,
+     * MIN_* минимизирует результат соперника, MIN_MAX_* - минимакс, где соперники ходят против игрока,
+     * MAX_VALUE_DIFFERENCE выбирает действие с наибольшей гарантированной разностью
+     *
+     * @param player - игрок, который ходит в узле
+     * @param isRoot - это корень поиска?
+     * @return true, если узел максимизирует, false - если минимизирует
+     */
+    private boolean isMaximizing(final @NotNull Player player, final boolean isRoot) {
+        switch (functionType) {
+            case MAX_PERCENT:
+            case MAX_VALUE:
+                return true;
+            case MIN_PERCENT:
+            case MIN_VALUE:
+                return false;
+            case MAX_VALUE_DIFFERENCE:
+                return isRoot;
+            default:
+                return player.equals(rootPlayer);
+        }
+    }
+
+    /**
+     * Оценить лист по оценке числа монет (evaluator): для *_PERCENT - 1, если оцениваемый игрок среди победителей,
+     * иначе 0; для *_VALUE - число его монет; для *_VALUE_DIFFERENCE - наименьшая разность его монет с соперниками
+     *
+     * @param game - игра
+     * @return значение листа
+     */
+    private int evaluate(final @NotNull IGame game) {
+        final Player player = getEvaluatedPlayer(game);
+        final int coins = evaluator.evaluate(game, player);
+        switch (functionType) {
+            case MAX_PERCENT:
+            case MIN_PERCENT:
+            case MIN_MAX_PERCENT:
+                return game.getPlayers().stream()
+                        .allMatch(other -> other.equals(player) || evaluator.evaluate(game, other) <= coins) ? 1 : 0;
+            case MAX_VALUE:
+            case MIN_VALUE:
+            case MIN_MAX_VALUE:
+                return coins;
+            default:
+                return game.getPlayers().stream()
+                        .filter(other -> !other.equals(player))
+                        .mapToInt(other -> coins - evaluator.evaluate(game, other))
+                        .min()
+                        .orElse(0);
+        }
+    }
+
+    /**
+     * @param game - игра
+     * @return игрока, результат которого оценивается: соперника для MIN_PERCENT и MIN_VALUE, иначе самого игрока
+     */
+    private @NotNull Player getEvaluatedPlayer(final @NotNull IGame game) {
+        final Player player = Objects.requireNonNull(rootPlayer);
+        if (functionType != FunctionType.MIN_PERCENT && functionType != FunctionType.MIN_VALUE) {
+            return player;
+        }
+        return game.getPlayers().stream()
+                .filter(other -> !other.equals(player))
+                .findFirst()
+                .orElse(player);
+    }
+}
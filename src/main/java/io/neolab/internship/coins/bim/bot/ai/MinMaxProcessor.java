@@ -4,7 +4,6 @@ import io.neolab.internship.coins.bim.bot.FunctionType;
 import io.neolab.internship.coins.bim.bot.ai.model.Edge;
 import io.neolab.internship.coins.bim.bot.ai.model.NodeTree;
 import io.neolab.internship.coins.bim.bot.ai.model.action.Action;
-import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.utils.RandomGenerator;
 import org.jetbrains.annotations.NotNull;
 
@@ -16,183 +15,172 @@ public class MinMaxProcessor {
     /**
      * Взять какого-нибудь оппонента игрока
      *
-     * @param nodeTree - текущий узел дерева
-     * @param player   - игрок
-     * @return оппонента игрока
+     * @param nodeTree    - текущий узел дерева
+     * @param playerIndex - индекс игрока
+     * @return индекс оппонента игрока
      */
-    static @NotNull Player getSomeOpponent(final @NotNull NodeTree nodeTree, final @NotNull Player player) {
-        final NodeTree someNodeTree = nodeTree.getEdges().get(0).getTo();
-        if (someNodeTree.getWinsCount() != null) {
-            return someNodeTree.getWinsCount()
-                    .keySet()
-                    .stream()
-                    .filter(item ->
-                            !item.equals(player))
-                    .findFirst()
-                    .orElseThrow();
-        } // else
-        return Objects.requireNonNull(someNodeTree.getPlayerToMaxAndMinCoinsCount())
-                .keySet()
-                .stream()
-                .filter(item ->
-                        !item.equals(player))
-                .findFirst()
-                .orElseThrow();
+    static int getSomeOpponent(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        final NodeTree someNodeTree = nodeTree.getChild(0);
+        final int playersCount = someNodeTree.getWinsCount() != null
+                ? someNodeTree.getWinsCount().length
+                : Objects.requireNonNull(someNodeTree.getMaxCoinsCount()).length;
+        for (int i = 0; i < playersCount; i++) {
+            if (i != playerIndex) {
+                return i;
+            }
+        }
+        throw new NoSuchElementException();
     }
 
     /**
      * @param nodeTree     - корень дерева
-     * @param player       - игрок
+     * @param playerIndex  - индекс игрока
      * @param functionType - тип бота игрока
      * @return процент, соответствующий типу бота: отношение числа побед к общему числу случаев
      */
-    static double getPercent(final @NotNull NodeTree nodeTree, final @NotNull Player player,
+    static double getPercent(final @NotNull NodeTree nodeTree, final int playerIndex,
                              final @NotNull FunctionType functionType) {
         switch (functionType) {
             case MAX_PERCENT:
-                return nodeTree.getEdges().stream()
-                        .map(edge ->
-                                (double) Objects.requireNonNull(edge.getTo().getWinsCount()).get(player)
-                                        / edge.getTo().getCasesCount())
-                        .max(Double::compareTo)
-                        .orElseThrow();
+                double maxPercent = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+                    maxPercent = Math.max(maxPercent, getPercent(nodeTree.getChild(i), playerIndex));
+                }
+                return maxPercent;
             case MIN_PERCENT:
-                return nodeTree.getEdges().stream()
-                        .map(edge ->
-                                (double) Objects.requireNonNull(edge.getTo().getWinsCount()).get(player)
-                                        / edge.getTo().getCasesCount())
-                        .min(Double::compareTo)
-                        .orElseThrow();
+                double minPercent = Double.POSITIVE_INFINITY;
+                for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+                    minPercent = Math.min(minPercent, getPercent(nodeTree.getChild(i), playerIndex));
+                }
+                return minPercent;
             default:
                 return -1;
         }
     }
 
+    /**
+     * @param nodeTree    - узел дерева
+     * @param playerIndex - индекс игрока
+     * @return отношение числа побед игрока к общему числу случаев в узле
+     */
+    static double getPercent(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        return (double) Objects.requireNonNull(nodeTree.getWinsCount())[playerIndex] / nodeTree.getCasesCount();
+    }
+
     /**
      * @param nodeTree     - корень дерева
-     * @param player       - игрок
+     * @param playerIndex  - индекс игрока
      * @param functionType - тип бота игрока
      * @return число монет, соответствующее типу бота
      */
-    static int getValue(final @NotNull NodeTree nodeTree, final @NotNull Player player,
+    static int getValue(final @NotNull NodeTree nodeTree, final int playerIndex,
                         final @NotNull FunctionType functionType) {
         switch (functionType) {
             case MAX_VALUE:
-                return nodeTree.getEdges().stream()
-                        .map(edge ->
-                                Objects.requireNonNull(
-                                        edge.getTo().getPlayerToMaxAndMinCoinsCount()).get(player).getFirst())
-                        .max(Integer::compareTo)
-                        .orElseThrow();
+                int maxValue = Integer.MIN_VALUE;
+                for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+                    maxValue = Math.max(maxValue,
+                            Objects.requireNonNull(nodeTree.getChild(i).getMaxCoinsCount())[playerIndex]);
+                }
+                return maxValue;
             case MIN_VALUE:
-                return nodeTree.getEdges().stream()
-                        .map(edge ->
-                                Objects.requireNonNull(
-                                        edge.getTo().getPlayerToMaxAndMinCoinsCount()).get(player).getSecond())
-                        .min(Integer::compareTo)
-                        .orElseThrow();
+                int minValue = Integer.MAX_VALUE;
+                for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+                    minValue = Math.min(minValue,
+                            Objects.requireNonNull(nodeTree.getChild(i).getMinCoinsCount())[playerIndex]);
+                }
+                return minValue;
             default:
                 return -1;
         }
     }
 
     /**
-     * @param nodeTree - корень дерева
-     * @param player   - игрок
+     * @param nodeTree    - корень дерева
+     * @param playerIndex - индекс игрока
      * @return максимальная разность числа монет (максимальный отрыв)
      */
-    static int getValueDifference(final @NotNull NodeTree nodeTree, final @NotNull Player player) {
-        return nodeTree.getEdges().stream()
-                .map(edge ->
-                        Objects.requireNonNull(
-                                edge.getTo().getPlayerToValueDifference()).get(player))
-                .max(Integer::compareTo)
-                .orElseThrow();
+    static int getValueDifference(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        int maxValue = Integer.MIN_VALUE;
+        for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+            maxValue = Math.max(maxValue,
+                    Objects.requireNonNull(nodeTree.getChild(i).getValueDifferences())[playerIndex]);
+        }
+        return maxValue;
     }
 
     /**
      * Игрок имеет право первого хода в данном дереве?
      *
-     * @param nodeTree - корень дерева
-     * @param player   - игрок
+     * @param playerIndex - индекс игрока (порядок игроков в игре - порядок ходов)
      * @return true, если игрок ходит первым, false - иначе
      */
-    static boolean isFirstPlayer(final @NotNull NodeTree nodeTree, final @NotNull Player player) {
-        if (nodeTree.getWinsCount() != null) {
-            for (final Player item : nodeTree.getWinsCount().keySet()) {
-                if (item.getId() < player.getId()) {
-                    return false;
-                }
-            }
-            return true;
-        } // else
-        for (final Player item : Objects.requireNonNull(nodeTree.getPlayerToMaxAndMinCoinsCount()).keySet()) {
-            if (item.getId() < player.getId()) {
-                return false;
-            }
-        }
-        return true;
+    static boolean isFirstPlayer(final int playerIndex) {
+        return playerIndex == 0;
     }
 
     /**
      * Поиск действия, максимизирующего вероятность выигрыша игрока
      *
-     * @param nodeTree - корень дерева
-     * @param player   - игрок
+     * @param nodeTree    - корень дерева
+     * @param playerIndex - индекс игрока
      * @return действие, максимизирующее вероятность выигрыша игрока
      */
-    static @NotNull Action maxMinPercentAlgorithm(final @NotNull NodeTree nodeTree, final @NotNull Player player) {
-        final List<Edge> edges = nodeTree.getEdges();
-        final Map<Edge, Boolean> edgeToPercent = Collections.synchronizedMap(new HashMap<>(edges.size()));
-        final List<RecursiveAction> recursiveActions = new ArrayList<>(edges.size());
-        edges.forEach(edge -> recursiveActions.add(new RecursiveAction() {
-            @Override
-            protected void compute() {
-                edgeToPercent.put(edge, getMaxPercent(edge.getTo(), player));
-            }
-        }));
+    static @NotNull Action maxMinPercentAlgorithm(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        final boolean[] edgeToPercent = new boolean[nodeTree.getEdgesCount()];
+        final List<RecursiveAction> recursiveActions = new ArrayList<>(edgeToPercent.length);
+        for (int i = 0; i < edgeToPercent.length; i++) {
+            final int edgeIndex = i;
+            recursiveActions.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    edgeToPercent[edgeIndex] = getMaxPercent(nodeTree.getChild(edgeIndex), playerIndex);
+                }
+            });
+        }
         RecursiveAction.invokeAll(recursiveActions);
-        return Objects.requireNonNull(
-                RandomGenerator.chooseItemFromList(getProfitableEdgesPercent(edgeToPercent)).getAction());
+        return Objects.requireNonNull(nodeTree.getAction(
+                RandomGenerator.chooseItemFromList(getProfitableEdgesPercent(edgeToPercent))));
     }
 
     /**
-     * @param edgeToPercent - отображение (ребро -> ответ на вопрос: ведёт ли это ребро к "победе"?)
-     * @return все рёбра со значением true. Если таковых нет, то просто все рёбра
+     * @param edgeToPercent - индекс ребра -> ответ на вопрос: ведёт ли это ребро к "победе"?
+     * @return индексы всех рёбер со значением true. Если таковых нет, то индексы всех рёбер
      */
-    private static @NotNull List<Edge> getProfitableEdgesPercent(final @NotNull Map<Edge, Boolean> edgeToPercent) {
-        final List<Edge> profitableEdges = new LinkedList<>();
-        for (final Map.Entry<Edge, Boolean> entry : edgeToPercent.entrySet()) {
-            if (entry.getValue()) {
-                profitableEdges.add(entry.getKey());
+    private static @NotNull List<Integer> getProfitableEdgesPercent(final @NotNull boolean[] edgeToPercent) {
+        final List<Integer> profitableEdges = new ArrayList<>(edgeToPercent.length);
+        for (int i = 0; i < edgeToPercent.length; i++) {
+            if (edgeToPercent[i]) {
+                profitableEdges.add(i);
             }
         }
         if (profitableEdges.isEmpty()) {
-            profitableEdges.addAll(edgeToPercent.keySet());
+            for (int i = 0; i < edgeToPercent.length; i++) {
+                profitableEdges.add(i);
+            }
         }
         return profitableEdges;
     }
 
     /**
-     * @param nodeTree - корень дерева
-     * @param player   - думающий игрок
+     * @param nodeTree    - корень дерева
+     * @param playerIndex - индекс думающего игрока
      * @return true, если есть последовательность действий, при которой игрок побеждает, false - если нет
      */
-    private static boolean getMaxPercent(final @NotNull NodeTree nodeTree, final @NotNull Player player) {
-        final List<Edge> edges = nodeTree.getEdges();
-        if (edges.isEmpty()) {
-            return Objects.requireNonNull(nodeTree.getWinsCount()).get(player) == 1;
+    private static boolean getMaxPercent(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        if (nodeTree.getEdgesCount() == 0) {
+            return Objects.requireNonNull(nodeTree.getWinsCount())[playerIndex] == 1;
         }
-        if (player == edges.get(0).getPlayer()) {
-            for (final Edge edge : edges) {
-                if (getMaxPercent(edge.getTo(), player)) {
+        if (playerIndex == nodeTree.getPlayerIndex()) {
+            for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+                if (getMaxPercent(nodeTree.getChild(i), playerIndex)) {
                     return true;
                 }
             }
             return false;
         }
-        for (final Edge edge : edges) {
-            if (getMinPercent(edge.getTo(), player)) {
+        for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+            if (getMinPercent(nodeTree.getChild(i), playerIndex)) {
                 return false;
             }
         }
@@ -200,25 +188,24 @@ public class MinMaxProcessor {
     }
 
     /**
-     * @param nodeTree - корень дерева
-     * @param opponent - оппонент
+     * @param nodeTree      - корень дерева
+     * @param opponentIndex - индекс оппонента
      * @return true, если есть последовательность действий, при которой оппонент проигрывает, false - если нет
      */
-    private static boolean getMinPercent(final @NotNull NodeTree nodeTree, final @NotNull Player opponent) {
-        final List<Edge> edges = nodeTree.getEdges();
-        if (edges.isEmpty()) {
-            return Objects.requireNonNull(nodeTree.getWinsCount()).get(opponent) == 0;
+    private static boolean getMinPercent(final @NotNull NodeTree nodeTree, final int opponentIndex) {
+        if (nodeTree.getEdgesCount() == 0) {
+            return Objects.requireNonNull(nodeTree.getWinsCount())[opponentIndex] == 0;
         }
-        if (opponent == edges.get(0).getPlayer()) {
-            for (final Edge edge : edges) {
-                if (getMaxPercent(edge.getTo(), opponent)) {
+        if (opponentIndex == nodeTree.getPlayerIndex()) {
+            for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+                if (getMaxPercent(nodeTree.getChild(i), opponentIndex)) {
                     return false;
                 }
             }
             return true;
         }
-        for (final Edge edge : edges) {
-            if (getMinPercent(edge.getTo(), opponent)) {
+        for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+            if (getMinPercent(nodeTree.getChild(i), opponentIndex)) {
                 return true;
             }
         }
@@ -228,143 +215,149 @@ public class MinMaxProcessor {
     /**
      * Поиск действия, минимизирующего вероятность выигрыша оппонента
      *
-     * @param nodeTree - корень дерева
-     * @param opponent - оппонент игрока
+     * @param nodeTree      - корень дерева
+     * @param opponentIndex - индекс оппонента игрока
      * @return действие, минимизирующее вероятность выигрыша оппонента
      */
-    static @NotNull Action minMaxPercentAlgorithm(final @NotNull NodeTree nodeTree, final @NotNull Player opponent) {
-        final List<Edge> edges = nodeTree.getEdges();
-        final Map<Edge, Boolean> edgeToPercent = Collections.synchronizedMap(new HashMap<>(edges.size()));
-        final List<RecursiveAction> recursiveActions = new ArrayList<>(edges.size());
-        edges.forEach(edge -> recursiveActions.add(new RecursiveAction() {
-            @Override
-            protected void compute() {
-                edgeToPercent.put(edge, getMinPercent(edge.getTo(), opponent));
-            }
-        }));
+    static @NotNull Action minMaxPercentAlgorithm(final @NotNull NodeTree nodeTree, final int opponentIndex) {
+        final boolean[] edgeToPercent = new boolean[nodeTree.getEdgesCount()];
+        final List<RecursiveAction> recursiveActions = new ArrayList<>(edgeToPercent.length);
+        for (int i = 0; i < edgeToPercent.length; i++) {
+            final int edgeIndex = i;
+            recursiveActions.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    edgeToPercent[edgeIndex] = getMinPercent(nodeTree.getChild(edgeIndex), opponentIndex);
+                }
+            });
+        }
         RecursiveAction.invokeAll(recursiveActions);
-        return Objects.requireNonNull(
-                RandomGenerator.chooseItemFromList(getProfitableEdgesPercent(edgeToPercent)).getAction());
+        return Objects.requireNonNull(nodeTree.getAction(
+                RandomGenerator.chooseItemFromList(getProfitableEdgesPercent(edgeToPercent))));
     }
 
     /**
      * Поиск действия, максимизирующего доход игрока
      *
-     * @param nodeTree - корень дерева
-     * @param player   - думающий игрок
+     * @param nodeTree    - корень дерева
+     * @param playerIndex - индекс думающего игрока
      * @return действие, максимизирующее доход игрока
      */
-    static @NotNull Action maxMinValueAlgorithm(final @NotNull NodeTree nodeTree, final @NotNull Player player) {
-        final List<Edge> edges = nodeTree.getEdges();
-        final Map<Edge, Integer> edgeToValue = Collections.synchronizedMap(new HashMap<>(edges.size()));
-        final List<RecursiveAction> recursiveActions = new ArrayList<>(edges.size());
-        edges.forEach(edge -> recursiveActions.add(new RecursiveAction() {
-            @Override
-            protected void compute() {
-                edgeToValue.put(edge, getMaxValue(edge.getTo(), player));
-            }
-        }));
+    static @NotNull Action maxMinValueAlgorithm(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        final int[] edgeToValue = new int[nodeTree.getEdgesCount()];
+        final List<RecursiveAction> recursiveActions = new ArrayList<>(edgeToValue.length);
+        for (int i = 0; i < edgeToValue.length; i++) {
+            final int edgeIndex = i;
+            recursiveActions.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    edgeToValue[edgeIndex] = getMaxValue(nodeTree.getChild(edgeIndex), playerIndex);
+                }
+            });
+        }
         RecursiveAction.invokeAll(recursiveActions);
-        return Objects.requireNonNull(
-                RandomGenerator.chooseItemFromList(getProfitableEdgesMaxValue(edgeToValue)).getAction());
+        return Objects.requireNonNull(nodeTree.getAction(
+                RandomGenerator.chooseItemFromList(getProfitableEdgesMaxValue(edgeToValue))));
     }
 
     /**
-     * @param edgeToValue - отображение (ребро -> число монет)
-     * @return все рёбра с максимальным среди всех значений этого отображения числом монет
+     * @param edgeToValue - индекс ребра -> число монет
+     * @return индексы всех рёбер с максимальным среди всех значений числом монет
      */
-    private static @NotNull List<Edge> getProfitableEdgesMaxValue(final @NotNull Map<Edge, Integer> edgeToValue) {
-        final List<Edge> profitableEdges = new LinkedList<>();
+    private static @NotNull List<Integer> getProfitableEdgesMaxValue(final @NotNull int[] edgeToValue) {
+        final List<Integer> profitableEdges = new ArrayList<>(edgeToValue.length);
         int maxValue = Integer.MIN_VALUE;
-        for (final Map.Entry<Edge, Integer> entry : edgeToValue.entrySet()) {
-            if (entry.getValue() > maxValue) {
-                maxValue = entry.getValue();
+        for (int i = 0; i < edgeToValue.length; i++) {
+            if (edgeToValue[i] > maxValue) {
+                maxValue = edgeToValue[i];
                 profitableEdges.clear();
-                profitableEdges.add(entry.getKey());
+                profitableEdges.add(i);
                 continue;
             }
-            if (entry.getValue() == maxValue) {
-                profitableEdges.add(entry.getKey());
+            if (edgeToValue[i] == maxValue) {
+                profitableEdges.add(i);
             }
         }
         return profitableEdges;
     }
 
     /**
-     * @param nodeTree - корень дерева
-     * @param player   - думающий игрок
+     * @param nodeTree    - корень дерева
+     * @param playerIndex - индекс думающего игрока
      * @return максимальное число монет по всем рёбрам, выходящим из данного корня
      */
-    private static int getMaxValue(final @NotNull NodeTree nodeTree, final @NotNull Player player) {
-        return nodeTree.getEdges().isEmpty()
-                ? Objects.requireNonNull(nodeTree.getPlayerToMaxAndMinCoinsCount()).get(player).getFirst()
-                : getDefaultValue(nodeTree.getEdges(), player);
+    private static int getMaxValue(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        return nodeTree.getEdgesCount() == 0
+                ? Objects.requireNonNull(nodeTree.getMaxCoinsCount())[playerIndex]
+                : getDefaultValue(nodeTree, playerIndex);
     }
 
-    private static int getDefaultValue(final @NotNull List<Edge> edges, final @NotNull Player player) {
-        if (player == edges.get(0).getPlayer()) {
+    private static int getDefaultValue(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        if (playerIndex == nodeTree.getPlayerIndex()) {
             int maxValue = -1;
-            for (final Edge edge : edges) {
-                maxValue = Math.max(maxValue, getMaxValue(edge.getTo(), player));
+            for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+                maxValue = Math.max(maxValue, getMaxValue(nodeTree.getChild(i), playerIndex));
             }
             return maxValue;
         }
         int minValue = Integer.MAX_VALUE;
-        for (final Edge edge : edges) {
-            minValue = Math.min(minValue, getMinValue(edge.getTo(), player));
+        for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+            minValue = Math.min(minValue, getMinValue(nodeTree.getChild(i), playerIndex));
         }
         return minValue;
     }
 
     /**
-     * @param nodeTree - корень дерева
-     * @param opponent - оппонент игрока
+     * @param nodeTree      - корень дерева
+     * @param opponentIndex - индекс оппонента игрока
      * @return минимальное число монет по всем рёбрам, выходящим из данного корня
      */
-    private static int getMinValue(final @NotNull NodeTree nodeTree, final @NotNull Player opponent) {
-        return nodeTree.getEdges().isEmpty()
-                ? Objects.requireNonNull(nodeTree.getPlayerToMaxAndMinCoinsCount()).get(opponent).getSecond()
-                : getDefaultValue(nodeTree.getEdges(), opponent);
+    private static int getMinValue(final @NotNull NodeTree nodeTree, final int opponentIndex) {
+        return nodeTree.getEdgesCount() == 0
+                ? Objects.requireNonNull(nodeTree.getMinCoinsCount())[opponentIndex]
+                : getDefaultValue(nodeTree, opponentIndex);
     }
 
     /**
      * Поиск действия, минимизирующего доход оппонента игрока
      *
-     * @param nodeTree - корень дерева
-     * @param opponent - оппонент игрока
+     * @param nodeTree      - корень дерева
+     * @param opponentIndex - индекс оппонента игрока
      * @return действие, минимизирующее доход оппонента игрока
      */
-    static @NotNull Action minMaxValueAlgorithm(final @NotNull NodeTree nodeTree, final @NotNull Player opponent) {
-        final List<Edge> edges = nodeTree.getEdges();
-        final Map<Edge, Integer> edgeToValue = Collections.synchronizedMap(new HashMap<>(edges.size()));
-        final List<RecursiveAction> recursiveActions = new ArrayList<>(edges.size());
-        edges.forEach(edge -> recursiveActions.add(new RecursiveAction() {
-            @Override
-            protected void compute() {
-                edgeToValue.put(edge, getMinValue(edge.getTo(), opponent));
-            }
-        }));
+    static @NotNull Action minMaxValueAlgorithm(final @NotNull NodeTree nodeTree, final int opponentIndex) {
+        final int[] edgeToValue = new int[nodeTree.getEdgesCount()];
+        final List<RecursiveAction> recursiveActions = new ArrayList<>(edgeToValue.length);
+        for (int i = 0; i < edgeToValue.length; i++) {
+            final int edgeIndex = i;
+            recursiveActions.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    edgeToValue[edgeIndex] = getMinValue(nodeTree.getChild(edgeIndex), opponentIndex);
+                }
+            });
+        }
         RecursiveAction.invokeAll(recursiveActions);
-        return Objects.requireNonNull(
-                RandomGenerator.chooseItemFromList(getProfitableEdgesMinValue(edgeToValue)).getAction());
+        return Objects.requireNonNull(nodeTree.getAction(
+                RandomGenerator.chooseItemFromList(getProfitableEdgesMinValue(edgeToValue))));
     }
 
     /**
-     * @param edgeToValue - отображение (ребро -> число монет)
-     * @return все рёбра с минимальным среди всех значений этого отображения числом монет
+     * @param edgeToValue - индекс ребра -> число монет
+     * @return индексы всех рёбер с минимальным среди всех значений числом монет
      */
-    private static @NotNull List<Edge> getProfitableEdgesMinValue(final @NotNull Map<Edge, Integer> edgeToValue) {
-        final List<Edge> profitableEdges = new LinkedList<>();
+    private static @NotNull List<Integer> getProfitableEdgesMinValue(final @NotNull int[] edgeToValue) {
+        final List<Integer> profitableEdges = new ArrayList<>(edgeToValue.length);
         int minValue = Integer.MAX_VALUE;
-        for (final Map.Entry<Edge, Integer> entry : edgeToValue.entrySet()) {
-            if (entry.getValue() < minValue) {
-                minValue = entry.getValue();
+        for (int i = 0; i < edgeToValue.length; i++) {
+            if (edgeToValue[i] < minValue) {
+                minValue = edgeToValue[i];
                 profitableEdges.clear();
-                profitableEdges.add(entry.getKey());
+                profitableEdges.add(i);
                 continue;
             }
-            if (entry.getValue() == minValue) {
-                profitableEdges.add(entry.getKey());
+            if (edgeToValue[i] == minValue) {
+                profitableEdges.add(i);
             }
         }
         return profitableEdges;
@@ -373,48 +366,49 @@ public class MinMaxProcessor {
     /**
      * Поиск действия, максимизирующего отрыв игрока (по числу монет)
      *
-     * @param nodeTree - корень дерева
-     * @param player   - думающий игрок
+     * @param nodeTree    - корень дерева
+     * @param playerIndex - индекс думающего игрока
      * @return действие, максимизирующее отрыв игрока (по числу монет)
      */
-    static @NotNull Action maxMinValueDifferenceAlgorithm(final @NotNull NodeTree nodeTree,
-                                                          final @NotNull Player player) {
-        final List<Edge> edges = nodeTree.getEdges();
-        final Map<Edge, Integer> edgeToValue = Collections.synchronizedMap(new HashMap<>(edges.size()));
-        final List<RecursiveAction> recursiveActions = new ArrayList<>(edges.size());
-        edges.forEach(edge -> recursiveActions.add(new RecursiveAction() {
-            @Override
-            protected void compute() {
-                edgeToValue.put(edge, getMaxValueDifference(edge.getTo(), player));
-            }
-        }));
+    static @NotNull Action maxMinValueDifferenceAlgorithm(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        final int[] edgeToValue = new int[nodeTree.getEdgesCount()];
+        final List<RecursiveAction> recursiveActions = new ArrayList<>(edgeToValue.length);
+        for (int i = 0; i < edgeToValue.length; i++) {
+            final int edgeIndex = i;
+            recursiveActions.add(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    edgeToValue[edgeIndex] = getMaxValueDifference(nodeTree.getChild(edgeIndex), playerIndex);
+                }
+            });
+        }
         RecursiveAction.invokeAll(recursiveActions);
-        return Objects.requireNonNull(
-                RandomGenerator.chooseItemFromList(getProfitableEdgesMaxValue(edgeToValue)).getAction());
+        return Objects.requireNonNull(nodeTree.getAction(
+                RandomGenerator.chooseItemFromList(getProfitableEdgesMaxValue(edgeToValue))));
     }
 
     /**
-     * @param nodeTree - корень дерева
-     * @param player   - думающий игрок
+     * @param nodeTree    - корень дерева
+     * @param playerIndex - индекс думающего игрока
      * @return максимальное число монет по всем рёбрам, выходящим из данного корня
      */
-    private static int getMaxValueDifference(final @NotNull NodeTree nodeTree, final @NotNull Player player) {
-        return nodeTree.getEdges().isEmpty() || nodeTree.getEdges().get(0).getPlayer() == null
-                ? Objects.requireNonNull(nodeTree.getPlayerToValueDifference()).get(player)
-                : getDefaultValueDifference(nodeTree.getEdges(), player);
+    private static int getMaxValueDifference(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        return nodeTree.getEdgesCount() == 0 || nodeTree.getPlayerIndex() == Edge.NO_PLAYER
+                ? Objects.requireNonNull(nodeTree.getValueDifferences())[playerIndex]
+                : getDefaultValueDifference(nodeTree, playerIndex);
     }
 
-    private static int getDefaultValueDifference(final @NotNull List<Edge> edges, final @NotNull Player player) {
-        if (player == edges.get(0).getPlayer()) {
+    private static int getDefaultValueDifference(final @NotNull NodeTree nodeTree, final int playerIndex) {
+        if (playerIndex == nodeTree.getPlayerIndex()) {
             int maxValue = Integer.MIN_VALUE;
-            for (final Edge edge : edges) {
-                maxValue = Math.max(maxValue, getMaxValueDifference(edge.getTo(), player));
+            for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+                maxValue = Math.max(maxValue, getMaxValueDifference(nodeTree.getChild(i), playerIndex));
             }
             return maxValue;
         }
         int minValue = Integer.MAX_VALUE;
-        for (final Edge edge : edges) {
-            minValue = Math.min(minValue, getMaxValueDifference(edge.getTo(), player));
+        for (int i = 0; i < nodeTree.getEdgesCount(); i++) {
+            minValue = Math.min(minValue, getMaxValueDifference(nodeTree.getChild(i), playerIndex));
         }
         return minValue;
     }
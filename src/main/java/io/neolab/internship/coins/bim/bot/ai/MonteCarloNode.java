@@ -0,0 +1,150 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.bim.bot.ai.model.action.Action;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Узел дерева поиска Монте-Карло. Хранит не игру, а только состояние хода:
+ * игра приводится к узлу применением действий по пути от корня.
+ * Выигрыш узла считается для игрока, совершившего ведущее в узел действие
+ */
+class MonteCarloNode {
+    private final @Nullable MonteCarloNode parent;
+    private final @Nullable Action action; // действие, ведущее в узел (null - корень)
+    private final int actorIndex; // номер игрока, совершившего действие (-1 - корень)
+    private final @NotNull TurnState state;
+    private @Nullable Deque<Action> untriedActions; // null - действия ещё не вычислены
+    private final @NotNull List<MonteCarloNode> children = new ArrayList<>();
+    private int visitsCount;
+    private double rewardsSum;
+
+    @Contract(pure = true)
+    MonteCarloNode(final @NotNull TurnState state) {
+        this(null, null, -1, state);
+    }
+
+    @Contract(pure = true)
+    private MonteCarloNode(final @Nullable MonteCarloNode parent, final @Nullable Action action,
+                           final int actorIndex, final @NotNull TurnState state) {
+        this.parent = parent;
+        this.action = action;
+        this.actorIndex = actorIndex;
+        this.state = state;
+    }
+
+    /**
+     * Задать действия узла заранее: дети будут созданы в том же порядке
+     *
+     * @param actions - действия
+     */
+    void setUntriedActions(final @NotNull List<Action> actions) {
+        untriedActions = new ArrayDeque<>(actions);
+    }
+
+    /**
+     * Все ли действия узла уже раскрыты? При первом обращении вычисляет действия в случайном порядке
+     *
+     * @param game   - игра в состоянии узла
+     * @param random - генератор случайных чисел исполнителя
+     * @return true, если да, false - иначе
+     * @throws CoinsException при ошибке вычисления действий
+     */
+    boolean isFullyExpanded(final @NotNull IGame game, final @NotNull Random random) throws CoinsException {
+        if (untriedActions == null) {
+            final List<Action> actions = new ArrayList<>(MonteCarloProcessor.getActions(game, state));
+            Collections.shuffle(actions, random);
+            untriedActions = new ArrayDeque<>(actions);
+        }
+        return untriedActions.isEmpty();
+    }
+
+    /**
+     * @return следующее нераскрытое действие (перед вызовом isFullyExpanded должен вернуть false)
+     */
+    @NotNull Action pollUntriedAction() {
+        return Objects.requireNonNull(Objects.requireNonNull(untriedActions).poll());
+    }
+
+    /**
+     * Добавить ребёнка
+     *
+     * @param action     - действие, ведущее в ребёнка
+     * @param actorIndex - номер игрока, совершившего действие
+     * @param state      - состояние хода после действия
+     * @return ребёнка
+     */
+    @NotNull MonteCarloNode addChild(final @NotNull Action action, final int actorIndex,
+                                     final @NotNull TurnState state) {
+        final MonteCarloNode child = new MonteCarloNode(this, action, actorIndex, state);
+        children.add(child);
+        return child;
+    }
+
+    /**
+     * Выбрать ребёнка по UCT: средний выигрыш плюс бонус за редкое посещение
+     *
+     * @param exploration - вес бонуса за редкое посещение
+     * @return ребёнка с наибольшей оценкой
+     */
+    @NotNull MonteCarloNode selectChild(final double exploration) {
+        final double logVisitsCount = Math.log(visitsCount);
+        MonteCarloNode bestChild = children.get(0);
+        double bestValue = Double.NEGATIVE_INFINITY;
+        for (final MonteCarloNode child : children) {
+            final double value = child.rewardsSum / child.visitsCount
+                    + exploration * Math.sqrt(logVisitsCount / child.visitsCount);
+            if (value > bestValue) {
+                bestValue = value;
+                bestChild = child;
+            }
+        }
+        return bestChild;
+    }
+
+    /**
+     * Учесть результат розыгрыша
+     *
+     * @param rewards - выигрыши игроков
+     */
+    void update(final @NotNull double[] rewards) {
+        visitsCount++;
+        if (actorIndex >= 0) {
+            rewardsSum += rewards[actorIndex];
+        }
+    }
+
+    @Nullable MonteCarloNode getParent() {
+        return parent;
+    }
+
+    @NotNull Action getAction() {
+        return Objects.requireNonNull(action);
+    }
+
+    @NotNull TurnState getState() {
+        return state;
+    }
+
+    @NotNull List<MonteCarloNode> getChildren() {
+        return children;
+    }
+
+    int getVisitsCount() {
+        return visitsCount;
+    }
+
+    @Override
+    public String toString() {
+        return "MonteCarloNode{" +
+                "action=" + action +
+                ", visitsCount=" + visitsCount +
+                ", rewardsSum=" + rewardsSum +
+                '}';
+    }
+}
@@ -0,0 +1,314 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.bim.bot.ai.evaluation.CoinsEvaluator;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.Evaluator;
+import io.neolab.internship.coins.bim.bot.ai.model.action.*;
+import io.neolab.internship.coins.exceptions.CoinsErrorCode;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.Game;
+import io.neolab.internship.coins.server.game.GameCheckpoint;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import io.neolab.internship.coins.utils.Pair;
+import io.neolab.internship.coins.utils.Triplet;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+import static io.neolab.internship.coins.bim.bot.ai.SimulationTreeCreatingProcessor.*;
+
+/**
+ * Правила игры для поиска Монте-Карло: действия в состоянии хода, переход по действию,
+ * случайная политика розыгрыша (как у SimpleBot) и итоговые выигрыши игроков.
+ * Все изменения игры записываются в стек откатов, поэтому игру можно вернуть в исходное состояние
+ */
+public class MonteCarloProcessor {
+    private static final int ACTIONS_DEPTH = 2; // глубина, по которой сокращается перебор действий
+    private static final @NotNull Evaluator ACTIONS_EVALUATOR = new CoinsEvaluator(); // порядок клеток для захвата
+
+    /**
+     * Взять действия, возможные в состоянии хода.
+     * В отличие от дерева, закончить захват клеток можно всегда
+     *
+     * @param game  - игра
+     * @param state - состояние хода
+     * @return действия (пустой список - игра закончена)
+     * @throws CoinsException при неизвестном типе действия
+     */
+    static @NotNull List<Action> getActions(final @NotNull IGame game, final @NotNull TurnState state)
+            throws CoinsException {
+        if (state.isGameOver()) {
+            return Collections.emptyList();
+        }
+        final Player player = state.getPlayer();
+        switch (state.getActionType()) {
+            case DECLINE_RACE:
+                return getDeclineRaceActions(game);
+            case CHANGE_RACE: {
+                final List<Action> actions = getChangeRaceActions(game, ACTIONS_DEPTH);
+                if (actions.isEmpty()) {
+                    game.getRacesPool().forEach(race -> actions.add(new ChangeRaceAction(race)));
+                }
+                return actions;
+            }
+            case CATCH_CELL: {
+                final List<Action> actions = getCatchCellActions(game, player,
+                        new HashSet<>(state.getPrevCatchCells()), ACTIONS_DEPTH, ACTIONS_EVALUATOR);
+                final CatchCellAction endAction = new CatchCellAction(null);
+                if (!actions.contains(endAction)) {
+                    actions.add(endAction);
+                }
+                return actions;
+            }
+            case DISTRIBUTION_UNITS:
+                return getDistributionUnitsActions(game, player);
+            default:
+                throw new CoinsException(CoinsErrorCode.ACTION_TYPE_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Выбрать действие случайной политикой розыгрыша
+     *
+     * @param game   - игра
+     * @param state  - состояние хода
+     * @param random - генератор случайных чисел исполнителя поиска
+     * @return случайное действие или null, если выбирать не из чего
+     * @throws CoinsException при неизвестном типе действия
+     */
+    static @Nullable Action getRandomAction(final @NotNull IGame game, final @NotNull TurnState state,
+                                            final @NotNull Random random) throws CoinsException {
+        if (state.isGameOver()) {
+            return null;
+        }
+        final Player player = state.getPlayer();
+        switch (state.getActionType()) {
+            case DECLINE_RACE:
+                return chooseItem(getDeclineRaceActions(game), random);
+            case CHANGE_RACE:
+                return game.getRacesPool().isEmpty()
+                        ? null
+                        : new ChangeRaceAction(chooseItem(game.getRacesPool(), random));
+            case CATCH_CELL:
+                return getRandomCatchCellAction(game, player, state.getPrevCatchCells(), random);
+            case DISTRIBUTION_UNITS:
+                return getRandomDistributionUnitsAction(game, player, random);
+            default:
+                throw new CoinsException(CoinsErrorCode.ACTION_TYPE_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Выбрать случайную клетку для захвата и случайное число юнитов не меньше необходимого
+     * (с вероятностью 1/2 или если клетка не по силам - закончить захват)
+     *
+     * @param game           - игра
+     * @param player         - игрок
+     * @param prevCatchCells - клетки, захваченные игроком в этом ходу
+     * @param random         - генератор случайных чисел
+     * @return действие захвата клетки
+     */
+    private static @NotNull Action getRandomCatchCellAction(final @NotNull IGame game, final @NotNull Player player,
+                                                            final @NotNull Set<Cell> prevCatchCells,
+                                                            final @NotNull Random random) {
+        final Set<Cell> achievableCells = new HashSet<>(game.getPlayerToAchievableCells().get(player));
+        achievableCells.removeAll(prevCatchCells);
+        if (achievableCells.isEmpty() || player.getUnitsByState(AvailabilityType.AVAILABLE).isEmpty()
+                || !random.nextBoolean()) {
+            return new CatchCellAction(null);
+        }
+        final Triplet<List<Unit>, Integer, Cell> triplet = getUnitsToPairTiredUnitsToCell(game, player,
+                chooseItem(new ArrayList<>(achievableCells), random), new HashSet<>(prevCatchCells));
+        if (triplet == null) {
+            return new CatchCellAction(null);
+        }
+        final List<Unit> units = triplet.getFirst();
+        final int unitsCount = triplet.getSecond() + random.nextInt(units.size() - triplet.getSecond() + 1);
+        return new CatchCellAction(new Pair<>(game.getBoard().getPositionByCell(triplet.getThird()),
+                new LinkedList<>(units.subList(0, unitsCount))));
+    }
+
+    /**
+     * Распределить доступных юнитов по случайным подконтрольным клеткам
+     *
+     * @param game   - игра
+     * @param player - игрок
+     * @param random - генератор случайных чисел
+     * @return действие распределения юнитов
+     */
+    private static @NotNull Action getRandomDistributionUnitsAction(final @NotNull IGame game,
+                                                                    final @NotNull Player player,
+                                                                    final @NotNull Random random) {
+        final List<Cell> controlledCells = game.getOwnToCells().get(player);
+        final Map<Cell, Integer> distribution = new HashMap<>();
+        int availableUnitsCount = new HashSet<>(player.getUnitsByState(AvailabilityType.AVAILABLE)).size();
+        while (!controlledCells.isEmpty() && availableUnitsCount > 0 && random.nextBoolean()) {
+            final int unitsCount = 1 + random.nextInt(availableUnitsCount);
+            distribution.merge(chooseItem(controlledCells, random), unitsCount, Integer::sum);
+            availableUnitsCount -= unitsCount;
+        }
+        return createDistributionUnitsAction(game, player, distribution);
+    }
+
+    /**
+     * Выбрать случайный элемент списка
+     *
+     * @param list   - непустой список
+     * @param random - генератор случайных чисел
+     * @return выбранный элемент
+     */
+    private static <T> T chooseItem(final @NotNull List<T> list, final @NotNull Random random) {
+        return list.get(random.nextInt(list.size()));
+    }
+
+    /**
+     * Применить действие и перейти к следующему состоянию хода
+     *
+     * @param game      - игра
+     * @param state     - состояние хода
+     * @param action    - действие
+     * @param undoStack - стек откатов (пополняется записями отката изменений игры;
+     *                  null - игра меняется без записей отката, вернуть её нельзя)
+     * @return следующее состояние хода
+     * @throws CoinsException при ошибке обновления игры
+     */
+    static @NotNull TurnState applyAction(final @NotNull IGame game, final @NotNull TurnState state,
+                                          final @NotNull Action action,
+                                          final @Nullable Deque<GameCheckpoint> undoStack) throws CoinsException {
+        final Player player = state.getPlayer();
+        switch (action.getType()) {
+            case DECLINE_RACE:
+                if (((DeclineRaceAction) action).isDeclineRace()) {
+                    return new TurnState(player, ActionType.CHANGE_RACE);
+                }
+                makeMove(game, player, action, undoStack);
+                return new TurnState(player, ActionType.CATCH_CELL);
+            case CHANGE_RACE: {
+                final boolean isBeforeGame = isBeforeGame(game);
+                makeMove(game, player, action, undoStack);
+                if (!isBeforeGame) {
+                    return new TurnState(player, ActionType.CATCH_CELL);
+                }
+                final Player nextPlayer = getNextPlayerInThisRound(game, player);
+                if (nextPlayer != null) {
+                    return new TurnState(nextPlayer, ActionType.CHANGE_RACE);
+                }
+                pushUndo(game, Collections.emptyList(), undoStack);
+                game.incrementCurrentRound();
+                return beginTurn(game.getPlayers().get(0));
+            }
+            case CATCH_CELL: {
+                final Pair<Position, List<Unit>> resolution = ((CatchCellAction) action).getResolution();
+                if (resolution == null) {
+                    pushUndo(game, game.getOwnToCells().get(player), undoStack);
+                    GameLoopProcessor.makeAllUnitsSomeState(player, AvailabilityType.AVAILABLE);
+                    updateGameAfterCatchCellsEnd(game, player);
+                    return new TurnState(player, ActionType.DISTRIBUTION_UNITS);
+                }
+                makeMove(game, player, action, undoStack);
+                final Set<Cell> prevCatchCells = new HashSet<>(state.getPrevCatchCells());
+                prevCatchCells.add(game.getBoard().getCellByPosition(resolution.getFirst()));
+                return new TurnState(player, ActionType.CATCH_CELL, prevCatchCells);
+            }
+            case DISTRIBUTION_UNITS:
+                makeMove(game, player, action, undoStack);
+                return endTurn(game, player, undoStack);
+            default:
+                throw new CoinsException(CoinsErrorCode.ACTION_TYPE_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Применить действие к игре, записав откат, если есть стек откатов
+     *
+     * @param game      - игра
+     * @param player    - игрок, совершающий действие
+     * @param action    - действие
+     * @param undoStack - стек откатов или null
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private static void makeMove(final @NotNull IGame game, final @NotNull Player player,
+                                 final @NotNull Action action,
+                                 final @Nullable Deque<GameCheckpoint> undoStack) throws CoinsException {
+        if (undoStack == null) {
+            updateGame(game, player, action);
+            return;
+        }
+        undoStack.push(ReversibleMoveProcessor.makeMove(game, player, action));
+    }
+
+    /**
+     * Запомнить клетки и всех игроков перед изменением игры не через makeMove, если есть стек откатов
+     *
+     * @param game      - игра
+     * @param cells     - клетки, которые будут изменены (копируются)
+     * @param undoStack - стек откатов или null
+     */
+    private static void pushUndo(final @NotNull IGame game, final @NotNull Collection<Cell> cells,
+                                 final @Nullable Deque<GameCheckpoint> undoStack) {
+        if (undoStack != null) {
+            undoStack.push(ReversibleMoveProcessor.createUndo(game, new ArrayList<>(cells)));
+        }
+    }
+
+    /**
+     * Закончить ход игрока: ход переходит к следующему игроку, а после последнего игрока
+     * начисляются монеты и начинается новый раунд или игра заканчивается
+     *
+     * @param game      - игра
+     * @param player    - игрок, закончивший ход
+     * @param undoStack - стек откатов или null
+     * @return состояние хода следующего игрока
+     * @throws CoinsException в случае, если player отсутствует в игре game
+     */
+    private static @NotNull TurnState endTurn(final @NotNull IGame game, final @NotNull Player player,
+                                              final @Nullable Deque<GameCheckpoint> undoStack)
+            throws CoinsException {
+        pushUndo(game, Collections.emptyList(), undoStack);
+        GameLoopProcessor.playerRoundEndUpdate(player, false);
+        final Player nextPlayer = getNextPlayerInThisRound(game, player);
+        if (nextPlayer != null) {
+            return beginTurn(nextPlayer);
+        }
+        updateGameEndRound(game);
+        if (game.getCurrentRound() > Game.ROUNDS_COUNT) {
+            return TurnState.gameOver();
+        }
+        return beginTurn(game.getPlayers().get(0));
+    }
+
+    /**
+     * Начать ход игрока (изменения игроков уже записаны в стек откатов)
+     *
+     * @param player - игрок
+     * @return состояние хода игрока
+     */
+    private static @NotNull TurnState beginTurn(final @NotNull Player player) {
+        GameLoopProcessor.playerRoundBeginUpdate(player, false);
+        return new TurnState(player, ActionType.DECLINE_RACE);
+    }
+
+    /**
+     * Взять выигрыши игроков по текущему числу монет: победители (игроки с наибольшим числом монет)
+     * делят между собой 1, остальные получают 0
+     *
+     * @param game - игра
+     * @return выигрыши в порядке игроков в игре
+     */
+    static @NotNull double[] getRewards(final @NotNull IGame game) {
+        final List<Player> players = game.getPlayers();
+        final int maxCoins = players.stream().mapToInt(Player::getCoins).max().orElse(0);
+        final long winnersCount = players.stream().filter(player -> player.getCoins() == maxCoins).count();
+        final double[] rewards = new double[players.size()];
+        for (int i = 0; i < rewards.length; i++) {
+            rewards[i] = players.get(i).getCoins() == maxCoins ? 1.0 / winnersCount : 0;
+        }
+        return rewards;
+    }
+}
@@ -0,0 +1,310 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.bim.bot.ai.model.action.Action;
+import io.neolab.internship.coins.bim.bot.ai.model.action.ActionType;
+import io.neolab.internship.coins.client.bot.metrics.SearchCounters;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.GameCheckpoint;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.utils.RandomGenerator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Поиск действия методом Монте-Карло по дереву (UCT).
+ * Каждая итерация спускается по дереву, раскрывает один узел, доигрывает партию до конца
+ * случайной политикой (как у SimpleBot) и обновляет выигрыши на пути.
+ * Поиск параллелен по корню: каждый исполнитель строит своё дерево на своей копии игры,
+ * а посещения действий корня суммируются. Поиск ограничен числом итераций и/или временем.
+ * Исполнители запускаются в пуле поисковика, а не в общем пуле JVM. Случайные выборы исполнителя
+ * берутся из генератора его потока, а не из общего RandomGenerator. Игра после поиска не меняется
+ */
+public class MonteCarloTreeSearcher implements AutoCloseable {
+    private static final double EXPLORATION = Math.sqrt(2);
+    private final int iterationsCount; // 0 - число итераций не ограничено
+    private final long timeBudgetMillis; // 0 - время не ограничено
+    private final int workersCount;
+    private final @NotNull ForkJoinPool pool;
+    private final boolean isPoolOwned; // создан ли пул самим поисковиком (тогда он закрывается в close)
+    private final @NotNull SearchCounters searchCounters = new SearchCounters(); // пополняют все исполнители
+    private long lastIterationsCount;
+
+    /**
+     * Исполнитель поиска: строит своё дерево на своей копии игры и запоминает посещения действий корня
+     */
+    private static class Worker extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final @NotNull IGame game;
+        private final @NotNull TurnState rootState;
+        private final @NotNull List<Action> rootActions;
+        private final int iterationsCount;
+        private final long deadlineNanos;
+        private final @NotNull int[] visitsCounts;
+        private final @NotNull SearchCounters searchCounters;
+        private long doneIterationsCount;
+        private @Nullable CoinsException exception;
+
+        private Worker(final @NotNull IGame game, final @NotNull TurnState rootState,
+                       final @NotNull List<Action> rootActions, final int iterationsCount,
+                       final long deadlineNanos, final @NotNull SearchCounters searchCounters) {
+            this.game = game;
+            this.rootState = rootState;
+            this.rootActions = rootActions;
+            this.iterationsCount = iterationsCount;
+            this.deadlineNanos = deadlineNanos;
+            this.visitsCounts = new int[rootActions.size()];
+            this.searchCounters = searchCounters;
+        }
+
+        @Override
+        protected void compute() {
+            final MonteCarloNode root = new MonteCarloNode(rootState);
+            root.setUntriedActions(rootActions);
+            searchCounters.incrementTreeNodes();
+            final Random random = ThreadLocalRandom.current();
+            try {
+                while ((iterationsCount <= 0 || doneIterationsCount < iterationsCount)
+                        && System.nanoTime() < deadlineNanos) {
+                    iterate(game, root, random, searchCounters);
+                    doneIterationsCount++;
+                }
+            } catch (final CoinsException coinsException) {
+                exception = coinsException;
+            }
+            final List<MonteCarloNode> children = root.getChildren();
+            for (int i = 0; i < children.size(); i++) { // дети корня созданы в порядке rootActions
+                visitsCounts[i] = children.get(i).getVisitsCount();
+            }
+        }
+    }
+
+    /**
+     * @param iterationsCount  - число итераций на одно решение (0 - не ограничено)
+     * @param timeBudgetMillis - время на одно решение в миллисекундах (0 - не ограничено)
+     * @param workersCount     - число параллельных исполнителей (и потоков своего пула поисковика)
+     */
+    public MonteCarloTreeSearcher(final int iterationsCount, final long timeBudgetMillis, final int workersCount) {
+        this(iterationsCount, timeBudgetMillis, workersCount, new ForkJoinPool(Math.max(1, workersCount)), true);
+    }
+
+    /**
+     * @param iterationsCount  - число итераций на одно решение (0 - не ограничено)
+     * @param timeBudgetMillis - время на одно решение в миллисекундах (0 - не ограничено)
+     * @param workersCount     - число параллельных исполнителей
+     * @param pool             - пул, в котором запускаются исполнители (закрывает его владелец, а не поисковик)
+     */
+    public MonteCarloTreeSearcher(final int iterationsCount, final long timeBudgetMillis, final int workersCount,
+                                  final @NotNull ForkJoinPool pool) {
+        this(iterationsCount, timeBudgetMillis, workersCount, pool, false);
+    }
+
+    private MonteCarloTreeSearcher(final int iterationsCount, final long timeBudgetMillis, final int workersCount,
+                                   final @NotNull ForkJoinPool pool, final boolean isPoolOwned) {
+        if (iterationsCount <= 0 && timeBudgetMillis <= 0) {
+            throw new IllegalArgumentException("Iterations count or time budget must be positive");
+        }
+        this.iterationsCount = iterationsCount;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.workersCount = Math.max(1, workersCount);
+        this.pool = pool;
+        this.isPoolOwned = isPoolOwned;
+    }
+
+    /**
+     * Закрыть свой пул поисковика (переданный в конструктор пул не закрывается)
+     */
+    @Override
+    public void close() {
+        if (isPoolOwned) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Выбрать, уходить ли в упадок
+     *
+     * @param game   - игра
+     * @param player - игрок
+     * @return выгодное действие или null, если выбирать не из чего
+     * @throws CoinsException при ошибке обновления игры
+     */
+    public @Nullable Action chooseDeclineRace(final @NotNull IGame game, final @NotNull Player player)
+            throws CoinsException {
+        return chooseAction(game, new TurnState(player, ActionType.DECLINE_RACE));
+    }
+
+    /**
+     * Выбрать новую расу (в том числе до начала игры)
+     *
+     * @param game   - игра
+     * @param player - игрок
+     * @return выгодное действие или null, если выбирать не из чего
+     * @throws CoinsException при ошибке обновления игры
+     */
+    public @Nullable Action chooseChangeRace(final @NotNull IGame game, final @NotNull Player player)
+            throws CoinsException {
+        return chooseAction(game, new TurnState(player, ActionType.CHANGE_RACE));
+    }
+
+    /**
+     * Выбрать клетку для захвата и юнитов (resolution = null - закончить захват)
+     *
+     * @param game           - игра
+     * @param player         - игрок
+     * @param prevCatchCells - клетки, уже захваченные игроком в этом ходу (не меняется)
+     * @return выгодное действие или null, если выбирать не из чего
+     * @throws CoinsException при ошибке обновления игры
+     */
+    public @Nullable Action chooseCatchCell(final @NotNull IGame game, final @NotNull Player player,
+                                            final @NotNull Set<Cell> prevCatchCells) throws CoinsException {
+        return chooseAction(game, new TurnState(player, ActionType.CATCH_CELL, new HashSet<>(prevCatchCells)));
+    }
+
+    /**
+     * Выбрать распределение юнитов
+     *
+     * @param game   - игра
+     * @param player - игрок
+     * @return выгодное действие или null, если выбирать не из чего
+     * @throws CoinsException при ошибке обновления игры
+     */
+    public @Nullable Action chooseDistributionUnits(final @NotNull IGame game, final @NotNull Player player)
+            throws CoinsException {
+        return chooseAction(game, new TurnState(player, ActionType.DISTRIBUTION_UNITS));
+    }
+
+    /**
+     * @return счётчики работы поиска: раскрытые узлы, копии игры и узлы деревьев исполнителей
+     */
+    public @NotNull SearchCounters getSearchCounters() {
+        return searchCounters;
+    }
+
+    /**
+     * @return число итераций последнего поиска (всех исполнителей)
+     */
+    public long getLastIterationsCount() {
+        return lastIterationsCount;
+    }
+
+    /**
+     * Выбрать действие, которое исполнители посетили больше всего раз
+     *
+     * @param game      - игра
+     * @param rootState - состояние хода в корне
+     * @return выгодное действие или null, если выбирать не из чего
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private @Nullable Action chooseAction(final @NotNull IGame game, final @NotNull TurnState rootState)
+            throws CoinsException {
+        lastIterationsCount = 0;
+        final List<Action> actions = MonteCarloProcessor.getActions(game, rootState);
+        if (actions.size() <= 1) {
+            return actions.isEmpty() ? null : actions.get(0);
+        }
+        final long deadlineNanos = timeBudgetMillis > 0
+                ? System.nanoTime() + timeBudgetMillis * 1_000_000
+                : Long.MAX_VALUE;
+        final int workerIterationsCount = (iterationsCount + workersCount - 1) / workersCount;
+        final List<Worker> workers = new ArrayList<>(workersCount);
+        for (int i = 0; i < workersCount; i++) {
+            final IGame gameCopy = game.getCopy();
+            searchCounters.incrementGameCopies();
+            final TurnState state = new TurnState(
+                    SimulationTreeCreatingProcessor.getPlayerCopy(gameCopy, rootState.getPlayer()),
+                    rootState.getActionType(), rootState.getPrevCatchCells());
+            workers.add(new Worker(gameCopy, state, actions, workerIterationsCount, deadlineNanos, searchCounters));
+        }
+        workers.forEach(pool::execute);
+        workers.forEach(Worker::join);
+
+        final int[] visitsCounts = new int[actions.size()];
+        for (final Worker worker : workers) {
+            if (worker.exception != null) {
+                throw worker.exception;
+            }
+            lastIterationsCount += worker.doneIterationsCount;
+            for (int i = 0; i < visitsCounts.length; i++) {
+                visitsCounts[i] += worker.visitsCounts[i];
+            }
+        }
+        final int maxVisitsCount = Arrays.stream(visitsCounts).max().orElse(0);
+        final List<Action> bestActions = new LinkedList<>();
+        for (int i = 0; i < visitsCounts.length; i++) {
+            if (visitsCounts[i] == maxVisitsCount) {
+                bestActions.add(actions.get(i));
+            }
+        }
+        return RandomGenerator.chooseItemFromList(bestActions);
+    }
+
+    /**
+     * Итерация поиска: выбор пути по UCT, раскрытие узла, случайный розыгрыш до конца игры
+     * и обновление выигрышей на пути. Игра после итерации возвращается в исходное состояние
+     *
+     * @param game           - игра в состоянии корня
+     * @param root           - корень
+     * @param random         - генератор случайных чисел исполнителя
+     * @param searchCounters - счётчики работы поиска
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private static void iterate(final @NotNull IGame game, final @NotNull MonteCarloNode root,
+                                final @NotNull Random random, final @NotNull SearchCounters searchCounters)
+            throws CoinsException {
+        final Deque<GameCheckpoint> undoStack = new ArrayDeque<>();
+        try {
+            MonteCarloNode node = root;
+            while (!node.getChildren().isEmpty() && node.isFullyExpanded(game, random)) {
+                final TurnState state = node.getState();
+                node = node.selectChild(EXPLORATION);
+                MonteCarloProcessor.applyAction(game, state, node.getAction(), undoStack);
+            }
+            if (!node.isFullyExpanded(game, random)) {
+                final TurnState state = node.getState();
+                final Action action = node.pollUntriedAction();
+                node = node.addChild(action, game.getPlayers().indexOf(state.getPlayer()),
+                        MonteCarloProcessor.applyAction(game, state, action, undoStack));
+                searchCounters.incrementExpandedNodes();
+                searchCounters.incrementTreeNodes();
+            }
+            final double[] rewards = rollout(game, node.getState(), undoStack, random);
+            for (MonteCarloNode current = node; current != null; current = current.getParent()) {
+                current.update(rewards);
+            }
+        } finally {
+            while (!undoStack.isEmpty()) {
+                ReversibleMoveProcessor.unmakeMove(undoStack.pop());
+            }
+        }
+    }
+
+    /**
+     * Доиграть партию случайной политикой
+     *
+     * @param game      - игра
+     * @param state     - состояние хода
+     * @param undoStack - стек откатов
+     * @param random    - генератор случайных чисел исполнителя
+     * @return выигрыши игроков в конце партии
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private static @NotNull double[] rollout(final @NotNull IGame game, final @NotNull TurnState state,
+                                             final @NotNull Deque<GameCheckpoint> undoStack,
+                                             final @NotNull Random random) throws CoinsException {
+        TurnState currentState = state;
+        Action action = MonteCarloProcessor.getRandomAction(game, currentState, random);
+        while (action != null) {
+            currentState = MonteCarloProcessor.applyAction(game, currentState, action, undoStack);
+            action = MonteCarloProcessor.getRandomAction(game, currentState, random);
+        }
+        return MonteCarloProcessor.getRewards(game);
+    }
+}
@@ -0,0 +1,39 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.server.game.GameCheckpoint;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Обратимый ход вместе с хэшем Зобриста игры до и после него (хэши без текущего игрока)
+ */
+class ReversibleMove {
+    private final @NotNull GameCheckpoint undo;
+    private final long prevHash;
+    private final long hash;
+
+    @Contract(pure = true)
+    ReversibleMove(final @NotNull GameCheckpoint undo, final long prevHash, final long hash) {
+        this.undo = undo;
+        this.prevHash = prevHash;
+        this.hash = hash;
+    }
+
+    @NotNull GameCheckpoint getUndo() {
+        return undo;
+    }
+
+    /**
+     * @return хэш игры до хода
+     */
+    long getPrevHash() {
+        return prevHash;
+    }
+
+    /**
+     * @return хэш игры после хода
+     */
+    long getHash() {
+        return hash;
+    }
+}
@@ -0,0 +1,157 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.bim.bot.ai.model.action.Action;
+import io.neolab.internship.coins.bim.bot.ai.model.action.CatchCellAction;
+import io.neolab.internship.coins.bim.bot.ai.model.action.DistributionUnitsAction;
+import io.neolab.internship.coins.exceptions.CoinsErrorCode;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.GameCheckpoint;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.ZobristHash;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.IBoard;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+
+/**
+ * Обратимые ходы: действие применяется к игре на месте, а возвращаемая запись отката
+ * восстанавливает ровно те клетки и игроков, которые действие могло изменить
+ */
+public class ReversibleMoveProcessor {
+    /**
+     * Применить действие к игре
+     *
+     * @param game   - игра
+     * @param player - игрок, совершающий действие
+     * @param action - действие
+     * @return запись отката, которую нужно передать в unmakeMove
+     * @throws CoinsException при неизвестном типе действия (игра при этом не меняется)
+     */
+    public static @NotNull GameCheckpoint makeMove(final @NotNull IGame game, final @NotNull Player player,
+                                                   final @NotNull Action action) throws CoinsException {
+        final GameCheckpoint undo = createUndo(game, getTouchedCells(game, player, action));
+        try {
+            SimulationTreeCreatingProcessor.updateGame(game, player, action);
+        } catch (final CoinsException | RuntimeException exception) {
+            undo.restore();
+            throw exception;
+        }
+        return undo;
+    }
+
+    /**
+     * Применить действие к игре и пересчитать хэш Зобриста только по клеткам и игрокам, которые действие
+     * могло изменить, без обхода борды
+     *
+     * @param game   - игра
+     * @param player - игрок, совершающий действие
+     * @param action - действие
+     * @param hash   - хэш игры до хода без текущего игрока (ZobristHash.hash(game, null))
+     * @return ход, который нужно передать в unmakeMove, с хэшем игры после хода
+     * @throws CoinsException при неизвестном типе действия (игра при этом не меняется)
+     */
+    static @NotNull ReversibleMove makeMove(final @NotNull IGame game, final @NotNull Player player,
+                                            final @NotNull Action action, final long hash) throws CoinsException {
+        final Collection<Cell> touchedCells = getTouchedCells(game, player, action);
+        final Collection<Cell> hashedCells = getHashedCells(game, player, touchedCells);
+        final long prevPart = ZobristHash.hashPart(game, hashedCells);
+        final GameCheckpoint undo = createUndo(game, touchedCells);
+        try {
+            SimulationTreeCreatingProcessor.updateGame(game, player, action);
+        } catch (final CoinsException | RuntimeException exception) {
+            undo.restore();
+            throw exception;
+        }
+        return new ReversibleMove(undo, hash, hash ^ prevPart ^ ZobristHash.hashPart(game, hashedCells));
+    }
+
+    /**
+     * Отменить ход
+     *
+     * @param move - ход, полученный из makeMove
+     * @return хэш игры до хода
+     */
+    static long unmakeMove(final @NotNull ReversibleMove move) {
+        move.getUndo().restore();
+        return move.getPrevHash();
+    }
+
+    /**
+     * Отменить ход
+     *
+     * @param undo - запись отката, полученная из makeMove или createUndo
+     */
+    public static void unmakeMove(final @NotNull GameCheckpoint undo) {
+        undo.restore();
+    }
+
+    /**
+     * Запомнить клетки и всех игроков перед изменением игры не через makeMove
+     * (например, перед освобождением транзитных клеток или переходом на новую глубину)
+     *
+     * @param game  - игра
+     * @param cells - клетки, которые будут изменены
+     * @return запись отката
+     */
+    public static @NotNull GameCheckpoint createUndo(final @NotNull IGame game,
+                                                     final @NotNull Collection<Cell> cells) {
+        return GameCheckpoint.of(game, cells, game.getPlayers());
+    }
+
+    /**
+     * Клетки, ключи которых в хэше может изменить действие: кроме изменяемых клеток, действие может
+     * убрать клетки из отображений игрока (смена расы освобождает все его клетки, а захват и распределение
+     * теряют опустевшие)
+     *
+     * @param game         - игра
+     * @param player       - игрок, совершающий действие
+     * @param touchedCells - клетки, которые может изменить действие
+     * @return различные клетки для пересчёта хэша
+     */
+    private static @NotNull Collection<Cell> getHashedCells(final @NotNull IGame game, final @NotNull Player player,
+                                                            final @NotNull Collection<Cell> touchedCells) {
+        final Set<Cell> cells = new HashSet<>(touchedCells);
+        cells.addAll(game.getOwnToCells().get(player));
+        cells.addAll(game.getFeudalToCells().get(player));
+        cells.addAll(game.getPlayerToTransitCells().get(player));
+        return cells;
+    }
+
+    /**
+     * @param game   - игра
+     * @param player - игрок, совершающий действие
+     * @param action - действие
+     * @return клетки, которые может изменить действие
+     * @throws CoinsException при неизвестном типе действия
+     */
+    private static @NotNull Collection<Cell> getTouchedCells(final @NotNull IGame game, final @NotNull Player player,
+                                                             final @NotNull Action action) throws CoinsException {
+        final IBoard board = game.getBoard();
+        switch (action.getType()) {
+            case DECLINE_RACE:
+            case CHANGE_RACE:
+                return Collections.emptyList(); // меняются только игрок и его отображения в клетки
+            case CATCH_CELL: {
+                /* Юниты выводятся из соседних клеток, захватываемая клетка меняет владельца */
+                final Cell captureCell = board.getCellByPosition(
+                        Objects.requireNonNull(((CatchCellAction) action).getResolution()).getFirst());
+                final List<Cell> cells = new ArrayList<>(
+                        GameLoopProcessor.getAllNeighboringCells(board, Objects.requireNonNull(captureCell)));
+                cells.add(captureCell);
+                return cells;
+            }
+            case DISTRIBUTION_UNITS: {
+                /* Юниты ставятся в клетки из распределения, пустые подконтрольные клетки теряются */
+                final Set<Cell> cells = new HashSet<>(game.getOwnToCells().get(player));
+                ((DistributionUnitsAction) action).getResolutions().keySet()
+                        .forEach(position -> cells.add(Objects.requireNonNull(board.getCellByPosition(position))));
+                return cells;
+            }
+            default:
+                throw new CoinsException(CoinsErrorCode.ACTION_TYPE_NOT_FOUND);
+        }
+    }
+}
@@ -0,0 +1,328 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.SearchType;
+import io.neolab.internship.coins.bim.bot.SmartBot;
+import io.neolab.internship.coins.bim.bot.ai.model.action.*;
+import io.neolab.internship.coins.client.bot.IBot;
+import io.neolab.internship.coins.client.bot.SimpleBot;
+import io.neolab.internship.coins.client.bot.metrics.BotMetrics;
+import io.neolab.internship.coins.client.bot.metrics.MeasuredBot;
+import io.neolab.internship.coins.common.message.client.answer.*;
+import io.neolab.internship.coins.common.message.server.ServerMessageType;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestion;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionType;
+import io.neolab.internship.coins.exceptions.CoinsErrorCode;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.Game;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameAnswerProcessor;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import io.neolab.internship.coins.utils.LoggerFile;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Партии ботов друг с другом без сервера, логов и статических полей: много партий на пуле потоков.
+ * Игра ведётся тем же автоматом хода, что и розыгрыши MonteCarloProcessor (без записей отката),
+ * функции игры вызываются с выключенным логгированием, а результаты собираются в SelfPlayResult.
+ * Ответы ботов перед применением проходят те же проверки, что и на сервере (GameAnswerProcessor.validate):
+ * отвергнутый захват клетки пропускается, и бот выбирает снова; другой отвергнутый ответ бот даёт заново,
+ * а если он отвергнут REJECTED_ANSWERS_LIMIT раз подряд, партия прерывается ошибкой проверки, как и на сервере.
+ * Каждый поток создаёт своих ботов фабриками один раз и играет ими партию за партией,
+ * поэтому бот должен выдерживать несколько партий подряд
+ */
+public class SelfPlayEngine {
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(SelfPlayEngine.class);
+    private static final int DEFAULT_BOARD_SIZE_X = 3;
+    private static final int DEFAULT_BOARD_SIZE_Y = 4;
+    private static final int CATCH_ATTEMPTS_LIMIT = 64; // защита от бота, который не заканчивает захват
+    private static final int REJECTED_ANSWERS_LIMIT = 8; // отвергнутых подряд ответов, после которых партия прерывается
+
+    private final @NotNull List<Supplier<IBot>> botFactories; // по фабрике на каждого игрока партии
+    private final int boardSizeX;
+    private final int boardSizeY;
+    private final int workersCount;
+    private final boolean isSeatsRotated; // боты по очереди ходят первыми
+
+    @Contract(pure = true)
+    public SelfPlayEngine(final @NotNull List<Supplier<IBot>> botFactories, final int workersCount) {
+        this(botFactories, DEFAULT_BOARD_SIZE_X, DEFAULT_BOARD_SIZE_Y, workersCount, true);
+    }
+
+    /**
+     * @param botFactories   - фабрики ботов (индекс фабрики - индекс бота в результатах)
+     * @param boardSizeX     - ширина борды
+     * @param boardSizeY     - высота борды
+     * @param workersCount   - число потоков, в которых идут партии
+     * @param isSeatsRotated - сдвигать ли порядок ходов ботов от партии к партии
+     */
+    @Contract(pure = true)
+    public SelfPlayEngine(final @NotNull List<Supplier<IBot>> botFactories, final int boardSizeX,
+                          final int boardSizeY, final int workersCount, final boolean isSeatsRotated) {
+        this.botFactories = new ArrayList<>(botFactories);
+        this.boardSizeX = boardSizeX;
+        this.boardSizeY = boardSizeY;
+        this.workersCount = Math.max(1, workersCount);
+        this.isSeatsRotated = isSeatsRotated;
+    }
+
+    /**
+     * Сыграть партии
+     *
+     * @param gamesCount - число партий
+     * @return результаты партий
+     * @throws InterruptedException если поток прерван во время ожидания партий
+     */
+    public @NotNull SelfPlayResult play(final int gamesCount) throws InterruptedException {
+        final SelfPlayResult result = new SelfPlayResult(botFactories.size());
+        final AtomicInteger nextGameIndex = new AtomicInteger();
+        final List<Callable<Void>> workers = new ArrayList<>(workersCount);
+        for (int i = 0; i < workersCount; i++) {
+            workers.add(() -> {
+                final List<IBot> bots = createBots();
+                try {
+                    int gameIndex;
+                    while ((gameIndex = nextGameIndex.getAndIncrement()) < gamesCount) {
+                        playGame(gameIndex, bots, result);
+                    }
+                } finally {
+                    closeBots(bots);
+                }
+                return null;
+            });
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(workersCount);
+        final long startNanos = System.nanoTime();
+        try {
+            executor.invokeAll(workers);
+        } finally {
+            executor.shutdownNow();
+            result.setElapsedNanos(System.nanoTime() - startNanos);
+        }
+        return result;
+    }
+
+    private @NotNull List<IBot> createBots() {
+        final List<IBot> bots = new ArrayList<>(botFactories.size());
+        botFactories.forEach(botFactory -> bots.add(botFactory.get()));
+        return bots;
+    }
+
+    /**
+     * Закрыть ботов, которые держат ресурсы (например, свой пул потоков). Ошибка закрытия одного бота
+     * не мешает закрыть остальных
+     *
+     * @param bots - боты
+     */
+    public static void closeBots(final @NotNull Collection<IBot> bots) {
+        for (final IBot bot : bots) {
+            if (bot instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable) bot).close();
+                } catch (final Exception exception) {
+                    LOGGER.warn("Bot closing failed", exception);
+                }
+            }
+        }
+    }
+
+    /**
+     * Сыграть одну партию и учесть её результат. Ошибка партии не прерывает остальные;
+     * первая ошибка логгируется со стеком, остальные только считаются
+     *
+     * @param gameIndex - номер партии
+     * @param bots      - боты потока
+     * @param result    - результаты
+     */
+    private void playGame(final int gameIndex, final @NotNull List<IBot> bots,
+                          final @NotNull SelfPlayResult result) {
+        final int seatsShift = isSeatsRotated ? gameIndex % bots.size() : 0;
+        final int[] seatToBotIndex = new int[bots.size()];
+        final List<IBot> seatBots = new ArrayList<>(bots.size());
+        for (int seat = 0; seat < bots.size(); seat++) {
+            seatToBotIndex[seat] = (seat + seatsShift) % bots.size();
+            seatBots.add(bots.get(seatToBotIndex[seat]));
+        }
+        try {
+            result.addGame(playGame(boardSizeX, boardSizeY, seatBots), seatToBotIndex);
+        } catch (final AIBotException | CoinsException | RuntimeException exception) {
+            if (result.addFailedGame(exception)) {
+                LOGGER.warn("Self-play game {} failed, later failures are only counted", gameIndex, exception);
+            }
+        }
+    }
+
+    /**
+     * Сыграть одну партию без логгирования
+     *
+     * @param boardSizeX - ширина борды
+     * @param boardSizeY - высота борды
+     * @param seatBots   - боты игроков в порядке ходов
+     * @return число монет каждого игрока в порядке ходов
+     * @throws AIBotException при ошибке бота
+     * @throws CoinsException при ошибке игры
+     */
+    public static @NotNull int[] playGame(final int boardSizeX, final int boardSizeY,
+                                          final @NotNull List<IBot> seatBots)
+            throws AIBotException, CoinsException {
+        final List<Player> players = playRounds(boardSizeX, boardSizeY, seatBots, Game.ROUNDS_COUNT).getPlayers();
+        final int[] coins = new int[players.size()];
+        for (int seat = 0; seat < players.size(); seat++) {
+            coins[seat] = players.get(seat).getCoins();
+        }
+        return coins;
+    }
+
+    /**
+     * Сыграть первые раунды партии без логгирования (например, чтобы получить позицию середины игры)
+     *
+     * @param boardSizeX  - ширина борды
+     * @param boardSizeY  - высота борды
+     * @param seatBots    - боты игроков в порядке ходов
+     * @param roundsCount - число раундов
+     * @return игра в начале хода первого игрока в следующем раунде или в конце, если раундов не осталось
+     * @throws AIBotException при ошибке бота
+     * @throws CoinsException при ошибке игры
+     */
+    public static @NotNull IGame playRounds(final int boardSizeX, final int boardSizeY,
+                                            final @NotNull List<IBot> seatBots, final int roundsCount)
+            throws AIBotException, CoinsException {
+        final List<Player> players = new ArrayList<>(seatBots.size());
+        final Map<Player, IBot> playerToBot = new HashMap<>(seatBots.size());
+        for (int seat = 0; seat < seatBots.size(); seat++) {
+            final Player player = new Player("F" + (seat + 1));
+            players.add(player);
+            playerToBot.put(player, seatBots.get(seat));
+        }
+        final IGame game = GameInitializer.gameInit(boardSizeX, boardSizeY, players);
+        TurnState state = new TurnState(players.get(0), ActionType.CHANGE_RACE);
+        int catchAttemptsCount = 0;
+        int rejectedAnswersCount = 0;
+        while (!state.isGameOver() && !(game.getCurrentRound() > roundsCount
+                && state.getActionType() == ActionType.DECLINE_RACE && state.getPlayer().equals(players.get(0)))) {
+            catchAttemptsCount = state.getActionType() == ActionType.CATCH_CELL ? catchAttemptsCount + 1 : 0;
+            final Action action = getBotAction(game, state, playerToBot.get(state.getPlayer()),
+                    catchAttemptsCount <= CATCH_ATTEMPTS_LIMIT);
+            try {
+                validateAction(game, state, action);
+            } catch (final CoinsException exception) {
+                // отвергнутые захваты ограничены CATCH_ATTEMPTS_LIMIT, остальные ответы - REJECTED_ANSWERS_LIMIT
+                if (state.getActionType() != ActionType.CATCH_CELL
+                        && ++rejectedAnswersCount >= REJECTED_ANSWERS_LIMIT) {
+                    throw exception;
+                }
+                continue;
+            }
+            rejectedAnswersCount = 0;
+            state = MonteCarloProcessor.applyAction(game, state, action, null);
+        }
+        return game;
+    }
+
+    /**
+     * Проверить решение бота как ответ на вопрос сервера, не применяя его.
+     * Отказ от захвата (resolution = null) сервер не проверяет: он заканчивает захват.
+     * Распределение без своих клеток сервер не спрашивает, поэтому его пустой ответ тоже не проверяется
+     *
+     * @param game   - игра
+     * @param state  - состояние хода
+     * @param action - решение бота
+     * @throws CoinsException если сервер отверг бы такой ответ
+     */
+    private static void validateAction(final @NotNull IGame game, final @NotNull TurnState state,
+                                       final @NotNull Action action) throws CoinsException {
+        final PlayerQuestionType questionType;
+        final Answer answer;
+        switch (action.getType()) {
+            case DECLINE_RACE:
+                questionType = PlayerQuestionType.DECLINE_RACE;
+                answer = new DeclineRaceAnswer(((DeclineRaceAction) action).isDeclineRace());
+                break;
+            case CHANGE_RACE:
+                questionType = PlayerQuestionType.CHANGE_RACE;
+                answer = new ChangeRaceAnswer(((ChangeRaceAction) action).getNewRace());
+                break;
+            case CATCH_CELL:
+                if (((CatchCellAction) action).getResolution() == null) {
+                    return;
+                }
+                questionType = PlayerQuestionType.CATCH_CELL;
+                answer = new CatchCellAnswer(((CatchCellAction) action).getResolution());
+                break;
+            case DISTRIBUTION_UNITS:
+                if (game.getOwnToCells().get(state.getPlayer()).isEmpty()) {
+                    return;
+                }
+                questionType = PlayerQuestionType.DISTRIBUTION_UNITS;
+                answer = new DistributionUnitsAnswer(((DistributionUnitsAction) action).getResolutions());
+                break;
+            default:
+                throw new CoinsException(CoinsErrorCode.ACTION_TYPE_NOT_FOUND);
+        }
+        GameAnswerProcessor.validate(
+                new PlayerQuestion(ServerMessageType.GAME_QUESTION, questionType, game, state.getPlayer()), answer);
+    }
+
+    /**
+     * Спросить у бота решение, которого ждёт состояние хода
+     *
+     * @param game           - игра
+     * @param state          - состояние хода
+     * @param bot            - бот игрока, принимающего решение
+     * @param isCatchAllowed - можно ли ещё пытаться захватывать клетки в этом ходу
+     * @return решение бота как действие
+     * @throws AIBotException при ошибке бота
+     * @throws CoinsException при неизвестном типе решения
+     */
+    private static @NotNull Action getBotAction(final @NotNull IGame game, final @NotNull TurnState state,
+                                                final @NotNull IBot bot, final boolean isCatchAllowed)
+            throws AIBotException, CoinsException {
+        final Player player = state.getPlayer();
+        switch (state.getActionType()) {
+            case DECLINE_RACE:
+                return new DeclineRaceAction(!game.getRacesPool().isEmpty() && bot.declineRaceChoose(player, game));
+            case CHANGE_RACE:
+                return new ChangeRaceAction(bot.chooseRace(player, game));
+            case CATCH_CELL:
+                return new CatchCellAction(isCatchAllowed ? bot.chooseCatchingCell(player, game) : null);
+            case DISTRIBUTION_UNITS:
+                if (game.getOwnToCells().get(player).isEmpty()) { // сервер не спрашивает, если распределять некуда
+                    return new DistributionUnitsAction(new HashMap<>());
+                }
+                return new DistributionUnitsAction(bot.distributionUnits(player, game));
+            default:
+                throw new CoinsException(CoinsErrorCode.ACTION_TYPE_NOT_FOUND);
+        }
+    }
+
+    @SuppressWarnings("try") // LoggerFile нужен только на время вывода в свой файл
+    public static void main(final String[] args) throws InterruptedException {
+        final int gamesCount = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        final int workersCount = args.length > 1
+                ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+        final BotMetrics[] botMetrics = {new BotMetrics(), new BotMetrics()};
+        final SelfPlayEngine engine = new SelfPlayEngine(Arrays.asList(
+                () -> new MeasuredBot(new SimpleBot(), botMetrics[0]),
+                () -> new MeasuredBot(new SmartBot(1, FunctionType.MIN_MAX_VALUE_DIFFERENCE, SearchType.ALPHA_BETA,
+                        0, 1), botMetrics[1])),
+                workersCount);
+        final SelfPlayResult result = engine.play(gamesCount);
+        try (final LoggerFile ignored = new LoggerFile("self-play-engine")) {
+            LOGGER.info("{}", result);
+            for (int i = 0; i < botMetrics.length; i++) {
+                LOGGER.info("bot{} {}", i, botMetrics[i].getReport());
+            }
+        }
+    }
+}
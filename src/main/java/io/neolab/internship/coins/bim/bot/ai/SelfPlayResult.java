@@ -0,0 +1,143 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Результаты партий SelfPlayEngine по ботам (индекс бота - индекс его фабрики в движке).
+ * Счётчики без блокировок: их пополняют все потоки движка одновременно
+ */
+public class SelfPlayResult {
+    private final @NotNull LongAdder gamesCount = new LongAdder();
+    private final @NotNull LongAdder failedGamesCount = new LongAdder();
+    private final @NotNull AtomicReference<Exception> firstFailure = new AtomicReference<>();
+    private final @NotNull LongAdder[] winsCount; // победитель - каждый игрок с наибольшим числом монет
+    private final @NotNull LongAdder[] coinsCount; // сумма монет по всем партиям
+    private volatile long elapsedNanos;
+
+    SelfPlayResult(final int botsCount) {
+        this.winsCount = createCounters(botsCount);
+        this.coinsCount = createCounters(botsCount);
+    }
+
+    private static @NotNull LongAdder[] createCounters(final int count) {
+        final LongAdder[] counters = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    /**
+     * Учесть законченную партию
+     *
+     * @param coins          - число монет каждого игрока в порядке ходов
+     * @param seatToBotIndex - индекс бота каждого игрока
+     */
+    void addGame(final @NotNull int[] coins, final @NotNull int[] seatToBotIndex) {
+        int maxCoins = Integer.MIN_VALUE;
+        for (final int playerCoins : coins) {
+            maxCoins = Math.max(maxCoins, playerCoins);
+        }
+        for (int i = 0; i < seatToBotIndex.length; i++) {
+            coinsCount[seatToBotIndex[i]].add(coins[i]);
+            if (coins[i] == maxCoins) {
+                winsCount[seatToBotIndex[i]].increment();
+            }
+        }
+        gamesCount.increment();
+    }
+
+    /**
+     * Учесть партию, прерванную ошибкой
+     *
+     * @param exception - ошибка партии
+     * @return true, если это первая ошибка
+     */
+    boolean addFailedGame(final @NotNull Exception exception) {
+        failedGamesCount.increment();
+        return firstFailure.compareAndSet(null, exception);
+    }
+
+    void setElapsedNanos(final long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getBotsCount() {
+        return winsCount.length;
+    }
+
+    /**
+     * @return число законченных партий
+     */
+    public long getGamesCount() {
+        return gamesCount.sum();
+    }
+
+    /**
+     * @return число партий, прерванных ошибкой (в остальной статистике не учитываются)
+     */
+    public long getFailedGamesCount() {
+        return failedGamesCount.sum();
+    }
+
+    /**
+     * @return ошибку первой прерванной партии или null, если ошибок не было
+     */
+    public @Nullable Exception getFirstFailure() {
+        return firstFailure.get();
+    }
+
+    public long getWinsCount(final int botIndex) {
+        return winsCount[botIndex].sum();
+    }
+
+    /**
+     * @param botIndex - индекс бота
+     * @return доля законченных партий, в которых бот победил (в том числе вместе с другими)
+     */
+    public double getWinRate(final int botIndex) {
+        final long games = getGamesCount();
+        return games == 0 ? 0 : (double) getWinsCount(botIndex) / games;
+    }
+
+    /**
+     * @param botIndex - индекс бота
+     * @return среднее число монет бота за партию
+     */
+    public double getAverageCoins(final int botIndex) {
+        final long games = getGamesCount();
+        return games == 0 ? 0 : (double) coinsCount[botIndex].sum() / games;
+    }
+
+    /**
+     * @return время всех партий в наносекундах
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return число законченных партий в секунду
+     */
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : getGamesCount() * 1E9 / elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("SelfPlayResult{games=").append(getGamesCount())
+                .append(", failed=").append(getFailedGamesCount())
+                .append(", gamesPerSecond=").append(String.format("%.1f", getGamesPerSecond()));
+        for (int i = 0; i < getBotsCount(); i++) {
+            builder.append(", bot").append(i)
+                    .append("={wins=").append(getWinsCount(i))
+                    .append(", averageCoins=").append(String.format("%.2f", getAverageCoins(i)))
+                    .append('}');
+        }
+        return builder.append('}').toString();
+    }
+}
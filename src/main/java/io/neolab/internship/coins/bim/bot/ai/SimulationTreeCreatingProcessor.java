@@ -1,6 +1,7 @@
 package io.neolab.internship.coins.bim.bot.ai;
 
 import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.Evaluator;
 import io.neolab.internship.coins.bim.bot.ai.model.Edge;
 import io.neolab.internship.coins.bim.bot.ai.model.NodeTree;
 import io.neolab.internship.coins.bim.bot.ai.model.action.*;
@@ -10,11 +11,14 @@ import io.neolab.internship.coins.server.game.Game;
 import io.neolab.internship.coins.server.game.IGame;
 import io.neolab.internship.coins.server.game.board.Cell;
 import io.neolab.internship.coins.server.game.board.IBoard;
+import io.neolab.internship.coins.server.game.board.Position;
 import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
 import io.neolab.internship.coins.server.game.player.Unit;
 import io.neolab.internship.coins.server.service.GameLoopProcessor;
 import io.neolab.internship.coins.utils.AvailabilityType;
 import io.neolab.internship.coins.utils.Pair;
+import io.neolab.internship.coins.utils.RandomGenerator;
 import io.neolab.internship.coins.utils.Triplet;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -64,15 +68,16 @@ public class SimulationTreeCreatingProcessor {
     private static @NotNull NodeTree createNodeTreePercent(final int currentDepth, final @NotNull IGame game,
                                                            final @NotNull List<Edge> edges) {
         int casesCount = 0;
-        final Map<Player, Integer> winsCount = new HashMap<>(game.getPlayers().size());
-        game.getPlayers().forEach(player1 -> winsCount.put(player1, 0));
+        final int[] winsCount = new int[game.getPlayers().size()];
         for (final Edge edge : edges) {
-            Objects.requireNonNull(edge.getTo().getWinsCount()).forEach((key, value) ->
-                    winsCount.replace(key, winsCount.get(key) + value));
+            final int[] childWinsCount = Objects.requireNonNull(edge.getTo().getWinsCount());
+            for (int i = 0; i < winsCount.length; i++) {
+                winsCount[i] += childWinsCount[i];
+            }
             casesCount += edge.getTo().getCasesCount();
         }
         AILogger.printLogCreatedNewNode(currentDepth, edges);
-        return new NodeTree(edges, winsCount, casesCount, null, null);
+        return new NodeTree(edges, winsCount, casesCount, null, null, null);
     }
 
     /**
@@ -87,23 +92,21 @@ public class SimulationTreeCreatingProcessor {
     private static @NotNull NodeTree createNodeTreeValue(final int currentDepth, final @NotNull IGame game,
                                                          final @NotNull List<Edge> edges) {
         int casesCount = 0;
-        final Map<Player, Pair<Integer, Integer>> playerToMaxAndMinCoinsCount =
-                new HashMap<>(game.getPlayers().size());
-        game.getPlayers().forEach(player1 -> playerToMaxAndMinCoinsCount.put(player1,
-                new Pair<>(-1, Integer.MAX_VALUE)));
+        final int[] maxCoinsCount = new int[game.getPlayers().size()];
+        final int[] minCoinsCount = new int[game.getPlayers().size()];
+        Arrays.fill(maxCoinsCount, -1);
+        Arrays.fill(minCoinsCount, Integer.MAX_VALUE);
         for (final Edge edge : edges) {
-            Objects.requireNonNull(edge.getTo().getPlayerToMaxAndMinCoinsCount()).forEach((key, value) ->
-                    playerToMaxAndMinCoinsCount.replace(key,
-                            new Pair<>(
-                                    Math.max(playerToMaxAndMinCoinsCount.get(key).getFirst(), value.getFirst()),
-                                    Math.min(playerToMaxAndMinCoinsCount.get(key).getSecond(), value.getSecond())
-                            )
-                    )
-            );
+            final int[] childMaxCoinsCount = Objects.requireNonNull(edge.getTo().getMaxCoinsCount());
+            final int[] childMinCoinsCount = Objects.requireNonNull(edge.getTo().getMinCoinsCount());
+            for (int i = 0; i < maxCoinsCount.length; i++) {
+                maxCoinsCount[i] = Math.max(maxCoinsCount[i], childMaxCoinsCount[i]);
+                minCoinsCount[i] = Math.min(minCoinsCount[i], childMinCoinsCount[i]);
+            }
             casesCount += edge.getTo().getCasesCount();
         }
         AILogger.printLogCreatedNewNode(currentDepth, edges);
-        return new NodeTree(edges, null, casesCount, playerToMaxAndMinCoinsCount, null);
+        return new NodeTree(edges, null, casesCount, maxCoinsCount, minCoinsCount, null);
     }
 
     /**
@@ -118,24 +121,17 @@ public class SimulationTreeCreatingProcessor {
     private static @NotNull NodeTree createNodeTreeDifferenceValue(final int currentDepth, final @NotNull IGame game,
                                                                    final @NotNull List<Edge> edges) {
         int casesCount = 0;
-        final Map<Player, Integer> playerToValueDifference = new HashMap<>(game.getPlayers().size());
+        final int[] valueDifferences = new int[game.getPlayers().size()];
+        Arrays.fill(valueDifferences, Integer.MAX_VALUE);
         for (final Edge edge : edges) {
-            Objects.requireNonNull(edge.getTo().getPlayerToValueDifference()).forEach((key, value) -> {
-                        if (playerToValueDifference.containsKey(key)) {
-                            playerToValueDifference.replace(key,
-                                    Math.min(playerToValueDifference.get(key),
-                                            value));
-                        } else {
-                            playerToValueDifference.put(key,
-                                    Math.min(playerToValueDifference.getOrDefault(key, value),
-                                            value));
-                        }
-                    }
-            );
+            final int[] childValueDifferences = Objects.requireNonNull(edge.getTo().getValueDifferences());
+            for (int i = 0; i < valueDifferences.length; i++) {
+                valueDifferences[i] = Math.min(valueDifferences[i], childValueDifferences[i]);
+            }
             casesCount += edge.getTo().getCasesCount();
         }
         AILogger.printLogCreatedNewNode(currentDepth, edges);
-        return new NodeTree(edges, null, casesCount, null, playerToValueDifference);
+        return new NodeTree(edges, null, casesCount, null, null, valueDifferences);
     }
 
     /**
@@ -175,90 +171,92 @@ public class SimulationTreeCreatingProcessor {
      *
      * @param game         - игра в текущем состоянии
      * @param functionType - тип функции бота
+     * @param evaluator    - оценка позиции
      * @return терминальный узел с оценённым данным действием
      */
-    @Contract("_, _ -> new")
+    @Contract("_, _, _ -> new")
     @SuppressWarnings("ConstantConditions")
-    static @NotNull NodeTree createTerminalNode(final @NotNull IGame game, final @NotNull FunctionType functionType) {
+    static @NotNull NodeTree createTerminalNode(final @NotNull IGame game, final @NotNull FunctionType functionType,
+                                                final @NotNull Evaluator evaluator) {
+        final int[] coinsCount = evaluate(game, evaluator);
         if (isValueDifferenceFunctionType(functionType)) {
-            return createTerminalNodeValueDifference(game);
+            return createTerminalNodeValueDifference(coinsCount);
         }
         if (isPercentFunctionType(functionType)) {
-            return createTerminalNodePercent(game);
+            return createTerminalNodePercent(coinsCount);
         }
         if (isValueFunctionType(functionType)) {
-            return createTerminalNodeValue(game);
+            return createTerminalNodeValue(coinsCount);
         }
         return null;
     }
 
+    /**
+     * @param game      - игра
+     * @param evaluator - оценка позиции
+     * @return оценка числа монет каждого игрока (по индексу игрока)
+     */
+    private static @NotNull int[] evaluate(final @NotNull IGame game, final @NotNull Evaluator evaluator) {
+        final List<Player> players = game.getPlayers();
+        final int[] coinsCount = new int[players.size()];
+        for (int i = 0; i < coinsCount.length; i++) {
+            coinsCount[i] = evaluator.evaluate(game, players.get(i));
+        }
+        return coinsCount;
+    }
+
     /**
      * Создать терминальный узел с информацией о кол-ве побед каждого игрока
      *
-     * @param game - игра
+     * @param coinsCount - оценка числа монет каждого игрока
      * @return терминальный узел с информацией о кол-ве побед каждого игрока
      */
     @Contract("_ -> new")
-    private static @NotNull NodeTree createTerminalNodePercent(final @NotNull IGame game) {
-        final List<Player> winners = new LinkedList<>();
+    private static @NotNull NodeTree createTerminalNodePercent(final @NotNull int[] coinsCount) {
         int maxCoinsCount = 0;
-        for (final Player item : game.getPlayers()) {
-            if (item.getCoins() > maxCoinsCount) {
-                maxCoinsCount = item.getCoins();
-                winners.clear();
-                winners.add(item);
-                continue;
-            }
-            if (item.getCoins() == maxCoinsCount) {
-                winners.add(item);
-            }
+        for (final int item : coinsCount) {
+            maxCoinsCount = Math.max(maxCoinsCount, item);
+        }
+        final int[] winsCount = new int[coinsCount.length];
+        for (int i = 0; i < winsCount.length; i++) {
+            winsCount[i] = coinsCount[i] == maxCoinsCount ? 1 : 0;
         }
-        final Map<Player, Integer> winsCount = new HashMap<>(game.getPlayers().size());
-        game.getPlayers().forEach(player -> winsCount.put(player, winners.contains(player) ? 1 : 0));
         AILogger.printLogNewTerminalNodePercent(winsCount);
-        return new NodeTree(new LinkedList<>(), winsCount, 1, null, null);
+        return new NodeTree(Collections.emptyList(), winsCount, 1, null, null, null);
     }
 
     /**
      * Создать терминальный узел с информацией о числе монет каждого игрока
      *
-     * @param game - игра
+     * @param coinsCount - оценка числа монет каждого игрока
      * @return терминальный узел с информацией о числе монет каждого игрока
      */
     @Contract("_ -> new")
-    private static @NotNull NodeTree createTerminalNodeValue(final @NotNull IGame game) {
-        final Map<Player, Pair<Integer, Integer>> playerToMaxAndMinCoinsCount = new HashMap<>(game.getPlayers().size());
-        game.getPlayers().forEach(player1 ->
-                playerToMaxAndMinCoinsCount.put(player1, new Pair<>(player1.getCoins(), player1.getCoins())));
-        AILogger.printLogNewTerminalNodeValue(playerToMaxAndMinCoinsCount);
-        return new NodeTree(new LinkedList<>(), null, 1,
-                playerToMaxAndMinCoinsCount, null);
+    private static @NotNull NodeTree createTerminalNodeValue(final @NotNull int[] coinsCount) {
+        AILogger.printLogNewTerminalNodeValue(coinsCount);
+        return new NodeTree(Collections.emptyList(), null, 1, coinsCount, coinsCount, null);
     }
 
     /**
      * Создать терминальный узел с информацией о минимальной разности чисел монет игроков
      *
-     * @param game - игра
+     * @param coinsCount - оценка числа монет каждого игрока
      * @return терминальный узел с информацией о минимальной разности чисел монет игроков
      */
     @Contract("_ -> new")
-    private static @NotNull NodeTree createTerminalNodeValueDifference(final @NotNull IGame game) {
-        final Map<Player, Integer> playerToValueDifference = new HashMap<>(game.getPlayers().size());
-        game.getPlayers().forEach(player -> {
+    private static @NotNull NodeTree createTerminalNodeValueDifference(final @NotNull int[] coinsCount) {
+        final int[] valueDifferences = new int[coinsCount.length];
+        for (int i = 0; i < valueDifferences.length; i++) {
             int minValueDifference = Integer.MAX_VALUE;
-            for (final Player player1 : game.getPlayers()) {
-                if (!player1.equals(player)) {
-                    final int valueDifference = player.getCoins() - player1.getCoins();
-                    if (valueDifference < minValueDifference) {
-                        minValueDifference = valueDifference;
-                    }
+            for (int j = 0; j < valueDifferences.length; j++) {
+                if (i != j) {
+                    minValueDifference = Math.min(minValueDifference, coinsCount[i] - coinsCount[j]);
                 }
             }
-            playerToValueDifference.put(player, minValueDifference);
-        });
-        AILogger.printLogNewTerminalNodeValueDifference(playerToValueDifference);
-        return new NodeTree(new LinkedList<>(), null, 1,
-                null, playerToValueDifference);
+            valueDifferences[i] = minValueDifference;
+        }
+        AILogger.printLogNewTerminalNodeValueDifference(valueDifferences);
+        return new NodeTree(Collections.emptyList(), null, 1, null, null, valueDifferences);
     }
 
     /**
@@ -269,14 +267,21 @@ public class SimulationTreeCreatingProcessor {
      * @return ссылка на новый корень
      */
     public static NodeTree updateTree(final @NotNull NodeTree tree, final @NotNull Action action) {
-        NodeTree newTree = null;
-        for (final Edge edge : tree.getEdges()) {
-            if (Objects.requireNonNull(edge.getAction()).equals(action)) {
-                newTree = edge.getTo();
-                break;
+        for (int i = 0; i < tree.getEdgesCount(); i++) {
+            if (Objects.requireNonNull(tree.getAction(i)).equals(action)) {
+                return tree.getChild(i);
             }
         }
-        return newTree;
+        return null;
+    }
+
+    /**
+     * @param game   - игра
+     * @param player - игрок
+     * @return индекс игрока в списке игроков игры (он же индекс в статистике узлов дерева)
+     */
+    static int getPlayerIndex(final @NotNull IGame game, final @NotNull Player player) {
+        return game.getPlayers().indexOf(player);
     }
 
     /**
@@ -374,6 +379,81 @@ public class SimulationTreeCreatingProcessor {
                 game.getBoard(), isGameLoggedOn);
     }
 
+    /**
+     * Обновить состояние игры после окончания захвата клеток: освободить транзитные клетки,
+     * снять юнитов с подконтрольных клеток и сделать всех юнитов игрока доступными
+     *
+     * @param game   - игра
+     * @param player - игрок
+     */
+    static void updateGameAfterCatchCellsEnd(final @NotNull IGame game, final @NotNull Player player) {
+        final List<Cell> transitCells = game.getPlayerToTransitCells().get(player);
+        final List<Cell> controlledCells = game.getOwnToCells().get(player);
+        GameLoopProcessor.freeTransitCells(player, transitCells, controlledCells, isGameLoggedOn);
+        controlledCells.forEach(controlledCell -> controlledCell.getUnits().clear());
+        GameLoopProcessor.makeAllUnitsSomeState(player,
+                AvailabilityType.AVAILABLE); // доступными юнитами становятся все имеющиеся у игрока юниты
+    }
+
+    /**
+     * Создать действие распределения юнитов
+     *
+     * @param game         - игра
+     * @param player       - игрок
+     * @param distribution - распределение (клетка -> число юнитов)
+     * @return действие распределения юнитов
+     */
+    @Contract("_, _, _ -> new")
+    static @NotNull DistributionUnitsAction createDistributionUnitsAction(final @NotNull IGame game,
+                                                                         final @NotNull Player player,
+                                                                         final @NotNull Map<Cell, Integer>
+                                                                                 distribution) {
+        final Map<Position, List<Unit>> resolution = new HashMap<>(distribution.size());
+        distribution.forEach((cell, integer) -> {
+            final List<Unit> availableUnits = new LinkedList<>(player.getUnitsByState(AvailabilityType.AVAILABLE));
+            final List<Unit> units = new LinkedList<>(availableUnits.subList(
+                    0, integer)); // список юнитов, которое игрок хочет распределить в эту клетку
+            resolution.put(game.getBoard().getPositionByCell(cell), units);
+            availableUnits.removeAll(units);
+        });
+        return new DistributionUnitsAction(resolution);
+    }
+
+    /**
+     * Взять расы, из которых выбирает игрок при смене расы
+     *
+     * @param game     - игра
+     * @param maxDepth - максимальная глубина дерева
+     * @return список рас
+     */
+    static @NotNull List<Race> getRacesToChoose(final @NotNull IGame game, final int maxDepth) {
+        final List<Race> races = new LinkedList<>(game.getRacesPool());
+        races.remove(Race.GNOME);
+        if (maxDepth > 2) {
+            if (isBeforeGame(game)) {
+                if (RandomGenerator.isYes()) {
+                    races.remove(Race.ELF);
+                }
+                if (RandomGenerator.isYes()) {
+                    races.remove(Race.MUSHROOM);
+                }
+            } else if (game.getCurrentRound() == Game.ROUNDS_COUNT) {
+                races.remove(Race.ORC);
+            }
+        }
+        return races;
+    }
+
+    /**
+     * Игра началась?
+     *
+     * @param game - игра
+     * @return true, если да, началась, false - иначе
+     */
+    static boolean isBeforeGame(final @NotNull IGame game) {
+        return game.getCurrentRound() == 0;
+    }
+
     /**
      * Взять следующего игрока из начала списка игроков
      *
@@ -516,7 +596,177 @@ public class SimulationTreeCreatingProcessor {
                 Collections.synchronizedList(new LinkedList<>(player.getUnitsByState(AvailabilityType.AVAILABLE)));
         GameLoopProcessor.removeNotAvailableForCaptureUnits(game.getBoard(), units, catchingCellNeighboringCells,
                 cell, controlledCells);
-        units.removeIf(unit -> cell.getUnits().contains(unit));
+        units.removeIf(new HashSet<>(cell.getUnits())::contains);
         return units;
     }
+
+    /**
+     * @param game   - игра
+     * @param player - игрок
+     * @return следующего игрока в этом раунде или null, если player ходит последним
+     * @throws CoinsException в случае, если player отсутствует в игре game
+     */
+    static @Nullable Player getNextPlayerInThisRound(final @NotNull IGame game, final @NotNull Player player)
+            throws CoinsException {
+        final List<Player> players = game.getPlayers();
+        final int index = players.indexOf(player);
+        if (index == -1) {
+            throw new CoinsException(CoinsErrorCode.PLAYER_NOT_FOUND);
+        }
+        return index + 1 < players.size() ? players.get(index + 1) : null;
+    }
+
+    /**
+     * @param game - игра
+     * @return действия с уходом в упадок и без него
+     */
+    static @NotNull List<Action> getDeclineRaceActions(final @NotNull IGame game) {
+        final List<Action> actions = new LinkedList<>();
+        if (game.getRacesPool().size() > 0 && game.getCurrentRound() != 1) {
+            actions.add(new DeclineRaceAction(true));
+        }
+        actions.add(new DeclineRaceAction(false));
+        return actions;
+    }
+
+    /**
+     * @param game     - игра
+     * @param maxDepth - максимальная глубина поиска
+     * @return действия со сменой расы
+     */
+    static @NotNull List<Action> getChangeRaceActions(final @NotNull IGame game, final int maxDepth) {
+        final List<Action> actions = new LinkedList<>();
+        getRacesToChoose(game, maxDepth).forEach(race -> actions.add(new ChangeRaceAction(race)));
+        return actions;
+    }
+
+    /**
+     * Взять действия с захватом клеток. Клетки, выгодные игроку, перебираются первыми:
+     * чем раньше найдено хорошее действие, тем больше ветвей отсекается.
+     * Если захватить нечего, единственное действие - закончить захват
+     *
+     * @param game           - игра
+     * @param player         - игрок
+     * @param prevCatchCells - предыдущие захваченные клетки (пополняется перебранными клетками)
+     * @param maxDepth       - максимальная глубина поиска
+     * @param evaluator      - оценка позиции (решает, какие клетки выгодны)
+     * @return действия с захватом клеток
+     */
+    static @NotNull List<Action> getCatchCellActions(final @NotNull IGame game, final @NotNull Player player,
+                                                     final @NotNull Set<Cell> prevCatchCells, final int maxDepth,
+                                                     final @NotNull Evaluator evaluator) {
+        final List<Action> actions = new LinkedList<>();
+        if (!player.getUnitsByState(AvailabilityType.AVAILABLE).isEmpty()) {
+            final List<Triplet<List<Unit>, Integer, Cell>> beneficialCells = new LinkedList<>();
+            final List<Triplet<List<Unit>, Integer, Cell>> otherCells = new LinkedList<>();
+            for (final Cell achievableCell : getAndUpdateAchievableCells(game, player, prevCatchCells, maxDepth)) {
+                final boolean isBeneficial = evaluator.isCellBeneficial(game, player, achievableCell);
+                final Triplet<List<Unit>, Integer, Cell> triplet =
+                        getUnitsToPairTiredUnitsToCell(game, player, achievableCell, prevCatchCells);
+                if (triplet != null) {
+                    (isBeneficial ? beneficialCells : otherCells).add(triplet);
+                }
+            }
+            beneficialCells.addAll(otherCells);
+            beneficialCells.forEach(triplet -> {
+                final List<Unit> units = triplet.getFirst();
+                AIDistributionProcessor.getIndexes(units, triplet.getSecond(), maxDepth).forEach(index ->
+                        actions.add(new CatchCellAction(new Pair<>(
+                                game.getBoard().getPositionByCell(triplet.getThird()),
+                                new LinkedList<>(units.subList(0, index))))));
+            });
+        }
+        if (actions.isEmpty()) {
+            actions.add(new CatchCellAction(null));
+        }
+        return actions;
+    }
+
+    /**
+     * @param game   - игра
+     * @param player - игрок
+     * @return действия с распределением юнитов
+     */
+    static @NotNull List<Action> getDistributionUnitsActions(final @NotNull IGame game,
+                                                             final @NotNull Player player) {
+        final List<Cell> controlledCells = game.getOwnToCells().get(player);
+        final List<Action> actions = new LinkedList<>();
+        AIDistributionProcessor.getDistributions(game, player, controlledCells,
+                new HashSet<>(player.getUnitsByState(AvailabilityType.AVAILABLE)).size(), controlledCells.size())
+                .forEach(distribution -> actions.add(createDistributionUnitsAction(game, player, distribution)));
+        if (actions.isEmpty()) {
+            actions.add(createDistributionUnitsAction(game, player, new HashMap<>(0)));
+        }
+        return actions;
+    }
+
+    /**
+     * Взять и обновить достижимых для захвата клетки
+     *
+     * @param game           - игра
+     * @param player         - игрок
+     * @param prevCatchCells - предыдущие захваченные клетки
+     * @param maxDepth       - максимальная глубина дерева
+     * @return обновлённое множество достижимых клеток
+     */
+    @SuppressWarnings("SynchronizationOnLocalVariableOrMethodParameter")
+    static @NotNull Set<Cell> getAndUpdateAchievableCells(final @NotNull IGame game, final @NotNull Player player,
+                                                          final @NotNull Set<Cell> prevCatchCells,
+                                                          final int maxDepth) {
+        final Set<Cell> achievableCells = new HashSet<>(game.getPlayerToAchievableCells().get(player));
+        synchronized (prevCatchCells) {
+            achievableCells.removeAll(prevCatchCells);
+        }
+        factorizeByClusters(game, achievableCells, maxDepth);
+        return achievableCells;
+    }
+
+    /**
+     * Факторизовать множество доступных клеток по отношению принадлежности к кластеру
+     *
+     * @param game            - игра
+     * @param achievableCells - множество доступных клеток
+     * @param maxDepth        - максимальная глубина дерева
+     */
+    private static void factorizeByClusters(final @NotNull IGame game, final @NotNull Set<Cell> achievableCells,
+                                            final int maxDepth) {
+        final Set<Cell> factorizedCells = new HashSet<>(achievableCells.size());
+        final Iterator<Cell> iterator = achievableCells.iterator();
+        while (iterator.hasNext()) {
+            final Cell achievableCell = iterator.next();
+            if (factorizedCells.stream().anyMatch(cell ->
+                    isFromOneCluster(cell, achievableCell, game.getBoard(), maxDepth))) {
+                iterator.remove();
+            } else {
+                factorizedCells.add(achievableCell);
+            }
+        }
+    }
+
+    /**
+     * Клетки из одного кластера?
+     *
+     * @param cell1    - первая клетка
+     * @param cell2    - вторая клетка
+     * @param board    - борда
+     * @param maxDepth - максимальная глубина дерева
+     * @return true, если клетки из одного кластера, false - иначе
+     */
+    private static boolean isFromOneCluster(final @NotNull Cell cell1, final @NotNull Cell cell2,
+                                            final @NotNull IBoard board, final int maxDepth) {
+        if (cell1.getType() != cell2.getType()
+                || cell1.getUnits().size() != cell2.getUnits().size()
+                || cell1.getRace() != cell2.getRace()) {
+            return false;
+        }
+        if (maxDepth < 4) {
+            final List<Cell> neighboringCells1 = board.getNeighboringCells(cell1);
+            final List<Cell> neighboringCells2 = board.getNeighboringCells(cell2);
+            return Objects.requireNonNull(neighboringCells1).stream().noneMatch(neighboringCell1 ->
+                    Objects.requireNonNull(neighboringCells2).stream().noneMatch(neighboringCell2 ->
+                            neighboringCell2.getType() == neighboringCell1.getType()
+                                    || neighboringCell2.getUnits().size() == neighboringCell1.getUnits().size()));
+        }
+        return true;
+    }
 }
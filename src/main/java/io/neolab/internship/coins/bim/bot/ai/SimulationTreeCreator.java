@@ -1,16 +1,18 @@
 package io.neolab.internship.coins.bim.bot.ai;
 
 import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.CoinsEvaluator;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.Evaluator;
 import io.neolab.internship.coins.bim.bot.ai.model.Edge;
 import io.neolab.internship.coins.bim.bot.ai.model.NodeTree;
 import io.neolab.internship.coins.bim.bot.ai.model.action.*;
+import io.neolab.internship.coins.client.bot.metrics.SearchCounters;
 import io.neolab.internship.coins.exceptions.CoinsErrorCode;
 import io.neolab.internship.coins.exceptions.CoinsException;
-import io.neolab.internship.coins.server.game.Game;
+import io.neolab.internship.coins.server.game.GameCheckpoint;
 import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.ZobristHash;
 import io.neolab.internship.coins.server.game.board.Cell;
-import io.neolab.internship.coins.server.game.board.CellType;
-import io.neolab.internship.coins.server.game.board.IBoard;
 import io.neolab.internship.coins.server.game.board.Position;
 import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.server.game.player.Race;
@@ -18,7 +20,6 @@ import io.neolab.internship.coins.server.game.player.Unit;
 import io.neolab.internship.coins.server.service.GameLoopProcessor;
 import io.neolab.internship.coins.utils.AvailabilityType;
 import io.neolab.internship.coins.utils.Pair;
-import io.neolab.internship.coins.utils.RandomGenerator;
 import io.neolab.internship.coins.utils.Triplet;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -29,13 +30,201 @@ import java.util.concurrent.*;
 
 import static io.neolab.internship.coins.bim.bot.ai.SimulationTreeCreatingProcessor.*;
 
-public class SimulationTreeCreator {
+public class SimulationTreeCreator implements AutoCloseable {
+    /* До этой глубины ветви строятся параллельно, каждая на своей копии игры.
+    Глубже всё поддерево строится последовательно на одном экземпляре через обратимые ходы */
+    private static final int PARALLEL_DEPTH = 1;
+    private static final int TRANSPOSITION_TABLE_CAPACITY = 1 << 14;
+
     private int maxDepth;
     private final @NotNull FunctionType functionType;
+    private final @NotNull Evaluator evaluator;
+    private final @NotNull SearchCounters searchCounters;
+
+    /* Свой пул потоков у каждого построителя: боты в одной JVM не делят общий пул ни друг с другом,
+    ни с параллельными партиями статистики */
+    private final @NotNull ForkJoinPool pool;
+    private final boolean isPoolOwned; // создан ли пул самим построителем (тогда он закрывается в close)
+
+    /* Поддеревья после захвата клеток и после распределения юнитов зависят только от состояния игры
+    и глубины, поэтому одно и то же состояние, полученное разным порядком захватов, строится один раз */
+    private final @NotNull TranspositionTable transpositionTable =
+            new TranspositionTable(TRANSPOSITION_TABLE_CAPACITY);
+
+    /**
+     * Построение поддерева на игре, переданной в branch
+     */
+    @FunctionalInterface
+    private interface SubtreeCreator {
+        void create(final @NotNull IGame game, final @NotNull Player player, final long hash) throws CoinsException;
+    }
+
+    /**
+     * Построение ветви, добавляющее дуги в переданный список
+     */
+    @FunctionalInterface
+    private interface BranchCreator {
+        void create(final @NotNull List<Edge> edges);
+    }
 
     @Contract(pure = true)
     public SimulationTreeCreator(final @NotNull FunctionType functionType) {
+        this(functionType, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param functionType - тип функции бота
+     * @param parallelism  - число потоков пула, в котором строится дерево
+     */
+    public SimulationTreeCreator(final @NotNull FunctionType functionType, final int parallelism) {
+        this(functionType, parallelism, new CoinsEvaluator());
+    }
+
+    /**
+     * @param functionType - тип функции бота
+     * @param parallelism  - число потоков пула, в котором строится дерево
+     * @param evaluator    - оценка листьев дерева
+     */
+    public SimulationTreeCreator(final @NotNull FunctionType functionType, final int parallelism,
+                                 final @NotNull Evaluator evaluator) {
+        this(functionType, parallelism, evaluator, new SearchCounters());
+    }
+
+    /**
+     * @param functionType   - тип функции бота
+     * @param parallelism    - число потоков пула, в котором строится дерево
+     * @param evaluator      - оценка листьев дерева
+     * @param searchCounters - счётчики раскрытых узлов, копий игры и узлов дерева
+     */
+    public SimulationTreeCreator(final @NotNull FunctionType functionType, final int parallelism,
+                                 final @NotNull Evaluator evaluator, final @NotNull SearchCounters searchCounters) {
+        this(functionType, new ForkJoinPool(Math.max(1, parallelism)), true, evaluator, searchCounters);
+    }
+
+    /**
+     * @param functionType   - тип функции бота
+     * @param pool           - пул, в котором строится дерево (закрывает его владелец, а не построитель)
+     * @param evaluator      - оценка листьев дерева
+     * @param searchCounters - счётчики раскрытых узлов, копий игры и узлов дерева
+     */
+    public SimulationTreeCreator(final @NotNull FunctionType functionType, final @NotNull ForkJoinPool pool,
+                                 final @NotNull Evaluator evaluator, final @NotNull SearchCounters searchCounters) {
+        this(functionType, pool, false, evaluator, searchCounters);
+    }
+
+    private SimulationTreeCreator(final @NotNull FunctionType functionType, final @NotNull ForkJoinPool pool,
+                                  final boolean isPoolOwned, final @NotNull Evaluator evaluator,
+                                  final @NotNull SearchCounters searchCounters) {
         this.functionType = functionType;
+        this.evaluator = evaluator;
+        this.searchCounters = searchCounters;
+        this.pool = pool;
+        this.isPoolOwned = isPoolOwned;
+    }
+
+    /**
+     * Закрыть свой пул построителя (переданный в конструктор пул не закрывается)
+     */
+    @Override
+    public void close() {
+        if (isPoolOwned) {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Строятся ли ветви на данной глубине параллельно?
+     *
+     * @param currentDepth - текущая глубина
+     * @return true, если ветви строятся параллельно на копиях игры, false - если последовательно на месте
+     */
+    private static boolean isParallel(final int currentDepth) {
+        return currentDepth <= PARALLEL_DEPTH;
+    }
+
+    /**
+     * Построить ветви: параллельно, если глубина это позволяет и ветвей больше одной,
+     * иначе по очереди в текущем потоке. Параллельная ветвь пишет дуги в свой список,
+     * и после завершения всех ветвей списки добавляются к edges в порядке ветвей
+     *
+     * @param currentDepth   - текущая глубина
+     * @param edges          - дуги от общего родителя
+     * @param branchCreators - построение ветвей
+     */
+    private static void invokeAll(final int currentDepth, final @NotNull List<Edge> edges,
+                                  final @NotNull List<BranchCreator> branchCreators) {
+        if (!isParallel(currentDepth) || branchCreators.size() <= 1) {
+            branchCreators.forEach(branchCreator -> branchCreator.create(edges));
+            return;
+        }
+        final List<ForkJoinTask<List<Edge>>> tasks = new ArrayList<>(branchCreators.size());
+        branchCreators.forEach(branchCreator -> tasks.add(ForkJoinTask.adapt(() -> {
+            final List<Edge> branchEdges = new ArrayList<>();
+            branchCreator.create(branchEdges);
+            return branchEdges;
+        })));
+        ForkJoinTask.invokeAll(tasks);
+        tasks.forEach(task -> edges.addAll(task.join()));
+    }
+
+    /**
+     * Ответвиться от текущего состояния игры и построить поддерево.
+     * На параллельных глубинах поддерево строится на копии игры,
+     * глубже - на той же игре, которая затем возвращается в исходное состояние
+     *
+     * @param currentDepth   - текущая глубина
+     * @param game           - игра
+     * @param player         - игрок
+     * @param action         - действие, которое нужно применить перед построением (null - без действия)
+     * @param changedCells   - клетки, которые поддерево изменит помимо действия
+     * @param hash           - хэш игры без текущего игрока
+     * @param subtreeCreator - построение поддерева (получает хэш игры после действия)
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private void branch(final int currentDepth, final @NotNull IGame game, final @NotNull Player player,
+                        final @Nullable Action action, final @NotNull Collection<Cell> changedCells,
+                        final long hash, final @NotNull SubtreeCreator subtreeCreator) throws CoinsException {
+        if (isParallel(currentDepth)) {
+            final IGame gameCopy = game.getCopy();
+            searchCounters.incrementGameCopies();
+            final Player playerCopy = getPlayerCopy(gameCopy, player);
+            if (action == null) {
+                subtreeCreator.create(gameCopy, playerCopy, hash);
+                return;
+            }
+            updateGame(gameCopy, playerCopy, action);
+            subtreeCreator.create(gameCopy, playerCopy, ZobristHash.hash(gameCopy, null)); // копия уже обошла борду
+            return;
+        }
+        if (action == null) {
+            final GameCheckpoint undo = ReversibleMoveProcessor.createUndo(game, changedCells);
+            try {
+                subtreeCreator.create(game, player, hash);
+            } finally {
+                ReversibleMoveProcessor.unmakeMove(undo);
+            }
+            return;
+        }
+        final ReversibleMove move = ReversibleMoveProcessor.makeMove(game, player, action, hash);
+        try {
+            subtreeCreator.create(game, player, move.getHash());
+        } finally {
+            ReversibleMoveProcessor.unmakeMove(move);
+        }
+    }
+
+    /**
+     * Пересчитать хэш после изменения игры не через makeMove
+     *
+     * @param hash     - хэш игры до изменения без текущего игрока
+     * @param prevPart - ZobristHash.hashPart(game, cells) до изменения
+     * @param game     - изменённая игра
+     * @param cells    - различные клетки, которые изменение могло затронуть
+     * @return хэш игры после изменения без текущего игрока
+     */
+    private static long rehash(final long hash, final long prevPart, final @NotNull IGame game,
+                               final @NotNull Collection<Cell> cells) {
+        return hash ^ prevPart ^ ZobristHash.hashPart(game, cells);
     }
 
     /**
@@ -131,30 +320,23 @@ public class SimulationTreeCreator {
      * @param game         - игра
      * @param player       - игрок
      * @param edges        - дуги от родителя
+     * @param hash         - хэш игры без текущего игрока
      */
     private void createDeclineRaceBranches(final int currentDepth,
                                            final @NotNull IGame game, final @NotNull Player player,
-                                           final @NotNull List<Edge> edges) {
+                                           final @NotNull List<Edge> edges, final long hash) {
         final boolean isPossible = game.getRacesPool().size() > 0;
         final boolean isFirstChoice = game.getCurrentRound() == 1;
         if (!isPossible || isFirstChoice) {
-            createDeclineRaceNode(currentDepth, game, player, edges, false);
+            createDeclineRaceNode(currentDepth, game, player, edges, false, hash);
             return;
         }
-        final List<RecursiveAction> recursiveActions = new ArrayList<>(2);
-        recursiveActions.add(new RecursiveAction() {
-            @Override
-            protected void compute() {
-                createDeclineRaceNode(currentDepth, game, player, edges, true);
-            }
-        });
-        recursiveActions.add(new RecursiveAction() {
-            @Override
-            protected void compute() {
-                createDeclineRaceNode(currentDepth, game, player, edges, false);
-            }
-        });
-        RecursiveAction.invokeAll(recursiveActions);
+        final List<BranchCreator> branchCreators = new ArrayList<>(2);
+        branchCreators.add(branchEdges ->
+                createDeclineRaceNode(currentDepth, game, player, branchEdges, true, hash));
+        branchCreators.add(branchEdges ->
+                createDeclineRaceNode(currentDepth, game, player, branchEdges, false, hash));
+        invokeAll(currentDepth, edges, branchCreators);
     }
 
     /**
@@ -165,14 +347,17 @@ public class SimulationTreeCreator {
      * @param player        - игрок
      * @param edges         - список рёбер
      * @param isDeclineRace - это упадок?
+     * @param hash          - хэш игры без текущего игрока
      */
     private void createDeclineRaceNode(final int currentDepth,
                                        final @NotNull IGame game, final @NotNull Player player,
-                                       final @NotNull List<Edge> edges, final boolean isDeclineRace) {
+                                       final @NotNull List<Edge> edges, final boolean isDeclineRace,
+                                       final long hash) {
         final Action newAction = new DeclineRaceAction(isDeclineRace);
         try {
             AILogger.printLogDeclineRace(currentDepth, player, isDeclineRace);
-            edges.add(new Edge(player, newAction, createSubtree(currentDepth, game, player, newAction)));
+            edges.add(new Edge(getPlayerIndex(game, player), newAction,
+                    createSubtree(currentDepth, game, player, newAction, hash)));
         } catch (final CoinsException exception) {
             exception.printStackTrace();
         }
@@ -185,39 +370,24 @@ public class SimulationTreeCreator {
      * @param game         - игра
      * @param player       - игрок
      * @param edges        - дуги от родителя
+     * @param hash         - хэш игры без текущего игрока
      */
     private void createChangeRaceBranches(final int currentDepth,
                                           final @NotNull IGame game, final @NotNull Player player,
-                                          final @NotNull List<Edge> edges) {
-        final List<Race> races = new LinkedList<>(game.getRacesPool());
-        races.remove(Race.GNOME);
-        if (maxDepth > 2) {
-            if (isBeforeGame(game)) {
-                if (RandomGenerator.isYes()) {
-                    races.remove(Race.ELF);
-                }
-                if (RandomGenerator.isYes()) {
-                    races.remove(Race.MUSHROOM);
-                }
-            } else if (game.getCurrentRound() == Game.ROUNDS_COUNT) {
-                races.remove(Race.ORC);
-            }
-        }
-        final List<RecursiveAction> recursiveActions = new ArrayList<>(races.size());
-        races.forEach(race -> recursiveActions.add(new RecursiveAction() {
-            @Override
-            protected void compute() {
-                final Action newAction = new ChangeRaceAction(race);
-                try {
-                    AILogger.printLogChangeRace(currentDepth, race, player);
-                    edges.add(new Edge(player, newAction,
-                            createSubtree(currentDepth, game, player, newAction)));
-                } catch (final CoinsException exception) {
-                    exception.printStackTrace();
-                }
+                                          final @NotNull List<Edge> edges, final long hash) {
+        final List<Race> races = getRacesToChoose(game, maxDepth);
+        final List<BranchCreator> branchCreators = new ArrayList<>(races.size());
+        races.forEach(race -> branchCreators.add(branchEdges -> {
+            final Action newAction = new ChangeRaceAction(race);
+            try {
+                AILogger.printLogChangeRace(currentDepth, race, player);
+                branchEdges.add(new Edge(getPlayerIndex(game, player), newAction,
+                        createSubtree(currentDepth, game, player, newAction, hash)));
+            } catch (final CoinsException exception) {
+                exception.printStackTrace();
             }
         }));
-        RecursiveAction.invokeAll(recursiveActions);
+        invokeAll(currentDepth, edges, branchCreators);
     }
 
     /**
@@ -229,13 +399,284 @@ public class SimulationTreeCreator {
      */
     public @NotNull NodeTree createTree(final @NotNull IGame game, final @NotNull Player player, final int tempDepth) {
         this.maxDepth = tempDepth;
-        final List<Edge> edges = Collections.synchronizedList(new LinkedList<>());
-        if (isBeforeGame(game)) {
-            createChangeRaceBranches(1, game, player, edges);
+        transpositionTable.clear();
+        final long hash = ZobristHash.hash(game, null);
+        final List<Edge> edges = pool.invoke(ForkJoinTask.adapt(() -> {
+            final List<Edge> rootEdges = new ArrayList<>();
+            if (isBeforeGame(game)) {
+                createChangeRaceBranches(1, game, player, rootEdges, hash);
+            } else {
+                createDeclineRaceBranches(1, game, player, rootEdges, hash);
+            }
+            return rootEdges;
+        }));
+        return newNodeTree(0, game, edges);
+    }
+
+    /**
+     * Продолжить дерево, построенное на прошлом ходу игрока, вместо построения нового.
+     * Ходы соперников после прошлого хода ищутся среди дуг дерева: узел, в котором игрок снова ходит,
+     * подходит, если позиция в нём совпадает с текущей позицией игры. Поддерево этого узла сохраняется,
+     * а достраиваются только его листья, до которых прошлое дерево не доставало по глубине
+     *
+     * @param subtree    - поддерево после последнего действия игрока на прошлом ходу
+     * @param prevGame   - игра перед этим действием (после продолжения возвращается в то же состояние)
+     * @param prevAction - последнее действие игрока на прошлом ходу (распределение юнитов)
+     * @param game       - игра в начале текущего хода
+     * @param player     - игрок
+     * @param tempDepth  - глубина дерева
+     * @return дерево с корнем в начале текущего хода или null, если ходы соперников в дереве не нашлись
+     * @throws CoinsException при ошибке обновления игры
+     */
+    public @Nullable NodeTree continueTree(final @NotNull NodeTree subtree, final @NotNull IGame prevGame,
+                                           final @NotNull Action prevAction, final @NotNull IGame game,
+                                           final @NotNull Player player, final int tempDepth)
+            throws CoinsException {
+        this.maxDepth = Integer.MAX_VALUE; // при поиске узла глубина не ограничивает ходы
+        final NodeTree ownTurnNode = findOwnTurnNode(subtree, prevGame, prevAction, game, player);
+        if (ownTurnNode == null) {
+            return null;
+        }
+        this.maxDepth = tempDepth;
+        transpositionTable.clear();
+        final IGame gameCopy = game.getCopy();
+        searchCounters.incrementGameCopies();
+        final List<CoinsException> exceptions = Collections.synchronizedList(new ArrayList<>(0));
+        final List<Edge> edges = pool.invoke(ForkJoinTask.adapt(() -> {
+            final List<Edge> rootEdges = new ArrayList<>();
+            continueEdges(1, gameCopy, ownTurnNode, rootEdges, exceptions);
+            return rootEdges;
+        }));
+        if (!exceptions.isEmpty()) {
+            throw exceptions.get(0);
+        }
+        return newNodeTree(0, gameCopy, edges);
+    }
+
+    /**
+     * Найти узел прошлого дерева, в котором игрок снова ходит, а позиция совпадает с позицией игры
+     *
+     * @param subtree    - дерево прошлого хода игрока (корень - перед действием prevAction)
+     * @param prevGame   - игра в состоянии корня subtree (не меняется)
+     * @param prevAction - последнее действие игрока в прошлом ходу
+     * @param game       - игра в начале текущего хода
+     * @param player     - игрок
+     * @return найденный узел или null
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private @Nullable NodeTree findOwnTurnNode(final @NotNull NodeTree subtree, final @NotNull IGame prevGame,
+                                               final @NotNull Action prevAction, final @NotNull IGame game,
+                                               final @NotNull Player player) throws CoinsException {
+        final Deque<GameCheckpoint> undoStack = new ArrayDeque<>();
+        try {
+            final Pair<Integer, Player> pair = makeTreeMove(0, prevGame, getPlayerCopy(prevGame, player),
+                    prevAction, undoStack);
+            return pair.getSecond() == null
+                    ? null
+                    : findOwnTurnNode(pair.getFirst(), prevGame, subtree, player, game,
+                    ZobristHash.hashPosition(game));
+        } finally {
+            undoAll(undoStack);
+        }
+    }
+
+    /**
+     * Найти узел, в котором игрок снова ходит, а позиция совпадает с заданной.
+     * Ветвь отбрасывается сразу после выбора расы соперником (упадок или смена расы), если его раса
+     * не совпадает с расой в игре: до начала хода игрока её уже никто не изменит
+     *
+     * @param currentDepth - текущая глубина
+     * @param game         - игра в состоянии узла
+     * @param node         - узел
+     * @param player       - игрок
+     * @param targetGame   - игра, позицию которой нужно найти
+     * @param positionHash - хэш позиции targetGame
+     * @return найденный узел или null
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private @Nullable NodeTree findOwnTurnNode(final int currentDepth, final @NotNull IGame game,
+                                               final @NotNull NodeTree node, final @NotNull Player player,
+                                               final @NotNull IGame targetGame, final long positionHash)
+            throws CoinsException {
+        final Action firstAction = node.getEdgesCount() == 0 ? null : node.getAction(0);
+        if (firstAction == null) {
+            return null; // лист: дальше прошлое дерево не строилось
+        }
+        if (node.getPlayerIndex() == getPlayerIndex(game, player) && firstAction.getType() == ActionType.DECLINE_RACE) {
+            return ZobristHash.hashPosition(game) == positionHash ? node : null;
+        }
+        final Player nodePlayer = game.getPlayers().get(node.getPlayerIndex());
+        final Race targetRace = targetGame.getPlayers().get(node.getPlayerIndex()).getRace();
+        for (int i = 0; i < node.getEdgesCount(); i++) {
+            final Action action = Objects.requireNonNull(node.getAction(i));
+            final Deque<GameCheckpoint> undoStack = new ArrayDeque<>();
+            try {
+                final Pair<Integer, Player> pair = makeTreeMove(currentDepth, game, nodePlayer, action, undoStack);
+                if (isRaceChosen(action) && nodePlayer.getRace() != targetRace) {
+                    continue;
+                }
+                if (pair.getSecond() != null) {
+                    final NodeTree ownTurnNode = findOwnTurnNode(pair.getFirst(), game, node.getChild(i), player,
+                            targetGame, positionHash);
+                    if (ownTurnNode != null) {
+                        return ownTurnNode;
+                    }
+                }
+            } finally {
+                undoAll(undoStack);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param action - действие
+     * @return true, если после действия раса игрока в этом ходу уже не меняется
+     */
+    private static boolean isRaceChosen(final @NotNull Action action) {
+        return action.getType() == ActionType.CHANGE_RACE
+                || action.getType() == ActionType.DECLINE_RACE && !((DeclineRaceAction) action).isDeclineRace();
+    }
+
+    /**
+     * Перестроить дуги узла: поддеревья сохраняются, а листья, на которых прошлое дерево
+     * остановилось по глубине, достраиваются до текущей глубины.
+     * На параллельных глубинах дуги перестраиваются параллельно, каждая на своей копии игры
+     *
+     * @param currentDepth - текущая глубина
+     * @param game         - игра в состоянии узла
+     * @param node         - узел прошлого дерева
+     * @param edges        - дуги к продолженным потомкам (пополняется в порядке дуг узла)
+     * @param exceptions   - ошибки обновления игры (пополняется)
+     */
+    private void continueEdges(final int currentDepth, final @NotNull IGame game, final @NotNull NodeTree node,
+                               final @NotNull List<Edge> edges, final @NotNull List<CoinsException> exceptions) {
+        final List<BranchCreator> branchCreators = new ArrayList<>(node.getEdgesCount());
+        for (int i = 0; i < node.getEdgesCount(); i++) {
+            final int edgeIndex = i;
+            branchCreators.add(branchEdges -> {
+                try {
+                    continueEdge(currentDepth, game, node, edgeIndex, branchEdges, exceptions);
+                } catch (final CoinsException exception) {
+                    exceptions.add(exception);
+                }
+            });
+        }
+        invokeAll(currentDepth, edges, branchCreators);
+    }
+
+    /**
+     * Перестроить дугу узла
+     *
+     * @param currentDepth - текущая глубина
+     * @param game         - игра в состоянии узла
+     * @param node         - узел прошлого дерева
+     * @param edgeIndex    - индекс дуги
+     * @param edges        - дуги к продолженным потомкам (пополняется)
+     * @param exceptions   - ошибки обновления игры в потомках (пополняется)
+     * @throws CoinsException при ошибке обновления игры
+     */
+    private void continueEdge(final int currentDepth, final @NotNull IGame game, final @NotNull NodeTree node,
+                              final int edgeIndex, final @NotNull List<Edge> edges,
+                              final @NotNull List<CoinsException> exceptions) throws CoinsException {
+        final Action action = node.getAction(edgeIndex);
+        final NodeTree child = node.getChild(edgeIndex);
+        if (action == null) {
+            edges.add(new Edge(node.getPlayerIndex(), null, child));
+            return;
+        }
+        final IGame branchGame;
+        if (isParallel(currentDepth)) {
+            branchGame = game.getCopy();
+            searchCounters.incrementGameCopies();
         } else {
-            createDeclineRaceBranches(1, game, player, edges);
+            branchGame = game;
+        }
+        final Player player = branchGame.getPlayers().get(node.getPlayerIndex());
+        final Deque<GameCheckpoint> undoStack = new ArrayDeque<>();
+        try {
+            final Pair<Integer, Player> pair = makeTreeMove(currentDepth, branchGame, player, action, undoStack);
+            final int newDepth = pair.getFirst();
+            final Player nextPlayer = pair.getSecond();
+            final List<Edge> childEdges = new ArrayList<>();
+            if (nextPlayer == null) {
+                childEdges.add(new Edge(Edge.NO_PLAYER, null, newTerminalNode(branchGame)));
+            } else if (isLeaf(child)) {
+                createDeclineRaceBranches(newDepth, branchGame, nextPlayer, childEdges,
+                        ZobristHash.hash(branchGame, null));
+            } else {
+                continueEdges(newDepth, branchGame, child, childEdges, exceptions);
+            }
+            edges.add(new Edge(node.getPlayerIndex(), action, newNodeTree(currentDepth, branchGame, childEdges)));
+        } finally {
+            undoAll(undoStack);
+        }
+    }
+
+    /**
+     * @param node - узел
+     * @return true, если узел - лист (единственная дуга без действия), false - иначе
+     */
+    private static boolean isLeaf(final @NotNull NodeTree node) {
+        return node.getEdgesCount() == 1 && node.getAction(0) == null;
+    }
+
+    /**
+     * Применить действие дуги так же, как при построении дерева
+     *
+     * @param currentDepth - текущая глубина
+     * @param game         - игра
+     * @param player       - игрок, совершающий действие
+     * @param action       - действие
+     * @param undoStack    - стек откатов (пополняется записями отката изменений игры)
+     * @return пару (глубина потомков, игрок, который ходит в потомках (null - потомок - лист))
+     * @throws CoinsException при ошибке обновления игры
+     */
+    @Contract("_, _, _, _, _ -> new")
+    private @NotNull Pair<@NotNull Integer, @Nullable Player> makeTreeMove(final int currentDepth,
+                                                                           final @NotNull IGame game,
+                                                                           final @NotNull Player player,
+                                                                           final @NotNull Action action,
+                                                                           final @NotNull Deque<GameCheckpoint>
+                                                                                   undoStack)
+            throws CoinsException {
+        switch (action.getType()) {
+            case DECLINE_RACE:
+                if (!((DeclineRaceAction) action).isDeclineRace()) {
+                    undoStack.push(ReversibleMoveProcessor.makeMove(game, player, action));
+                }
+                return new Pair<>(currentDepth, player);
+            case CHANGE_RACE:
+                undoStack.push(ReversibleMoveProcessor.makeMove(game, player, action));
+                return new Pair<>(currentDepth, player);
+            case CATCH_CELL:
+                if (((CatchCellAction) action).getResolution() != null) {
+                    undoStack.push(ReversibleMoveProcessor.makeMove(game, player, action));
+                    return new Pair<>(currentDepth, player);
+                }
+                undoStack.push(ReversibleMoveProcessor.createUndo(game,
+                        new ArrayList<>(game.getOwnToCells().get(player))));
+                GameLoopProcessor.makeAllUnitsSomeState(player, AvailabilityType.AVAILABLE);
+                updateGameAfterCatchCellsEnd(game, player);
+                return new Pair<>(currentDepth, player);
+            case DISTRIBUTION_UNITS:
+                undoStack.push(ReversibleMoveProcessor.makeMove(game, player, action));
+                undoStack.push(ReversibleMoveProcessor.createUndo(game, Collections.emptyList()));
+                return reachNewDepths(currentDepth, game, player);
+            default:
+                throw new CoinsException(CoinsErrorCode.ACTION_TYPE_NOT_FOUND);
+        }
+    }
+
+    /**
+     * Отменить все изменения игры из стека откатов
+     *
+     * @param undoStack - стек откатов
+     */
+    private static void undoAll(final @NotNull Deque<GameCheckpoint> undoStack) {
+        while (!undoStack.isEmpty()) {
+            ReversibleMoveProcessor.unmakeMove(undoStack.pop());
         }
-        return SimulationTreeCreatingProcessor.createNodeTree(0, game, edges, functionType);
     }
 
     /**
@@ -245,32 +686,94 @@ public class SimulationTreeCreator {
      * @param game         - игра в текущем состоянии
      * @param player       - игрок
      * @param action       - действие, привёдшее к данному узлу
+     * @param hash         - хэш игры без текущего игрока
      * @return узел с оценённым данным действием
      */
     private @NotNull NodeTree createSubtree(final int currentDepth,
                                             final @NotNull IGame game, final @NotNull Player player,
-                                            final @NotNull Action action)
+                                            final @NotNull Action action, final long hash)
             throws CoinsException {
-        final List<Edge> edges = Collections.synchronizedList(new LinkedList<>());
+        final boolean isTransposable = isTransposable(action);
+        final long transpositionHash = isTransposable ? getTranspositionHash(game, player, action, hash) : 0;
+        if (isTransposable) {
+            final NodeTree nodeTree = transpositionTable.get(transpositionHash, currentDepth);
+            if (nodeTree != null) {
+                return nodeTree;
+            }
+        }
+        searchCounters.incrementExpandedNodes();
+        final List<Edge> edges = new ArrayList<>();
         switch (action.getType()) {
             case DECLINE_RACE:
-                createDeclineRaceSubtree(currentDepth, game, player, action, edges);
+                createDeclineRaceSubtree(currentDepth, game, player, action, edges, hash);
                 break;
             case CHANGE_RACE:
-                createChangeRaceSubtree(currentDepth, game, player, action, edges);
+                createChangeRaceSubtree(currentDepth, game, player, action, edges, hash);
                 break;
             case CATCH_CELL:
-                createCatchCellSubtree(currentDepth, game, player, action, edges);
+                createCatchCellSubtree(currentDepth, game, player, action, edges, hash);
                 break;
             case DISTRIBUTION_UNITS:
-                createDistributionUnitsSubtree(currentDepth, game, player, edges);
+                createDistributionUnitsSubtree(currentDepth, game, player, edges, hash);
                 break;
             default:
                 throw new CoinsException(CoinsErrorCode.ACTION_TYPE_NOT_FOUND);
         }
+        final NodeTree nodeTree = newNodeTree(currentDepth, game, edges);
+        if (isTransposable) {
+            transpositionTable.put(transpositionHash, currentDepth, nodeTree);
+        }
+        return nodeTree;
+    }
+
+    /**
+     * Создать узел дерева и учесть его в счётчиках
+     *
+     * @param currentDepth - текущая глубина
+     * @param game         - игра в состоянии узла
+     * @param edges        - дуги узла
+     * @return узел
+     */
+    private @NotNull NodeTree newNodeTree(final int currentDepth, final @NotNull IGame game,
+                                          final @NotNull List<Edge> edges) {
+        searchCounters.incrementTreeNodes();
         return SimulationTreeCreatingProcessor.createNodeTree(currentDepth, game, edges, functionType);
     }
 
+    /**
+     * Создать конечный узел дерева и учесть его в счётчиках
+     *
+     * @param game - игра в конце
+     * @return узел
+     */
+    private @NotNull NodeTree newTerminalNode(final @NotNull IGame game) {
+        searchCounters.incrementTreeNodes();
+        return SimulationTreeCreatingProcessor.createTerminalNode(game, functionType, evaluator);
+    }
+
+    /**
+     * Можно ли брать поддерево узла из таблицы транспозиций?
+     * Да для конца захвата клеток и для распределения юнитов: дальше дерево определяется состоянием игры
+     *
+     * @param action - действие, приведшее к узлу
+     * @return true, если поддерево зависит только от состояния игры и глубины
+     */
+    private static boolean isTransposable(final @NotNull Action action) {
+        return action.getType() == ActionType.CATCH_CELL || action.getType() == ActionType.DISTRIBUTION_UNITS;
+    }
+
+    /**
+     * @param game   - игра
+     * @param player - игрок
+     * @param action - действие, приведшее к узлу
+     * @param hash   - хэш игры без текущего игрока
+     * @return ключ узла в таблице транспозиций (без глубины)
+     */
+    private static long getTranspositionHash(final @NotNull IGame game, final @NotNull Player player,
+                                             final @NotNull Action action, final long hash) {
+        return ZobristHash.withCurrentPlayer(hash, game, player) * 31 + action.getType().ordinal();
+    }
+
     /**
      * Создать поддерево узла типа ухода в упадок
      *
@@ -279,21 +782,20 @@ public class SimulationTreeCreator {
      * @param player       - игрок
      * @param action       - предыдущее действие
      * @param edges        - дуги от общего родителя
+     * @param hash         - хэш игры без текущего игрока
      * @throws CoinsException при ошибке обновления игры
      */
     private void createDeclineRaceSubtree(final int currentDepth,
                                           final @NotNull IGame game, final @NotNull Player player,
                                           final @NotNull Action action,
-                                          final @NotNull List<Edge> edges) throws CoinsException {
+                                          final @NotNull List<Edge> edges, final long hash) throws CoinsException {
         if (((DeclineRaceAction) action).isDeclineRace()) {
-            createChangeRaceBranches(currentDepth, game, player, edges);
+            createChangeRaceBranches(currentDepth, game, player, edges, hash);
             return;
         }
-        final IGame gameCopy = game.getCopy();
-        final Player playerCopy = getPlayerCopy(gameCopy, player);
-        updateGame(gameCopy, playerCopy, action);
-        createCatchCellsNodes(currentDepth, gameCopy, playerCopy, edges,
-                Collections.synchronizedSet(new HashSet<>()));
+        branch(currentDepth, game, player, action, Collections.emptyList(), hash,
+                (branchGame, branchPlayer, branchHash) -> createCatchCellsNodes(currentDepth, branchGame,
+                        branchPlayer, edges, Collections.synchronizedSet(new HashSet<>()), branchHash));
     }
 
     /**
@@ -304,47 +806,41 @@ public class SimulationTreeCreator {
      * @param player       - игрок
      * @param action       - предыдущее действие
      * @param edges        - дуги от общего родителя
+     * @param hash         - хэш игры без текущего игрока
      * @throws CoinsException при ошибке обновления игры
      */
     private void createChangeRaceSubtree(final int currentDepth,
                                          final @NotNull IGame game, final @NotNull Player player,
-                                         final @NotNull Action action, final @NotNull List<Edge> edges)
+                                         final @NotNull Action action, final @NotNull List<Edge> edges,
+                                         final long hash)
             throws CoinsException {
-        final IGame gameCopy = game.getCopy();
-        final Player playerCopy = getPlayerCopy(gameCopy, player);
-        updateGame(gameCopy, playerCopy, action);
-        if (!isBeforeGame(game)) {
-            createCatchCellsNodes(
-                    currentDepth, gameCopy, playerCopy, edges, Collections.synchronizedSet(new HashSet<>()));
-            return;
-        } // else
-        boolean wasCurrentPlayer = false;
-        boolean isChangeRaceBranchesCreated = false;
-        for (final Player item : gameCopy.getPlayers()) {
-            if (item.equals(playerCopy)) {
-                wasCurrentPlayer = true;
-                continue;
+        final boolean isBeforeGame = isBeforeGame(game);
+        branch(currentDepth, game, player, action, Collections.emptyList(), hash, (gameCopy, playerCopy, copyHash) -> {
+            if (!isBeforeGame) {
+                createCatchCellsNodes(currentDepth, gameCopy, playerCopy, edges,
+                        Collections.synchronizedSet(new HashSet<>()), copyHash);
+                return;
+            } // else
+            boolean wasCurrentPlayer = false;
+            boolean isChangeRaceBranchesCreated = false;
+            for (final Player item : gameCopy.getPlayers()) {
+                if (item.equals(playerCopy)) {
+                    wasCurrentPlayer = true;
+                    continue;
+                }
+                if (wasCurrentPlayer) {
+                    createChangeRaceBranches(currentDepth, gameCopy, item, edges, copyHash);
+                    isChangeRaceBranchesCreated = true;
+                    break;
+                }
             }
-            if (wasCurrentPlayer) {
-                createChangeRaceBranches(currentDepth, gameCopy, item, edges);
-                isChangeRaceBranchesCreated = true;
-                break;
+            if (wasCurrentPlayer && !isChangeRaceBranchesCreated) {
+                final long prevPart = ZobristHash.hashPart(gameCopy, Collections.emptyList());
+                gameCopy.incrementCurrentRound();
+                createDeclineRaceBranches(currentDepth, gameCopy, gameCopy.getPlayers().get(0), edges,
+                        rehash(copyHash, prevPart, gameCopy, Collections.emptyList()));
             }
-        }
-        if (wasCurrentPlayer && !isChangeRaceBranchesCreated) {
-            gameCopy.incrementCurrentRound();
-            createDeclineRaceBranches(currentDepth, gameCopy, gameCopy.getPlayers().get(0), edges);
-        }
-    }
-
-    /**
-     * Игра началась?
-     *
-     * @param game - игра
-     * @return true, если да, началась, false - иначе
-     */
-    private boolean isBeforeGame(final @NotNull IGame game) {
-        return game.getCurrentRound() == 0;
+        });
     }
 
     /**
@@ -355,24 +851,24 @@ public class SimulationTreeCreator {
      * @param player       - игрок
      * @param action       - действие, привёдшее к данному узлу
      * @param edges        - дуги от общего родителя
+     * @param hash         - хэш игры без текущего игрока
      * @throws CoinsException при ошибке обновления игры
      */
     private void createCatchCellSubtree(final int currentDepth,
                                         final @NotNull IGame game, final @NotNull Player player,
                                         final @NotNull Action action,
-                                        final @NotNull List<Edge> edges)
+                                        final @NotNull List<Edge> edges, final long hash)
             throws CoinsException {
 
         if (((CatchCellAction) action).getResolution() != null) {
             throw new CoinsException(CoinsErrorCode.LOGIC_ERROR);
         }
-        final List<Cell> transitCells = game.getPlayerToTransitCells().get(player);
-        final List<Cell> controlledCells = game.getOwnToCells().get(player);
-        GameLoopProcessor.freeTransitCells(player, transitCells, controlledCells, isGameLoggedOn);
-        controlledCells.forEach(controlledCell -> controlledCell.getUnits().clear());
-        GameLoopProcessor.makeAllUnitsSomeState(player,
-                AvailabilityType.AVAILABLE); // доступными юнитами становятся все имеющиеся у игрока юниты
-        createDistributionUnitsNodes(currentDepth, game, player, edges);
+        /* Освобождаются транзитные клетки и снимаются юниты с подконтрольных клеток игрока */
+        final Set<Cell> changedCells = new HashSet<>(game.getOwnToCells().get(player));
+        changedCells.addAll(game.getPlayerToTransitCells().get(player));
+        final long prevPart = ZobristHash.hashPart(game, changedCells);
+        updateGameAfterCatchCellsEnd(game, player);
+        createDistributionUnitsNodes(currentDepth, game, player, edges, rehash(hash, prevPart, game, changedCells));
     }
 
     /**
@@ -382,20 +878,24 @@ public class SimulationTreeCreator {
      * @param game         - игра в текущем состоянии
      * @param player       - игрок
      * @param edges        - дуги от общего родителя
+     * @param hash         - хэш игры без текущего игрока
      * @throws CoinsException при ошибке обновления игры
      */
     private void createDistributionUnitsSubtree(final int currentDepth,
                                                 final @NotNull IGame game, final @NotNull Player player,
-                                                final @NotNull List<Edge> edges) throws CoinsException {
+                                                final @NotNull List<Edge> edges, final long hash)
+            throws CoinsException {
+        final long prevPart = ZobristHash.hashPart(game, Collections.emptyList()); // меняются только игроки и раунд
         final Pair<Integer, Player> pair = reachNewDepths(currentDepth, game, player);
         final int newDepth = pair.getFirst();
         final Player nextPlayer = pair.getSecond();
         if (nextPlayer == null) {
-            edges.add(new Edge(null, null,
-                    SimulationTreeCreatingProcessor.createTerminalNode(game, functionType)));
+            edges.add(new Edge(Edge.NO_PLAYER, null,
+                    newTerminalNode(game)));
             return;
         }
-        createDeclineRaceBranches(newDepth, game, nextPlayer, edges);
+        createDeclineRaceBranches(newDepth, game, nextPlayer, edges,
+                rehash(hash, prevPart, game, Collections.emptyList()));
     }
 
     /**
@@ -405,15 +905,17 @@ public class SimulationTreeCreator {
      * @param player         - игрок
      * @param edges          - список дуг от общего родителя
      * @param prevCatchCells - предыдущие захваченные клетки
+     * @param hash           - хэш игры без текущего игрока
      */
     private void createCatchCellsNodes(final int currentDepth, final @NotNull IGame game, final @NotNull Player player,
-                                       final @NotNull List<Edge> edges, final @NotNull Set<Cell> prevCatchCells) {
+                                       final @NotNull List<Edge> edges, final @NotNull Set<Cell> prevCatchCells,
+                                       final long hash) {
         boolean isWasCapture = false;
         if (!player.getUnitsByState(AvailabilityType.AVAILABLE).isEmpty()) {
-            final Set<Cell> achievableCells = getAndUpdateAchievableCells(game, player, prevCatchCells);
+            final Set<Cell> achievableCells = getAndUpdateAchievableCells(game, player, prevCatchCells, maxDepth);
             final List<Triplet<List<Unit>, Integer, Cell>> unitsToPairTiredUnitsToCellList = new LinkedList<>();
             achievableCells.forEach(achievableCell -> {
-                if (maxDepth < 3 || isCellBeneficial(game, player, achievableCell)) {
+                if (maxDepth < 3 || evaluator.isCellBeneficial(game, player, achievableCell)) {
                     final Triplet<List<Unit>, Integer, Cell> triplet =
                             getUnitsToPairTiredUnitsToCell(game, player, achievableCell, prevCatchCells);
                     if (triplet != null) {
@@ -421,110 +923,16 @@ public class SimulationTreeCreator {
                     }
                 }
             });
-            final List<RecursiveAction> recursiveActions = new ArrayList<>(unitsToPairTiredUnitsToCellList.size());
+            final List<BranchCreator> branchCreators = new ArrayList<>(unitsToPairTiredUnitsToCellList.size());
             unitsToPairTiredUnitsToCellList.forEach(unitsToPairTiredUnitsToCell ->
-                    recursiveActions.add(new RecursiveAction() {
-                        @Override
-                        protected void compute() {
-                            createCatchCellNodesByAllPossibleUnits(currentDepth, game, player,
-                                    edges, prevCatchCells, unitsToPairTiredUnitsToCell);
-                        }
-                    }));
-            isWasCapture = !recursiveActions.isEmpty();
-            RecursiveAction.invokeAll(recursiveActions);
+                    branchCreators.add(branchEdges -> createCatchCellNodesByAllPossibleUnits(currentDepth, game,
+                            player, branchEdges, prevCatchCells, unitsToPairTiredUnitsToCell, hash)));
+            isWasCapture = !branchCreators.isEmpty();
+            invokeAll(currentDepth, edges, branchCreators);
         }
         if (!isWasCapture) {
-            createCatchCellEndNode(currentDepth, game, player, edges);
-        }
-    }
-
-    /**
-     * Взять и обновить достижимых для захвата клетки
-     *
-     * @param game           - игра
-     * @param player         - игрок
-     * @param prevCatchCells - предыдущие захваченные клетки
-     * @return обновлённое множество достижимых клеток
-     */
-    @SuppressWarnings("SynchronizationOnLocalVariableOrMethodParameter")
-    private @NotNull Set<Cell> getAndUpdateAchievableCells(final @NotNull IGame game, final @NotNull Player player,
-                                                           final @NotNull Set<Cell> prevCatchCells) {
-        final Set<Cell> achievableCells = new HashSet<>(game.getPlayerToAchievableCells().get(player));
-        synchronized (prevCatchCells) {
-            achievableCells.removeAll(prevCatchCells);
-        }
-        factorizeByClusters(game, achievableCells);
-        return achievableCells;
-    }
-
-    /**
-     * Факторизовать множество доступных клеток по отношению принадлежности к кластеру
-     *
-     * @param game            - игра
-     * @param achievableCells - множество доступных клеток
-     */
-    private void factorizeByClusters(final @NotNull IGame game, final @NotNull Set<Cell> achievableCells) {
-        final Set<Cell> factorizedCells = new HashSet<>(achievableCells.size());
-        final Iterator<Cell> iterator = achievableCells.iterator();
-        while (iterator.hasNext()) {
-            final Cell achievableCell = iterator.next();
-            if (factorizedCells.stream().anyMatch(cell ->
-                    isFromOneCluster(cell, achievableCell, game.getBoard()))) {
-                iterator.remove();
-            } else {
-                factorizedCells.add(achievableCell);
-            }
-        }
-    }
-
-    /**
-     * Клетки из одного кластера?
-     *
-     * @param cell1 - первая клетка
-     * @param cell2 - вторая клетка
-     * @param board - борда
-     * @return true, если клетки из одного кластера, false - иначе
-     */
-    private boolean isFromOneCluster(final @NotNull Cell cell1, final @NotNull Cell cell2,
-                                     final @NotNull IBoard board) {
-        if (cell1.getType() != cell2.getType()
-                || cell1.getUnits().size() != cell2.getUnits().size()
-                || cell1.getRace() != cell2.getRace()) {
-            return false;
-        }
-        if (maxDepth < 4) {
-            final List<Cell> neighboringCells1 = board.getNeighboringCells(cell1);
-            final List<Cell> neighboringCells2 = board.getNeighboringCells(cell2);
-            return Objects.requireNonNull(neighboringCells1).stream().noneMatch(neighboringCell1 ->
-                    Objects.requireNonNull(neighboringCells2).stream().noneMatch(neighboringCell2 ->
-                            neighboringCell2.getType() == neighboringCell1.getType()
-                                    || neighboringCell2.getUnits().size() == neighboringCell1.getUnits().size()));
+            createCatchCellEndNode(currentDepth, game, player, edges, hash);
         }
-        return true;
-    }
-
-    /**
-     * Клетка выгодна игроку?
-     *
-     * @param game   - игра
-     * @param player - игрок
-     * @param cell   - клетка
-     * @return true, если выгодна, false - иначе
-     */
-    private boolean isCellBeneficial(final @NotNull IGame game, final @NotNull Player player,
-                                     final @NotNull Cell cell) {
-        return player.getRace() == Race.ELF && ((cell.getType() != CellType.WATER || RandomGenerator.isYes())
-                && game.getOwnToCells().get(player)
-                .stream()
-                .noneMatch(controlledCell ->
-                        controlledCell.getType() == cell.getType())
-                && (cell.getType() != CellType.MOUNTAIN || RandomGenerator.isYes()) || cell.getType() == CellType.LAND)
-                || player.getRace() == Race.AMPHIBIAN && (cell.getType() == CellType.WATER || RandomGenerator.isYes())
-                || player.getRace() == Race.MUSHROOM && (cell.getType() == CellType.MUSHROOM || RandomGenerator.isYes())
-                || player.getRace() == Race.GNOME && RandomGenerator.isYes()
-                || player.getRace() == Race.UNDEAD
-                && (cell.getType() == CellType.LAND || cell.getType() == CellType.MUSHROOM || RandomGenerator.isYes())
-                || player.getRace() == Race.ORC && RandomGenerator.isYes();
     }
 
     /**
@@ -536,27 +944,24 @@ public class SimulationTreeCreator {
      * @param edges                       - список дуг от общего родителя
      * @param prevCatchCells              - предыдущие захваченные клетки
      * @param unitsToPairTiredUnitsToCell - Список доступных юнитов, число уставших юнитов и сама клетка
+     * @param hash                        - хэш игры без текущего игрока
      */
     private void createCatchCellNodesByAllPossibleUnits(final int currentDepth,
                                                         final @NotNull IGame game, final @NotNull Player player,
                                                         final @NotNull List<Edge> edges,
                                                         final @NotNull Set<Cell> prevCatchCells,
                                                         final @NotNull Triplet<List<Unit>, Integer, Cell>
-                                                                unitsToPairTiredUnitsToCell) {
+                                                                unitsToPairTiredUnitsToCell,
+                                                        final long hash) {
         final List<Unit> units = unitsToPairTiredUnitsToCell.getFirst();
         final int tiredUnitsCount = unitsToPairTiredUnitsToCell.getSecond();
         final Cell cell = unitsToPairTiredUnitsToCell.getThird();
         final Set<Integer> indexes =
                 AIDistributionProcessor.getIndexes(units, tiredUnitsCount, maxDepth);
-        final List<RecursiveAction> recursiveActions1 = new ArrayList<>(indexes.size());
-        indexes.forEach(index -> recursiveActions1.add(new RecursiveAction() {
-            @Override
-            protected void compute() {
-                createCatchCellNode(currentDepth, index, game, player, cell,
-                        new LinkedList<>(units), edges, prevCatchCells);
-            }
-        }));
-        RecursiveAction.invokeAll(recursiveActions1);
+        final List<BranchCreator> branchCreators = new ArrayList<>(indexes.size());
+        indexes.forEach(index -> branchCreators.add(branchEdges -> createCatchCellNode(currentDepth, index, game,
+                player, cell, new LinkedList<>(units), branchEdges, prevCatchCells, hash)));
+        invokeAll(currentDepth, edges, branchCreators);
     }
 
     /**
@@ -565,18 +970,23 @@ public class SimulationTreeCreator {
      * @param game   - игра
      * @param player - игрок
      * @param edges  - дуги от родителя
+     * @param hash   - хэш игры без текущего игрока
      */
     private void createCatchCellEndNode(final int currentDepth,
                                         final @NotNull IGame game, final @NotNull Player player,
-                                        final @NotNull List<Edge> edges) {
+                                        final @NotNull List<Edge> edges, final long hash) {
         final Action newAction = new CatchCellAction(null);
-        final IGame gameCopy = game.getCopy();
-        final Player playerCopy = getPlayerCopy(gameCopy, player);
-        GameLoopProcessor.makeAllUnitsSomeState(playerCopy, AvailabilityType.AVAILABLE);
         try {
-            edges.add(new Edge(
-                    playerCopy, newAction, createSubtree(currentDepth, gameCopy,
-                    playerCopy, newAction)));
+            /* Поддерево освобождает транзитные клетки и снимает юнитов со всех подконтрольных клеток */
+            branch(currentDepth, game, player, null, new ArrayList<>(game.getOwnToCells().get(player)), hash,
+                    (gameCopy, playerCopy, copyHash) -> {
+                        final long prevPart = ZobristHash.hashPart(gameCopy, Collections.emptyList());
+                        GameLoopProcessor.makeAllUnitsSomeState(playerCopy, AvailabilityType.AVAILABLE);
+                        edges.add(new Edge(
+                                getPlayerIndex(gameCopy, playerCopy), newAction,
+                                createSubtree(currentDepth, gameCopy, playerCopy, newAction,
+                                        rehash(copyHash, prevPart, gameCopy, Collections.emptyList()))));
+                    });
         } catch (final CoinsException exception) {
             exception.printStackTrace();
         }
@@ -592,21 +1002,22 @@ public class SimulationTreeCreator {
      * @param units          - список юнитов для захвата
      * @param edges          - дуги от родителя
      * @param prevCatchCells - предыдущие захваченные клетки
+     * @param hash           - хэш игры без текущего игрока
      */
     private void createCatchCellNode(final int currentDepth, final int index,
                                      final @NotNull IGame game, final @NotNull Player player,
                                      final @NotNull Cell cell, final @NotNull List<Unit> units,
-                                     final @NotNull List<Edge> edges, final @NotNull Set<Cell> prevCatchCells) {
+                                     final @NotNull List<Edge> edges, final @NotNull Set<Cell> prevCatchCells,
+                                     final long hash) {
         final Pair<Position, List<Unit>> resolution =
                 new Pair<>(game.getBoard().getPositionByCell(cell), units.subList(0, index));
         final Action newAction = new CatchCellAction(resolution);
         AILogger.printLogCatchCellResolution(currentDepth, index, player, resolution);
-        final IGame gameCopy = game.getCopy();
-        final Player playerCopy = getPlayerCopy(gameCopy, player);
         try {
-            updateGame(gameCopy, playerCopy, newAction);
-            edges.add(new Edge(playerCopy, newAction,
-                    continueCreatingCatchCellSubtree(currentDepth, gameCopy, playerCopy, newAction, prevCatchCells)));
+            branch(currentDepth, game, player, newAction, Collections.emptyList(), hash,
+                    (gameCopy, playerCopy, copyHash) -> edges.add(new Edge(getPlayerIndex(gameCopy, playerCopy),
+                            newAction, continueCreatingCatchCellSubtree(currentDepth, gameCopy, playerCopy,
+                                    newAction, prevCatchCells, copyHash))));
         } catch (final CoinsException exception) {
             exception.printStackTrace();
         }
@@ -620,21 +1031,23 @@ public class SimulationTreeCreator {
      * @param player         - игрок
      * @param action         - действие, привёдшее к данному узлу
      * @param prevCatchCells - предыдущие захваченные клетки (в данном поддереве)
+     * @param hash           - хэш игры без текущего игрока
      * @return узел с оценённым данным действием
      */
     private @NotNull NodeTree continueCreatingCatchCellSubtree(final int currentDepth,
                                                                final @NotNull IGame game,
                                                                final @NotNull Player player,
                                                                final @NotNull Action action,
-                                                               final @NotNull Set<Cell> prevCatchCells)
+                                                               final @NotNull Set<Cell> prevCatchCells,
+                                                               final long hash)
             throws CoinsException {
 
         if (((CatchCellAction) action).getResolution() == null) {
             throw new CoinsException(CoinsErrorCode.LOGIC_ERROR);
         }
-        final List<Edge> edges = Collections.synchronizedList(new LinkedList<>());
-        createCatchCellsNodes(currentDepth, game, player, edges, prevCatchCells);
-        return SimulationTreeCreatingProcessor.createNodeTree(currentDepth, game, edges, functionType);
+        final List<Edge> edges = new ArrayList<>();
+        createCatchCellsNodes(currentDepth, game, player, edges, prevCatchCells, hash);
+        return newNodeTree(currentDepth, game, edges);
     }
 
     /**
@@ -643,29 +1056,22 @@ public class SimulationTreeCreator {
      * @param game   - игра
      * @param player - игрок
      * @param edges  - дуги от родителя
+     * @param hash   - хэш игры без текущего игрока
      */
     private void createDistributionUnitsNodes(final int currentDepth,
                                               final @NotNull IGame game, final @NotNull Player player,
-                                              final @NotNull List<Edge> edges) {
+                                              final @NotNull List<Edge> edges, final long hash) {
         final List<Cell> controlledCells = game.getOwnToCells().get(player);
-        final List<Map<Cell, Integer>> distributions =
-                AIDistributionProcessor.getDistributions(controlledCells,
-                        new HashSet<>(player.getUnitsByState(AvailabilityType.AVAILABLE)).size());
-        final Set<Map<Cell, Integer>> actualDistributions =
-                AIDistributionProcessor
-                        .distributionsNumberReduce(distributions, game.getOwnToCells().get(player).size());
-        if (actualDistributions.size() == 0) {
-            createDistributionUnitsNode(currentDepth, game, player, edges, new HashMap<>(0));
+        final List<BranchCreator> branchCreators = new ArrayList<>(controlledCells.size());
+        AIDistributionProcessor.getDistributions(game, player, controlledCells,
+                new HashSet<>(player.getUnitsByState(AvailabilityType.AVAILABLE)).size(), controlledCells.size())
+                .forEach(distribution -> branchCreators.add(branchEdges ->
+                        createDistributionUnitsNode(currentDepth, game, player, branchEdges, distribution, hash)));
+        if (branchCreators.isEmpty()) {
+            createDistributionUnitsNode(currentDepth, game, player, edges, new HashMap<>(0), hash);
             return;
         }
-        final List<RecursiveAction> recursiveActions = new ArrayList<>(actualDistributions.size());
-        actualDistributions.forEach(distribution -> recursiveActions.add(new RecursiveAction() {
-            @Override
-            protected void compute() {
-                createDistributionUnitsNode(currentDepth, game, player, edges, distribution);
-            }
-        }));
-        RecursiveAction.invokeAll(recursiveActions);
+        invokeAll(currentDepth, edges, branchCreators);
     }
 
     /**
@@ -675,26 +1081,18 @@ public class SimulationTreeCreator {
      * @param player       - игрок
      * @param edges        - дуги от родителя
      * @param distribution - распределение
+     * @param hash         - хэш игры без текущего игрока
      */
     private void createDistributionUnitsNode(final int currentDepth,
                                              final @NotNull IGame game, final @NotNull Player player,
                                              final @NotNull List<Edge> edges,
-                                             final @NotNull Map<Cell, Integer> distribution) {
-        final Map<Position, List<Unit>> resolution = new HashMap<>(distribution.size());
-        distribution.forEach((cell, integer) -> {
-            final List<Unit> availableUnits = new LinkedList<>(player.getUnitsByState(AvailabilityType.AVAILABLE));
-            final List<Unit> units = new LinkedList<>(availableUnits.subList(
-                    0, integer)); // список юнитов, которое игрок хочет распределить в эту клетку
-            resolution.put(game.getBoard().getPositionByCell(cell), units);
-            availableUnits.removeAll(units);
-        });
-        final Action action = new DistributionUnitsAction(resolution);
-        final IGame gameCopy = game.getCopy();
-        final Player playerCopy = getPlayerCopy(gameCopy, player);
+                                             final @NotNull Map<Cell, Integer> distribution, final long hash) {
+        final Action action = createDistributionUnitsAction(game, player, distribution);
         try {
-            updateGame(gameCopy, playerCopy, action);
-            edges.add(new Edge(
-                    playerCopy, action, createSubtree(currentDepth, gameCopy, playerCopy, action)));
+            branch(currentDepth, game, player, action, Collections.emptyList(), hash,
+                    (gameCopy, playerCopy, copyHash) -> edges.add(new Edge(
+                            getPlayerIndex(gameCopy, playerCopy), action,
+                            createSubtree(currentDepth, gameCopy, playerCopy, action, copyHash))));
         } catch (final CoinsException exception) {
             exception.printStackTrace();
         }
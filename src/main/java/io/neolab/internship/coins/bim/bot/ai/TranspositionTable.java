@@ -0,0 +1,118 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.bim.bot.ai.model.NodeTree;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Таблица транспозиций: уже построенные поддеревья по хэшу состояния игры и глубине.
+ * Размер ограничен, таблица разбита на корзины по две записи. При вытеснении из полной корзины
+ * остаётся запись с меньшей глубиной, т. е. с большим поддеревом.
+ * Безопасна для одновременного использования из нескольких потоков
+ */
+public class TranspositionTable {
+    private static final int BUCKET_SIZE = 2;
+
+    private final @NotNull AtomicReferenceArray<Entry> entries;
+    private final int bucketMask;
+
+    /**
+     * Запись таблицы
+     */
+    private static class Entry {
+        private final long hash;
+        private final int depth;
+        private final @NotNull NodeTree nodeTree;
+
+        private Entry(final long hash, final int depth, final @NotNull NodeTree nodeTree) {
+            this.hash = hash;
+            this.depth = depth;
+            this.nodeTree = nodeTree;
+        }
+
+        private boolean isFor(final long hash, final int depth) {
+            return this.hash == hash && this.depth == depth;
+        }
+    }
+
+    /**
+     * @param capacity - наибольшее число записей (округляется вверх до степени двойки)
+     */
+    public TranspositionTable(final int capacity) {
+        final int minBucketsCount = (capacity + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        final int bucketsCount = minBucketsCount <= 1 ? 1 : Integer.highestOneBit(minBucketsCount - 1) << 1;
+        this.entries = new AtomicReferenceArray<>(bucketsCount * BUCKET_SIZE);
+        this.bucketMask = bucketsCount - 1;
+    }
+
+    /**
+     * @param hash  - хэш состояния игры
+     * @param depth - глубина узла
+     * @return сохранённое поддерево или null, если его нет
+     */
+    public @Nullable NodeTree get(final long hash, final int depth) {
+        final int bucket = getBucket(hash);
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            final Entry entry = entries.get(i);
+            if (entry != null && entry.isFor(hash, depth)) {
+                return entry.nodeTree;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Сохранить поддерево: на место записи с тем же ключом, иначе в свободную ячейку корзины,
+     * иначе вместо записи с наибольшей глубиной, если она не меньше глубины новой записи
+     *
+     * @param hash     - хэш состояния игры
+     * @param depth    - глубина узла
+     * @param nodeTree - поддерево
+     */
+    public void put(final long hash, final int depth, final @NotNull NodeTree nodeTree) {
+        final Entry newEntry = new Entry(hash, depth, nodeTree);
+        final int bucket = getBucket(hash);
+        int replaced = -1;
+        int replacedDepth = depth - 1;
+        for (int i = bucket; i < bucket + BUCKET_SIZE; i++) {
+            final Entry entry = entries.get(i);
+            if (entry == null || entry.isFor(hash, depth)) {
+                entries.set(i, newEntry);
+                return;
+            }
+            if (entry.depth > replacedDepth) {
+                replaced = i;
+                replacedDepth = entry.depth;
+            }
+        }
+        if (replaced != -1) {
+            entries.set(replaced, newEntry);
+        }
+    }
+
+    /**
+     * Очистить таблицу
+     */
+    public void clear() {
+        for (int i = 0; i < entries.length(); i++) {
+            entries.set(i, null);
+        }
+    }
+
+    /**
+     * @return наибольшее число записей
+     */
+    public int getCapacity() {
+        return entries.length();
+    }
+
+    /**
+     * @param hash - хэш
+     * @return индекс первой ячейки корзины
+     */
+    private int getBucket(final long hash) {
+        return (int) ((hash ^ (hash >>> 32)) & bucketMask) * BUCKET_SIZE;
+    }
+}
@@ -0,0 +1,87 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.bim.bot.ai.model.action.ActionType;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Состояние хода: какой игрок и какое решение сейчас принимает.
+ * Вместе с игрой однозначно задаёт, какие действия возможны
+ */
+class TurnState {
+    private final @Nullable Player player; // null - игра закончена
+    private final @Nullable ActionType actionType;
+    private final @NotNull Set<Cell> prevCatchCells; // клетки, захваченные игроком в этом ходу
+
+    @Contract(pure = true)
+    TurnState(final @NotNull Player player, final @NotNull ActionType actionType) {
+        this(player, actionType, Collections.emptySet());
+    }
+
+    @Contract(pure = true)
+    TurnState(final @Nullable Player player, final @Nullable ActionType actionType,
+              final @NotNull Set<Cell> prevCatchCells) {
+        this.player = player;
+        this.actionType = actionType;
+        this.prevCatchCells = prevCatchCells;
+    }
+
+    /**
+     * @return состояние законченной игры
+     */
+    @Contract(" -> new")
+    static @NotNull TurnState gameOver() {
+        return new TurnState(null, null, Collections.emptySet());
+    }
+
+    @Contract(pure = true)
+    boolean isGameOver() {
+        return player == null;
+    }
+
+    @Contract(pure = true)
+    @NotNull Player getPlayer() {
+        return Objects.requireNonNull(player);
+    }
+
+    @Contract(pure = true)
+    @NotNull ActionType getActionType() {
+        return Objects.requireNonNull(actionType);
+    }
+
+    @Contract(pure = true)
+    @NotNull Set<Cell> getPrevCatchCells() {
+        return prevCatchCells;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final TurnState turnState = (TurnState) o;
+        return Objects.equals(player, turnState.player)
+                && actionType == turnState.actionType
+                && prevCatchCells.equals(turnState.prevCatchCells);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(player, actionType, prevCatchCells);
+    }
+
+    @Override
+    public String toString() {
+        return "TurnState{" +
+                "player=" + player +
+                ", actionType=" + actionType +
+                ", prevCatchCells=" + prevCatchCells +
+                '}';
+    }
+}
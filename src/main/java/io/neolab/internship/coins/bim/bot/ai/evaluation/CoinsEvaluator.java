@@ -0,0 +1,37 @@
+package io.neolab.internship.coins.bim.bot.ai.evaluation;
+
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.CellType;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.utils.RandomGenerator;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Оценка по текущему числу монет: позиция оценивается так, как если бы игра на ней закончилась.
+ * Выгодность клеток задана предпочтениями рас, спорные клетки выбираются случайно
+ */
+public class CoinsEvaluator implements Evaluator {
+    @Override
+    public int evaluate(final @NotNull IGame game, final @NotNull Player player) {
+        return player.getCoins();
+    }
+
+    @Override
+    public boolean isCellBeneficial(final @NotNull IGame game, final @NotNull Player player,
+                                    final @NotNull Cell cell) {
+        return player.getRace() == Race.ELF && ((cell.getType() != CellType.WATER || RandomGenerator.isYes())
+                && game.getOwnToCells().get(player)
+                .stream()
+                .noneMatch(controlledCell ->
+                        controlledCell.getType() == cell.getType())
+                && (cell.getType() != CellType.MOUNTAIN || RandomGenerator.isYes()) || cell.getType() == CellType.LAND)
+                || player.getRace() == Race.AMPHIBIAN && (cell.getType() == CellType.WATER || RandomGenerator.isYes())
+                || player.getRace() == Race.MUSHROOM && (cell.getType() == CellType.MUSHROOM || RandomGenerator.isYes())
+                || player.getRace() == Race.GNOME && RandomGenerator.isYes()
+                || player.getRace() == Race.UNDEAD
+                && (cell.getType() == CellType.LAND || cell.getType() == CellType.MUSHROOM || RandomGenerator.isYes())
+                || player.getRace() == Race.ORC && RandomGenerator.isYes();
+    }
+}
@@ -0,0 +1,31 @@
+package io.neolab.internship.coins.bim.bot.ai.evaluation;
+
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Оценка позиции для поиска. Листья дерева (и поиска с альфа-бета отсечением) стоят на незаконченной игре,
+ * поэтому их значение - не число монет, а оценка того, сколько монет будет у игрока к концу игры
+ */
+public interface Evaluator {
+    /**
+     * Оценить позицию игрока
+     *
+     * @param game   - игра (не меняется)
+     * @param player - игрок
+     * @return оценка числа монет игрока к концу игры
+     */
+    int evaluate(final @NotNull IGame game, final @NotNull Player player);
+
+    /**
+     * Клетка выгодна игроку? Выгодные клетки перебираются первыми, а на большой глубине - только они
+     *
+     * @param game   - игра (не меняется)
+     * @param player - игрок
+     * @param cell   - клетка
+     * @return true, если выгодна, false - иначе
+     */
+    boolean isCellBeneficial(final @NotNull IGame game, final @NotNull Player player, final @NotNull Cell cell);
+}
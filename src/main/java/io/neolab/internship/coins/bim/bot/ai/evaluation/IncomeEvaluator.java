@@ -0,0 +1,114 @@
+package io.neolab.internship.coins.bim.bot.ai.evaluation;
+
+import io.neolab.internship.coins.server.game.Game;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.CellType;
+import io.neolab.internship.coins.server.game.feature.CoefficientlyFeature;
+import io.neolab.internship.coins.server.game.feature.Feature;
+import io.neolab.internship.coins.server.game.feature.FeatureType;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Эвристическая оценка: к монетам игрока добавляется доход, который принесут до конца игры
+ * его клетки (с особенностями расы, как в GameLoopProcessor.updateCoinsCount), и запас на будущие захваты -
+ * по числу юнитов и достижимых клеток. Выгодна клетка соперника (захват отнимает у него доход)
+ * и клетка, приносящая игроку больше обычного: по особенности расы или как первая клетка своего типа
+ */
+public class IncomeEvaluator implements Evaluator {
+    private static final int UNITS_PER_CELL = 2; // сколько юнитов примерно уходит на захват одной клетки
+    private static final int ACHIEVABLE_CELLS_PER_COIN = 2; // за сколько достижимых клеток добавляется монета
+
+    private final int roundsCount;
+
+    @Contract(pure = true)
+    public IncomeEvaluator() {
+        this(Game.ROUNDS_COUNT);
+    }
+
+    /**
+     * @param roundsCount - число раундов в игре
+     */
+    @Contract(pure = true)
+    public IncomeEvaluator(final int roundsCount) {
+        this.roundsCount = roundsCount;
+    }
+
+    @Override
+    public int evaluate(final @NotNull IGame game, final @NotNull Player player) {
+        final int remainingRoundsCount = roundsCount - game.getCurrentRound();
+        if (remainingRoundsCount <= 0) {
+            return player.getCoins();
+        }
+        return player.getCoins()
+                + remainingRoundsCount * getIncome(game, player)
+                + getUnitsCount(player) / UNITS_PER_CELL
+                + game.getPlayerToAchievableCells().get(player).size() / ACHIEVABLE_CELLS_PER_COIN;
+    }
+
+    @Override
+    public boolean isCellBeneficial(final @NotNull IGame game, final @NotNull Player player,
+                                    final @NotNull Cell cell) {
+        final Player feudal = cell.getFeudal();
+        if (feudal != null && !feudal.equals(player)) {
+            return true;
+        }
+        final boolean isNewCellType = game.getFeudalToCells().get(player).stream()
+                .noneMatch(feudalCell -> feudalCell.getType() == cell.getType());
+        return getCellIncome(game, player, cell, isNewCellType) > cell.getType().getCoinYield();
+    }
+
+    /**
+     * @param game   - игра
+     * @param player - игрок
+     * @return число монет, которое игрок получает за раунд: монеты приносят только клетки, где он феодал
+     *         (как в GameLoopProcessor.updateCoinsCount)
+     */
+    private static int getIncome(final @NotNull IGame game, final @NotNull Player player) {
+        final Set<CellType> metCellTypes = EnumSet.noneOf(CellType.class);
+        int income = 0;
+        for (final Cell cell : game.getFeudalToCells().get(player)) {
+            income += getCellIncome(game, player, cell, metCellTypes.add(cell.getType()));
+        }
+        return income;
+    }
+
+    /**
+     * @param game          - игра
+     * @param player        - игрок
+     * @param cell          - клетка
+     * @param isNewCellType - клетка первая своего типа у игрока (приносит бонус группы клеток)?
+     * @return число монет, которое клетка приносит игроку за раунд
+     */
+    private static int getCellIncome(final @NotNull IGame game, final @NotNull Player player,
+                                     final @NotNull Cell cell, final boolean isNewCellType) {
+        int income = cell.getType().getCoinYield();
+        for (final Feature feature : game.getGameFeatures().getFeaturesByRaceAndCellType(
+                player.getRace(), cell.getType())) {
+            if (feature.getType() == FeatureType.CHANGING_RECEIVED_COINS_NUMBER_FROM_CELL
+                    || feature.getType() == FeatureType.CHANGING_RECEIVED_COINS_NUMBER_FROM_CELL_GROUP
+                    && isNewCellType) {
+                income += ((CoefficientlyFeature) feature).getCoefficient();
+            }
+        }
+        return income;
+    }
+
+    /**
+     * @param player - игрок
+     * @return число всех юнитов игрока
+     */
+    private static int getUnitsCount(final @NotNull Player player) {
+        int unitsCount = 0;
+        for (final AvailabilityType availabilityType : AvailabilityType.values()) {
+            unitsCount += player.getUnitsByState(availabilityType).size();
+        }
+        return unitsCount;
+    }
+}
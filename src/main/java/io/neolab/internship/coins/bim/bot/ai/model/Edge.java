@@ -1,27 +1,31 @@
 package io.neolab.internship.coins.bim.bot.ai.model;
 
 import io.neolab.internship.coins.bim.bot.ai.model.action.Action;
-import io.neolab.internship.coins.server.game.player.Player;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.Objects;
 
+/**
+ * Дуга дерева. В узле не хранится: узел раскладывает дуги по массивам
+ */
 public class Edge {
-    private final @Nullable Player player;
+    public static final int NO_PLAYER = -1;
+
+    private final int playerIndex; // индекс игрока в списке игроков игры (NO_PLAYER - у дуги нет игрока)
     private final @Nullable Action action;
     private final @NotNull NodeTree to;
 
     @Contract(pure = true)
-    public Edge(final @Nullable Player player, @Nullable final Action action, @NotNull final NodeTree to) {
-        this.player = player;
+    public Edge(final int playerIndex, @Nullable final Action action, @NotNull final NodeTree to) {
+        this.playerIndex = playerIndex;
         this.action = action;
         this.to = to;
     }
 
-    public @Nullable Player getPlayer() {
-        return player;
+    public int getPlayerIndex() {
+        return playerIndex;
     }
 
     public @Nullable Action getAction() {
@@ -38,14 +42,14 @@ public class Edge {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final Edge edge = (Edge) o;
-        return Objects.equals(player, edge.player) &&
+        return playerIndex == edge.playerIndex &&
                 Objects.equals(action, edge.action) &&
                 to.equals(edge.to);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(player, action, to);
+        return Objects.hash(playerIndex, action, to);
     }
 
     @Override
@@ -1,44 +1,90 @@
 package io.neolab.internship.coins.bim.bot.ai.model;
 
-import io.neolab.internship.coins.server.game.player.Player;
-import io.neolab.internship.coins.utils.Pair;
+import io.neolab.internship.coins.bim.bot.ai.model.action.Action;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 
+/**
+ * Узел дерева. Дуги хранятся массивами (действие и потомок с одним индексом), статистика - массивами
+ * с индексом игрока в списке игроков игры. Все дуги узла - действия одного игрока
+ */
 public class NodeTree {
-    private final @NotNull List<Edge> edges;
+    private static final @NotNull Action[] NO_ACTIONS = new Action[0];
+    private static final @NotNull NodeTree[] NO_CHILDREN = new NodeTree[0];
 
-    private final @Nullable Map<Player, Integer> winsCount; // игрок -> число побед в потомках этого узла
+    private final int playerIndex; // индекс игрока, совершающего действия дуг (Edge.NO_PLAYER - у дуг нет игрока)
+    private final @NotNull Action[] actions; // действие дуги (null - у дуги нет действия)
+    private final @NotNull NodeTree[] children; // узел, в который ведёт дуга
+
+    private final @Nullable int[] winsCount; // индекс игрока -> число побед в потомках этого узла
     private final int casesCount;
 
-    private final @Nullable Map<Player, Pair<Integer, Integer>> playerToMaxAndMinCoinsCount; // игрок ->
-    // пара (максимально число монет, минимальное число монет)
+    private final @Nullable int[] maxCoinsCount; // индекс игрока -> максимальное число монет
+    private final @Nullable int[] minCoinsCount; // индекс игрока -> минимальное число монет
 
-    private final @Nullable Map<Player, Integer> playerToValueDifference; // для каждого игрока минимум по всем
+    private final @Nullable int[] valueDifferences; // для каждого игрока минимум по всем
     // разностям количеств монет между данным игроком и остальными
 
     @Contract(pure = true)
-    public NodeTree(final @NotNull List<Edge> edges, final @Nullable Map<Player, Integer> winsCount,
-                    final int casesCount,
-                    final @Nullable Map<Player, Pair<Integer, Integer>> playerToMaxAndMinCoinsCount,
-                    final @Nullable Map<Player, Integer> playerToValueDifference) {
-        this.edges = edges;
+    public NodeTree(final @NotNull List<Edge> edges, final @Nullable int[] winsCount, final int casesCount,
+                    final @Nullable int[] maxCoinsCount, final @Nullable int[] minCoinsCount,
+                    final @Nullable int[] valueDifferences) {
+        this.playerIndex = edges.isEmpty() ? Edge.NO_PLAYER : edges.get(0).getPlayerIndex();
+        if (edges.isEmpty()) {
+            this.actions = NO_ACTIONS;
+            this.children = NO_CHILDREN;
+        } else {
+            this.actions = new Action[edges.size()];
+            this.children = new NodeTree[edges.size()];
+            for (int i = 0; i < edges.size(); i++) {
+                actions[i] = edges.get(i).getAction();
+                children[i] = edges.get(i).getTo();
+            }
+        }
         this.winsCount = winsCount;
         this.casesCount = casesCount;
-        this.playerToMaxAndMinCoinsCount = playerToMaxAndMinCoinsCount;
-        this.playerToValueDifference = playerToValueDifference;
+        this.maxCoinsCount = maxCoinsCount;
+        this.minCoinsCount = minCoinsCount;
+        this.valueDifferences = valueDifferences;
+    }
+
+    /**
+     * @return индекс игрока, совершающего действия дуг (Edge.NO_PLAYER - у дуг нет игрока)
+     */
+    public int getPlayerIndex() {
+        return playerIndex;
     }
 
+    public int getEdgesCount() {
+        return children.length;
+    }
+
+    public @Nullable Action getAction(final int edgeIndex) {
+        return actions[edgeIndex];
+    }
+
+    public @NotNull NodeTree getChild(final int edgeIndex) {
+        return children[edgeIndex];
+    }
+
+    /**
+     * @return новый список дуг узла (для обхода там, где скорость не важна)
+     */
     public @NotNull List<Edge> getEdges() {
+        final List<Edge> edges = new ArrayList<>(children.length);
+        for (int i = 0; i < children.length; i++) {
+            edges.add(new Edge(playerIndex, actions[i], children[i]));
+        }
         return edges;
     }
 
-    public @Nullable Map<Player, Integer> getWinsCount() {
+    public @Nullable int[] getWinsCount() {
         return winsCount;
     }
 
@@ -46,12 +92,16 @@ public class NodeTree {
         return casesCount;
     }
 
-    public @Nullable Map<Player, Pair<Integer, Integer>> getPlayerToMaxAndMinCoinsCount() {
-        return playerToMaxAndMinCoinsCount;
+    public @Nullable int[] getMaxCoinsCount() {
+        return maxCoinsCount;
+    }
+
+    public @Nullable int[] getMinCoinsCount() {
+        return minCoinsCount;
     }
 
-    public @Nullable Map<Player, Integer> getPlayerToValueDifference() {
-        return playerToValueDifference;
+    public @Nullable int[] getValueDifferences() {
+        return valueDifferences;
     }
 
     @Override
@@ -59,15 +109,25 @@ public class NodeTree {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         final NodeTree nodeTree = (NodeTree) o;
-        return casesCount == nodeTree.casesCount &&
-                edges.equals(nodeTree.edges) &&
-                Objects.equals(winsCount, nodeTree.winsCount) &&
-                Objects.equals(playerToMaxAndMinCoinsCount, nodeTree.playerToMaxAndMinCoinsCount) &&
-                Objects.equals(playerToValueDifference, nodeTree.playerToValueDifference);
+        return playerIndex == nodeTree.playerIndex &&
+                casesCount == nodeTree.casesCount &&
+                Arrays.equals(actions, nodeTree.actions) &&
+                Arrays.equals(children, nodeTree.children) &&
+                Arrays.equals(winsCount, nodeTree.winsCount) &&
+                Arrays.equals(maxCoinsCount, nodeTree.maxCoinsCount) &&
+                Arrays.equals(minCoinsCount, nodeTree.minCoinsCount) &&
+                Arrays.equals(valueDifferences, nodeTree.valueDifferences);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(edges, winsCount, casesCount, playerToMaxAndMinCoinsCount, playerToValueDifference);
+        int result = Objects.hash(playerIndex, casesCount);
+        result = 31 * result + Arrays.hashCode(actions);
+        result = 31 * result + Arrays.hashCode(children);
+        result = 31 * result + Arrays.hashCode(winsCount);
+        result = 31 * result + Arrays.hashCode(maxCoinsCount);
+        result = 31 * result + Arrays.hashCode(minCoinsCount);
+        result = 31 * result + Arrays.hashCode(valueDifferences);
+        return result;
     }
 }
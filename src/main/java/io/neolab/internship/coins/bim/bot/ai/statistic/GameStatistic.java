@@ -3,6 +3,11 @@ package io.neolab.internship.coins.bim.bot.ai.statistic;
 import io.neolab.internship.coins.client.bot.IBot;
 import io.neolab.internship.coins.bim.bot.SmartBot;
 import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.SearchType;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.CoinsEvaluator;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.Evaluator;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.IncomeEvaluator;
+import io.neolab.internship.coins.client.bot.metrics.BotMetrics;
 import io.neolab.internship.coins.server.game.board.CellType;
 import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.server.game.player.Race;
@@ -25,8 +30,14 @@ public class GameStatistic {
     private static final int PLAYERS_AMOUNT = 2;
     private static final int BOT1_MAX_DEPTH = 2;
     private static final FunctionType BOT1_TYPE = FunctionType.MIN_MAX_VALUE_DIFFERENCE;
+    private static final SearchType BOT1_SEARCH_TYPE = SearchType.ITERATIVE_DEEPENING;
+    private static final long BOT1_TIME_BUDGET_MILLIS = 500;
+    private static final Evaluator BOT1_EVALUATOR = new IncomeEvaluator();
     private static final int BOT2_MAX_DEPTH = 2;
     private static final FunctionType BOT2_TYPE = FunctionType.MIN_MAX_VALUE_DIFFERENCE;
+    private static final SearchType BOT2_SEARCH_TYPE = SearchType.ITERATIVE_DEEPENING;
+    private static final long BOT2_TIME_BUDGET_MILLIS = 500;
+    private static final Evaluator BOT2_EVALUATOR = new CoinsEvaluator();
     private static int winCounter = 0;
     private static final boolean isParallel = false;
 
@@ -35,7 +46,8 @@ public class GameStatistic {
         private final @NotNull Map<Pair<Race, CellType>, Integer> capturesNumber = new HashMap<>();
         private final @NotNull List<Race> firstRaces = new ArrayList<>(GAME_AMOUNT);
         private final @NotNull List<Race> lastRaces = new ArrayList<>(GAME_AMOUNT);
-        private long maxTime = 0;
+        private final @NotNull BotMetrics botMetrics = new BotMetrics(); // время и работа поиска решений
+        private final @NotNull Map<Integer, Integer> depthToDecisionsNumber = new TreeMap<>();
 
         int getWinAmount() {
             return winAmount;
@@ -75,12 +87,16 @@ public class GameStatistic {
             lastRaces.add(lastRace);
         }
 
-        long getMaxTime() {
-            return maxTime;
+        @NotNull BotMetrics getBotMetrics() {
+            return botMetrics;
         }
 
-        synchronized void updateMaxTime(final long time) {
-            maxTime = Math.max(maxTime, time);
+        @NotNull Map<Integer, Integer> getDepthToDecisionsNumber() {
+            return depthToDecisionsNumber;
+        }
+
+        synchronized void incrementDecisionsNumber(final int depth) {
+            depthToDecisionsNumber.merge(depth, 1, Integer::sum);
         }
 
         @Contract(value = "null -> false", pure = true)
@@ -90,15 +106,15 @@ public class GameStatistic {
             if (o == null || getClass() != o.getClass()) return false;
             final Statistic statistic = (Statistic) o;
             return winAmount == statistic.winAmount &&
-                    maxTime == statistic.maxTime &&
                     capturesNumber.equals(statistic.capturesNumber) &&
                     firstRaces.equals(statistic.firstRaces) &&
-                    lastRaces.equals(statistic.lastRaces);
+                    lastRaces.equals(statistic.lastRaces) &&
+                    depthToDecisionsNumber.equals(statistic.depthToDecisionsNumber);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(winAmount, capturesNumber, firstRaces, lastRaces, maxTime);
+            return Objects.hash(winAmount, capturesNumber, firstRaces, lastRaces, depthToDecisionsNumber);
         }
 
         @Override
@@ -108,7 +124,7 @@ public class GameStatistic {
                     ", capturesNumber=" + capturesNumber +
                     ", firstRaces=" + firstRaces +
                     ", lastRaces=" + lastRaces +
-                    ", maxTime=" + maxTime +
+                    ", depthToDecisionsNumber=" + depthToDecisionsNumber +
                     '}';
         }
     }
@@ -166,8 +182,12 @@ public class GameStatistic {
 
     private static @NotNull List<Pair<IBot, Player>> initBotPlayerPair(final List<Player> players) {
         final List<Pair<IBot, Player>> botToPlayer = new ArrayList<>(PLAYERS_AMOUNT);
-        botToPlayer.add(new Pair<>(new SmartBot(BOT1_MAX_DEPTH, BOT1_TYPE), players.get(0)));
-        botToPlayer.add(new Pair<>(new SmartBot(BOT2_MAX_DEPTH, BOT2_TYPE), players.get(players.size() - 1)));
+        botToPlayer.add(new Pair<>(
+                new SmartBot(BOT1_MAX_DEPTH, BOT1_TYPE, BOT1_SEARCH_TYPE, BOT1_TIME_BUDGET_MILLIS, BOT1_EVALUATOR),
+                players.get(0)));
+        botToPlayer.add(new Pair<>(
+                new SmartBot(BOT2_MAX_DEPTH, BOT2_TYPE, BOT2_SEARCH_TYPE, BOT2_TIME_BUDGET_MILLIS, BOT2_EVALUATOR),
+                players.get(players.size() - 1)));
         return botToPlayer;
     }
 
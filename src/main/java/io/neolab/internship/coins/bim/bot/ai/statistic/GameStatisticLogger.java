@@ -1,5 +1,6 @@
 package io.neolab.internship.coins.bim.bot.ai.statistic;
 
+import io.neolab.internship.coins.client.bot.metrics.BotMetrics;
 import io.neolab.internship.coins.server.game.board.CellType;
 import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.server.game.player.Race;
@@ -62,8 +63,18 @@ public class GameStatisticLogger {
         LOGGER.info(stringBuilder.toString());
     }
 
-    private static void printMaxTime(final long maxTime) {
-        LOGGER.info("Max time: {}", maxTime);
+    /**
+     * Запись в лог перцентилей времени и работы поиска решений
+     */
+    private static void printBotMetrics(final @NotNull BotMetrics botMetrics) {
+        LOGGER.info(botMetrics.getReport());
+    }
+
+    /**
+     * Запись в лог числа решений, принятых на глубине поиска
+     */
+    private static void printDecisionsNumberLog(final int depth, final int decisionsNumber) {
+        LOGGER.info("depth {} : {}", depth, decisionsNumber);
     }
 
     /**
@@ -78,6 +89,7 @@ public class GameStatisticLogger {
         statistic.getCapturesNumber().forEach(GameStatisticLogger::printPlayerCapturesNumberLog);
         printPlayerRaceList("First races: ", statistic.getFirstRaces());
         printPlayerRaceList("Last races: ", statistic.getLastRaces());
-        printMaxTime(statistic.getMaxTime());
+        printBotMetrics(statistic.getBotMetrics());
+        statistic.getDepthToDecisionsNumber().forEach(GameStatisticLogger::printDecisionsNumberLog);
     }
 }
\ No newline at end of file
@@ -1,8 +1,11 @@
 package io.neolab.internship.coins.bim.bot.ai.statistic;
 
 import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.bim.bot.SmartBot;
+import io.neolab.internship.coins.bim.bot.ai.SelfPlayEngine;
 import io.neolab.internship.coins.client.bot.IBot;
 import io.neolab.internship.coins.client.bot.SimpleBot;
+import io.neolab.internship.coins.client.bot.metrics.MeasuredBot;
 import io.neolab.internship.coins.exceptions.CoinsException;
 import io.neolab.internship.coins.server.game.IGame;
 import io.neolab.internship.coins.server.game.board.Cell;
@@ -53,7 +56,7 @@ class SelfPlay {
                 botPlayerPairs.add(new Pair<>(new SimpleBot(), player));
                 SelfPlay.playerStatistic.put(player, new GameStatistic.Statistic());
             });
-            gameLoop(game, botPlayerPairs);
+            gameLoop(game, measureBots(botPlayerPairs));
             GameFinalizer.finalization(game.getPlayers());
         } catch (final CoinsException | IOException exception) {
             GameLogger.printErrorLog(exception);
@@ -73,6 +76,8 @@ class SelfPlay {
                                                                              botPlayerPairs,
                                                                      final @NotNull Map<Player, GameStatistic.Statistic>
                                                                              playerStatistic) {
+        final List<IBot> bots = new ArrayList<>(botPlayerPairs.size());
+        botPlayerPairs.forEach(pair -> bots.add(pair.getFirst()));
         try (final LoggerFile ignored = new LoggerFile("self-play-" + index)) {
             LogCleaner.clean();
             SelfPlay.playerStatistic = playerStatistic;
@@ -80,11 +85,13 @@ class SelfPlay {
             botPlayerPairs.forEach(pair -> players.add(pair.getSecond()));
             final IGame game = GameInitializer.gameInit(BOARD_SIZE_X, BOARD_SIZE_Y, players);
             GameLogger.printGameCreatedLog(game);
-            gameLoop(game, botPlayerPairs);
+            gameLoop(game, measureBots(botPlayerPairs));
             botPlayerPairs.clear();
             return GameFinalizer.finalization(game.getPlayers());
         } catch (final CoinsException | IOException exception) {
             GameLogger.printErrorLog(exception);
+        } finally {
+            SelfPlayEngine.closeBots(bots);
         }
         return Collections.emptyList();
     }
@@ -97,11 +104,10 @@ class SelfPlay {
     private static void gameLoop(final @NotNull IGame game, final @NotNull List<Pair<IBot, Player>> botPlayerPairs) {
         GameLogger.printStartGameChoiceLog();
         botPlayerPairs.forEach(pair -> {
-            final long firstTime = System.currentTimeMillis();
             final Race race;
             try {
                 race = pair.getFirst().chooseRace(pair.getSecond(), game);
-                playerStatistic.get(pair.getSecond()).updateMaxTime(System.currentTimeMillis() - firstTime);
+                updateDecisionStatistic(pair.getSecond(), pair.getFirst());
                 GameAnswerProcessor.changeRace(pair.getSecond(), race, game.getRacesPool(), true);
             } catch (final AIBotException e) {
                 e.printStackTrace();
@@ -132,6 +138,34 @@ class SelfPlay {
         }
     }
 
+    /**
+     * Обновить статистику решения бота: глубину поиска. Время решения и работу поиска записывает MeasuredBot
+     *
+     * @param player - игрок
+     * @param bot    - бот игрока
+     */
+    private static void updateDecisionStatistic(final @NotNull Player player, final @NotNull IBot bot) {
+        final IBot measuredBot = bot instanceof MeasuredBot ? ((MeasuredBot) bot).getBot() : bot;
+        if (measuredBot instanceof SmartBot) {
+            playerStatistic.get(player).incrementDecisionsNumber(((SmartBot) measuredBot).getLastSearchDepth());
+        }
+    }
+
+    /**
+     * Обернуть ботов, чтобы их решения записывались в метрики статистики игроков
+     *
+     * @param botPlayerPairs - пары (бот, игрок)
+     * @return пары (обёрнутый бот, игрок)
+     */
+    private static @NotNull List<Pair<IBot, Player>> measureBots(
+            final @NotNull List<Pair<IBot, Player>> botPlayerPairs) {
+        final List<Pair<IBot, Player>> measuredBotPlayerPairs = new LinkedList<>();
+        botPlayerPairs.forEach(pair -> measuredBotPlayerPairs.add(new Pair<>(
+                new MeasuredBot(pair.getFirst(), playerStatistic.get(pair.getSecond()).getBotMetrics()),
+                pair.getSecond())));
+        return measuredBotPlayerPairs;
+    }
+
     /**
      * Раунд в исполнении игрока
      *
@@ -143,9 +177,8 @@ class SelfPlay {
                                            final @NotNull IGame game) throws AIBotException {
         GameLoopProcessor.playerRoundBeginUpdate(player, true);  // активация данных игрока в начале раунда
         if (game.getRacesPool().size() > 0) {
-            final long firstTime = System.currentTimeMillis();
             final boolean isDeclineRace = bot.declineRaceChoose(player, game);
-            playerStatistic.get(player).updateMaxTime(System.currentTimeMillis() - firstTime);
+            updateDecisionStatistic(player, bot);
             if (isDeclineRace) {
                 // В случае ответа "ДА" от бота на вопрос: "Идти в упадок?"
                 declineRaceProcess(player, bot, game); // Уход в упадок
@@ -167,9 +200,8 @@ class SelfPlay {
                                            final @NotNull IGame game) throws AIBotException {
         GameLogger.printDeclineRaceLog(player);
         game.getOwnToCells().get(player).clear(); // Освобождаем все занятые игроком клетки (юниты остаются там же)
-        final long firstTime = System.currentTimeMillis();
         final Race newRace = bot.chooseRace(player, game);
-        playerStatistic.get(player).updateMaxTime(System.currentTimeMillis() - firstTime);
+        updateDecisionStatistic(player, bot);
         GameAnswerProcessor.changeRace(player, newRace, game.getRacesPool(), true);
     }
 
@@ -190,9 +222,8 @@ class SelfPlay {
         GameLoopProcessor.updateAchievableCells(player, board, achievableCells, controlledCells, true);
         while (true) {
             /* Пока есть что захватывать и какими войсками захватывать */
-            final long firstTime = System.currentTimeMillis();
             final Pair<Position, List<Unit>> catchingCellToUnitsList = bot.chooseCatchingCell(player, game);
-            playerStatistic.get(player).updateMaxTime(System.currentTimeMillis() - firstTime);
+            updateDecisionStatistic(player, bot);
             if (catchingCellToUnitsList == null) { // если игрок не захотел больше захватывать
                 break;
             }
@@ -322,9 +353,8 @@ class SelfPlay {
         controlledCells.forEach(controlledCell -> controlledCell.getUnits().clear());
         GameLoopProcessor.makeAllUnitsSomeState(player,
                 AvailabilityType.AVAILABLE); // доступными юнитами становятся все имеющиеся у игрока юниты
-        final long firstTime = System.currentTimeMillis();
         final Map<Position, List<Unit>> distributionUnits = bot.distributionUnits(player, game);
-        playerStatistic.get(player).updateMaxTime(System.currentTimeMillis() - firstTime);
+        updateDecisionStatistic(player, bot);
         distributionUnits.forEach((position, units) -> {
             GameLogger.printCellDefendingLog(player, units.size(), position);
             GameLoopProcessor.protectCell(player,
@@ -0,0 +1,10 @@
+package io.neolab.internship.coins.bim.bot.ai.tournament;
+
+public enum PairingType {
+    /* В каждом туре каждый бот играет с каждым */
+    ROUND_ROBIN,
+
+    /* В каждом туре боты, соседние по рейтингу, играют друг с другом (швейцарская система) */
+    SWISS,
+    ;
+}
@@ -0,0 +1,78 @@
+package io.neolab.internship.coins.bim.bot.ai.tournament;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Рейтинг Эло бота турнира с доверительным интервалом
+ */
+public class Rating {
+    private final @NotNull String name;
+    private final double value;
+    private final double margin; // половина ширины доверительного интервала
+    private final int gamesCount;
+    private final double score; // победа - 1, ничья - 0.5
+
+    @Contract(pure = true)
+    public Rating(final @NotNull String name, final double value, final double margin, final int gamesCount,
+                  final double score) {
+        this.name = name;
+        this.value = value;
+        this.margin = margin;
+        this.gamesCount = gamesCount;
+        this.score = score;
+    }
+
+    public @NotNull String getName() {
+        return name;
+    }
+
+    public double getValue() {
+        return value;
+    }
+
+    public double getMargin() {
+        return margin;
+    }
+
+    public double getLowerBound() {
+        return value - margin;
+    }
+
+    public double getUpperBound() {
+        return value + margin;
+    }
+
+    public int getGamesCount() {
+        return gamesCount;
+    }
+
+    public double getScore() {
+        return score;
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final Rating rating = (Rating) o;
+        return Double.compare(rating.value, value) == 0 &&
+                Double.compare(rating.margin, margin) == 0 &&
+                gamesCount == rating.gamesCount &&
+                Double.compare(rating.score, score) == 0 &&
+                name.equals(rating.name);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, value, margin, gamesCount, score);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.0f +- %.0f (score %.1f / %d)", name, value, margin, score, gamesCount);
+    }
+}
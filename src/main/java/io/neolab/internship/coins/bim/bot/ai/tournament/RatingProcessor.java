@@ -0,0 +1,108 @@
+package io.neolab.internship.coins.bim.bot.ai.tournament;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Рейтинги Эло по результатам всех партий турнира (модель Брэдли-Терри).
+ * Каждый бот дополнительно сыграл с опорным ботом рейтинга BASE_RATING одну победу и одно поражение:
+ * рейтинги конечны даже при разгромном счёте и определены, если боты играли не со всеми
+ */
+public class RatingProcessor {
+    public static final double BASE_RATING = 1500;
+    private static final double PRIOR_GAMES_COUNT = 2;
+    private static final double ELO_SCALE = 400 / Math.log(10); // перевод силы из натурального логарифма в Эло
+    private static final double CONFIDENCE_Z = 1.96; // 95%-й доверительный интервал
+    private static final int MAX_ITERATIONS_COUNT = 1000;
+    private static final double EPSILON = 1E-9;
+
+    /**
+     * Посчитать рейтинги
+     *
+     * @param names       - имена ботов
+     * @param scores      - scores[i][j] - очки бота i в партиях с ботом j
+     * @param gamesCounts - gamesCounts[i][j] - число партий ботов i и j
+     * @return рейтинги ботов по убыванию
+     */
+    public static @NotNull List<Rating> computeRatings(final @NotNull List<String> names,
+                                                       final @NotNull double[][] scores,
+                                                       final @NotNull int[][] gamesCounts) {
+        final int count = names.size();
+        final double[] strengths = new double[count]; // сила бота, у опорного бота - 1
+        final double[] totalScores = new double[count];
+        final int[] totalGamesCounts = new int[count];
+        for (int i = 0; i < count; i++) {
+            strengths[i] = 1;
+            for (int j = 0; j < count; j++) {
+                totalScores[i] += scores[i][j];
+                totalGamesCounts[i] += gamesCounts[i][j];
+            }
+        }
+        for (int iteration = 0; iteration < MAX_ITERATIONS_COUNT; iteration++) {
+            if (!updateStrengths(strengths, totalScores, gamesCounts)) {
+                break;
+            }
+        }
+        final List<Rating> ratings = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double information = getInformation(strengths[i], 1, PRIOR_GAMES_COUNT);
+            for (int j = 0; j < count; j++) {
+                information += getInformation(strengths[i], strengths[j], gamesCounts[i][j]);
+            }
+            ratings.add(new Rating(names.get(i), BASE_RATING + ELO_SCALE * Math.log(strengths[i]),
+                    CONFIDENCE_Z * ELO_SCALE / Math.sqrt(information), totalGamesCounts[i], totalScores[i]));
+        }
+        ratings.sort(Comparator.comparingDouble(Rating::getValue).reversed());
+        return ratings;
+    }
+
+    /**
+     * Один шаг итерации MM (minorization-maximization) для сил ботов
+     *
+     * @param strengths   - силы ботов, обновляются на месте
+     * @param totalScores - очки каждого бота во всех партиях
+     * @param gamesCounts - число партий каждой пары ботов
+     * @return true, если силы ещё заметно изменились
+     */
+    private static boolean updateStrengths(final @NotNull double[] strengths, final @NotNull double[] totalScores,
+                                           final @NotNull int[][] gamesCounts) {
+        boolean isChanged = false;
+        for (int i = 0; i < strengths.length; i++) {
+            double denominator = PRIOR_GAMES_COUNT / (strengths[i] + 1);
+            for (int j = 0; j < strengths.length; j++) {
+                if (gamesCounts[i][j] > 0) {
+                    denominator += gamesCounts[i][j] / (strengths[i] + strengths[j]);
+                }
+            }
+            final double strength = (totalScores[i] + PRIOR_GAMES_COUNT / 2) / denominator;
+            isChanged |= Math.abs(Math.log(strength / strengths[i])) > EPSILON;
+            strengths[i] = strength;
+        }
+        return isChanged;
+    }
+
+    /**
+     * @return информация Фишера о логарифме силы бота от партий с одним соперником
+     */
+    private static double getInformation(final double strength, final double opponentStrength,
+                                         final double gamesCount) {
+        final double winProbability = strength / (strength + opponentStrength);
+        return gamesCount * winProbability * (1 - winProbability);
+    }
+
+    /**
+     * @param ratings - рейтинги по убыванию
+     * @return true, если доверительные интервалы соседних по рейтингу ботов не пересекаются
+     */
+    public static boolean isSeparated(final @NotNull List<Rating> ratings) {
+        for (int i = 1; i < ratings.size(); i++) {
+            if (ratings.get(i - 1).getLowerBound() <= ratings.get(i).getUpperBound()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,283 @@
+package io.neolab.internship.coins.bim.bot.ai.tournament;
+
+import io.neolab.internship.coins.ai_vika.bot.AIBot;
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.MonteCarloBot;
+import io.neolab.internship.coins.bim.bot.SearchType;
+import io.neolab.internship.coins.bim.bot.SmartBot;
+import io.neolab.internship.coins.bim.bot.ai.SelfPlayEngine;
+import io.neolab.internship.coins.client.bot.IBot;
+import io.neolab.internship.coins.client.bot.SimpleBot;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.utils.LoggerFile;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Турнир ботов: туры пар ботов (все со всеми или по швейцарской системе) на пуле потоков,
+ * после каждого тура - рейтинги Эло по всем сыгранным партиям. Турнир заканчивается, когда доверительные
+ * интервалы соседних по рейтингу ботов перестают пересекаться, или после наибольшего числа туров.
+ * Партии играются SelfPlayEngine без логгирования, боты создаются фабриками один раз на поток
+ */
+public class Tournament {
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(Tournament.class);
+    private static final int DEFAULT_BOARD_SIZE_X = 3;
+    private static final int DEFAULT_BOARD_SIZE_Y = 4;
+    private static final int DEFAULT_MATCH_GAMES_COUNT = 2;
+    private static final int MIN_ROUNDS_COUNT = 2; // раньше рейтингам по первым партиям верить нельзя
+    private static final int MONTE_CARLO_ITERATIONS_COUNT = 200; // итераций на решение у MonteCarloBot среди участников по умолчанию
+
+    private final @NotNull List<String> names;
+    private final @NotNull List<Supplier<IBot>> botFactories;
+    private final @NotNull PairingType pairingType;
+    private final int matchGamesCount; // партий в паре за тур, боты ходят первыми по очереди
+    private final int maxRoundsCount;
+    private final int boardSizeX;
+    private final int boardSizeY;
+    private final int workersCount;
+
+    @Contract(pure = true)
+    public Tournament(final @NotNull Map<String, Supplier<IBot>> roster, final @NotNull PairingType pairingType,
+                      final int maxRoundsCount, final int workersCount) {
+        this(roster, pairingType, DEFAULT_MATCH_GAMES_COUNT, maxRoundsCount, DEFAULT_BOARD_SIZE_X,
+                DEFAULT_BOARD_SIZE_Y, workersCount);
+    }
+
+    /**
+     * @param roster          - имя бота -> фабрика бота (в порядке обхода)
+     * @param pairingType     - способ составления пар
+     * @param matchGamesCount - число партий в паре за тур
+     * @param maxRoundsCount  - наибольшее число туров
+     * @param boardSizeX      - ширина борды
+     * @param boardSizeY      - высота борды
+     * @param workersCount    - число потоков, в которых идут партии
+     */
+    @Contract(pure = true)
+    public Tournament(final @NotNull Map<String, Supplier<IBot>> roster, final @NotNull PairingType pairingType,
+                      final int matchGamesCount, final int maxRoundsCount, final int boardSizeX,
+                      final int boardSizeY, final int workersCount) {
+        this.names = new ArrayList<>(roster.keySet());
+        this.botFactories = new ArrayList<>(roster.values());
+        this.pairingType = pairingType;
+        this.matchGamesCount = Math.max(1, matchGamesCount);
+        this.maxRoundsCount = maxRoundsCount;
+        this.boardSizeX = boardSizeX;
+        this.boardSizeY = boardSizeY;
+        this.workersCount = Math.max(1, workersCount);
+    }
+
+    /**
+     * Провести турнир
+     *
+     * @return итог турнира
+     * @throws InterruptedException если поток прерван во время ожидания партий
+     */
+    public @NotNull TournamentResult play() throws InterruptedException {
+        final int count = names.size();
+        final double[][] scores = new double[count][count];
+        final int[][] gamesCounts = new int[count][count];
+        final Queue<IBot[]> createdBots = new ConcurrentLinkedQueue<>(); // боты всех потоков, чтобы закрыть их
+        final ThreadLocal<IBot[]> workerBots = ThreadLocal.withInitial(() -> {
+            final IBot[] bots = new IBot[count];
+            createdBots.add(bots);
+            return bots;
+        });
+        List<Rating> ratings = RatingProcessor.computeRatings(names, scores, gamesCounts);
+        int roundsCount = 0;
+        int gamesCount = 0;
+        int failedGamesCount = 0;
+        boolean isSeparated = false;
+        final ExecutorService executor = Executors.newFixedThreadPool(workersCount);
+        final long startNanos = System.nanoTime();
+        try {
+            while (roundsCount < maxRoundsCount && !isSeparated) {
+                final List<int[]> games = createRoundGames(getPairs(ratings, gamesCounts));
+                final double[] firstScores = playRound(executor, games, workerBots);
+                for (int i = 0; i < games.size(); i++) {
+                    if (Double.isNaN(firstScores[i])) {
+                        failedGamesCount++;
+                        continue;
+                    }
+                    final int first = games.get(i)[0];
+                    final int second = games.get(i)[1];
+                    scores[first][second] += firstScores[i];
+                    scores[second][first] += 1 - firstScores[i];
+                    gamesCounts[first][second]++;
+                    gamesCounts[second][first]++;
+                    gamesCount++;
+                }
+                roundsCount++;
+                ratings = RatingProcessor.computeRatings(names, scores, gamesCounts);
+                isSeparated = roundsCount >= MIN_ROUNDS_COUNT && RatingProcessor.isSeparated(ratings);
+                LOGGER.debug("Tournament round {} is over: {}", roundsCount, ratings);
+            }
+        } finally {
+            executor.shutdownNow();
+            createdBots.forEach(bots -> SelfPlayEngine.closeBots(
+                    Arrays.stream(bots).filter(Objects::nonNull).collect(Collectors.toList())));
+        }
+        return new TournamentResult(ratings, roundsCount, gamesCount, failedGamesCount, isSeparated,
+                System.nanoTime() - startNanos);
+    }
+
+    /**
+     * @param ratings     - текущие рейтинги по убыванию
+     * @param gamesCounts - число сыгранных партий каждой пары ботов
+     * @return пары индексов ботов тура
+     */
+    private @NotNull List<int[]> getPairs(final @NotNull List<Rating> ratings, final @NotNull int[][] gamesCounts) {
+        if (pairingType == PairingType.ROUND_ROBIN) {
+            final List<int[]> pairs = new ArrayList<>(names.size() * (names.size() - 1) / 2);
+            for (int i = 0; i < names.size(); i++) {
+                for (int j = i + 1; j < names.size(); j++) {
+                    pairs.add(new int[]{i, j});
+                }
+            }
+            return pairs;
+        }
+        return getSwissPairs(ratings, gamesCounts);
+    }
+
+    /**
+     * Швейцарские пары: лучший бот без пары играет с тем из оставшихся, с кем играл меньше всего,
+     * а среди таких - с ближайшим по рейтингу. При нечётном числе ботов тур пропускает бот,
+     * сыгравший больше всех партий (среди таких - худший по рейтингу)
+     *
+     * @param ratings     - текущие рейтинги по убыванию
+     * @param gamesCounts - число сыгранных партий каждой пары ботов
+     * @return пары индексов ботов тура
+     */
+    private @NotNull List<int[]> getSwissPairs(final @NotNull List<Rating> ratings,
+                                              final @NotNull int[][] gamesCounts) {
+        final List<Integer> unpaired = new LinkedList<>();
+        ratings.forEach(rating -> unpaired.add(names.indexOf(rating.getName())));
+        if (unpaired.size() % 2 != 0) {
+            Integer skipping = null;
+            for (final int candidate : unpaired) {
+                if (skipping == null || getGamesCount(gamesCounts, candidate) >= getGamesCount(gamesCounts, skipping)) {
+                    skipping = candidate;
+                }
+            }
+            unpaired.remove(skipping);
+        }
+        final List<int[]> pairs = new ArrayList<>(names.size() / 2);
+        while (unpaired.size() > 1) {
+            final int first = unpaired.remove(0);
+            Integer second = null;
+            for (final int candidate : unpaired) {
+                if (second == null || gamesCounts[first][candidate] < gamesCounts[first][second]) {
+                    second = candidate;
+                }
+            }
+            unpaired.remove(second);
+            pairs.add(new int[]{first, second});
+        }
+        return pairs;
+    }
+
+    private static int getGamesCount(final @NotNull int[][] gamesCounts, final int index) {
+        return Arrays.stream(gamesCounts[index]).sum();
+    }
+
+    /**
+     * @param pairs - пары индексов ботов
+     * @return партии тура: индекс бота, ходящего первым, и индекс его соперника
+     */
+    private @NotNull List<int[]> createRoundGames(final @NotNull List<int[]> pairs) {
+        final List<int[]> games = new ArrayList<>(pairs.size() * matchGamesCount);
+        for (final int[] pair : pairs) {
+            for (int i = 0; i < matchGamesCount; i++) {
+                games.add(i % 2 == 0 ? new int[]{pair[0], pair[1]} : new int[]{pair[1], pair[0]});
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Сыграть партии тура на пуле потоков
+     *
+     * @param executor   - пул
+     * @param games      - партии тура
+     * @param workerBots - боты потока пула (по индексу бота)
+     * @return очки бота, ходившего первым, в каждой партии (NaN - партия прервана ошибкой)
+     * @throws InterruptedException если поток прерван во время ожидания партий
+     */
+    private @NotNull double[] playRound(final @NotNull ExecutorService executor, final @NotNull List<int[]> games,
+                                        final @NotNull ThreadLocal<IBot[]> workerBots)
+            throws InterruptedException {
+        final double[] firstScores = new double[games.size()];
+        final AtomicInteger nextGameIndex = new AtomicInteger();
+        final List<Callable<Void>> workers = new ArrayList<>(workersCount);
+        for (int i = 0; i < workersCount; i++) {
+            workers.add(() -> {
+                final IBot[] bots = workerBots.get();
+                int gameIndex;
+                while ((gameIndex = nextGameIndex.getAndIncrement()) < games.size()) {
+                    final int[] game = games.get(gameIndex);
+                    firstScores[gameIndex] = playGame(getBot(bots, game[0]), getBot(bots, game[1]));
+                }
+                return null;
+            });
+        }
+        executor.invokeAll(workers);
+        return firstScores;
+    }
+
+    private @NotNull IBot getBot(final @NotNull IBot[] bots, final int index) {
+        if (bots[index] == null) {
+            bots[index] = botFactories.get(index).get();
+        }
+        return bots[index];
+    }
+
+    /**
+     * @return очки первого бота: победа - 1, ничья - 0.5, поражение - 0, NaN - партия прервана ошибкой
+     */
+    private double playGame(final @NotNull IBot first, final @NotNull IBot second) {
+        try {
+            final int[] coins = SelfPlayEngine.playGame(boardSizeX, boardSizeY, Arrays.asList(first, second));
+            return coins[0] > coins[1] ? 1 : coins[0] == coins[1] ? 0.5 : 0;
+        } catch (final AIBotException | CoinsException | RuntimeException exception) {
+            LOGGER.warn("Tournament game failed", exception);
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * @return участники по умолчанию: SmartBot с каждой функцией, MonteCarloBot, AIBot и SimpleBot
+     */
+    private static @NotNull Map<String, Supplier<IBot>> createDefaultRoster() {
+        final Map<String, Supplier<IBot>> roster = new LinkedHashMap<>();
+        for (final FunctionType functionType : FunctionType.values()) {
+            roster.put("SmartBot-" + functionType,
+                    () -> new SmartBot(1, functionType, SearchType.ALPHA_BETA, 0, 1));
+        }
+        roster.put("MonteCarloBot", () -> new MonteCarloBot(MONTE_CARLO_ITERATIONS_COUNT, 0, 1));
+        roster.put("AIBot", AIBot::new);
+        roster.put("SimpleBot", SimpleBot::new);
+        return roster;
+    }
+
+    @SuppressWarnings("try") // LoggerFile нужен только на время вывода в свой файл
+    public static void main(final String[] args) throws InterruptedException {
+        final PairingType pairingType = args.length > 0 ? PairingType.valueOf(args[0]) : PairingType.SWISS;
+        final int maxRoundsCount = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+        final int workersCount = args.length > 2
+                ? Integer.parseInt(args[2])
+                : Runtime.getRuntime().availableProcessors();
+        final TournamentResult result = new Tournament(createDefaultRoster(), pairingType,
+                maxRoundsCount, workersCount).play();
+        try (final LoggerFile ignored = new LoggerFile("tournament")) {
+            LOGGER.info("{}", result);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package io.neolab.internship.coins.bim.bot.ai.tournament;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Итог турнира
+ */
+public class TournamentResult {
+    private final @NotNull List<Rating> ratings; // по убыванию
+    private final int roundsCount;
+    private final int gamesCount;
+    private final int failedGamesCount;
+    private final boolean isSeparated; // турнир остановлен, потому что места ботов различимы
+    private final long elapsedNanos;
+
+    @Contract(pure = true)
+    public TournamentResult(final @NotNull List<Rating> ratings, final int roundsCount, final int gamesCount,
+                            final int failedGamesCount, final boolean isSeparated, final long elapsedNanos) {
+        this.ratings = Collections.unmodifiableList(ratings);
+        this.roundsCount = roundsCount;
+        this.gamesCount = gamesCount;
+        this.failedGamesCount = failedGamesCount;
+        this.isSeparated = isSeparated;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public @NotNull List<Rating> getRatings() {
+        return ratings;
+    }
+
+    public int getRoundsCount() {
+        return roundsCount;
+    }
+
+    public int getGamesCount() {
+        return gamesCount;
+    }
+
+    public int getFailedGamesCount() {
+        return failedGamesCount;
+    }
+
+    public boolean isSeparated() {
+        return isSeparated;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder builder = new StringBuilder("TournamentResult{rounds=").append(roundsCount)
+                .append(", games=").append(gamesCount)
+                .append(", failed=").append(failedGamesCount)
+                .append(", separated=").append(isSeparated)
+                .append(", seconds=").append(String.format("%.1f", elapsedNanos / 1E9))
+                .append('}');
+        for (int i = 0; i < ratings.size(); i++) {
+            builder.append('\n').append(i + 1).append(". ").append(ratings.get(i));
+        }
+        return builder.toString();
+    }
+}
@@ -1,5 +1,6 @@
 package io.neolab.internship.coins.client;
 
+import io.neolab.internship.coins.common.serialization.codec.MessageCodecType;
 import io.neolab.internship.coins.exceptions.CoinsErrorCode;
 import io.neolab.internship.coins.exceptions.CoinsException;
 import io.neolab.internship.coins.server.ServerConfigResource;
@@ -15,6 +16,7 @@ public class ClientConfigResource {
     private static final String CONFIG_PATH = "src/main/resources/client.properties";
     private final String host;
     private final int port;
+    private final MessageCodecType codecType;
 
     public ClientConfigResource() throws CoinsException {
         try (final FileInputStream clientConfigFis = new FileInputStream(CONFIG_PATH);
@@ -24,7 +26,9 @@ public class ClientConfigResource {
             property.load(serverConfigFis);
             host = property.getProperty("ip");
             port = Integer.parseInt(property.getProperty("port"));
-        } catch (final IOException e) {
+            codecType = MessageCodecType.valueOf(
+                    property.getProperty("codec", MessageCodecType.JSON.name()).toUpperCase());
+        } catch (final IOException | IllegalArgumentException e) {
             throw new CoinsException(CoinsErrorCode.CLIENT_CONFIG_LOADING_FAILED);
         }
     }
@@ -36,4 +40,8 @@ public class ClientConfigResource {
     public int getPort() {
         return port;
     }
+
+    public MessageCodecType getCodecType() {
+        return codecType;
+    }
 }
@@ -0,0 +1,93 @@
+package io.neolab.internship.coins.client.bot.metrics;
+
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionType;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Метрики решений ботов по типам вопросов: время решения в наносекундах, раскрытые узлы,
+ * копии игры и размер дерева. Запись без блокировок, поэтому одни метрики можно отдать ботам
+ * из разных потоков. В конце партий выводятся перцентили
+ */
+public class BotMetrics {
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private final @NotNull Map<PlayerQuestionType, Histogram> latencies = createHistograms();
+    private final @NotNull Map<PlayerQuestionType, Histogram> expandedNodes = createHistograms();
+    private final @NotNull Map<PlayerQuestionType, Histogram> gameCopies = createHistograms();
+    private final @NotNull Map<PlayerQuestionType, Histogram> treeNodes = createHistograms();
+
+    private static @NotNull Map<PlayerQuestionType, Histogram> createHistograms() {
+        final Map<PlayerQuestionType, Histogram> histograms = new EnumMap<>(PlayerQuestionType.class);
+        for (final PlayerQuestionType questionType : PlayerQuestionType.values()) {
+            histograms.put(questionType, new Histogram());
+        }
+        return histograms;
+    }
+
+    /**
+     * Записать одно решение
+     *
+     * @param questionType       - тип вопроса
+     * @param latencyNanos       - время решения в наносекундах
+     * @param expandedNodesCount - число раскрытых узлов
+     * @param gameCopiesCount    - число копий игры
+     * @param treeNodesCount     - число узлов, сохранённых в деревьях
+     */
+    public void record(final @NotNull PlayerQuestionType questionType, final long latencyNanos,
+                       final long expandedNodesCount, final long gameCopiesCount, final long treeNodesCount) {
+        latencies.get(questionType).record(latencyNanos);
+        expandedNodes.get(questionType).record(expandedNodesCount);
+        gameCopies.get(questionType).record(gameCopiesCount);
+        treeNodes.get(questionType).record(treeNodesCount);
+    }
+
+    public @NotNull Histogram getLatencies(final @NotNull PlayerQuestionType questionType) {
+        return latencies.get(questionType);
+    }
+
+    public @NotNull Histogram getExpandedNodes(final @NotNull PlayerQuestionType questionType) {
+        return expandedNodes.get(questionType);
+    }
+
+    public @NotNull Histogram getGameCopies(final @NotNull PlayerQuestionType questionType) {
+        return gameCopies.get(questionType);
+    }
+
+    public @NotNull Histogram getTreeNodes(final @NotNull PlayerQuestionType questionType) {
+        return treeNodes.get(questionType);
+    }
+
+    /**
+     * @return перцентили по всем типам вопросов, на которые были ответы (время - в микросекундах)
+     */
+    public @NotNull String getReport() {
+        final StringBuilder builder = new StringBuilder("BotMetrics");
+        for (final PlayerQuestionType questionType : PlayerQuestionType.values()) {
+            final Histogram latency = latencies.get(questionType);
+            if (latency.getCount() == 0) {
+                continue;
+            }
+            builder.append('\n').append(questionType).append(": count=").append(latency.getCount());
+            appendPercentiles(builder, "latencyMicros", latency, 1000);
+            appendPercentiles(builder, "expandedNodes", expandedNodes.get(questionType), 1);
+            appendPercentiles(builder, "gameCopies", gameCopies.get(questionType), 1);
+            appendPercentiles(builder, "treeNodes", treeNodes.get(questionType), 1);
+        }
+        return builder.toString();
+    }
+
+    private static void appendPercentiles(final @NotNull StringBuilder builder, final @NotNull String name,
+                                          final @NotNull Histogram histogram, final long unit) {
+        builder.append("\n    ").append(name).append(": mean=")
+                .append(String.format("%.1f", histogram.getMean() / unit));
+        for (final double percentile : PERCENTILES) {
+            builder.append(", p").append(percentile == (long) percentile
+                    ? String.valueOf((long) percentile) : String.valueOf(percentile))
+                    .append('=').append(histogram.getValueAtPercentile(percentile) / unit);
+        }
+        builder.append(", max=").append(histogram.getMax() / unit);
+    }
+}
@@ -0,0 +1,99 @@
+package io.neolab.internship.coins.client.bot.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Гистограмма неотрицательных значений без блокировок (как HdrHistogram): значения меньше SUB_BUCKETS_COUNT
+ * хранятся точно, остальные - в корзинах, по SUB_BUCKETS_COUNT на каждую степень двойки,
+ * поэтому перцентиль отличается от точного не больше чем на 1 / SUB_BUCKETS_COUNT.
+ * Запись - одно атомарное увеличение счётчика корзины, память постоянна
+ */
+public class Histogram {
+    private static final int SUB_BUCKETS_BITS = 5;
+    private static final int SUB_BUCKETS_COUNT = 1 << SUB_BUCKETS_BITS;
+    private static final int BUCKETS_COUNT = (Long.SIZE - SUB_BUCKETS_BITS) * SUB_BUCKETS_COUNT;
+
+    private final @NotNull AtomicLongArray counts = new AtomicLongArray(BUCKETS_COUNT);
+    private final @NotNull LongAdder totalCount = new LongAdder();
+    private final @NotNull LongAdder totalSum = new LongAdder();
+    private final @NotNull AtomicLong max = new AtomicLong();
+
+    /**
+     * Записать значение
+     *
+     * @param value - значение (отрицательное записывается как 0)
+     */
+    public void record(final long value) {
+        final long recordedValue = Math.max(0, value);
+        counts.incrementAndGet(getIndex(recordedValue));
+        totalCount.increment();
+        totalSum.add(recordedValue);
+        if (recordedValue > max.get()) {
+            max.accumulateAndGet(recordedValue, Math::max);
+        }
+    }
+
+    /**
+     * @param value - неотрицательное значение
+     * @return индекс корзины значения
+     */
+    private static int getIndex(final long value) {
+        if (value < SUB_BUCKETS_COUNT) {
+            return (int) value;
+        }
+        final int highestBit = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int shift = highestBit - SUB_BUCKETS_BITS;
+        return (shift + 1) * SUB_BUCKETS_COUNT + (int) ((value >>> shift) & (SUB_BUCKETS_COUNT - 1));
+    }
+
+    /**
+     * @param index - индекс корзины
+     * @return наибольшее значение, попадающее в корзину
+     */
+    private static long getHighestValue(final int index) {
+        if (index < SUB_BUCKETS_COUNT) {
+            return index;
+        }
+        final int shift = index / SUB_BUCKETS_COUNT - 1;
+        final long lowestValue = (long) (SUB_BUCKETS_COUNT + index % SUB_BUCKETS_COUNT) << shift;
+        return lowestValue + (1L << shift) - 1;
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        final long count = getCount();
+        return count == 0 ? 0 : (double) totalSum.sum() / count;
+    }
+
+    /**
+     * @param percentile - перцентиль от 0 до 100
+     * @return наименьшее значение, не меньше которого percentile процентов записанных значений
+     * (0 - значений нет)
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long count = getCount();
+        if (count == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(Math.min(100, percentile) / 100 * count));
+        long seenCount = 0;
+        for (int i = 0; i < BUCKETS_COUNT; i++) {
+            seenCount += counts.get(i);
+            if (seenCount >= rank) {
+                return Math.min(getHighestValue(i), getMax());
+            }
+        }
+        return getMax();
+    }
+}
@@ -0,0 +1,11 @@
+package io.neolab.internship.coins.client.bot.metrics;
+
+import io.neolab.internship.coins.client.bot.IBot;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Бот, поиск которого считает свою работу
+ */
+public interface IMeasurableBot extends IBot {
+    @NotNull SearchCounters getSearchCounters();
+}
@@ -0,0 +1,117 @@
+package io.neolab.internship.coins.client.bot.metrics;
+
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.client.bot.IBot;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionType;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.utils.Pair;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Обёртка бота, записывающая каждое его решение в метрики. Работа поиска берётся из счётчиков бота,
+ * если бот их ведёт (IMeasurableBot), иначе записывается как 0.
+ * Как и сам бот, обёртка рассчитана на одно решение в каждый момент
+ */
+public class MeasuredBot implements IBot, AutoCloseable {
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(MeasuredBot.class);
+    private final @NotNull IBot bot;
+    private final @NotNull BotMetrics metrics;
+    private final @Nullable SearchCounters searchCounters;
+
+    @Contract(pure = true)
+    public MeasuredBot(final @NotNull IBot bot, final @NotNull BotMetrics metrics) {
+        this.bot = bot;
+        this.metrics = metrics;
+        this.searchCounters = bot instanceof IMeasurableBot ? ((IMeasurableBot) bot).getSearchCounters() : null;
+    }
+
+    public @NotNull IBot getBot() {
+        return bot;
+    }
+
+    /**
+     * Закрыть обёрнутого бота, если он держит ресурсы (например, свой пул потоков).
+     * Ошибка закрытия только логгируется
+     */
+    @Override
+    public void close() {
+        if (bot instanceof AutoCloseable) {
+            try {
+                ((AutoCloseable) bot).close();
+            } catch (final Exception exception) {
+                LOGGER.warn("Bot closing failed", exception);
+            }
+        }
+    }
+
+    /**
+     * Решение бота
+     */
+    @FunctionalInterface
+    private interface BotDecision<T> {
+        T make() throws AIBotException;
+    }
+
+    /**
+     * Принять решение и записать его в метрики
+     *
+     * @param questionType - тип вопроса
+     * @param decision     - решение бота
+     * @return ответ бота
+     * @throws AIBotException при ошибке бота
+     */
+    private <T> T measure(final @NotNull PlayerQuestionType questionType, final @NotNull BotDecision<T> decision)
+            throws AIBotException {
+        final long expandedNodesCount = searchCounters != null ? searchCounters.getExpandedNodesCount() : 0;
+        final long gameCopiesCount = searchCounters != null ? searchCounters.getGameCopiesCount() : 0;
+        final long treeNodesCount = searchCounters != null ? searchCounters.getTreeNodesCount() : 0;
+        final long startNanos = System.nanoTime();
+        final T answer = decision.make();
+        final long latencyNanos = System.nanoTime() - startNanos;
+        if (searchCounters == null) {
+            metrics.record(questionType, latencyNanos, 0, 0, 0);
+        } else {
+            metrics.record(questionType, latencyNanos,
+                    searchCounters.getExpandedNodesCount() - expandedNodesCount,
+                    searchCounters.getGameCopiesCount() - gameCopiesCount,
+                    searchCounters.getTreeNodesCount() - treeNodesCount);
+        }
+        return answer;
+    }
+
+    @Override
+    public boolean declineRaceChoose(final @NotNull Player player, final @NotNull IGame game)
+            throws AIBotException {
+        return measure(PlayerQuestionType.DECLINE_RACE, () -> bot.declineRaceChoose(player, game));
+    }
+
+    @Override
+    public @NotNull Race chooseRace(final @NotNull Player player, final @NotNull IGame game) throws AIBotException {
+        return measure(PlayerQuestionType.CHANGE_RACE, () -> bot.chooseRace(player, game));
+    }
+
+    @Override
+    public @Nullable Pair<Position, List<Unit>> chooseCatchingCell(final @NotNull Player player,
+                                                                   final @NotNull IGame game)
+            throws AIBotException {
+        return measure(PlayerQuestionType.CATCH_CELL, () -> bot.chooseCatchingCell(player, game));
+    }
+
+    @Override
+    public @NotNull Map<Position, List<Unit>> distributionUnits(final @NotNull Player player,
+                                                                final @NotNull IGame game)
+            throws AIBotException {
+        return measure(PlayerQuestionType.DISTRIBUTION_UNITS, () -> bot.distributionUnits(player, game));
+    }
+}
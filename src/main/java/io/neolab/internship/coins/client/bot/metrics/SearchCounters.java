@@ -0,0 +1,39 @@
+package io.neolab.internship.coins.client.bot.metrics;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Счётчики работы поиска бота за всё время его жизни. Поиск пополняет их из всех своих потоков,
+ * а MeasuredBot записывает разность до и после каждого решения
+ */
+public class SearchCounters {
+    private final @NotNull LongAdder expandedNodesCount = new LongAdder(); // раскрытые узлы
+    private final @NotNull LongAdder gameCopiesCount = new LongAdder(); // копии игры
+    private final @NotNull LongAdder treeNodesCount = new LongAdder(); // узлы, сохранённые в деревьях
+
+    public void incrementExpandedNodes() {
+        expandedNodesCount.increment();
+    }
+
+    public void incrementGameCopies() {
+        gameCopiesCount.increment();
+    }
+
+    public void incrementTreeNodes() {
+        treeNodesCount.increment();
+    }
+
+    public long getExpandedNodesCount() {
+        return expandedNodesCount.sum();
+    }
+
+    public long getGameCopiesCount() {
+        return gameCopiesCount.sum();
+    }
+
+    public long getTreeNodesCount() {
+        return treeNodesCount.sum();
+    }
+}
@@ -11,6 +11,7 @@ import java.util.Objects;
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
 @JsonSubTypes({
         @JsonSubTypes.Type(value = Answer.class, name = "Answer"),
+        @JsonSubTypes.Type(value = GameReadyMessage.class, name = "GameReadyMessage"),
 })
 public class ClientMessage {
     @JsonProperty
@@ -0,0 +1,50 @@
+package io.neolab.internship.coins.common.message.client;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.neolab.internship.coins.common.serialization.codec.MessageCodecType;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Ответ клиента о готовности к игре с выбранным кодеком сообщений.
+ * Сразу после этого сообщения обе стороны переходят на выбранный кодек
+ */
+public class GameReadyMessage extends ClientMessage {
+    @JsonProperty
+    private final @NotNull MessageCodecType codecType;
+
+    @JsonCreator
+    public GameReadyMessage(@NotNull @JsonProperty("codecType") final MessageCodecType codecType) {
+        super(ClientMessageType.GAME_READY);
+        this.codecType = codecType;
+    }
+
+    public @NotNull MessageCodecType getCodecType() {
+        return codecType;
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        final GameReadyMessage that = (GameReadyMessage) o;
+        return codecType == that.codecType;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), codecType);
+    }
+
+    @Override
+    public String toString() {
+        return "GameReadyMessage{" +
+                "codecType=" + codecType +
+                '}';
+    }
+}
@@ -2,6 +2,7 @@ package io.neolab.internship.coins.common.message.server;
 
 import com.fasterxml.jackson.annotation.*;
 import io.neolab.internship.coins.common.message.server.question.PlayerQuestion;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionDelta;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
@@ -11,6 +12,7 @@ import java.util.Objects;
 @JsonTypeInfo(use = JsonTypeInfo.Id.NAME)
 @JsonSubTypes({
         @JsonSubTypes.Type(value = PlayerQuestion.class, name = "PlayerQuestion"),
+        @JsonSubTypes.Type(value = PlayerQuestionDelta.class, name = "PlayerQuestionDelta"),
         @JsonSubTypes.Type(value = GameOverMessage.class, name = "GameOverMessage"),
 })
 public class ServerMessage {
@@ -5,6 +5,7 @@ public enum ServerMessageType {
     NICKNAME_DUPLICATE,
     CONFIRMATION_OF_READINESS,
     GAME_QUESTION,
+    GAME_QUESTION_DELTA,
     GAME_OVER,
     DISCONNECTED,
     ;
@@ -21,15 +21,27 @@ public class PlayerQuestion extends ServerMessage {
     @JsonProperty
     private final @NotNull Player player;
 
+    @JsonProperty
+    private final int stateVersion; // версия состояния игры, от которой считаются последующие PlayerQuestionDelta
+
+    public PlayerQuestion(final @NotNull ServerMessageType serverMessageType,
+                          final @NotNull PlayerQuestionType playerQuestionType,
+                          final @NotNull IGame game,
+                          final @NotNull Player player) {
+        this(serverMessageType, playerQuestionType, game, player, 0);
+    }
+
     @JsonCreator
     public PlayerQuestion(@NotNull @JsonProperty("serverMessageType") final ServerMessageType serverMessageType,
                           @NotNull @JsonProperty("playerQuestionType") final PlayerQuestionType playerQuestionType,
                           @NotNull @JsonProperty("game") final IGame game,
-                          @NotNull @JsonProperty("player") final Player player) {
+                          @NotNull @JsonProperty("player") final Player player,
+                          @JsonProperty("stateVersion") final int stateVersion) {
         super(serverMessageType);
         this.playerQuestionType = playerQuestionType;
         this.game = game;
         this.player = player;
+        this.stateVersion = stateVersion;
     }
 
     public @NotNull IGame getGame() {
@@ -44,6 +56,10 @@ public class PlayerQuestion extends ServerMessage {
         return playerQuestionType;
     }
 
+    public int getStateVersion() {
+        return stateVersion;
+    }
+
     @Contract(value = "null -> false", pure = true)
     @Override
     public boolean equals(final Object o) {
@@ -51,14 +67,15 @@ public class PlayerQuestion extends ServerMessage {
         if (o == null || getClass() != o.getClass()) return false;
         if (!super.equals(o)) return false;
         final PlayerQuestion that = (PlayerQuestion) o;
-        return playerQuestionType == that.playerQuestionType &&
+        return stateVersion == that.stateVersion &&
+                playerQuestionType == that.playerQuestionType &&
                 Objects.equals(game, that.game) &&
                 Objects.equals(player, that.player);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), playerQuestionType, game, player);
+        return Objects.hash(super.hashCode(), playerQuestionType, game, player, stateVersion);
     }
 
     @Override
@@ -67,6 +84,7 @@ public class PlayerQuestion extends ServerMessage {
                 "playerQuestionType=" + playerQuestionType +
                 ", game=" + game +
                 ", player=" + player +
+                ", stateVersion=" + stateVersion +
                 '}';
     }
 }
@@ -0,0 +1,74 @@
+package io.neolab.internship.coins.common.message.server.question;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.neolab.internship.coins.common.message.server.ServerMessage;
+import io.neolab.internship.coins.common.message.server.ServerMessageType;
+import io.neolab.internship.coins.common.message.server.state.GameStateDelta;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Objects;
+
+/**
+ * Вопрос игроку, в котором вместо всей игры передаётся только разница с предыдущим отправленным состоянием
+ */
+public class PlayerQuestionDelta extends ServerMessage {
+    @JsonProperty
+    private final @NotNull PlayerQuestionType playerQuestionType;
+
+    @JsonProperty
+    private final int playerId;
+
+    @JsonProperty
+    private final @NotNull GameStateDelta delta;
+
+    @JsonCreator
+    public PlayerQuestionDelta(@NotNull @JsonProperty("serverMessageType") final ServerMessageType serverMessageType,
+                               @NotNull @JsonProperty("playerQuestionType") final PlayerQuestionType playerQuestionType,
+                               @JsonProperty("playerId") final int playerId,
+                               @NotNull @JsonProperty("delta") final GameStateDelta delta) {
+        super(serverMessageType);
+        this.playerQuestionType = playerQuestionType;
+        this.playerId = playerId;
+        this.delta = delta;
+    }
+
+    public @NotNull PlayerQuestionType getPlayerQuestionType() {
+        return playerQuestionType;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public @NotNull GameStateDelta getDelta() {
+        return delta;
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+        final PlayerQuestionDelta that = (PlayerQuestionDelta) o;
+        return playerId == that.playerId &&
+                playerQuestionType == that.playerQuestionType &&
+                delta.equals(that.delta);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(super.hashCode(), playerQuestionType, playerId, delta);
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerQuestionDelta{" +
+                "playerQuestionType=" + playerQuestionType +
+                ", playerId=" + playerId +
+                ", delta=" + delta +
+                '}';
+    }
+}
@@ -0,0 +1,143 @@
+package io.neolab.internship.coins.common.message.server.state;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.server.game.player.Unit;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Изменяемая часть состояния клетки: юниты, феодал и раса. Тип клетки и её позиция не меняются за игру
+ */
+public class CellState {
+    @JsonProperty
+    private final int cellId;
+
+    @JsonProperty
+    private final @NotNull List<Integer> unitIds;
+
+    @JsonProperty
+    private final @Nullable Integer feudalId;
+
+    @JsonProperty
+    private final @Nullable Race race;
+
+    @Contract(pure = true)
+    @JsonCreator
+    public CellState(@JsonProperty("cellId") final int cellId,
+                     @NotNull @JsonProperty("unitIds") final List<Integer> unitIds,
+                     @Nullable @JsonProperty("feudalId") final Integer feudalId,
+                     @Nullable @JsonProperty("race") final Race race) {
+        this.cellId = cellId;
+        this.unitIds = unitIds;
+        this.feudalId = feudalId;
+        this.race = race;
+    }
+
+    /**
+     * Снять состояние с клетки
+     *
+     * @param cell - клетка
+     * @return состояние клетки
+     */
+    public static @NotNull CellState of(final @NotNull Cell cell) {
+        final List<Integer> unitIds = new LinkedList<>();
+        cell.getUnits().forEach(unit -> unitIds.add(unit.getId()));
+        return new CellState(cell.getId(), unitIds,
+                cell.getFeudal() != null ? cell.getFeudal().getId() : null, cell.getRace());
+    }
+
+    /**
+     * Сравнить состояние с клеткой, не снимая с неё нового состояния
+     *
+     * @param cell - клетка
+     * @return true, если состояние клетки не изменилось
+     */
+    public boolean matches(final @NotNull Cell cell) {
+        return cellId == cell.getId()
+                && race == cell.getRace()
+                && Objects.equals(feudalId, cell.getFeudal() != null ? cell.getFeudal().getId() : null)
+                && isSameUnits(unitIds, cell.getUnits());
+    }
+
+    /**
+     * @param unitIds - id юнитов
+     * @param units   - юниты
+     * @return true, если юниты идут в том же порядке и с теми же id
+     */
+    static boolean isSameUnits(final @NotNull List<Integer> unitIds, final @Nullable List<Unit> units) {
+        if (units == null) {
+            return unitIds.isEmpty();
+        }
+        if (unitIds.size() != units.size()) {
+            return false;
+        }
+        final Iterator<Unit> unitIterator = units.iterator();
+        for (final int unitId : unitIds) {
+            if (unitId != unitIterator.next().getId()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return список юнитов, восстановленный по их id
+     */
+    public @NotNull List<Unit> toUnits() {
+        final List<Unit> units = new LinkedList<>();
+        unitIds.forEach(unitId -> units.add(new Unit(unitId)));
+        return units;
+    }
+
+    public int getCellId() {
+        return cellId;
+    }
+
+    public @NotNull List<Integer> getUnitIds() {
+        return unitIds;
+    }
+
+    public @Nullable Integer getFeudalId() {
+        return feudalId;
+    }
+
+    public @Nullable Race getRace() {
+        return race;
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final CellState cellState = (CellState) o;
+        return cellId == cellState.cellId &&
+                unitIds.equals(cellState.unitIds) &&
+                Objects.equals(feudalId, cellState.feudalId) &&
+                race == cellState.race;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(cellId, unitIds, feudalId, race);
+    }
+
+    @Override
+    public String toString() {
+        return "CellState{" +
+                "cellId=" + cellId +
+                ", unitIds=" + unitIds +
+                ", feudalId=" + feudalId +
+                ", race=" + race +
+                '}';
+    }
+}
@@ -0,0 +1,117 @@
+package io.neolab.internship.coins.common.message.server.state;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.neolab.internship.coins.server.game.player.Race;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Разница между двумя версиями состояния игры: содержит только изменившиеся клетки, игроков и их клетки.
+ * Применима только к состоянию версии baseVersion
+ */
+public class GameStateDelta {
+    @JsonProperty
+    private final int baseVersion;
+
+    @JsonProperty
+    private final int version;
+
+    @JsonProperty
+    private final int currentRound;
+
+    @JsonProperty
+    private final @NotNull List<CellState> cells;
+
+    @JsonProperty
+    private final @NotNull List<PlayerState> players;
+
+    @JsonProperty
+    private final @NotNull List<PlayerCellsState> playersCells;
+
+    @JsonProperty
+    private final @Nullable List<Race> racesPool; // null, если пул рас не изменился
+
+    @Contract(pure = true)
+    @JsonCreator
+    public GameStateDelta(@JsonProperty("baseVersion") final int baseVersion,
+                          @JsonProperty("version") final int version,
+                          @JsonProperty("currentRound") final int currentRound,
+                          @NotNull @JsonProperty("cells") final List<CellState> cells,
+                          @NotNull @JsonProperty("players") final List<PlayerState> players,
+                          @NotNull @JsonProperty("playersCells") final List<PlayerCellsState> playersCells,
+                          @Nullable @JsonProperty("racesPool") final List<Race> racesPool) {
+        this.baseVersion = baseVersion;
+        this.version = version;
+        this.currentRound = currentRound;
+        this.cells = cells;
+        this.players = players;
+        this.playersCells = playersCells;
+        this.racesPool = racesPool;
+    }
+
+    public int getBaseVersion() {
+        return baseVersion;
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    public int getCurrentRound() {
+        return currentRound;
+    }
+
+    public @NotNull List<CellState> getCells() {
+        return cells;
+    }
+
+    public @NotNull List<PlayerState> getPlayers() {
+        return players;
+    }
+
+    public @NotNull List<PlayerCellsState> getPlayersCells() {
+        return playersCells;
+    }
+
+    public @Nullable List<Race> getRacesPool() {
+        return racesPool;
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final GameStateDelta that = (GameStateDelta) o;
+        return baseVersion == that.baseVersion &&
+                version == that.version &&
+                currentRound == that.currentRound &&
+                cells.equals(that.cells) &&
+                players.equals(that.players) &&
+                playersCells.equals(that.playersCells) &&
+                Objects.equals(racesPool, that.racesPool);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(baseVersion, version, currentRound, cells, players, playersCells, racesPool);
+    }
+
+    @Override
+    public String toString() {
+        return "GameStateDelta{" +
+                "baseVersion=" + baseVersion +
+                ", version=" + version +
+                ", currentRound=" + currentRound +
+                ", cells=" + cells +
+                ", players=" + players +
+                ", playersCells=" + playersCells +
+                ", racesPool=" + racesPool +
+                '}';
+    }
+}
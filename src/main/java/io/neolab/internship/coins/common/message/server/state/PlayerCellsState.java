@@ -0,0 +1,139 @@
+package io.neolab.internship.coins.common.message.server.state;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Клетки, связанные с игроком (id клеток): подконтрольные, приносящие монеты, транзитные и достижимые
+ */
+public class PlayerCellsState {
+    @JsonProperty
+    private final int playerId;
+
+    @JsonProperty
+    private final @NotNull List<Integer> ownCellIds;
+
+    @JsonProperty
+    private final @NotNull List<Integer> feudalCellIds;
+
+    @JsonProperty
+    private final @NotNull List<Integer> transitCellIds;
+
+    @JsonProperty
+    private final @NotNull List<Integer> achievableCellIds;
+
+    @Contract(pure = true)
+    @JsonCreator
+    public PlayerCellsState(@JsonProperty("playerId") final int playerId,
+                            @NotNull @JsonProperty("ownCellIds") final List<Integer> ownCellIds,
+                            @NotNull @JsonProperty("feudalCellIds") final List<Integer> feudalCellIds,
+                            @NotNull @JsonProperty("transitCellIds") final List<Integer> transitCellIds,
+                            @NotNull @JsonProperty("achievableCellIds") final List<Integer> achievableCellIds) {
+        this.playerId = playerId;
+        this.ownCellIds = ownCellIds;
+        this.feudalCellIds = feudalCellIds;
+        this.transitCellIds = transitCellIds;
+        this.achievableCellIds = achievableCellIds;
+    }
+
+    /**
+     * Снять с игры состояние клеток игрока
+     *
+     * @param game   - игра
+     * @param player - игрок
+     * @return состояние клеток игрока
+     */
+    public static @NotNull PlayerCellsState of(final @NotNull IGame game, final @NotNull Player player) {
+        return new PlayerCellsState(player.getId(),
+                getCellIds(game.getOwnToCells().get(player)),
+                getSortedCellIds(game.getFeudalToCells().get(player)),
+                getCellIds(game.getPlayerToTransitCells().get(player)),
+                getSortedCellIds(game.getPlayerToAchievableCells().get(player)));
+    }
+
+    /**
+     * @param cells - клетки
+     * @return список id клеток (пустой, если клеток нет)
+     */
+    private static @NotNull List<Integer> getCellIds(final @Nullable Collection<Cell> cells) {
+        final List<Integer> cellIds = new LinkedList<>();
+        if (cells != null) {
+            cells.forEach(cell -> cellIds.add(cell.getId()));
+        }
+        return cellIds;
+    }
+
+    /**
+     * Для множеств порядок обхода не определён, поэтому id сортируются - иначе одинаковые множества
+     * давали бы разные состояния
+     *
+     * @param cells - клетки
+     * @return отсортированный список id клеток
+     */
+    private static @NotNull List<Integer> getSortedCellIds(final @Nullable Collection<Cell> cells) {
+        final List<Integer> cellIds = getCellIds(cells);
+        Collections.sort(cellIds);
+        return cellIds;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public @NotNull List<Integer> getOwnCellIds() {
+        return ownCellIds;
+    }
+
+    public @NotNull List<Integer> getFeudalCellIds() {
+        return feudalCellIds;
+    }
+
+    public @NotNull List<Integer> getTransitCellIds() {
+        return transitCellIds;
+    }
+
+    public @NotNull List<Integer> getAchievableCellIds() {
+        return achievableCellIds;
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final PlayerCellsState that = (PlayerCellsState) o;
+        return playerId == that.playerId &&
+                ownCellIds.equals(that.ownCellIds) &&
+                feudalCellIds.equals(that.feudalCellIds) &&
+                transitCellIds.equals(that.transitCellIds) &&
+                achievableCellIds.equals(that.achievableCellIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(playerId, ownCellIds, feudalCellIds, transitCellIds, achievableCellIds);
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerCellsState{" +
+                "playerId=" + playerId +
+                ", ownCellIds=" + ownCellIds +
+                ", feudalCellIds=" + feudalCellIds +
+                ", transitCellIds=" + transitCellIds +
+                ", achievableCellIds=" + achievableCellIds +
+                '}';
+    }
+}
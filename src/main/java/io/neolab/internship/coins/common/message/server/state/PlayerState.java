@@ -0,0 +1,130 @@
+package io.neolab.internship.coins.common.message.server.state;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.neolab.internship.coins.common.serialization.deserialize.AvailabilityTypeKeyDeserializer;
+import io.neolab.internship.coins.common.serialization.serialize.AvailabilityTypeSerializer;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Изменяемая часть состояния игрока: раса, юниты по типам доступности и монеты
+ */
+public class PlayerState {
+    @JsonProperty
+    private final int playerId;
+
+    @JsonProperty
+    private final @Nullable Race race;
+
+    @JsonProperty
+    @JsonSerialize(keyUsing = AvailabilityTypeSerializer.class)
+    @JsonDeserialize(keyUsing = AvailabilityTypeKeyDeserializer.class)
+    private final @NotNull Map<AvailabilityType, List<Integer>> unitStateToUnitIds;
+
+    @JsonProperty
+    private final int coins;
+
+    @Contract(pure = true)
+    @JsonCreator
+    public PlayerState(@JsonProperty("playerId") final int playerId,
+                       @Nullable @JsonProperty("race") final Race race,
+                       @NotNull @JsonProperty("unitStateToUnitIds")
+                       final Map<AvailabilityType, List<Integer>> unitStateToUnitIds,
+                       @JsonProperty("coins") final int coins) {
+        this.playerId = playerId;
+        this.race = race;
+        this.unitStateToUnitIds = unitStateToUnitIds;
+        this.coins = coins;
+    }
+
+    /**
+     * Снять состояние с игрока
+     *
+     * @param player - игрок
+     * @return состояние игрока
+     */
+    public static @NotNull PlayerState of(final @NotNull Player player) {
+        final Map<AvailabilityType, List<Integer>> unitStateToUnitIds = new HashMap<>();
+        player.getUnitStateToUnits().forEach((availabilityType, units) -> {
+            final List<Integer> unitIds = new LinkedList<>();
+            units.forEach(unit -> unitIds.add(unit.getId()));
+            unitStateToUnitIds.put(availabilityType, unitIds);
+        });
+        return new PlayerState(player.getId(), player.getRace(), unitStateToUnitIds, player.getCoins());
+    }
+
+    /**
+     * Сравнить состояние с игроком, не снимая с него нового состояния
+     *
+     * @param player - игрок
+     * @return true, если состояние игрока не изменилось
+     */
+    public boolean matches(final @NotNull Player player) {
+        if (playerId != player.getId() || race != player.getRace() || coins != player.getCoins()
+                || unitStateToUnitIds.size() != player.getUnitStateToUnits().size()) {
+            return false;
+        }
+        for (final Map.Entry<AvailabilityType, List<Integer>> entry : unitStateToUnitIds.entrySet()) {
+            if (!CellState.isSameUnits(entry.getValue(), player.getUnitStateToUnits().get(entry.getKey()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public @Nullable Race getRace() {
+        return race;
+    }
+
+    public @NotNull Map<AvailabilityType, List<Integer>> getUnitStateToUnitIds() {
+        return unitStateToUnitIds;
+    }
+
+    public int getCoins() {
+        return coins;
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final PlayerState that = (PlayerState) o;
+        return playerId == that.playerId &&
+                coins == that.coins &&
+                race == that.race &&
+                unitStateToUnitIds.equals(that.unitStateToUnitIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(playerId, race, unitStateToUnitIds, coins);
+    }
+
+    @Override
+    public String toString() {
+        return "PlayerState{" +
+                "playerId=" + playerId +
+                ", race=" + race +
+                ", unitStateToUnitIds=" + unitStateToUnitIds +
+                ", coins=" + coins +
+                '}';
+    }
+}
@@ -8,6 +8,16 @@ import io.neolab.internship.coins.common.message.server.ServerMessage;
 public class Communication {
     private static final ObjectMapper mapper = new ObjectMapper();
 
+    /**
+     * Общий ObjectMapper: он потокобезопасен, а его создание дорого, поэтому
+     * (де)сериализаторы ключей не должны создавать свой на каждый вызов
+     *
+     * @return ObjectMapper
+     */
+    public static ObjectMapper getMapper() {
+        return mapper;
+    }
+
     public static String serializeServerMessage(final ServerMessage serverMessage) throws JsonProcessingException {
         return mapper.writeValueAsString(serverMessage);
     }
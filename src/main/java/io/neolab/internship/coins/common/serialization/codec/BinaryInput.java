@@ -0,0 +1,165 @@
+package io.neolab.internship.coins.common.serialization.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Чтение одного бинарного сообщения, записанного BinaryOutput.
+ * Данные приходят от удалённой стороны, поэтому любые некорректные длины, номера и перечисления
+ * отвергаются StreamCorruptedException
+ */
+class BinaryInput {
+    private static final int MAX_MESSAGE_LENGTH = 1 << 24; // 16 МБ - заведомо больше любой игры
+    private static final int MAX_VAR_INT_SHIFT = 28; // int занимает не больше 5 байт varint
+
+    private final byte[] bytes;
+    private int offset = 0;
+
+    private BinaryInput(final byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    /**
+     * Прочитать из потока одно сообщение целиком (по префиксу длины)
+     *
+     * @param in - поток ввода
+     * @return сообщение, готовое к разбору
+     * @throws IOException при ошибке чтения или если поток закончился
+     * @throws StreamCorruptedException если длина сообщения некорректна или больше MAX_MESSAGE_LENGTH
+     */
+    static @NotNull BinaryInput readFrom(final @NotNull InputStream in) throws IOException {
+        int length = 0;
+        int shift = 0;
+        int b;
+        do {
+            checkVarIntShift(shift);
+            b = in.read();
+            if (b == -1) {
+                throw new EOFException();
+            }
+            length |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        if (length < 0 || length > MAX_MESSAGE_LENGTH) {
+            throw new StreamCorruptedException("Invalid message length: " + length);
+        }
+        final byte[] bytes = in.readNBytes(length);
+        if (bytes.length != length) {
+            throw new EOFException();
+        }
+        return new BinaryInput(bytes);
+    }
+
+    int readVarInt() throws IOException {
+        int value = 0;
+        int shift = 0;
+        int b;
+        do {
+            checkVarIntShift(shift);
+            b = readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    int readSignedInt() throws IOException {
+        final int value = readVarInt();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    @Nullable Integer readNullableInt() throws IOException {
+        final int value = readVarInt();
+        return value == 0 ? null : value - 1;
+    }
+
+    boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    <E extends Enum<E>> @NotNull E readEnum(final @NotNull E[] values) throws IOException {
+        return values[checkOrdinal(readVarInt(), values)];
+    }
+
+    <E extends Enum<E>> @Nullable E readNullableEnum(final @NotNull E[] values) throws IOException {
+        final Integer ordinal = readNullableInt();
+        return ordinal == null ? null : values[checkOrdinal(ordinal, values)];
+    }
+
+    /**
+     * Прочитать длину: число байт строки или число элементов коллекции, каждый из которых занимает хотя бы байт
+     *
+     * @return длину, не больше непрочитанного остатка сообщения
+     * @throws IOException при некорректной длине
+     */
+    int readLength() throws IOException {
+        return checkLength(readVarInt());
+    }
+
+    @NotNull String readString() throws IOException {
+        final int length = readLength();
+        final String value = new String(bytes, offset, length, StandardCharsets.UTF_8);
+        offset += length;
+        return value;
+    }
+
+    @NotNull List<Integer> readIntList() throws IOException {
+        final int size = readLength();
+        final List<Integer> values = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            values.add(readVarInt());
+        }
+        return values;
+    }
+
+    private int readByte() throws IOException {
+        if (offset >= bytes.length) {
+            throw new StreamCorruptedException("Message is truncated");
+        }
+        return bytes[offset++] & 0xFF;
+    }
+
+    /**
+     * @param length - прочитанная длина
+     * @return ту же длину
+     * @throws StreamCorruptedException если длина отрицательна или больше непрочитанного остатка сообщения
+     */
+    private int checkLength(final int length) throws StreamCorruptedException {
+        if (length < 0 || length > bytes.length - offset) {
+            throw new StreamCorruptedException("Invalid length: " + length);
+        }
+        return length;
+    }
+
+    /**
+     * @param ordinal - прочитанный порядковый номер
+     * @param values  - значения перечисления
+     * @return тот же номер
+     * @throws StreamCorruptedException если в перечислении нет значения с таким номером
+     */
+    private static int checkOrdinal(final int ordinal, final @NotNull Enum<?>[] values)
+            throws StreamCorruptedException {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new StreamCorruptedException("Invalid ordinal: " + ordinal);
+        }
+        return ordinal;
+    }
+
+    /**
+     * @param shift - сдвиг очередного байта varint
+     * @throws StreamCorruptedException если varint длиннее int
+     */
+    private static void checkVarIntShift(final int shift) throws StreamCorruptedException {
+        if (shift > MAX_VAR_INT_SHIFT) {
+            throw new StreamCorruptedException("Varint is too long");
+        }
+    }
+}
@@ -0,0 +1,512 @@
+package io.neolab.internship.coins.common.serialization.codec;
+
+import io.neolab.internship.coins.common.message.client.ClientMessage;
+import io.neolab.internship.coins.common.message.client.ClientMessageType;
+import io.neolab.internship.coins.common.message.client.GameReadyMessage;
+import io.neolab.internship.coins.common.message.client.answer.*;
+import io.neolab.internship.coins.common.message.server.GameOverMessage;
+import io.neolab.internship.coins.common.message.server.ServerMessage;
+import io.neolab.internship.coins.common.message.server.ServerMessageType;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestion;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionDelta;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionType;
+import io.neolab.internship.coins.common.message.server.state.CellState;
+import io.neolab.internship.coins.common.message.server.state.GameStateDelta;
+import io.neolab.internship.coins.common.message.server.state.PlayerCellsState;
+import io.neolab.internship.coins.common.message.server.state.PlayerState;
+import io.neolab.internship.coins.server.game.Game;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.*;
+import io.neolab.internship.coins.server.game.feature.CoefficientlyFeature;
+import io.neolab.internship.coins.server.game.feature.Feature;
+import io.neolab.internship.coins.server.game.feature.FeatureType;
+import io.neolab.internship.coins.server.game.feature.GameFeatures;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import io.neolab.internship.coins.utils.Pair;
+import org.apache.commons.collections4.BidiMap;
+import org.apache.commons.collections4.bidimap.DualHashBidiMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.util.*;
+
+/**
+ * Бинарный кодек: сообщение с префиксом длины (varint), внутри - id клеток, игроков и юнитов и координаты
+ * как varint, перечисления как порядковые номера. Клетки и игроки внутри игры передаются один раз,
+ * дальше на них ссылаются по id
+ */
+public class BinaryMessageCodec implements MessageCodec {
+    /* Виды сообщений сервера */
+    private static final int SERVER_MESSAGE = 0;
+    private static final int PLAYER_QUESTION = 1;
+    private static final int PLAYER_QUESTION_DELTA = 2;
+    private static final int GAME_OVER_MESSAGE = 3;
+
+    /* Виды сообщений клиента */
+    private static final int CLIENT_MESSAGE = 0;
+    private static final int GAME_READY_MESSAGE = 1;
+    private static final int CATCH_CELL_ANSWER = 2;
+    private static final int CHANGE_RACE_ANSWER = 3;
+    private static final int DECLINE_RACE_ANSWER = 4;
+    private static final int DISTRIBUTION_UNITS_ANSWER = 5;
+    private static final int NICKNAME_ANSWER = 6;
+
+    /* Виды особенностей */
+    private static final int FEATURE = 0;
+    private static final int COEFFICIENTLY_FEATURE = 1;
+
+    @Override
+    public void writeServerMessage(final @NotNull OutputStream out, final @NotNull ServerMessage serverMessage)
+            throws IOException {
+        final BinaryOutput output = new BinaryOutput();
+        if (serverMessage instanceof PlayerQuestion) {
+            final PlayerQuestion playerQuestion = (PlayerQuestion) serverMessage;
+            output.writeVarInt(PLAYER_QUESTION);
+            output.writeEnum(playerQuestion.getServerMessageType());
+            output.writeEnum(playerQuestion.getPlayerQuestionType());
+            writeGame(output, playerQuestion.getGame());
+            output.writeVarInt(playerQuestion.getPlayer().getId());
+            output.writeVarInt(playerQuestion.getStateVersion());
+        } else if (serverMessage instanceof PlayerQuestionDelta) {
+            final PlayerQuestionDelta playerQuestionDelta = (PlayerQuestionDelta) serverMessage;
+            output.writeVarInt(PLAYER_QUESTION_DELTA);
+            output.writeEnum(playerQuestionDelta.getServerMessageType());
+            output.writeEnum(playerQuestionDelta.getPlayerQuestionType());
+            output.writeVarInt(playerQuestionDelta.getPlayerId());
+            writeGameStateDelta(output, playerQuestionDelta.getDelta());
+        } else if (serverMessage instanceof GameOverMessage) {
+            final GameOverMessage gameOverMessage = (GameOverMessage) serverMessage;
+            output.writeVarInt(GAME_OVER_MESSAGE);
+            output.writeEnum(gameOverMessage.getServerMessageType());
+            writePlayers(output, gameOverMessage.getWinners());
+            writePlayers(output, gameOverMessage.getPlayerList());
+        } else {
+            output.writeVarInt(SERVER_MESSAGE);
+            output.writeEnum(serverMessage.getServerMessageType());
+        }
+        output.flushTo(out);
+    }
+
+    @Override
+    public @NotNull ServerMessage readServerMessage(final @NotNull InputStream in) throws IOException {
+        final BinaryInput input = BinaryInput.readFrom(in);
+        final int kind = input.readVarInt();
+        final ServerMessageType serverMessageType = input.readEnum(ServerMessageType.values());
+        switch (kind) {
+            case PLAYER_QUESTION: {
+                final PlayerQuestionType playerQuestionType = input.readEnum(PlayerQuestionType.values());
+                final IGame game = readGame(input);
+                final int playerId = input.readVarInt();
+                final Player player = game.getPlayers().stream()
+                        .filter(gamePlayer -> gamePlayer.getId() == playerId)
+                        .findFirst()
+                        .orElseThrow(() -> new StreamCorruptedException("Player not found: " + playerId));
+                return new PlayerQuestion(serverMessageType, playerQuestionType, game, player, input.readVarInt());
+            }
+            case PLAYER_QUESTION_DELTA: {
+                final PlayerQuestionType playerQuestionType = input.readEnum(PlayerQuestionType.values());
+                final int playerId = input.readVarInt();
+                return new PlayerQuestionDelta(serverMessageType, playerQuestionType, playerId,
+                        readGameStateDelta(input));
+            }
+            case GAME_OVER_MESSAGE: {
+                final List<Player> winners = readPlayers(input);
+                return new GameOverMessage(serverMessageType, winners, readPlayers(input));
+            }
+            case SERVER_MESSAGE: {
+                return new ServerMessage(serverMessageType);
+            }
+            default: {
+                throw new StreamCorruptedException("Unknown server message kind: " + kind);
+            }
+        }
+    }
+
+    @Override
+    public void writeClientMessage(final @NotNull OutputStream out, final @NotNull ClientMessage clientMessage)
+            throws IOException {
+        final BinaryOutput output = new BinaryOutput();
+        if (clientMessage instanceof GameReadyMessage) {
+            output.writeVarInt(GAME_READY_MESSAGE);
+            output.writeEnum(((GameReadyMessage) clientMessage).getCodecType());
+        } else if (clientMessage instanceof CatchCellAnswer) {
+            output.writeVarInt(CATCH_CELL_ANSWER);
+            final Pair<Position, List<Unit>> resolution = ((CatchCellAnswer) clientMessage).getResolution();
+            output.writeBoolean(resolution != null);
+            if (resolution != null) {
+                writePosition(output, resolution.getFirst());
+                writeUnits(output, resolution.getSecond());
+            }
+        } else if (clientMessage instanceof ChangeRaceAnswer) {
+            output.writeVarInt(CHANGE_RACE_ANSWER);
+            output.writeEnum(((ChangeRaceAnswer) clientMessage).getNewRace());
+        } else if (clientMessage instanceof DeclineRaceAnswer) {
+            output.writeVarInt(DECLINE_RACE_ANSWER);
+            output.writeBoolean(((DeclineRaceAnswer) clientMessage).isDeclineRace());
+        } else if (clientMessage instanceof DistributionUnitsAnswer) {
+            output.writeVarInt(DISTRIBUTION_UNITS_ANSWER);
+            final Map<Position, List<Unit>> resolutions = ((DistributionUnitsAnswer) clientMessage).getResolutions();
+            output.writeVarInt(resolutions.size());
+            for (final Map.Entry<Position, List<Unit>> entry : resolutions.entrySet()) {
+                writePosition(output, entry.getKey());
+                writeUnits(output, entry.getValue());
+            }
+        } else if (clientMessage instanceof NicknameAnswer) {
+            output.writeVarInt(NICKNAME_ANSWER);
+            output.writeString(((NicknameAnswer) clientMessage).getNickname());
+        } else {
+            output.writeVarInt(CLIENT_MESSAGE);
+            output.writeEnum(clientMessage.getMessageType());
+        }
+        output.flushTo(out);
+    }
+
+    @Override
+    public @NotNull ClientMessage readClientMessage(final @NotNull InputStream in) throws IOException {
+        final BinaryInput input = BinaryInput.readFrom(in);
+        final int kind = input.readVarInt();
+        switch (kind) {
+            case GAME_READY_MESSAGE: {
+                return new GameReadyMessage(input.readEnum(MessageCodecType.values()));
+            }
+            case CATCH_CELL_ANSWER: {
+                if (!input.readBoolean()) {
+                    return new CatchCellAnswer(null);
+                }
+                final Position position = readPosition(input);
+                return new CatchCellAnswer(new Pair<>(position, readUnits(input)));
+            }
+            case CHANGE_RACE_ANSWER: {
+                return new ChangeRaceAnswer(input.readEnum(Race.values()));
+            }
+            case DECLINE_RACE_ANSWER: {
+                return new DeclineRaceAnswer(input.readBoolean());
+            }
+            case DISTRIBUTION_UNITS_ANSWER: {
+                final int size = input.readLength();
+                final Map<Position, List<Unit>> resolutions = new HashMap<>(size);
+                for (int i = 0; i < size; i++) {
+                    final Position position = readPosition(input);
+                    resolutions.put(position, readUnits(input));
+                }
+                return new DistributionUnitsAnswer(resolutions);
+            }
+            case NICKNAME_ANSWER: {
+                return new NicknameAnswer(input.readString());
+            }
+            case CLIENT_MESSAGE: {
+                return new ClientMessage(input.readEnum(ClientMessageType.values()));
+            }
+            default: {
+                throw new StreamCorruptedException("Unknown client message kind: " + kind);
+            }
+        }
+    }
+
+    /**
+     * Записать игру: сначала игроки, затем борда (клетки ссылаются на феодалов по id),
+     * затем мапы игрок -> клетки как списки id
+     *
+     * @param output - буфер
+     * @param game   - игра
+     */
+    private static void writeGame(final @NotNull BinaryOutput output, final @NotNull IGame game) {
+        writePlayers(output, game.getPlayers());
+        output.writeVarInt(game.getCurrentRound());
+        writeBoard(output, game.getBoard());
+        writePlayerToCells(output, game.getFeudalToCells());
+        writePlayerToCells(output, game.getOwnToCells());
+        writePlayerToCells(output, game.getPlayerToTransitCells());
+        writePlayerToCells(output, game.getPlayerToAchievableCells());
+        writeGameFeatures(output, game.getGameFeatures());
+        output.writeVarInt(game.getRacesPool().size());
+        game.getRacesPool().forEach(output::writeEnum);
+    }
+
+    private static @NotNull IGame readGame(final @NotNull BinaryInput input) throws IOException {
+        final List<Player> players = readPlayers(input);
+        final Map<Integer, Player> idToPlayer = new HashMap<>(players.size());
+        players.forEach(player -> idToPlayer.put(player.getId(), player));
+        final int currentRound = input.readVarInt();
+        final IBoard board = readBoard(input, idToPlayer);
+        final Map<Integer, Cell> idToCell = new HashMap<>();
+        board.getPositionToCellMap().values().forEach(cell -> idToCell.put(cell.getId(), cell));
+        final Map<Player, Set<Cell>> feudalToCells = readPlayerToCells(input, idToPlayer, idToCell, HashSet::new);
+        final Map<Player, List<Cell>> ownToCells = readPlayerToCells(input, idToPlayer, idToCell, LinkedList::new);
+        final Map<Player, List<Cell>> playerToTransitCells =
+                readPlayerToCells(input, idToPlayer, idToCell, LinkedList::new);
+        final Map<Player, Set<Cell>> playerToAchievableCells =
+                readPlayerToCells(input, idToPlayer, idToCell, HashSet::new);
+        final GameFeatures gameFeatures = readGameFeatures(input);
+        final int racesCount = input.readLength();
+        final List<Race> racesPool = new LinkedList<>();
+        for (int i = 0; i < racesCount; i++) {
+            racesPool.add(input.readEnum(Race.values()));
+        }
+        return new Game(board, currentRound, feudalToCells, ownToCells, playerToTransitCells,
+                playerToAchievableCells, gameFeatures, racesPool, players);
+    }
+
+    /**
+     * Записать борду: клетки с позициями и крайние клетки по id.
+     * Соседство клеток не передаётся - оно вычисляется лениво по позициям
+     *
+     * @param output - буфер
+     * @param board  - борда
+     */
+    private static void writeBoard(final @NotNull BinaryOutput output, final @NotNull IBoard board) {
+        final BidiMap<Position, Cell> positionToCellMap = board.getPositionToCellMap();
+        output.writeVarInt(positionToCellMap.size());
+        positionToCellMap.forEach((position, cell) -> {
+            writePosition(output, position);
+            output.writeVarInt(cell.getId());
+            output.writeEnum(cell.getType());
+            writeUnits(output, cell.getUnits());
+            output.writeNullableInt(cell.getFeudal() != null ? cell.getFeudal().getId() : null);
+            output.writeNullableEnum(cell.getRace());
+        });
+        output.writeVarInt(board.getEdgeCells().size());
+        board.getEdgeCells().forEach(cell -> output.writeVarInt(cell.getId()));
+    }
+
+    private static @NotNull IBoard readBoard(final @NotNull BinaryInput input,
+                                             final @NotNull Map<Integer, Player> idToPlayer) throws IOException {
+        final int cellsCount = input.readLength();
+        final BidiMap<Position, Cell> positionToCellMap = new DualHashBidiMap<>();
+        final Map<Integer, Cell> idToCell = new HashMap<>(cellsCount);
+        for (int i = 0; i < cellsCount; i++) {
+            final Position position = readPosition(input);
+            final int id = input.readVarInt();
+            final CellType type = input.readEnum(CellType.values());
+            final List<Unit> units = readUnits(input);
+            final Integer feudalId = input.readNullableInt();
+            final Race race = input.readNullableEnum(Race.values());
+            final Cell cell = new Cell(id, type, units, feudalId != null ? idToPlayer.get(feudalId) : null, race);
+            positionToCellMap.put(position, cell);
+            idToCell.put(id, cell);
+        }
+        final List<Cell> edgeCells = new LinkedList<>();
+        for (final int cellId : input.readIntList()) {
+            edgeCells.add(idToCell.get(cellId));
+        }
+        return new Board(positionToCellMap, edgeCells, new HashMap<>());
+    }
+
+    private static void writePlayerToCells(final @NotNull BinaryOutput output,
+                                           final @NotNull Map<Player, ? extends Collection<Cell>> playerToCells) {
+        output.writeVarInt(playerToCells.size());
+        playerToCells.forEach((player, cells) -> {
+            output.writeVarInt(player.getId());
+            output.writeVarInt(cells.size());
+            cells.forEach(cell -> output.writeVarInt(cell.getId()));
+        });
+    }
+
+    /**
+     * Фабрика коллекции клеток (HashSet или LinkedList - в зависимости от мапы)
+     *
+     * @param <T> - тип коллекции
+     */
+    private interface CellsCollectionFactory<T extends Collection<Cell>> {
+        @NotNull T create();
+    }
+
+    private static <T extends Collection<Cell>> @NotNull Map<Player, T> readPlayerToCells(
+            final @NotNull BinaryInput input, final @NotNull Map<Integer, Player> idToPlayer,
+            final @NotNull Map<Integer, Cell> idToCell, final @NotNull CellsCollectionFactory<T> factory)
+            throws IOException {
+
+        final int playersCount = input.readLength();
+        final Map<Player, T> playerToCells = new HashMap<>(playersCount);
+        for (int i = 0; i < playersCount; i++) {
+            final Player player = idToPlayer.get(input.readVarInt());
+            final T cells = factory.create();
+            for (final int cellId : input.readIntList()) {
+                cells.add(idToCell.get(cellId));
+            }
+            playerToCells.put(player, cells);
+        }
+        return playerToCells;
+    }
+
+    private static void writeGameFeatures(final @NotNull BinaryOutput output,
+                                          final @NotNull GameFeatures gameFeatures) {
+        final Map<Pair<Race, CellType>, List<Feature>> raceCellTypeFeatures = gameFeatures.getRaceCellTypeFeatures();
+        output.writeVarInt(raceCellTypeFeatures.size());
+        raceCellTypeFeatures.forEach((raceCellType, features) -> {
+            output.writeNullableEnum(raceCellType.getFirst());
+            output.writeEnum(raceCellType.getSecond());
+            output.writeVarInt(features.size());
+            for (final Feature feature : features) {
+                if (feature instanceof CoefficientlyFeature) {
+                    output.writeVarInt(COEFFICIENTLY_FEATURE);
+                    output.writeEnum(feature.getType());
+                    output.writeSignedInt(((CoefficientlyFeature) feature).getCoefficient());
+                } else {
+                    output.writeVarInt(FEATURE);
+                    output.writeEnum(feature.getType());
+                }
+            }
+        });
+    }
+
+    private static @NotNull GameFeatures readGameFeatures(final @NotNull BinaryInput input) throws IOException {
+        final int size = input.readLength();
+        final Map<Pair<Race, CellType>, List<Feature>> raceCellTypeFeatures = new HashMap<>(size);
+        for (int i = 0; i < size; i++) {
+            final Race race = input.readNullableEnum(Race.values());
+            final CellType cellType = input.readEnum(CellType.values());
+            final int featuresCount = input.readLength();
+            final List<Feature> features = new LinkedList<>();
+            for (int j = 0; j < featuresCount; j++) {
+                final int kind = input.readVarInt();
+                final FeatureType type = input.readEnum(FeatureType.values());
+                features.add(kind == COEFFICIENTLY_FEATURE
+                        ? new CoefficientlyFeature(type, input.readSignedInt())
+                        : new Feature(type));
+            }
+            raceCellTypeFeatures.put(new Pair<>(race, cellType), features);
+        }
+        return new GameFeatures(raceCellTypeFeatures);
+    }
+
+    private static void writePlayers(final @NotNull BinaryOutput output, final @NotNull List<Player> players) {
+        output.writeVarInt(players.size());
+        for (final Player player : players) {
+            output.writeVarInt(player.getId());
+            output.writeString(player.getNickname());
+            output.writeNullableEnum(player.getRace());
+            for (final AvailabilityType availabilityType : AvailabilityType.values()) {
+                writeUnits(output, player.getUnitsByState(availabilityType));
+            }
+            output.writeSignedInt(player.getCoins());
+        }
+    }
+
+    private static @NotNull List<Player> readPlayers(final @NotNull BinaryInput input) throws IOException {
+        final int size = input.readLength();
+        final List<Player> players = new LinkedList<>();
+        for (int i = 0; i < size; i++) {
+            final int id = input.readVarInt();
+            final String nickname = input.readString();
+            final Race race = input.readNullableEnum(Race.values());
+            final Map<AvailabilityType, List<Unit>> unitStateToUnits = new HashMap<>();
+            for (final AvailabilityType availabilityType : AvailabilityType.values()) {
+                unitStateToUnits.put(availabilityType, readUnits(input));
+            }
+            players.add(new Player(id, nickname, race, unitStateToUnits, input.readSignedInt()));
+        }
+        return players;
+    }
+
+    private static void writeGameStateDelta(final @NotNull BinaryOutput output, final @NotNull GameStateDelta delta) {
+        output.writeVarInt(delta.getBaseVersion());
+        output.writeVarInt(delta.getVersion());
+        output.writeVarInt(delta.getCurrentRound());
+        output.writeVarInt(delta.getCells().size());
+        for (final CellState cellState : delta.getCells()) {
+            output.writeVarInt(cellState.getCellId());
+            output.writeIntCollection(cellState.getUnitIds());
+            output.writeNullableInt(cellState.getFeudalId());
+            output.writeNullableEnum(cellState.getRace());
+        }
+        output.writeVarInt(delta.getPlayers().size());
+        for (final PlayerState playerState : delta.getPlayers()) {
+            output.writeVarInt(playerState.getPlayerId());
+            output.writeNullableEnum(playerState.getRace());
+            for (final AvailabilityType availabilityType : AvailabilityType.values()) {
+                output.writeIntCollection(
+                        playerState.getUnitStateToUnitIds().getOrDefault(availabilityType, Collections.emptyList()));
+            }
+            output.writeSignedInt(playerState.getCoins());
+        }
+        output.writeVarInt(delta.getPlayersCells().size());
+        for (final PlayerCellsState playerCellsState : delta.getPlayersCells()) {
+            output.writeVarInt(playerCellsState.getPlayerId());
+            output.writeIntCollection(playerCellsState.getOwnCellIds());
+            output.writeIntCollection(playerCellsState.getFeudalCellIds());
+            output.writeIntCollection(playerCellsState.getTransitCellIds());
+            output.writeIntCollection(playerCellsState.getAchievableCellIds());
+        }
+        final List<Race> racesPool = delta.getRacesPool();
+        output.writeBoolean(racesPool != null);
+        if (racesPool != null) {
+            output.writeVarInt(racesPool.size());
+            racesPool.forEach(output::writeEnum);
+        }
+    }
+
+    private static @NotNull GameStateDelta readGameStateDelta(final @NotNull BinaryInput input) throws IOException {
+        final int baseVersion = input.readVarInt();
+        final int version = input.readVarInt();
+        final int currentRound = input.readVarInt();
+        final int cellsCount = input.readLength();
+        final List<CellState> cells = new LinkedList<>();
+        for (int i = 0; i < cellsCount; i++) {
+            final int cellId = input.readVarInt();
+            final List<Integer> unitIds = input.readIntList();
+            final Integer feudalId = input.readNullableInt();
+            cells.add(new CellState(cellId, unitIds, feudalId, input.readNullableEnum(Race.values())));
+        }
+        final int playersCount = input.readLength();
+        final List<PlayerState> players = new LinkedList<>();
+        for (int i = 0; i < playersCount; i++) {
+            final int playerId = input.readVarInt();
+            final Race race = input.readNullableEnum(Race.values());
+            final Map<AvailabilityType, List<Integer>> unitStateToUnitIds = new HashMap<>();
+            for (final AvailabilityType availabilityType : AvailabilityType.values()) {
+                unitStateToUnitIds.put(availabilityType, input.readIntList());
+            }
+            players.add(new PlayerState(playerId, race, unitStateToUnitIds, input.readSignedInt()));
+        }
+        final int playersCellsCount = input.readLength();
+        final List<PlayerCellsState> playersCells = new LinkedList<>();
+        for (int i = 0; i < playersCellsCount; i++) {
+            final int playerId = input.readVarInt();
+            final List<Integer> ownCellIds = input.readIntList();
+            final List<Integer> feudalCellIds = input.readIntList();
+            final List<Integer> transitCellIds = input.readIntList();
+            playersCells.add(new PlayerCellsState(playerId, ownCellIds, feudalCellIds, transitCellIds,
+                    input.readIntList()));
+        }
+        List<Race> racesPool = null;
+        if (input.readBoolean()) {
+            final int racesCount = input.readLength();
+            racesPool = new LinkedList<>();
+            for (int i = 0; i < racesCount; i++) {
+                racesPool.add(input.readEnum(Race.values()));
+            }
+        }
+        return new GameStateDelta(baseVersion, version, currentRound, cells, players, playersCells, racesPool);
+    }
+
+    private static void writePosition(final @NotNull BinaryOutput output, final @NotNull Position position) {
+        output.writeSignedInt(position.getX());
+        output.writeSignedInt(position.getY());
+    }
+
+    private static @NotNull Position readPosition(final @NotNull BinaryInput input) throws IOException {
+        final int x = input.readSignedInt();
+        return new Position(x, input.readSignedInt());
+    }
+
+    private static void writeUnits(final @NotNull BinaryOutput output, final @NotNull List<Unit> units) {
+        output.writeVarInt(units.size());
+        units.forEach(unit -> output.writeVarInt(unit.getId()));
+    }
+
+    private static @NotNull List<Unit> readUnits(final @NotNull BinaryInput input) throws IOException {
+        final List<Unit> units = new LinkedList<>();
+        for (final int unitId : input.readIntList()) {
+            units.add(new Unit(unitId));
+        }
+        return units;
+    }
+}
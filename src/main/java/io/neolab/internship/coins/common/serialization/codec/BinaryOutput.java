@@ -0,0 +1,89 @@
+package io.neolab.internship.coins.common.serialization.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+
+/**
+ * Буфер для записи одного бинарного сообщения: целые числа как varint, перечисления как порядковые номера
+ */
+class BinaryOutput {
+    private final @NotNull ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+    /**
+     * Записать неотрицательное число как varint (по 7 бит на байт, старший бит - признак продолжения)
+     *
+     * @param value - число
+     */
+    void writeVarInt(final int value) {
+        int rest = value;
+        while ((rest & ~0x7F) != 0) {
+            buffer.write((rest & 0x7F) | 0x80);
+            rest >>>= 7;
+        }
+        buffer.write(rest);
+    }
+
+    /**
+     * Записать число любого знака (zigzag + varint)
+     *
+     * @param value - число
+     */
+    void writeSignedInt(final int value) {
+        writeVarInt((value << 1) ^ (value >> 31));
+    }
+
+    /**
+     * Записать число, которое может отсутствовать: 0 - null, иначе value + 1
+     *
+     * @param value - неотрицательное число или null
+     */
+    void writeNullableInt(final @Nullable Integer value) {
+        writeVarInt(value == null ? 0 : value + 1);
+    }
+
+    void writeBoolean(final boolean value) {
+        buffer.write(value ? 1 : 0);
+    }
+
+    void writeEnum(final @NotNull Enum<?> value) {
+        writeVarInt(value.ordinal());
+    }
+
+    void writeNullableEnum(final @Nullable Enum<?> value) {
+        writeNullableInt(value == null ? null : value.ordinal());
+    }
+
+    void writeString(final @NotNull String value) {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        buffer.write(bytes, 0, bytes.length);
+    }
+
+    void writeIntCollection(final @NotNull Collection<Integer> values) {
+        writeVarInt(values.size());
+        values.forEach(this::writeVarInt);
+    }
+
+    /**
+     * Отправить накопленное сообщение в поток с префиксом длины
+     *
+     * @param out - поток вывода
+     * @throws IOException при ошибке записи
+     */
+    void flushTo(final @NotNull OutputStream out) throws IOException {
+        int length = buffer.size();
+        while ((length & ~0x7F) != 0) {
+            out.write((length & 0x7F) | 0x80);
+            length >>>= 7;
+        }
+        out.write(length);
+        buffer.writeTo(out);
+        out.flush();
+    }
+}
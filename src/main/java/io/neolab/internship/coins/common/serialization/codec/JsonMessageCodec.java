@@ -0,0 +1,71 @@
+package io.neolab.internship.coins.common.serialization.codec;
+
+import io.neolab.internship.coins.common.message.client.ClientMessage;
+import io.neolab.internship.coins.common.message.server.ServerMessage;
+import io.neolab.internship.coins.common.serialization.Communication;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Кодек json-строк: одно сообщение - одна строка
+ */
+public class JsonMessageCodec implements MessageCodec {
+    private static final int LINE_SEPARATOR = '\n';
+
+    @Override
+    public void writeServerMessage(final @NotNull OutputStream out, final @NotNull ServerMessage serverMessage)
+            throws IOException {
+        writeLine(out, Communication.serializeServerMessage(serverMessage));
+    }
+
+    @Override
+    public @NotNull ServerMessage readServerMessage(final @NotNull InputStream in) throws IOException {
+        return Communication.deserializeServerMessage(readLine(in));
+    }
+
+    @Override
+    public void writeClientMessage(final @NotNull OutputStream out, final @NotNull ClientMessage clientMessage)
+            throws IOException {
+        writeLine(out, Communication.serializeClientMessage(clientMessage));
+    }
+
+    @Override
+    public @NotNull ClientMessage readClientMessage(final @NotNull InputStream in) throws IOException {
+        return Communication.deserializeClientMessage(readLine(in));
+    }
+
+    /**
+     * Записать строку и перевод строки
+     *
+     * @param out  - поток вывода
+     * @param json - строка
+     * @throws IOException при ошибке записи
+     */
+    private static void writeLine(final @NotNull OutputStream out, final @NotNull String json) throws IOException {
+        out.write(json.getBytes(StandardCharsets.UTF_8));
+        out.write(LINE_SEPARATOR);
+        out.flush();
+    }
+
+    /**
+     * Прочитать строку до перевода строки
+     *
+     * @param in - поток ввода
+     * @return строку без перевода строки
+     * @throws IOException при ошибке чтения или если поток закончился
+     */
+    private static @NotNull String readLine(final @NotNull InputStream in) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        int b = in.read();
+        while (b != LINE_SEPARATOR) {
+            if (b == -1) {
+                throw new EOFException();
+            }
+            line.write(b);
+            b = in.read();
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,53 @@
+package io.neolab.internship.coins.common.serialization.codec;
+
+import io.neolab.internship.coins.common.message.client.ClientMessage;
+import io.neolab.internship.coins.common.message.server.ServerMessage;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Способ кодирования сообщений между клиентом и сервером.
+ * Каждое сообщение записывается в поток целиком (вместе со своей границей) и сразу отправляется
+ */
+public interface MessageCodec {
+    /**
+     * Записать сообщение сервера в поток
+     *
+     * @param out           - поток вывода
+     * @param serverMessage - сообщение
+     * @throws IOException при ошибке записи
+     */
+    void writeServerMessage(final @NotNull OutputStream out, final @NotNull ServerMessage serverMessage)
+            throws IOException;
+
+    /**
+     * Прочитать сообщение сервера из потока
+     *
+     * @param in - поток ввода
+     * @return сообщение
+     * @throws IOException при ошибке чтения или если поток закончился
+     */
+    @NotNull ServerMessage readServerMessage(final @NotNull InputStream in) throws IOException;
+
+    /**
+     * Записать сообщение клиента в поток
+     *
+     * @param out           - поток вывода
+     * @param clientMessage - сообщение
+     * @throws IOException при ошибке записи
+     */
+    void writeClientMessage(final @NotNull OutputStream out, final @NotNull ClientMessage clientMessage)
+            throws IOException;
+
+    /**
+     * Прочитать сообщение клиента из потока
+     *
+     * @param in - поток ввода
+     * @return сообщение
+     * @throws IOException при ошибке чтения или если поток закончился
+     */
+    @NotNull ClientMessage readClientMessage(final @NotNull InputStream in) throws IOException;
+}
@@ -0,0 +1,22 @@
+package io.neolab.internship.coins.common.serialization.codec;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Тип кодека сообщений. Клиент выбирает его в ответе на CONFIRMATION_OF_READINESS
+ */
+public enum MessageCodecType {
+    JSON(new JsonMessageCodec()), // json-строки, разделённые переводом строки
+    BINARY(new BinaryMessageCodec()), // бинарные сообщения с префиксом длины
+    ;
+
+    private final @NotNull MessageCodec codec;
+
+    MessageCodecType(final @NotNull MessageCodec codec) {
+        this.codec = codec;
+    }
+
+    public @NotNull MessageCodec getCodec() {
+        return codec;
+    }
+}
@@ -3,6 +3,7 @@ package io.neolab.internship.coins.common.serialization.deserialize;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.KeyDeserializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.neolab.internship.coins.common.serialization.Communication;
 import io.neolab.internship.coins.utils.AvailabilityType;
 
 import java.io.IOException;
@@ -11,7 +12,7 @@ public class AvailabilityTypeKeyDeserializer extends KeyDeserializer {
     @Override
     public Object deserializeKey(final String s, final DeserializationContext deserializationContext)
             throws IOException {
-        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectMapper mapper = Communication.getMapper();
         return mapper.readValue(s, AvailabilityType.class);
     }
 }
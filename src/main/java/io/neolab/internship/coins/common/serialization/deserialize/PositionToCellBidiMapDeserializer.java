@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.neolab.internship.coins.common.serialization.Communication;
 import io.neolab.internship.coins.server.game.board.Cell;
 import io.neolab.internship.coins.server.game.board.Position;
 import org.apache.commons.collections4.BidiMap;
@@ -20,7 +21,7 @@ public class PositionToCellBidiMapDeserializer extends JsonDeserializer<BidiMap<
             throws IOException {
 
         final JsonNode jsonNode = jsonParser.getCodec().readTree(jsonParser);
-        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectMapper mapper = Communication.getMapper();
         final BidiMap<Position, Cell> positionToCell = new DualHashBidiMap<>();
         final Iterator<Map.Entry<String, JsonNode>> iterator = jsonNode.fields();
         while (iterator.hasNext()) {
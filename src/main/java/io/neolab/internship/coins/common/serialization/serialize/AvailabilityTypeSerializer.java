@@ -3,6 +3,7 @@ package io.neolab.internship.coins.common.serialization.serialize;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.neolab.internship.coins.common.serialization.Communication;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import io.neolab.internship.coins.utils.AvailabilityType;
 
@@ -13,7 +14,7 @@ public class AvailabilityTypeSerializer extends JsonSerializer<AvailabilityType>
     public void serialize(final AvailabilityType availabilityType,
                           final JsonGenerator jsonGenerator, final SerializerProvider serializerProvider)
             throws IOException {
-        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectMapper mapper = Communication.getMapper();
         jsonGenerator.writeFieldName(mapper.writeValueAsString(availabilityType));
     }
 }
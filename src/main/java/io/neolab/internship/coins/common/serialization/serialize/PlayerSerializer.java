@@ -3,6 +3,7 @@ package io.neolab.internship.coins.common.serialization.serialize;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.neolab.internship.coins.common.serialization.Communication;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import io.neolab.internship.coins.server.game.player.Player;
 
@@ -12,7 +13,7 @@ public class PlayerSerializer extends JsonSerializer<Player> {
     @Override
     public void serialize(final Player player, final JsonGenerator jsonGenerator,
                           final SerializerProvider serializerProvider) throws IOException {
-        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectMapper mapper = Communication.getMapper();
         jsonGenerator.writeFieldName(mapper.writeValueAsString(player));
     }
 }
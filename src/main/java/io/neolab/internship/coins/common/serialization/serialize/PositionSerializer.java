@@ -3,6 +3,7 @@ package io.neolab.internship.coins.common.serialization.serialize;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.neolab.internship.coins.common.serialization.Communication;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import io.neolab.internship.coins.server.game.board.Position;
 
@@ -12,7 +13,7 @@ public class PositionSerializer extends JsonSerializer<Position> {
     @Override
     public void serialize(final Position position, final JsonGenerator jsonGenerator,
                           final SerializerProvider serializerProvider) throws IOException {
-        final ObjectMapper mapper = new ObjectMapper();
+        final ObjectMapper mapper = Communication.getMapper();
         jsonGenerator.writeFieldName(mapper.writeValueAsString(position));
     }
 }
@@ -0,0 +1,183 @@
+package io.neolab.internship.coins.common.synchronization;
+
+import io.neolab.internship.coins.common.message.server.ServerMessageType;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestion;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionDelta;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionType;
+import io.neolab.internship.coins.common.message.server.state.CellState;
+import io.neolab.internship.coins.common.message.server.state.GameStateDelta;
+import io.neolab.internship.coins.common.message.server.state.PlayerCellsState;
+import io.neolab.internship.coins.common.message.server.state.PlayerState;
+import io.neolab.internship.coins.exceptions.CoinsErrorCode;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Клиентская сторона синхронизации состояния игры.
+ * Хранит локальную копию игры: получает её целиком из PlayerQuestion и далее применяет к ней PlayerQuestionDelta.
+ * Клетки и игроки локальной игры приводятся к единственным экземплярам (по id), чтобы борда, мапы игры
+ * и феодалы клеток ссылались на одни и те же объекты.
+ * Боты получают не локальную игру, а её копию: бот может менять и хранить свою игру,
+ * не ломая применение следующих разниц состояний
+ */
+public class GameStateSynchronizer {
+    private @Nullable IGame game = null;
+    private int version = 0;
+    private final @NotNull Map<Integer, Cell> idToCell = new HashMap<>();
+    private final @NotNull Map<Integer, Player> idToPlayer = new HashMap<>();
+
+    /**
+     * Принять вопрос с полной игрой (снапшот)
+     *
+     * @param playerQuestion - вопрос с полной игрой
+     * @return вопрос с копией локальной игры и игроком из этой копии
+     * @throws CoinsException если игрока вопроса нет в игре
+     */
+    public @NotNull PlayerQuestion applySnapshot(final @NotNull PlayerQuestion playerQuestion)
+            throws CoinsException {
+        final IGame snapshot = playerQuestion.getGame();
+        game = snapshot;
+        version = playerQuestion.getStateVersion();
+        idToCell.clear();
+        idToPlayer.clear();
+        snapshot.getBoard().getPositionToCellMap().values().forEach(cell -> idToCell.put(cell.getId(), cell));
+        snapshot.getPlayers().forEach(player -> idToPlayer.put(player.getId(), player));
+        idToCell.values().forEach(cell -> cell.setFeudal(getCanonicalPlayer(cell.getFeudal())));
+        canonicalize(snapshot.getFeudalToCells());
+        canonicalize(snapshot.getOwnToCells());
+        canonicalize(snapshot.getPlayerToTransitCells());
+        canonicalize(snapshot.getPlayerToAchievableCells());
+        return toQuestion(playerQuestion.getServerMessageType(), playerQuestion.getPlayerQuestionType(),
+                playerQuestion.getPlayer().getId());
+    }
+
+    /**
+     * Применить разницу состояний к локальной игре
+     *
+     * @param playerQuestionDelta - вопрос с разницей состояний
+     * @return вопрос с копией обновлённой локальной игры и игроком из этой копии
+     * @throws CoinsException если локальной игры нет или её версия не совпадает с базовой версией разницы
+     */
+    public @NotNull PlayerQuestion applyDelta(final @NotNull PlayerQuestionDelta playerQuestionDelta)
+            throws CoinsException {
+        final GameStateDelta delta = playerQuestionDelta.getDelta();
+        if (game == null || delta.getBaseVersion() != version) {
+            throw new CoinsException(CoinsErrorCode.STATE_VERSION_MISMATCH);
+        }
+        game.setCurrentRound(delta.getCurrentRound());
+        for (final CellState cellState : delta.getCells()) {
+            final Cell cell = getCell(cellState.getCellId());
+            cell.getUnits().clear();
+            cell.getUnits().addAll(cellState.toUnits());
+            cell.setFeudal(cellState.getFeudalId() != null ? getPlayer(cellState.getFeudalId()) : null);
+            cell.setRace(cellState.getRace());
+        }
+        for (final PlayerState playerState : delta.getPlayers()) {
+            final Player player = getPlayer(playerState.getPlayerId());
+            player.setRace(playerState.getRace());
+            player.setCoins(playerState.getCoins());
+            for (final AvailabilityType availabilityType : AvailabilityType.values()) {
+                final List<Unit> units = player.getUnitsByState(availabilityType);
+                units.clear();
+                playerState.getUnitStateToUnitIds().getOrDefault(availabilityType, Collections.emptyList())
+                        .forEach(unitId -> units.add(new Unit(unitId)));
+            }
+        }
+        for (final PlayerCellsState playerCellsState : delta.getPlayersCells()) {
+            final Player player = getPlayer(playerCellsState.getPlayerId());
+            fillCells(game.getOwnToCells().get(player), playerCellsState.getOwnCellIds());
+            fillCells(game.getFeudalToCells().get(player), playerCellsState.getFeudalCellIds());
+            fillCells(game.getPlayerToTransitCells().get(player), playerCellsState.getTransitCellIds());
+            fillCells(game.getPlayerToAchievableCells().get(player), playerCellsState.getAchievableCellIds());
+        }
+        if (delta.getRacesPool() != null) {
+            game.getRacesPool().clear();
+            game.getRacesPool().addAll(delta.getRacesPool());
+        }
+        version = delta.getVersion();
+        return toQuestion(ServerMessageType.GAME_QUESTION, playerQuestionDelta.getPlayerQuestionType(),
+                playerQuestionDelta.getPlayerId());
+    }
+
+    /**
+     * Собрать вопрос для бота по копии локальной игры
+     *
+     * @param serverMessageType  - тип сообщения
+     * @param playerQuestionType - тип вопроса
+     * @param playerId           - id игрока, которому задан вопрос
+     * @return вопрос с копией игры и игроком из этой копии
+     * @throws CoinsException если игрока нет в игре
+     */
+    private @NotNull PlayerQuestion toQuestion(final @NotNull ServerMessageType serverMessageType,
+                                               final @NotNull PlayerQuestionType playerQuestionType,
+                                               final int playerId) throws CoinsException {
+        final IGame gameCopy = Objects.requireNonNull(game).getCopy();
+        for (final Player player : gameCopy.getPlayers()) {
+            if (player.getId() == playerId) {
+                return new PlayerQuestion(serverMessageType, playerQuestionType, gameCopy, player, version);
+            }
+        }
+        throw new CoinsException(CoinsErrorCode.PLAYER_NOT_FOUND);
+    }
+
+    /**
+     * Заменить клетки и ключи мапы игрок -> клетки на экземпляры из локальной игры
+     *
+     * @param playerToCells - мапа игрок -> клетки
+     * @param <T>           - тип коллекции клеток
+     */
+    private <T extends Collection<Cell>> void canonicalize(final @NotNull Map<Player, T> playerToCells) {
+        final Map<Player, T> entries = new HashMap<>(playerToCells);
+        playerToCells.clear();
+        entries.forEach((player, cells) -> {
+            final List<Cell> canonicalCells = new LinkedList<>();
+            cells.forEach(cell -> canonicalCells.add(idToCell.getOrDefault(cell.getId(), cell)));
+            cells.clear();
+            cells.addAll(canonicalCells);
+            playerToCells.put(getCanonicalPlayer(player), cells);
+        });
+    }
+
+    /**
+     * Заполнить коллекцию клетками локальной игры по их id
+     *
+     * @param cells   - коллекция клеток игрока
+     * @param cellIds - id клеток
+     * @throws CoinsException если клетки с таким id нет
+     */
+    private void fillCells(final @NotNull Collection<Cell> cells, final @NotNull List<Integer> cellIds)
+            throws CoinsException {
+        cells.clear();
+        for (final int cellId : cellIds) {
+            cells.add(getCell(cellId));
+        }
+    }
+
+    private @Nullable Player getCanonicalPlayer(final @Nullable Player player) {
+        return player != null ? idToPlayer.getOrDefault(player.getId(), player) : null;
+    }
+
+    private @NotNull Cell getCell(final int cellId) throws CoinsException {
+        final Cell cell = idToCell.get(cellId);
+        if (cell == null) {
+            throw new CoinsException(CoinsErrorCode.STATE_VERSION_MISMATCH);
+        }
+        return cell;
+    }
+
+    private @NotNull Player getPlayer(final int playerId) throws CoinsException {
+        final Player player = idToPlayer.get(playerId);
+        if (player == null) {
+            throw new CoinsException(CoinsErrorCode.PLAYER_NOT_FOUND);
+        }
+        return player;
+    }
+}
@@ -0,0 +1,109 @@
+package io.neolab.internship.coins.common.synchronization;
+
+import io.neolab.internship.coins.common.message.server.ServerMessage;
+import io.neolab.internship.coins.common.message.server.ServerMessageType;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestion;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionDelta;
+import io.neolab.internship.coins.common.message.server.state.CellState;
+import io.neolab.internship.coins.common.message.server.state.GameStateDelta;
+import io.neolab.internship.coins.common.message.server.state.PlayerCellsState;
+import io.neolab.internship.coins.common.message.server.state.PlayerState;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Серверная сторона синхронизации состояния игры с одним клиентом.
+ * Помнит последнее отправленное клиенту состояние и вместо полной игры отдаёт только разницу с ним.
+ * Полная игра (снапшот) отправляется один раз на игру - при первом вопросе по новому объекту игры.
+ * Процессоры меняют клетки и игроков напрямую, поэтому изменения ищутся обходом игры, но новые состояния
+ * создаются только для изменившихся клеток и игроков
+ */
+public class GameStateTracker {
+    private @Nullable IGame trackedGame = null;
+    private int version = 0;
+    private final @NotNull Map<Integer, CellState> cellStates = new HashMap<>();
+    private final @NotNull Map<Integer, PlayerState> playerStates = new HashMap<>();
+    private final @NotNull Map<Integer, PlayerCellsState> playerCellsStates = new HashMap<>();
+    private @NotNull List<Race> racesPool = new LinkedList<>();
+
+    /**
+     * Преобразовать вопрос игроку в сообщение для отправки клиенту
+     *
+     * @param playerQuestion - вопрос игроку с полной игрой
+     * @return сам вопрос со снапшотом, если клиент ещё не видел эту игру, иначе вопрос с разницей состояний
+     */
+    public @NotNull ServerMessage toMessage(final @NotNull PlayerQuestion playerQuestion) {
+        final IGame game = playerQuestion.getGame();
+        if (game != trackedGame) {
+            reset(game);
+            collectDelta(game);
+            return new PlayerQuestion(playerQuestion.getServerMessageType(), playerQuestion.getPlayerQuestionType(),
+                    game, playerQuestion.getPlayer(), version);
+        }
+        return new PlayerQuestionDelta(ServerMessageType.GAME_QUESTION_DELTA,
+                playerQuestion.getPlayerQuestionType(), playerQuestion.getPlayer().getId(), collectDelta(game));
+    }
+
+    /**
+     * Начать отслеживать новую игру
+     *
+     * @param game - игра
+     */
+    private void reset(final @NotNull IGame game) {
+        trackedGame = game;
+        cellStates.clear();
+        playerStates.clear();
+        playerCellsStates.clear();
+        racesPool = new LinkedList<>(game.getRacesPool());
+    }
+
+    /**
+     * Сравнить текущее состояние игры с последним отправленным и запомнить текущее
+     *
+     * @param game - игра
+     * @return разница состояний
+     */
+    private @NotNull GameStateDelta collectDelta(final @NotNull IGame game) {
+        final int baseVersion = version;
+        version++;
+        final List<CellState> changedCells = new LinkedList<>();
+        for (final Cell cell : game.getBoard().getPositionToCellMap().values()) {
+            final CellState sentCellState = cellStates.get(cell.getId());
+            if (sentCellState == null || !sentCellState.matches(cell)) {
+                final CellState cellState = CellState.of(cell);
+                cellStates.put(cell.getId(), cellState);
+                changedCells.add(cellState);
+            }
+        }
+        final List<PlayerState> changedPlayers = new LinkedList<>();
+        final List<PlayerCellsState> changedPlayersCells = new LinkedList<>();
+        for (final Player player : game.getPlayers()) {
+            final PlayerState sentPlayerState = playerStates.get(player.getId());
+            if (sentPlayerState == null || !sentPlayerState.matches(player)) {
+                final PlayerState playerState = PlayerState.of(player);
+                playerStates.put(player.getId(), playerState);
+                changedPlayers.add(playerState);
+            }
+            final PlayerCellsState playerCellsState = PlayerCellsState.of(game, player);
+            if (!playerCellsState.equals(playerCellsStates.put(player.getId(), playerCellsState))) {
+                changedPlayersCells.add(playerCellsState);
+            }
+        }
+        List<Race> changedRacesPool = null;
+        if (!racesPool.equals(game.getRacesPool())) {
+            racesPool = new LinkedList<>(game.getRacesPool());
+            changedRacesPool = new LinkedList<>(racesPool);
+        }
+        return new GameStateDelta(baseVersion, version, game.getCurrentRound(),
+                changedCells, changedPlayers, changedPlayersCells, changedRacesPool);
+    }
+}
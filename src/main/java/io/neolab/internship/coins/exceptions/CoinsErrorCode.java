@@ -13,7 +13,7 @@ public enum CoinsErrorCode {
     ANSWER_VALIDATION_NO_AVAILABLE_UNITS("No available units for cell attempt"),
     ANSWER_VALIDATION_CELL_CAPTURE_IMPOSSIBLE("Cell capture impossible"),
     ANSWER_VALIDATION_NO_PLACE_FOR_DISTRIBUTION("No place for distribution"),
-    ANSWER_VALIDATION_NOT_ENOUGH_UNITS("No enough units for distribution"),
+    ANSWER_VALIDATION_NOT_ENOUGH_UNITS("Not enough units"),
     PLAYERS_LIST_IS_NULL("List of players is null"),
     QUESTION_TYPE_NOT_FOUND("Type of question not found"),
     MESSAGE_TYPE_NOT_FOUND("Type of message not found"),
@@ -26,6 +26,8 @@ public enum CoinsErrorCode {
     ACTION_TYPE_NOT_FOUND("Action type not found"),
     PLAYER_NOT_FOUND("Player not found"),
     LOGIC_ERROR("Logic error"),
+    STATE_VERSION_MISMATCH("Game state version mismatch"),
+    SEARCH_TIME_IS_UP("Search time is up"),
     ;
 
     private final @NotNull String message;
@@ -2,6 +2,7 @@ package io.neolab.internship.coins.server;
 
 import io.neolab.internship.coins.common.message.client.ClientMessage;
 import io.neolab.internship.coins.common.message.client.ClientMessageType;
+import io.neolab.internship.coins.common.message.client.GameReadyMessage;
 import io.neolab.internship.coins.common.message.client.answer.Answer;
 import io.neolab.internship.coins.common.message.client.answer.CatchCellAnswer;
 import io.neolab.internship.coins.common.message.client.answer.DeclineRaceAnswer;
@@ -11,7 +12,9 @@ import io.neolab.internship.coins.common.message.server.ServerMessage;
 import io.neolab.internship.coins.common.message.server.ServerMessageType;
 import io.neolab.internship.coins.common.message.server.question.PlayerQuestion;
 import io.neolab.internship.coins.common.message.server.question.PlayerQuestionType;
-import io.neolab.internship.coins.common.serialization.Communication;
+import io.neolab.internship.coins.common.serialization.codec.MessageCodec;
+import io.neolab.internship.coins.common.serialization.codec.MessageCodecType;
+import io.neolab.internship.coins.common.synchronization.GameStateTracker;
 import io.neolab.internship.coins.exceptions.CoinsErrorCode;
 import io.neolab.internship.coins.exceptions.CoinsException;
 import io.neolab.internship.coins.server.game.Game;
@@ -19,6 +22,10 @@ import io.neolab.internship.coins.server.game.IGame;
 import io.neolab.internship.coins.server.game.board.Cell;
 import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.server.service.*;
+import io.neolab.internship.coins.server.service.event.GameEventLog;
+import io.neolab.internship.coins.server.service.event.GameEventVerbosity;
+import io.neolab.internship.coins.server.service.event.GameEvents;
+import io.neolab.internship.coins.server.service.event.JsonLinesGameEventSink;
 import io.neolab.internship.coins.utils.AvailabilityType;
 import io.neolab.internship.coins.utils.ClientServerProcessor;
 import io.neolab.internship.coins.utils.LogCleaner;
@@ -28,18 +35,28 @@ import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
+import java.io.File;
 import java.io.IOException;
-import java.net.ServerSocket;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.Socket;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 
 public class Server implements IServer {
@@ -55,39 +72,77 @@ public class Server implements IServer {
     private int boardSizeX;
     private int boardSizeY;
 
+    private @NotNull GameEventVerbosity[] gameEventsVerbosities = {}; // id лобби - 1 -> подробность логов его игр
+    private int gameEventsBufferSize;
+
     private final @NotNull List<GameLobby> gameLobbies = new LinkedList<>();
 
+    /**
+     * Единственный слушающий канал сервера, живёт всё время работы сервера.
+     * Подключения принимает один поток по готовности канала (selector)
+     */
+    private @Nullable ServerSocketChannel serverChannel;
+    private @Nullable Selector acceptSelector;
+
+    /**
+     * Очередь групп принятых клиентов: в каждой группе клиентов ровно на одно лобби.
+     * Лобби забирают группы целиком, поэтому заполняются одновременно и без блокировок
+     */
+    private final @NotNull BlockingQueue<List<ServerSomething>> acceptedClientGroups = new LinkedBlockingQueue<>();
+
+    /**
+     * Общий для всех лобби пул, в котором клиенты вводят никнэймы
+     */
+    private final @NotNull ExecutorService playerInitializers = Executors.newCachedThreadPool();
+
     private class GameLobby {
         private final int lobbyId;
         private final @NotNull ConcurrentLinkedQueue<ServerSomething> gameClients = new ConcurrentLinkedQueue<>();
         private final int clientsCount;
         private final int gamesCount;
+        private final @NotNull GameEventLog gameEventLog; // пишет события игр лобби, пока работает сервер
 
         private GameLobby(final int lobbyId, final int clientsCount, final int gamesCount) {
             this.lobbyId = lobbyId;
             this.clientsCount = clientsCount;
             this.gamesCount = gamesCount;
+            this.gameEventLog = createGameEventLog();
+        }
+
+        /**
+         * Создать лог событий игр лобби: события дописываются в файл lobby-{id}_events.jsonl в директории логов.
+         * Если файл не открывается, события не пишутся, а подробность текстовых логов сохраняется
+         *
+         * @return лог событий
+         */
+        private @NotNull GameEventLog createGameEventLog() {
+            final String name = "lobby-" + lobbyId;
+            final GameEventVerbosity verbosity = gameEventsVerbosities[lobbyId - 1];
+            JsonLinesGameEventSink sink = null;
+            if (verbosity != GameEventVerbosity.OFF) {
+                try {
+                    final File logDirectory = new File(LogCleaner.loadLogDirectory());
+                    if (logDirectory.exists() || logDirectory.mkdirs()) {
+                        sink = JsonLinesGameEventSink.toFile(
+                                new File(logDirectory, "coins_" + name + "_events.jsonl").getPath());
+                    }
+                } catch (final IOException exception) {
+                    LOGGER.error("Game events file of lobby {} is not opened", lobbyId, exception);
+                }
+            }
+            return new GameEventLog(name, verbosity, sink, gameEventsBufferSize);
         }
 
         /**
-         * Подключить клиентов к лобби
+         * Подключить клиентов к лобби: забрать их из очереди принятых соединений
          *
          * @throws IOException при ошибке подключения
          */
         private void connectClients()
                 throws IOException, CoinsException, InterruptedException {
 
-            int currentClientsCount = 1;
-            synchronized (GameLobby.class) { // чтобы лобби пополнялись по ходу подключений клиентов
-                final ExecutorService clientConnectors = Executors.newFixedThreadPool(clientsCount);
-                while (currentClientsCount <= clientsCount) {
-                    final int currentClientId = currentClientsCount;
-                    clientConnectors.execute(() -> connectClient(currentClientId, gameClients));
-                    currentClientsCount++;
-                }
-                clientConnectors.shutdown();
-                clientConnectors.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
-            }
+            gameClients.addAll(acceptedClientGroups.take());
+            LOGGER.info("{} clients connected to lobby {}", gameClients.size(), lobbyId);
             try (final LoggerFile ignored = new LoggerFile("lobby-" + lobbyId + "_connecting-clients")) {
                 LOGGER.info("All clients of lobby {} is connected", lobbyId);
                 initPlayers();
@@ -97,45 +152,16 @@ public class Server implements IServer {
             }
         }
 
-        /**
-         * Подключить клиента
-         *
-         * @param currentClientId - текущий id клиента
-         * @param clients         - очередь клиентов
-         */
-        private void connectClient(final int currentClientId,
-                                   final @NotNull ConcurrentLinkedQueue<ServerSomething> clients) {
-            try (final LoggerFile ignored =
-                         new LoggerFile("lobby-" + lobbyId + "_connecting-client-" + currentClientId)) {
-                Socket socket = null;
-                while (true) {
-                    try {
-                        socket = getSocket();
-                        LOGGER.info("Client {} connects", currentClientId);
-                        clients.add(new ServerSomething(socket));
-                        LOGGER.info("Client {} connected", currentClientId);
-                    } catch (final IOException exception) {
-                        LOGGER.error("Error!", exception);
-                        if (socket != null) {
-                            closeSocket(socket);
-                        }
-                        continue;
-                    }
-                    break;
-                }
-            }
-        }
-
         private void initPlayers() throws InterruptedException {
-            final ExecutorService playerInitializers = Executors.newFixedThreadPool(clientsCount);
-            int currentClientsCount = 1;
-            while (currentClientsCount <= clientsCount) {
-                final int currentClientId = currentClientsCount;
-                playerInitializers.execute(() -> initPlayer(currentClientId));
-                currentClientsCount++;
+            final List<Callable<Void>> initializers = new ArrayList<>(clientsCount);
+            for (int i = 1; i <= clientsCount; i++) {
+                final int currentClientId = i;
+                initializers.add(() -> {
+                    initPlayer(currentClientId);
+                    return null;
+                });
             }
-            playerInitializers.shutdown();
-            playerInitializers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            playerInitializers.invokeAll(initializers);
             LOGGER.info("All players of lobby {} is initialized", lobbyId);
         }
 
@@ -173,6 +199,9 @@ public class Server implements IServer {
                 if (clientMessage.getMessageType() != ClientMessageType.GAME_READY) {
                     throw new CoinsException(CoinsErrorCode.CLIENT_DISCONNECTION);
                 }
+                if (clientMessage instanceof GameReadyMessage) { // клиент выбрал кодек сообщений
+                    serverSomething.codec = ((GameReadyMessage) clientMessage).getCodecType().getCodec();
+                }
             }
             LOGGER.info("All clients of lobby {} is ready", lobbyId);
         }
@@ -216,8 +245,10 @@ public class Server implements IServer {
     private static class ServerSomething {
 
         private final @NotNull Socket socket;
-        private final @NotNull BufferedReader in; // поток чтения из сокета
-        private final @NotNull BufferedWriter out; // поток записи в сокет
+        private final @NotNull InputStream in; // поток чтения из сокета
+        private final @NotNull OutputStream out; // поток записи в сокет
+        private @NotNull MessageCodec codec = MessageCodecType.JSON.getCodec(); // до handShake - всегда json
+        private final @NotNull GameStateTracker gameStateTracker = new GameStateTracker();
         private @Nullable Player player;
 
         /**
@@ -227,8 +258,8 @@ public class Server implements IServer {
          */
         private ServerSomething(final @NotNull Socket socket) throws IOException {
             this.socket = socket;
-            in = ClientServerProcessor.initReaderBySocket(socket);
-            out = ClientServerProcessor.initWriterBySocket(socket);
+            in = ClientServerProcessor.initInputStreamBySocket(socket);
+            out = ClientServerProcessor.initOutputStreamBySocket(socket);
         }
 
         /**
@@ -292,12 +323,25 @@ public class Server implements IServer {
          * @throws IOException в случае ошибки отправки сообщения
          */
         private void sendServerMessage(final @NotNull ServerMessage message) throws IOException {
-            if (player != null) {
+            if (!GameEvents.isTextLogOn()) {
+                LOGGER.debug("Output message {} ", message.getServerMessageType());
+            } else if (player != null) {
                 LOGGER.info("Output message to player {}: {} ", player.getNickname(), message);
             } else {
                 LOGGER.info("Output message: {} ", message);
             }
-            ClientServerProcessor.sendMessage(out, Communication.serializeServerMessage(message));
+            codec.writeServerMessage(out, message);
+        }
+
+        /**
+         * Отправить вопрос клиенту: игра целиком отправляется только в первом вопросе по ней,
+         * далее - только разница с последним отправленным состоянием
+         *
+         * @param playerQuestion - вопрос игроку
+         * @throws IOException в случае ошибки отправки сообщения
+         */
+        private void sendPlayerQuestion(final @NotNull PlayerQuestion playerQuestion) throws IOException {
+            sendServerMessage(gameStateTracker.toMessage(playerQuestion));
         }
 
         /**
@@ -307,8 +351,12 @@ public class Server implements IServer {
          * @throws IOException в случае ошибки получения сообщения
          */
         private ClientMessage readClientMessage() throws IOException {
-            final ClientMessage clientMessage = Communication.deserializeClientMessage(in.readLine());
-            LOGGER.info("Input message: {} ", clientMessage);
+            final ClientMessage clientMessage = codec.readClientMessage(in);
+            if (GameEvents.isTextLogOn()) {
+                LOGGER.info("Input message: {} ", clientMessage);
+            } else {
+                LOGGER.debug("Input message {} ", clientMessage.getMessageType());
+            }
             return clientMessage;
         }
 
@@ -318,7 +366,7 @@ public class Server implements IServer {
          * @return true, если да, false - иначе
          */
         private boolean isCameClientMessage() throws IOException {
-            return in.ready();
+            return in.available() > 0;
         }
 
         /**
@@ -350,6 +398,11 @@ public class Server implements IServer {
         boardSizeY = serverConfigResource.getBoardSizeY();
         timeoutMillis = serverConfigResource.getTimeoutMillis();
         clientDisconnectAttempts = serverConfigResource.getClientDisconnectAttempts();
+        gameEventsVerbosities = new GameEventVerbosity[gameLobbiesCount];
+        for (int i = 0; i < gameLobbiesCount; i++) {
+            gameEventsVerbosities[i] = serverConfigResource.getGameEventsVerbosity(i + 1);
+        }
+        gameEventsBufferSize = serverConfigResource.getGameEventsBufferSize();
     }
 
     @Override
@@ -358,7 +411,9 @@ public class Server implements IServer {
             try {
                 LogCleaner.clean();
                 loadConfig();
+                openServerSocket();
                 LOGGER.info("Server started, port: {}", port);
+                startAcceptor();
                 final ExecutorService threadPool = Executors.newFixedThreadPool(gameLobbiesCount);
                 for (int i = 1; i <= gameLobbiesCount; i++) {
                     final int lobbyId = i;
@@ -369,6 +424,8 @@ public class Server implements IServer {
             } catch (final IOException | InterruptedException | CoinsException exception) {
                 LOGGER.error("Error!!!", exception);
             } finally {
+                closeServerSocket();
+                playerInitializers.shutdownNow();
                 disconnectAllClients();
                 LOGGER.info("Server finished");
             }
@@ -390,6 +447,7 @@ public class Server implements IServer {
     @SuppressWarnings("InfiniteLoopStatement")
     private void startLobby(final int lobbyId) {
         final GameLobby gameLobby = new GameLobby(lobbyId, clientsCountInLobby, gamesCount);
+        GameEvents.setCurrentLog(gameLobby.gameEventLog); // игры лобби идут в этом потоке
         while (true) {
             try {
                 gameLobby.connectClients();
@@ -414,14 +472,100 @@ public class Server implements IServer {
     }
 
     /**
-     * Взять (accept) сокет
+     * Открыть слушающий канал сервера в неблокирующем режиме
+     *
+     * @throws IOException при ошибке открытия канала
+     */
+    private void openServerSocket() throws IOException {
+        final ServerSocketChannel channel = ServerSocketChannel.open();
+        channel.socket().setReuseAddress(true);
+        channel.bind(new InetSocketAddress(port));
+        channel.configureBlocking(false);
+        final Selector selector = Selector.open();
+        channel.register(selector, SelectionKey.OP_ACCEPT);
+        serverChannel = channel;
+        acceptSelector = selector;
+    }
+
+    /**
+     * Закрыть слушающий канал сервера
+     */
+    private void closeServerSocket() {
+        try {
+            if (acceptSelector != null) {
+                acceptSelector.close(); // поток-приёмник выходит из select
+            }
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (final IOException exception) {
+            LOGGER.error("Error!", exception);
+        }
+        acceptSelector = null;
+        serverChannel = null;
+    }
+
+    /**
+     * Запустить поток, принимающий подключения по готовности канала и складывающий их группами для лобби
+     */
+    private void startAcceptor() {
+        final ServerSocketChannel listener = Objects.requireNonNull(serverChannel);
+        final Selector selector = Objects.requireNonNull(acceptSelector);
+        final Thread acceptor = new Thread(() -> {
+            try (final LoggerFile ignored = new LoggerFile("server_acceptor")) {
+                final List<ServerSomething> group = new ArrayList<>(clientsCountInLobby); // набирающаяся группа
+                while (selector.isOpen()) {
+                    selector.select();
+                    selector.selectedKeys().clear();
+                    acceptClients(listener, group);
+                }
+            } catch (final IOException | ClosedSelectorException exception) {
+                if (selector.isOpen()) {
+                    LOGGER.error("Error!", exception);
+                }
+            }
+        }, "acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    /**
+     * Принять все ожидающие подключения. Клиенты копятся в группе, полная группа уходит в очередь лобби
      *
-     * @return взятый сокет
-     * @throws IOException при ошибке взятия сокета
+     * @param listener - слушающий канал
+     * @param group    - набирающаяся группа клиентов
+     */
+    private void acceptClients(final @NotNull ServerSocketChannel listener,
+                               final @NotNull List<ServerSomething> group) {
+        SocketChannel channel;
+        while ((channel = acceptChannel(listener)) != null) {
+            try {
+                channel.configureBlocking(true); // игра общается с клиентом потоками ввода-вывода
+                group.add(new ServerSomething(channel.socket()));
+                LOGGER.info("Client accepted: {}", channel.getRemoteAddress());
+            } catch (final IOException exception) {
+                LOGGER.error("Error!", exception);
+                closeSocket(channel.socket());
+            }
+            if (group.size() == clientsCountInLobby) {
+                acceptedClientGroups.add(new ArrayList<>(group));
+                group.clear();
+            }
+        }
+    }
+
+    /**
+     * @param listener - слушающий канал
+     * @return принятое подключение или null, если ожидающих подключений нет
      */
-    private synchronized @NotNull Socket getSocket() throws IOException {
-        try (final ServerSocket serverSocket = new ServerSocket(port)) {
-            return serverSocket.accept();
+    private @Nullable SocketChannel acceptChannel(final @NotNull ServerSocketChannel listener) {
+        try {
+            return listener.accept();
+        } catch (final IOException exception) {
+            if (listener.isOpen()) {
+                LOGGER.error("Error!", exception);
+            }
+            return null;
         }
     }
 
@@ -434,6 +578,7 @@ public class Server implements IServer {
     private void startGame(final int gameId, final @NotNull GameLobby gameLobby) throws CoinsException, IOException {
         try (final LoggerFile ignored = new LoggerFile("lobby-" + gameLobby.lobbyId + "_game-" + gameId)) {
             final IGame game = gameInit(gameLobby.gameClients);
+            GameEvents.gameCreated(gameId, boardSizeX, boardSizeY, game.getPlayers().size());
             GameLogger.printStartGameChoiceLog();
             for (final ServerSomething serverSomething : gameLobby.gameClients) {
                 chooseRace(serverSomething, game);
@@ -471,6 +616,7 @@ public class Server implements IServer {
         while (game.getCurrentRound() < Game.ROUNDS_COUNT) {
             game.incrementCurrentRound();
             GameLogger.printRoundBeginLog(game.getCurrentRound());
+            GameEvents.roundBegin(game.getCurrentRound());
             for (final ServerSomething serverSomething : clients) {
                 GameLogger.printNextPlayerLog(serverSomething.getPlayer());
                 playerRound(serverSomething, game); // раунд игрока. Все свои решения он принимает здесь
@@ -491,6 +637,7 @@ public class Server implements IServer {
                               final @NotNull GameLobby gameLobby)
             throws CoinsException, IOException {
         final List<Player> winners = GameFinalizer.finalization(game.getPlayers());
+        game.getPlayers().forEach(GameEvents::gameOver);
         final GameOverMessage gameOverMessage =
                 new GameOverMessage(ServerMessageType.GAME_OVER, winners, game.getPlayers());
         for (final ServerSomething serverSomething : gameLobby.gameClients) {
@@ -509,7 +656,7 @@ public class Server implements IServer {
      *
      * @param socket - сокет, который необходимо закрыть
      */
-    private synchronized void closeSocket(final @NotNull Socket socket) {
+    private void closeSocket(final @NotNull Socket socket) {
         try {
             socket.close();
         } catch (final IOException e) {
@@ -531,7 +678,7 @@ public class Server implements IServer {
         final PlayerQuestion playerQuestion =
                 new PlayerQuestion(ServerMessageType.GAME_QUESTION,
                         PlayerQuestionType.CHANGE_RACE, game, serverSomething.getPlayer());
-        serverSomething.sendServerMessage(playerQuestion);
+        serverSomething.sendPlayerQuestion(playerQuestion);
         final ClientMessage clientMessage = serverSomething.readClientMessage();
         checkOnDisconnect(clientMessage);
         GameAnswerProcessor.process(playerQuestion, (Answer) clientMessage);
@@ -584,7 +731,7 @@ public class Server implements IServer {
         final Player player = serverSomething.getPlayer();
         final PlayerQuestion declineRaceQuestion = new PlayerQuestion(ServerMessageType.GAME_QUESTION,
                 PlayerQuestionType.DECLINE_RACE, game, player);
-        serverSomething.sendServerMessage(declineRaceQuestion);
+        serverSomething.sendPlayerQuestion(declineRaceQuestion);
         final ClientMessage clientMessage = serverSomething.readClientMessage();
         checkOnDisconnect(clientMessage);
         final Answer answer = (Answer) clientMessage;
@@ -606,7 +753,7 @@ public class Server implements IServer {
      */
     private void processChangeRace(final @NotNull PlayerQuestion changeRaceQuestion,
                                    final @NotNull ServerSomething serverSomething) throws IOException, CoinsException {
-        serverSomething.sendServerMessage(changeRaceQuestion);
+        serverSomething.sendPlayerQuestion(changeRaceQuestion);
         final ClientMessage clientMessage = serverSomething.readClientMessage();
         checkOnDisconnect(clientMessage);
         GameAnswerProcessor.process(changeRaceQuestion, (Answer) clientMessage);
@@ -660,7 +807,7 @@ public class Server implements IServer {
     private CatchCellAnswer getCatchCellAnswer(final @NotNull PlayerQuestion catchCellQuestion,
                                                final @NotNull ServerSomething serverSomething)
             throws IOException, CoinsException {
-        serverSomething.sendServerMessage(catchCellQuestion);
+        serverSomething.sendPlayerQuestion(catchCellQuestion);
         final ClientMessage clientMessage = serverSomething.readClientMessage();
         checkOnDisconnect(clientMessage);
         return (CatchCellAnswer) clientMessage;
@@ -699,7 +846,7 @@ public class Server implements IServer {
             throws IOException, CoinsException {
         final PlayerQuestion distributionQuestion = new PlayerQuestion(ServerMessageType.GAME_QUESTION,
                 PlayerQuestionType.DISTRIBUTION_UNITS, game, serverSomething.getPlayer());
-        serverSomething.sendServerMessage(distributionQuestion);
+        serverSomething.sendPlayerQuestion(distributionQuestion);
         final ClientMessage clientMessage = serverSomething.readClientMessage();
         checkOnDisconnect(clientMessage);
         GameAnswerProcessor.process(distributionQuestion, (Answer) clientMessage);
@@ -2,9 +2,13 @@ package io.neolab.internship.coins.server;
 
 import io.neolab.internship.coins.exceptions.CoinsErrorCode;
 import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.service.event.GameEventLog;
+import io.neolab.internship.coins.server.service.event.GameEventVerbosity;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
@@ -12,6 +16,7 @@ import java.util.Properties;
  */
 public class ServerConfigResource {
     public static final String CONFIG_PATH = "src/main/resources/server.properties";
+    private static final String LOBBY_VERBOSITY_PREFIX = "game-events.verbosity.lobby_";
 
     private final int port;
     private final int clientsCount;
@@ -23,6 +28,10 @@ public class ServerConfigResource {
     private final int boardSizeX;
     private final int boardSizeY;
 
+    private final GameEventVerbosity gameEventsVerbosity; // для лобби без своей настройки
+    private final Map<Integer, GameEventVerbosity> lobbyIdToGameEventsVerbosity = new HashMap<>();
+    private final int gameEventsBufferSize;
+
     ServerConfigResource() throws CoinsException {
         try (final FileInputStream serverConfigFis = new FileInputStream(CONFIG_PATH)) {
             final Properties property = new Properties();
@@ -35,6 +44,16 @@ public class ServerConfigResource {
             boardSizeY = Integer.parseInt(property.getProperty("board.size_y"));
             timeoutMillis = Integer.parseInt(property.getProperty("timeout.millis"));
             clientDisconnectAttempts = Integer.parseInt(property.getProperty("client.disconnect_attempts"));
+            gameEventsVerbosity = GameEventVerbosity.valueOf(
+                    property.getProperty("game-events.verbosity", GameEventVerbosity.FULL.name()));
+            for (final String name : property.stringPropertyNames()) {
+                if (name.startsWith(LOBBY_VERBOSITY_PREFIX)) {
+                    lobbyIdToGameEventsVerbosity.put(Integer.parseInt(name.substring(LOBBY_VERBOSITY_PREFIX.length())),
+                            GameEventVerbosity.valueOf(property.getProperty(name)));
+                }
+            }
+            gameEventsBufferSize = Integer.parseInt(property.getProperty("game-events.buffer_size",
+                    String.valueOf(GameEventLog.DEFAULT_CAPACITY)));
 
         } catch (final IOException e) {
             throw new CoinsException(CoinsErrorCode.SERVER_CONFIG_LOADING_FAILED);
@@ -72,4 +91,16 @@ public class ServerConfigResource {
     int getClientDisconnectAttempts() {
         return clientDisconnectAttempts;
     }
+
+    /**
+     * @param lobbyId - id лобби
+     * @return подробность логгирования игр лобби
+     */
+    GameEventVerbosity getGameEventsVerbosity(final int lobbyId) {
+        return lobbyIdToGameEventsVerbosity.getOrDefault(lobbyId, gameEventsVerbosity);
+    }
+
+    int getGameEventsBufferSize() {
+        return gameEventsBufferSize;
+    }
 }
@@ -7,7 +7,9 @@ import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import io.neolab.internship.coins.common.serialization.deserialize.PlayerKeyDeserializer;
 import io.neolab.internship.coins.common.serialization.serialize.PlayerSerializer;
+import io.neolab.internship.coins.server.game.board.ArrayBoard;
 import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.CellMask;
 import io.neolab.internship.coins.server.game.board.IBoard;
 import io.neolab.internship.coins.server.game.feature.GameFeatures;
 import io.neolab.internship.coins.server.game.player.Player;
@@ -18,7 +20,6 @@ import io.neolab.internship.coins.server.game.player.Unit;
 
 import java.io.Serializable;
 import java.util.*;
-import java.util.stream.Collectors;
 
 public class Game implements IGame, Serializable {
 
@@ -97,6 +98,18 @@ public class Game implements IGame, Serializable {
         this.gameFeatures = gameFeatures;
         this.racesPool = racesPool;
         this.players = players;
+        bindCellsToBoard();
+    }
+
+    /**
+     * На индексированной борде клетки игроков хранятся в коллекциях с масками (см. CellMask):
+     * маски обновляются теми же вызовами, что меняют коллекции, и не сериализуются
+     */
+    private void bindCellsToBoard() {
+        feudalToCells.replaceAll((player, cells) -> CellMask.toCellSet(board, cells));
+        ownToCells.replaceAll((player, cells) -> CellMask.toCellList(board, cells));
+        playerToTransitCells.replaceAll((player, cells) -> CellMask.toCellList(board, cells));
+        playerToAchievableCells.replaceAll((player, cells) -> CellMask.toCellSet(board, cells));
     }
 
     @Contract(pure = true)
@@ -105,20 +118,32 @@ public class Game implements IGame, Serializable {
     public @NotNull Game getCopy() {
         final IBoard board = this.board.getCopy();
         final List<Player> players = new LinkedList<>();
-        this.players.forEach(player -> players.add(player.getCopy()));
+        final Map<Player, Player> playerToCopy = new HashMap<>(this.players.size());
+        this.players.forEach(player -> {
+            final Player playerCopy = player.getCopy();
+            players.add(playerCopy);
+            playerToCopy.put(player, playerCopy);
+        });
         final Map<Player, Set<Cell>> feudalToCells =
-                getCopyPlayerToCellsSet(this.feudalToCells, true, this.board, board, players);
+                getCopyPlayerToCellsSet(this.feudalToCells, true, this.board, board, playerToCopy);
         final Map<Player, List<Cell>> ownToCells =
-                getCopyPlayerToCellsList(this.ownToCells, true, this.board, board, players);
+                getCopyPlayerToCellsList(this.ownToCells, true, this.board, board, playerToCopy);
         final Map<Player, List<Cell>> playerToTransitCells =
-                getCopyPlayerToCellsList(this.playerToTransitCells, false, this.board, board, players);
+                getCopyPlayerToCellsList(this.playerToTransitCells, false, this.board, board, playerToCopy);
         final Map<Player, Set<Cell>> playerToAchievableCells =
-                getCopyPlayerToCellsSet(this.playerToAchievableCells, false, this.board, board, players);
+                getCopyPlayerToCellsSet(this.playerToAchievableCells, false, this.board, board, playerToCopy);
 
         return new Game(board, this.currentRound, feudalToCells, ownToCells, playerToTransitCells,
                 playerToAchievableCells, this.gameFeatures, new LinkedList<>(this.racesPool), players);
     }
 
+    @Contract(pure = true)
+    @JsonIgnore
+    @Override
+    public @NotNull GameCheckpoint createCheckpoint() {
+        return new GameCheckpoint(this);
+    }
+
     /**
      * Взять копию мапы игрок -> список клеток
      *
@@ -126,29 +151,30 @@ public class Game implements IGame, Serializable {
      * @param isOwn             - если это мапа ownToCells
      * @param board             - оригинальная борда
      * @param boardCopy         - копия борды
-     * @param copyPlayers       - список копий игроков
+     * @param playerToCopy      - отображение игроков в их копии
      * @return копию мапы игрок -> список клеток
      */
     private static Map<Player, List<Cell>> getCopyPlayerToCellsList(final Map<Player, List<Cell>> playerToCellsList,
                                                                     final boolean isOwn,
                                                                     final IBoard board, final IBoard boardCopy,
-                                                                    final List<Player> copyPlayers) {
+                                                                    final Map<Player, Player> playerToCopy) {
         final Map<Player, List<Cell>> playerToCellsListCopy = new HashMap<>(playerToCellsList.size());
         playerToCellsList.forEach((player, cells) -> {
-            final List<Cell> cellsCopy = new LinkedList<>();
-            cells.forEach(cell ->
-                    cellsCopy.add(boardCopy.getCellByPosition(board.getPositionByCell(cell))));
-            final Player playerCopy = findPlayerCopy(player, copyPlayers);
+            final List<Cell> cellsCopy = CellMask.newCellList(boardCopy);
+            cells.forEach(cell -> cellsCopy.add(findCellCopy(cell, board, boardCopy)));
+            final Player playerCopy = findPlayerCopy(player, playerToCopy);
             if (isOwn) {
-                /* Добавляем в копии клеток ссылки на тех юнитов, которые имеются у копии соответствующего игрока */
+                /* Упорядочиваем юнитов в копиях клеток так же, как они идут у копии соответствующего игрока */
                 cellsCopy.forEach(cell -> {
                     final List<Unit> unitList = cell.getUnits();
-                    final int unitListSize = unitList.size();
+                    final Set<Unit> cellUnits = new HashSet<>(unitList);
+                    unitList.clear();
                     playerCopy.getUnitStateToUnits().values().forEach(units ->
-                            unitList.addAll(units.stream()
-                                    .filter(cell.getUnits()::contains)
-                                    .collect(Collectors.toList())));
-                    cell.getUnits().subList(0, unitListSize).clear();
+                            units.forEach(unit -> {
+                                if (cellUnits.contains(unit)) {
+                                    unitList.add(unit);
+                                }
+                            }));
                 });
             }
             playerToCellsListCopy.put(playerCopy, cellsCopy);
@@ -163,19 +189,18 @@ public class Game implements IGame, Serializable {
      * @param isFeudal         - если это мапа feudalToCells
      * @param board            - оригинальная борда
      * @param boardCopy        - копия борды
-     * @param copyPlayers      - список копий игроков
+     * @param playerToCopy     - отображение игроков в их копии
      * @return копию мапы игрок -> список клеток
      */
     private static Map<Player, Set<Cell>> getCopyPlayerToCellsSet(final Map<Player, Set<Cell>> playerToCellsSet,
                                                                   final boolean isFeudal,
                                                                   final IBoard board, final IBoard boardCopy,
-                                                                  final List<Player> copyPlayers) {
+                                                                  final Map<Player, Player> playerToCopy) {
         final Map<Player, Set<Cell>> playerToCellsSetCopy = new HashMap<>(playerToCellsSet.size());
         playerToCellsSet.forEach((player, cells) -> {
-            final Set<Cell> cellsCopy = new HashSet<>(cells.size());
-            cells.forEach(cell ->
-                    cellsCopy.add(boardCopy.getCellByPosition(board.getPositionByCell(cell))));
-            final Player playerCopy = findPlayerCopy(player, copyPlayers);
+            final Set<Cell> cellsCopy = CellMask.newCellSet(boardCopy);
+            cells.forEach(cell -> cellsCopy.add(findCellCopy(cell, board, boardCopy)));
+            final Player playerCopy = findPlayerCopy(player, playerToCopy);
             if (isFeudal) {
                 cellsCopy.forEach(cell -> cell.setFeudal(playerCopy));
             }
@@ -185,17 +210,30 @@ public class Game implements IGame, Serializable {
     }
 
     /**
-     * Найти копию игрока в списке
+     * Найти копию клетки на копии борды. Для ArrayBoard это индексный доступ без поиска позиции
      *
-     * @param player      - игрок, копию которого нужно найти
-     * @param copyPlayers - список копий игроков
+     * @param cell      - клетка оригинальной борды
+     * @param board     - оригинальная борда
+     * @param boardCopy - копия борды
+     * @return копию клетки
+     */
+    private static Cell findCellCopy(final Cell cell, final IBoard board, final IBoard boardCopy) {
+        if (boardCopy instanceof ArrayBoard) {
+            final ArrayBoard arrayBoardCopy = (ArrayBoard) boardCopy;
+            return arrayBoardCopy.getCellByIndex(arrayBoardCopy.getIndexByCell(cell));
+        }
+        return boardCopy.getCellByPosition(board.getPositionByCell(cell));
+    }
+
+    /**
+     * Найти копию игрока
+     *
+     * @param player       - игрок, копию которого нужно найти
+     * @param playerToCopy - отображение игроков в их копии
      * @return копию игрока
      */
-    private static Player findPlayerCopy(final Player player, final List<Player> copyPlayers) {
-        return copyPlayers.stream()
-                .filter(playerItem -> playerItem.equals(player))
-                .findFirst()
-                .orElseThrow();
+    private static Player findPlayerCopy(final Player player, final Map<Player, Player> playerToCopy) {
+        return Objects.requireNonNull(playerToCopy.get(player));
     }
 
     @Override
@@ -203,6 +241,11 @@ public class Game implements IGame, Serializable {
         currentRound++;
     }
 
+    @Override
+    public void setCurrentRound(final int currentRound) {
+        this.currentRound = currentRound;
+    }
+
     @Override
     public @NotNull IBoard getBoard() {
         return board;
@@ -210,7 +253,10 @@ public class Game implements IGame, Serializable {
 
     @Override
     public void setBoard(final @NotNull IBoard board) {
-        this.board = board;
+        if (this.board != board) {
+            this.board = board;
+            bindCellsToBoard();
+        }
     }
 
     @Override
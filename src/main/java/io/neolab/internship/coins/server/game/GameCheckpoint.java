@@ -0,0 +1,202 @@
+package io.neolab.internship.coins.server.game;
+
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.CellMask;
+import io.neolab.internship.coins.server.game.board.IBoard;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Контрольная точка состояния игры. Хранит только изменяемую часть состояния (юнитов, владельцев, расы,
+ * монеты, отображения игроков в клетки) в массивах, а restore возвращает её в те же объекты клеток и игроков.
+ * Это позволяет перебирать ходы на одном экземпляре игры: запомнить, сходить, вернуть, - без getCopy.
+ * Частичная точка (см. of) запоминает только указанные клетки и игроков и служит записью отката хода
+ */
+public class GameCheckpoint {
+    private static final @NotNull AvailabilityType[] AVAILABILITY_TYPES = AvailabilityType.values();
+
+    private final @NotNull IGame game;
+    private final boolean isFull; // запомнено ли состояние целиком
+    private final @NotNull IBoard board;
+    private final int currentRound;
+
+    private final @NotNull Cell[] cells;
+    private final @NotNull Unit[][] cellUnits;
+    private final @NotNull Player[] cellFeudals;
+    private final @NotNull Race[] cellRaces;
+
+    private final @NotNull Player[] players;
+    private final @NotNull Race[] playerRaces;
+    private final @NotNull int[] playerCoins;
+    private final @NotNull Unit[][][] playerUnits; // игрок -> тип доступности -> юниты
+
+    private final @NotNull Map<Player, Cell[]> feudalToCells;
+    private final @NotNull Map<Player, Cell[]> ownToCells;
+    private final @NotNull Map<Player, Cell[]> playerToTransitCells;
+    private final @NotNull Map<Player, Cell[]> playerToAchievableCells;
+    private final @NotNull Race[] racesPool;
+
+    GameCheckpoint(final @NotNull IGame game) {
+        this(game, game.getBoard().getPositionToCellMap().values(), game.getPlayers(), true);
+    }
+
+    private GameCheckpoint(final @NotNull IGame game, final @NotNull Collection<Cell> cells,
+                           final @NotNull Collection<Player> players, final boolean isFull) {
+        this.game = game;
+        this.isFull = isFull;
+        this.board = game.getBoard();
+        this.currentRound = game.getCurrentRound();
+
+        this.cells = cells.toArray(new Cell[0]);
+        this.cellUnits = new Unit[this.cells.length][];
+        this.cellFeudals = new Player[this.cells.length];
+        this.cellRaces = new Race[this.cells.length];
+        for (int i = 0; i < this.cells.length; i++) {
+            cellUnits[i] = this.cells[i].getUnits().toArray(new Unit[0]);
+            cellFeudals[i] = this.cells[i].getFeudal();
+            cellRaces[i] = this.cells[i].getRace();
+        }
+
+        this.players = players.toArray(new Player[0]);
+        this.playerRaces = new Race[this.players.length];
+        this.playerCoins = new int[this.players.length];
+        this.playerUnits = new Unit[this.players.length][AVAILABILITY_TYPES.length][];
+        for (int i = 0; i < this.players.length; i++) {
+            playerRaces[i] = this.players[i].getRace();
+            playerCoins[i] = this.players[i].getCoins();
+            for (final AvailabilityType availabilityType : AVAILABILITY_TYPES) {
+                final List<Unit> units = this.players[i].getUnitsByState(availabilityType);
+                playerUnits[i][availabilityType.ordinal()] = units == null ? null : units.toArray(new Unit[0]);
+            }
+        }
+
+        this.feudalToCells = saveCells(game.getFeudalToCells());
+        this.ownToCells = saveCells(game.getOwnToCells());
+        this.playerToTransitCells = saveCells(game.getPlayerToTransitCells());
+        this.playerToAchievableCells = saveCells(game.getPlayerToAchievableCells());
+        this.racesPool = game.getRacesPool().toArray(new Race[0]);
+    }
+
+    /**
+     * Создать частичную контрольную точку: запоминаются только указанные клетки и игроки
+     * (вместе с их записями в отображениях игроков в клетки), а также номер раунда и пул рас.
+     * Стоимость пропорциональна числу указанных клеток, а не размеру борды
+     *
+     * @param game    - игра
+     * @param cells   - клетки, которые может изменить ход
+     * @param players - игроки, которых может изменить ход
+     * @return частичную контрольную точку
+     */
+    public static @NotNull GameCheckpoint of(final @NotNull IGame game, final @NotNull Collection<Cell> cells,
+                                             final @NotNull Collection<Player> players) {
+        return new GameCheckpoint(game, cells, players, false);
+    }
+
+    /**
+     * Вернуть игру в состояние на момент создания контрольной точки.
+     * Объекты клеток, игроков и коллекций остаются прежними, меняется только их содержимое
+     */
+    public void restore() {
+        game.setBoard(board);
+        game.setCurrentRound(currentRound);
+
+        for (int i = 0; i < cells.length; i++) {
+            restoreCollection(cells[i].getUnits(), cellUnits[i]);
+            cells[i].setFeudal(cellFeudals[i]);
+            cells[i].setRace(cellRaces[i]);
+        }
+
+        if (isFull) {
+            restoreCollection(game.getPlayers(), players);
+        }
+        for (int i = 0; i < players.length; i++) {
+            players[i].setRace(playerRaces[i]);
+            players[i].setCoins(playerCoins[i]);
+            for (final AvailabilityType availabilityType : AVAILABILITY_TYPES) {
+                final Unit[] units = playerUnits[i][availabilityType.ordinal()];
+                if (units != null) {
+                    restoreCollection(players[i].getUnitsByState(availabilityType), units);
+                }
+            }
+        }
+
+        restoreCells(game.getFeudalToCells(), feudalToCells, () -> CellMask.newCellSet(board));
+        restoreCells(game.getOwnToCells(), ownToCells, () -> CellMask.newCellList(board));
+        restoreCells(game.getPlayerToTransitCells(), playerToTransitCells, () -> CellMask.newCellList(board));
+        restoreCells(game.getPlayerToAchievableCells(), playerToAchievableCells, () -> CellMask.newCellSet(board));
+        restoreCollection(game.getRacesPool(), racesPool);
+    }
+
+    /**
+     * @return игру, к которой относится контрольная точка
+     */
+    public @NotNull IGame getGame() {
+        return game;
+    }
+
+    /**
+     * @param playerToCells - отображение игроков в коллекции клеток
+     * @return то же отображение (для частичной точки - только для запоминаемых игроков)
+     * с клетками в массивах (порядок списков сохраняется)
+     */
+    private @NotNull Map<Player, Cell[]> saveCells(
+            final @NotNull Map<Player, ? extends Collection<Cell>> playerToCells) {
+        final Map<Player, Cell[]> saved = new HashMap<>(playerToCells.size());
+        if (isFull) {
+            playerToCells.forEach((player, cells) -> saved.put(player, cells.toArray(new Cell[0])));
+            return saved;
+        }
+        for (final Player player : players) {
+            final Collection<Cell> cells = playerToCells.get(player);
+            if (cells != null) {
+                saved.put(player, cells.toArray(new Cell[0]));
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Вернуть содержимое отображения игроков в коллекции клеток, переиспользуя существующие коллекции
+     *
+     * @param playerToCells     - текущее отображение
+     * @param saved             - сохранённое содержимое
+     * @param collectionFactory - создание коллекции для игрока, которого не было в отображении
+     * @param <C>               - тип коллекции клеток
+     */
+    private <C extends Collection<Cell>> void restoreCells(final @NotNull Map<Player, C> playerToCells,
+                                                           final @NotNull Map<Player, Cell[]> saved,
+                                                           final @NotNull Supplier<C> collectionFactory) {
+        if (isFull) {
+            playerToCells.keySet().removeIf(player -> !saved.containsKey(player));
+        } else {
+            for (final Player player : players) {
+                if (!saved.containsKey(player)) {
+                    playerToCells.remove(player);
+                }
+            }
+        }
+        saved.forEach((player, cells) ->
+                restoreCollection(playerToCells.computeIfAbsent(player, key -> collectionFactory.get()), cells));
+    }
+
+    /**
+     * @param collection - коллекция, содержимое которой нужно заменить
+     * @param elements   - новое содержимое
+     * @param <T>        - тип элементов
+     */
+    private static <T> void restoreCollection(final @Nullable Collection<T> collection,
+                                              final @NotNull T[] elements) {
+        if (collection == null) {
+            return;
+        }
+        collection.clear();
+        Collections.addAll(collection, elements);
+    }
+}
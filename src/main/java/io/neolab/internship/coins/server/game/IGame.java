@@ -23,11 +23,26 @@ import java.util.Set;
 public interface IGame {
     IGame getCopy();
 
+    /**
+     * Запомнить текущее состояние игры, чтобы потом вернуть его на этом же объекте.
+     * В отличие от getCopy не создаёт новых клеток и игроков, ссылки на них остаются действительными
+     *
+     * @return контрольную точку текущего состояния
+     */
+    @NotNull GameCheckpoint createCheckpoint();
+
     /**
      * Увеличить номер текущего раунда
      */
     void incrementCurrentRound();
 
+    /**
+     * Сеттер номера текущего раунда
+     *
+     * @param currentRound - новый номер текущего раунда
+     */
+    void setCurrentRound(final int currentRound);
+
     /**
      * @return борду
      */
@@ -0,0 +1,226 @@
+package io.neolab.internship.coins.server.game;
+
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.IBoard;
+import io.neolab.internship.coins.server.game.board.IMaskedCells;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Хэш Зобриста состояния игры: XOR ключей всех составляющих состояния
+ * (владельцы и феодалы клеток, транзитные клетки, расы и число юнитов в клетках,
+ * расы, монеты и юниты игроков, пул рас, раунд, текущий игрок).
+ * Ключ составляющей вычисляется перемешиванием её координат, поэтому таблица ключей не хранится,
+ * а одинаковые состояния в разных копиях игры имеют одинаковый хэш.
+ * Игроки различаются по месту в очереди, клетки - по позиции, юниты - только по количеству.
+ * Ключи клетки зависят только от самой клетки, поэтому после хода достаточно пересчитать
+ * изменённые им клетки и игроков (см. hashPart)
+ */
+public class ZobristHash {
+    private static final long SEED = 0x2545F4914F6CDD1DL;
+    private static final int NO_RACE = -1;
+
+    /**
+     * Составляющие состояния игры
+     */
+    private enum Component {
+        CELL_OWNER,
+        CELL_FEUDAL,
+        CELL_TRANSIT,
+        CELL_RACE,
+        CELL_UNITS,
+        PLAYER_RACE,
+        PLAYER_COINS,
+        PLAYER_UNITS,
+        RACES_POOL,
+        ROUND,
+        CURRENT_PLAYER,
+    }
+
+    /**
+     * @param game          - игра
+     * @param currentPlayer - игрок, который сейчас ходит (null - не учитывать)
+     * @return хэш состояния игры
+     */
+    public static long hash(final @NotNull IGame game, final @Nullable Player currentPlayer) {
+        final long hash = hash(game, false);
+        return currentPlayer == null ? hash : withCurrentPlayer(hash, game, currentPlayer);
+    }
+
+    /**
+     * Хэш позиции: юниты игроков учитываются только общим числом различных юнитов, без доступности,
+     * которая меняется в начале и в конце хода и не влияет на дальнейшую игру
+     *
+     * @param game - игра
+     * @return хэш позиции без учёта текущего игрока и доступности юнитов
+     */
+    public static long hashPosition(final @NotNull IGame game) {
+        return hash(game, true);
+    }
+
+    /**
+     * @param hash          - хэш состояния игры без текущего игрока (hash(game, null))
+     * @param game          - игра
+     * @param currentPlayer - игрок, который сейчас ходит
+     * @return хэш состояния игры с текущим игроком, равный hash(game, currentPlayer)
+     */
+    public static long withCurrentPlayer(final long hash, final @NotNull IGame game,
+                                         final @NotNull Player currentPlayer) {
+        return hash ^ key(Component.CURRENT_PLAYER, 0, game.getPlayers().indexOf(currentPlayer));
+    }
+
+    /**
+     * Часть хэша, которую может изменить ход: раунд, пул рас, игроки и указанные клетки.
+     * Если ход меняет только эти клетки, то хэш после хода пересчитывается без обхода борды:
+     * hash ^ hashPart(до хода) ^ hashPart(после хода)
+     *
+     * @param game  - игра
+     * @param cells - различные клетки борды, которые может изменить ход
+     * @return XOR ключей раунда, пула рас, игроков и клеток
+     */
+    public static long hashPart(final @NotNull IGame game, final @NotNull Collection<Cell> cells) {
+        return hashPlayers(game, false) ^ hashCells(game, cells);
+    }
+
+    /**
+     * @param game                - игра
+     * @param isUnitsStateIgnored - учитывать юнитов игроков только общим числом?
+     * @return хэш состояния игры без текущего игрока
+     */
+    private static long hash(final @NotNull IGame game, final boolean isUnitsStateIgnored) {
+        return hashPlayers(game, isUnitsStateIgnored)
+                ^ hashCells(game, game.getBoard().getPositionToCellMap().values());
+    }
+
+    /**
+     * @param game                - игра
+     * @param isUnitsStateIgnored - учитывать юнитов игроков только общим числом?
+     * @return XOR ключей раунда, пула рас, рас, монет и юнитов игроков
+     */
+    private static long hashPlayers(final @NotNull IGame game, final boolean isUnitsStateIgnored) {
+        final List<Player> players = game.getPlayers();
+        long hash = key(Component.ROUND, 0, game.getCurrentRound());
+        for (final Race race : game.getRacesPool()) {
+            hash ^= key(Component.RACES_POOL, race.ordinal(), 1);
+        }
+        for (int slot = 0; slot < players.size(); slot++) {
+            final Player player = players.get(slot);
+            hash ^= key(Component.PLAYER_RACE, slot, getRaceOrdinal(player.getRace()));
+            hash ^= key(Component.PLAYER_COINS, slot, player.getCoins());
+            final Set<Object> allUnits = new HashSet<>(); // без учёта доступности юнит считается один раз
+            for (final AvailabilityType availabilityType : AvailabilityType.values()) {
+                final Collection<?> units = player.getUnitsByState(availabilityType);
+                if (isUnitsStateIgnored) {
+                    if (units != null) {
+                        allUnits.addAll(units);
+                    }
+                    continue;
+                }
+                hash ^= key(Component.PLAYER_UNITS, slot * AvailabilityType.values().length
+                        + availabilityType.ordinal(), units == null ? 0 : units.size());
+            }
+            if (isUnitsStateIgnored) {
+                hash ^= key(Component.PLAYER_UNITS, slot * AvailabilityType.values().length, allUnits.size());
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @param game  - игра
+     * @param cells - различные клетки (клетки не с борды не учитываются)
+     * @return XOR ключей расы и числа юнитов клеток и их принадлежности игрокам
+     */
+    private static long hashCells(final @NotNull IGame game, final @NotNull Collection<Cell> cells) {
+        final IBoard board = game.getBoard();
+        final List<Player> players = game.getPlayers();
+        final List<Collection<Cell>> ownCells = new ArrayList<>(players.size());
+        final List<Collection<Cell>> feudalCells = new ArrayList<>(players.size());
+        final List<Collection<Cell>> transitCells = new ArrayList<>(players.size());
+        for (final Player player : players) {
+            ownCells.add(toLookup(game.getOwnToCells().get(player)));
+            feudalCells.add(toLookup(game.getFeudalToCells().get(player)));
+            transitCells.add(toLookup(game.getPlayerToTransitCells().get(player)));
+        }
+        long hash = 0;
+        for (final Cell cell : cells) {
+            final Position position = board.getPositionByCell(cell);
+            if (position == null) {
+                continue;
+            }
+            final int cellIndex = getCellIndex(position);
+            if (cell.getRace() != null || !cell.getUnits().isEmpty()) {
+                hash ^= key(Component.CELL_RACE, cellIndex, getRaceOrdinal(cell.getRace()));
+                hash ^= key(Component.CELL_UNITS, cellIndex, cell.getUnits().size());
+            }
+            for (int slot = 0; slot < players.size(); slot++) {
+                if (ownCells.get(slot).contains(cell)) {
+                    hash ^= key(Component.CELL_OWNER, cellIndex, slot);
+                }
+                if (feudalCells.get(slot).contains(cell)) {
+                    hash ^= key(Component.CELL_FEUDAL, cellIndex, slot);
+                }
+                if (transitCells.get(slot).contains(cell)) {
+                    hash ^= key(Component.CELL_TRANSIT, cellIndex, slot);
+                }
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * @param cells - клетки игрока (null - нет клеток)
+     * @return коллекцию с теми же клетками и быстрым contains (множество или список с маской)
+     */
+    private static @NotNull Collection<Cell> toLookup(final @Nullable Collection<Cell> cells) {
+        if (cells == null) {
+            return Collections.emptySet();
+        }
+        return cells instanceof Set || cells instanceof IMaskedCells ? cells : new HashSet<>(cells);
+    }
+
+    /**
+     * @param position - позиция клетки
+     * @return номер клетки, одинаковый для всех видов борды
+     */
+    private static int getCellIndex(final @NotNull Position position) {
+        return position.getX() << 16 | position.getY();
+    }
+
+    /**
+     * @param race - раса
+     * @return порядковый номер расы или NO_RACE
+     */
+    private static int getRaceOrdinal(final @Nullable Race race) {
+        return race == null ? NO_RACE : race.ordinal();
+    }
+
+    /**
+     * @param component - составляющая
+     * @param index     - номер клетки, игрока или расы
+     * @param value     - значение составляющей
+     * @return псевдослучайный ключ значения составляющей
+     */
+    private static long key(final @NotNull Component component, final int index, final int value) {
+        return mix(mix(mix(SEED ^ component.ordinal()) ^ index) ^ value);
+    }
+
+    /**
+     * Финализатор SplitMix64
+     *
+     * @param value - значение
+     * @return перемешанное значение
+     */
+    private static long mix(final long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,443 @@
+package io.neolab.internship.coins.server.game.board;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.neolab.internship.coins.common.serialization.serialize.CellSerializer;
+import io.neolab.internship.coins.common.serialization.serialize.PositionSerializer;
+import org.apache.commons.collections4.BidiMap;
+import org.apache.commons.collections4.bidimap.DualHashBidiMap;
+import org.apache.commons.collections4.bidimap.UnmodifiableBidiMap;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * Борда на примитивных массивах: клетки лежат в плоском массиве по индексу x * sizeY + y,
+ * соседи и крайние клетки вычисляются один раз при создании.
+ * Сериализуется так же, как {@link Board}, поэтому клиенты получают обычную борду
+ */
+@JsonTypeName("Board")
+@JsonAutoDetect(fieldVisibility = JsonAutoDetect.Visibility.NONE,
+        getterVisibility = JsonAutoDetect.Visibility.NONE,
+        isGetterVisibility = JsonAutoDetect.Visibility.NONE)
+public class ArrayBoard implements IBoard, Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int NO_INDEX = -1;
+
+    private final int sizeX;
+    private final int sizeY;
+
+    private final @NotNull Cell[] cells;
+
+    /* Всё, что ниже, зависит только от размеров и id клеток, поэтому разделяется между копиями */
+    private final @NotNull Position[] positions;
+    private final @NotNull int[][] neighbourIndexes;
+    private final @NotNull long[][] neighbourMasks; // маски соседей (см. CellMask)
+    private final @NotNull long[] edgeCellIndexes;
+    private final @NotNull int[] edgeCellOrder; // индексы крайних клеток в порядке обхода Board
+    private final int minCellId;
+    private final @NotNull int[] cellIdToIndex;
+
+    /* Ленивые представления через коллекции для кода, работающего с IBoard */
+    private final @NotNull List<?>[] neighboringCells;
+    private transient volatile @Nullable List<Cell> edgeCells;
+    private transient volatile @Nullable BidiMap<Position, Cell> positionToCellMap;
+
+    /**
+     * @param sizeX             - число строк
+     * @param sizeY             - число столбцов
+     * @param positionToCellMap - позиция в клетку, должна покрывать всю борду
+     */
+    public ArrayBoard(final int sizeX, final int sizeY, final @NotNull BidiMap<Position, Cell> positionToCellMap) {
+        this.sizeX = sizeX;
+        this.sizeY = sizeY;
+        final int size = sizeX * sizeY;
+        this.cells = new Cell[size];
+        this.positions = new Position[size];
+        for (int x = 0; x < sizeX; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                final int index = x * sizeY + y;
+                positions[index] = new Position(x, y);
+                cells[index] = Objects.requireNonNull(positionToCellMap.get(positions[index]));
+            }
+        }
+        this.neighbourIndexes = findNeighbourIndexes(sizeX, sizeY);
+        this.neighbourMasks = new long[size][];
+        for (int index = 0; index < size; index++) {
+            neighbourMasks[index] = CellMask.newMask(size);
+            for (final int neighbourIndex : neighbourIndexes[index]) {
+                CellMask.set(neighbourMasks[index], neighbourIndex);
+            }
+        }
+        this.edgeCellOrder = findEdgeCellOrder(sizeX, sizeY);
+        this.edgeCellIndexes = CellMask.newMask(size);
+        for (final int index : edgeCellOrder) {
+            CellMask.set(edgeCellIndexes, index);
+        }
+        int minId = Integer.MAX_VALUE;
+        int maxId = Integer.MIN_VALUE;
+        for (final Cell cell : cells) {
+            minId = Math.min(minId, cell.getId());
+            maxId = Math.max(maxId, cell.getId());
+        }
+        this.minCellId = size == 0 ? 0 : minId;
+        this.cellIdToIndex = new int[size == 0 ? 0 : maxId - minId + 1];
+        Arrays.fill(cellIdToIndex, NO_INDEX);
+        for (int index = 0; index < size; index++) {
+            cellIdToIndex[cells[index].getId() - minCellId] = index;
+        }
+        this.neighboringCells = new List<?>[size];
+    }
+
+    /**
+     * Конструктор копии: клетки новые, индексы общие
+     *
+     * @param source - копируемая борда
+     * @param cells  - копии клеток source в том же порядке
+     */
+    private ArrayBoard(final @NotNull ArrayBoard source, final @NotNull Cell[] cells) {
+        this.sizeX = source.sizeX;
+        this.sizeY = source.sizeY;
+        this.cells = cells;
+        this.positions = source.positions;
+        this.neighbourIndexes = source.neighbourIndexes;
+        this.neighbourMasks = source.neighbourMasks;
+        this.edgeCellIndexes = source.edgeCellIndexes;
+        this.edgeCellOrder = source.edgeCellOrder;
+        this.minCellId = source.minCellId;
+        this.cellIdToIndex = source.cellIdToIndex;
+        this.neighboringCells = new List<?>[cells.length];
+    }
+
+    /**
+     * @param sizeX - число строк
+     * @param sizeY - число столбцов
+     * @return для каждого индекса клетки - индексы соседних клеток в порядке Position.getAllNeighboringPositions
+     */
+    private static @NotNull int[][] findNeighbourIndexes(final int sizeX, final int sizeY) {
+        final int[][] neighbourIndexes = new int[sizeX * sizeY][];
+        final int[] buffer = new int[8];
+        for (int x = 0; x < sizeX; x++) {
+            for (int y = 0; y < sizeY; y++) {
+                int count = 0;
+                for (int dx = -1; dx <= 1; dx++) {
+                    for (int dy = -1; dy <= 1; dy++) {
+                        final int nx = x + dx;
+                        final int ny = y + dy;
+                        if ((dx != 0 || dy != 0) && nx >= 0 && nx < sizeX && ny >= 0 && ny < sizeY) {
+                            buffer[count++] = nx * sizeY + ny;
+                        }
+                    }
+                }
+                neighbourIndexes[x * sizeY + y] = Arrays.copyOf(buffer, count);
+            }
+        }
+        return neighbourIndexes;
+    }
+
+    /**
+     * Обход границы по часовой стрелке с левого верхнего угла, как в Board.
+     * У борды в одну строку или один столбец крайние все клетки, каждая берётся один раз
+     *
+     * @param sizeX - число строк
+     * @param sizeY - число столбцов
+     * @return индексы крайних клеток
+     */
+    private static @NotNull int[] findEdgeCellOrder(final int sizeX, final int sizeY) {
+        if (sizeX <= 0 || sizeY <= 0) {
+            return new int[0];
+        }
+        if (sizeX == 1 || sizeY == 1) {
+            final int[] order = new int[sizeX * sizeY];
+            for (int index = 0; index < order.length; index++) {
+                order[index] = index;
+            }
+            return order;
+        }
+        final int[] order = new int[2 * (sizeX + sizeY) - 4];
+        int count = 0;
+        for (int y = 0; y < sizeY; y++) { // верхняя граница
+            order[count++] = y;
+        }
+        for (int x = 1; x < sizeX; x++) { // правая граница
+            order[count++] = x * sizeY + sizeY - 1;
+        }
+        for (int y = sizeY - 2; y >= 0; y--) { // нижняя граница
+            order[count++] = (sizeX - 1) * sizeY + y;
+        }
+        for (int x = sizeX - 2; x > 0; x--) { // левая граница
+            order[count++] = x * sizeY;
+        }
+        return order;
+    }
+
+    @Contract(pure = true)
+    @Override
+    public @NotNull IBoard getCopy() {
+        final Cell[] cells = new Cell[this.cells.length];
+        for (int index = 0; index < cells.length; index++) {
+            cells[index] = this.cells[index].getCopy();
+        }
+        return new ArrayBoard(this, cells);
+    }
+
+    public int getSizeX() {
+        return sizeX;
+    }
+
+    public int getSizeY() {
+        return sizeY;
+    }
+
+    /**
+     * @return число клеток борды
+     */
+    public int getCellsCount() {
+        return cells.length;
+    }
+
+    /**
+     * @param index - индекс клетки (x * sizeY + y)
+     * @return клетку по индексу
+     */
+    public @NotNull Cell getCellByIndex(final int index) {
+        return cells[index];
+    }
+
+    /**
+     * @param cell - клетка (сравнивается по id, поэтому подходит и клетка из копии борды)
+     * @return индекс клетки или -1, если такой клетки на борде нет
+     */
+    public int getIndexByCell(final @NotNull Cell cell) {
+        final int idIndex = cell.getId() - minCellId;
+        if (idIndex < 0 || idIndex >= cellIdToIndex.length) {
+            return NO_INDEX;
+        }
+        return cellIdToIndex[idIndex];
+    }
+
+    /**
+     * @param index - индекс клетки
+     * @return индексы соседних клеток; массив общий, изменять его нельзя
+     */
+    public @NotNull int[] getNeighbourIndexes(final int index) {
+        return neighbourIndexes[index];
+    }
+
+    /**
+     * @param index - индекс клетки
+     * @return true, если клетка крайняя
+     */
+    public boolean isEdgeCell(final int index) {
+        return CellMask.get(edgeCellIndexes, index);
+    }
+
+    /**
+     * @param index - индекс клетки
+     * @return маску соседних клеток; маска общая, изменять её нельзя
+     */
+    public @NotNull long[] getNeighbourMask(final int index) {
+        return neighbourMasks[index];
+    }
+
+    /**
+     * @return маску крайних клеток; маска общая, изменять её нельзя
+     */
+    public @NotNull long[] getEdgeMask() {
+        return edgeCellIndexes;
+    }
+
+    /**
+     * @param cells - клетки (клетки не с этой борды пропускаются)
+     * @return новую маску индексов клеток
+     */
+    public @NotNull long[] toMask(final @NotNull Iterable<Cell> cells) {
+        final long[] mask = CellMask.newMask(this.cells.length);
+        for (final Cell cell : cells) {
+            final int index = getIndexByCell(cell);
+            if (index != NO_INDEX) {
+                CellMask.set(mask, index);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @param cells - клетки
+     * @return новую маску, в которой установлены клетки cells и все их соседи
+     */
+    public @NotNull long[] getNeighbourhoodMask(final @NotNull Iterable<Cell> cells) {
+        if (cells instanceof IMaskedCells && isSameLayout(((IMaskedCells) cells).getBoard())) {
+            return getNeighbourhoodMask(((IMaskedCells) cells).getMask());
+        }
+        final long[] mask = CellMask.newMask(this.cells.length);
+        for (final Cell cell : cells) {
+            final int index = getIndexByCell(cell);
+            if (index != NO_INDEX) {
+                CellMask.set(mask, index);
+                CellMask.or(mask, neighbourMasks[index]);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * @param board - борда
+     * @return true, если у борды те же индексы клеток (это копия этой борды или её оригинал)
+     */
+    public boolean isSameLayout(final @NotNull ArrayBoard board) {
+        return cellIdToIndex == board.cellIdToIndex;
+    }
+
+    /**
+     * @param cellsMask - маска клеток
+     * @return новую маску, в которой установлены клетки маски и все их соседи
+     */
+    public @NotNull long[] getNeighbourhoodMask(final @NotNull long[] cellsMask) {
+        final long[] mask = cellsMask.clone();
+        for (int index = CellMask.nextSetBit(cellsMask, 0); index >= 0;
+             index = CellMask.nextSetBit(cellsMask, index + 1)) {
+            CellMask.or(mask, neighbourMasks[index]);
+        }
+        return mask;
+    }
+
+    /**
+     * Добавить в коллекцию клетки, индексы которых установлены в маске
+     *
+     * @param mask   - маска индексов клеток
+     * @param target - коллекция, в которую добавляются клетки
+     */
+    public void addCells(final @NotNull long[] mask, final @NotNull Collection<Cell> target) {
+        for (int index = CellMask.nextSetBit(mask, 0); index >= 0; index = CellMask.nextSetBit(mask, index + 1)) {
+            target.add(cells[index]);
+        }
+    }
+
+    @JsonProperty
+    @JsonSerialize(keyUsing = PositionSerializer.class)
+    @Override
+    public @NotNull BidiMap<Position, Cell> getPositionToCellMap() {
+        BidiMap<Position, Cell> map = positionToCellMap;
+        if (map == null) {
+            final BidiMap<Position, Cell> newMap = new DualHashBidiMap<>();
+            for (int index = 0; index < cells.length; index++) {
+                newMap.put(positions[index], cells[index]);
+            }
+            map = UnmodifiableBidiMap.unmodifiableBidiMap(newMap);
+            positionToCellMap = map;
+        }
+        return map;
+    }
+
+    @Override
+    public @Nullable Cell getCellByPosition(final @NotNull Position position) {
+        return getCellByPosition(position.getX(), position.getY());
+    }
+
+    @Override
+    public @Nullable Cell getCellByPosition(final int x, final int y) {
+        if (x < 0 || x >= sizeX || y < 0 || y >= sizeY) {
+            return null;
+        }
+        return cells[x * sizeY + y];
+    }
+
+    @SuppressWarnings("ConstantConditions") // как и Board, для чужой клетки возвращаем null
+    @Override
+    public @NotNull Position getPositionByCell(final @NotNull Cell cell) {
+        final int index = getIndexByCell(cell);
+        return index == NO_INDEX ? null : positions[index];
+    }
+
+    @JsonProperty
+    @Override
+    public @NotNull List<Cell> getEdgeCells() {
+        List<Cell> list = edgeCells;
+        if (list == null) {
+            final Cell[] edges = new Cell[edgeCellOrder.length];
+            for (int i = 0; i < edges.length; i++) {
+                edges[i] = cells[edgeCellOrder[i]];
+            }
+            list = List.of(edges);
+            edgeCells = list;
+        }
+        return list;
+    }
+
+    /**
+     * Соседи известны всегда, поэтому GameLoopProcessor не вычисляет их заново
+     *
+     * @param cell - клетка
+     * @return неизменяемый список соседних с cell клеток или null, если клетки нет на борде
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public @Nullable List<Cell> getNeighboringCells(final @NotNull Cell cell) {
+        final int index = getIndexByCell(cell);
+        if (index == NO_INDEX) {
+            return null;
+        }
+        List<Cell> list = (List<Cell>) neighboringCells[index];
+        if (list == null) {
+            final int[] indexes = neighbourIndexes[index];
+            final Cell[] neighbours = new Cell[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                neighbours[i] = cells[indexes[i]];
+            }
+            list = List.of(neighbours);
+            neighboringCells[index] = list;
+        }
+        return list;
+    }
+
+    /**
+     * Соседи вычисляются по индексам, поэтому переданный список не сохраняется
+     */
+    @Override
+    public void putNeighboringCells(final @NotNull Cell cell, final @NotNull List<Cell> neighboringCells) {
+    }
+
+    /**
+     * Для совместимости с форматом Board: соседи на клиенте вычисляются лениво
+     *
+     * @return пустое отображение клеток в соседей
+     */
+    @JsonProperty
+    @JsonSerialize(keyUsing = CellSerializer.class)
+    private @NotNull Map<Cell, List<Cell>> getCellToNeighboringCells() {
+        return Collections.emptyMap();
+    }
+
+    @Contract(value = "null -> false", pure = true)
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (!(o instanceof IBoard)) return false;
+        final IBoard board = (IBoard) o;
+        if (board instanceof ArrayBoard) {
+            return Arrays.equals(cells, ((ArrayBoard) board).cells)
+                    && sizeY == ((ArrayBoard) board).sizeY;
+        }
+        return Objects.equals(getPositionToCellMap(), board.getPositionToCellMap());
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(getPositionToCellMap());
+    }
+
+    @Override
+    public String toString() {
+        return "ArrayBoard{" +
+                "sizeX=" + sizeX +
+                ", sizeY=" + sizeY +
+                ", cells=" + Arrays.toString(cells) +
+                '}';
+    }
+}
@@ -148,8 +148,8 @@ public class Board implements IBoard, Serializable {
     @Override
     public boolean equals(final Object o) {
         if (this == o) return true;
-        if (!(o instanceof Board)) return false;
-        final Board board = (Board) o;
+        if (!(o instanceof IBoard)) return false;
+        final IBoard board = (IBoard) o;
         return Objects.equals(getPositionToCellMap(), board.getPositionToCellMap());
     }
 
@@ -0,0 +1,155 @@
+package io.neolab.internship.coins.server.game.board;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Маски клеток борды на массиве long: бит index % 64 слова index / 64 установлен, если в маске есть клетка
+ * с индексом index (индексы - как в ArrayBoard). Операции над множествами клеток становятся операциями над словами
+ */
+public class CellMask {
+    private static final int WORD_SHIFT = 6; // 64 бита в слове
+
+    /**
+     * @param cellsCount - число клеток борды
+     * @return пустую маску
+     */
+    public static @NotNull long[] newMask(final int cellsCount) {
+        return new long[(cellsCount + Long.SIZE - 1) >>> WORD_SHIFT];
+    }
+
+    public static boolean get(final @NotNull long[] mask, final int index) {
+        return (mask[index >>> WORD_SHIFT] & (1L << index)) != 0;
+    }
+
+    public static void set(final @NotNull long[] mask, final int index) {
+        mask[index >>> WORD_SHIFT] |= 1L << index;
+    }
+
+    public static void clear(final @NotNull long[] mask, final int index) {
+        mask[index >>> WORD_SHIFT] &= ~(1L << index);
+    }
+
+    /**
+     * @param target - маска, в которую добавляются клетки
+     * @param source - добавляемая маска той же борды
+     */
+    public static void or(final @NotNull long[] target, final @NotNull long[] source) {
+        for (int i = 0; i < target.length; i++) {
+            target[i] |= source[i];
+        }
+    }
+
+    /**
+     * @param first  - маска
+     * @param second - маска той же борды
+     * @return true, если у масок есть общие клетки
+     */
+    public static boolean intersects(final @NotNull long[] first, final @NotNull long[] second) {
+        for (int i = 0; i < first.length; i++) {
+            if ((first[i] & second[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static boolean isEmpty(final @NotNull long[] mask) {
+        for (final long word : mask) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param mask      - маска
+     * @param fromIndex - индекс, с которого начинается поиск
+     * @return индекс следующей клетки маски или -1, если клеток больше нет
+     */
+    public static int nextSetBit(final @NotNull long[] mask, final int fromIndex) {
+        int wordIndex = fromIndex >>> WORD_SHIFT;
+        if (wordIndex >= mask.length) {
+            return -1;
+        }
+        long word = mask[wordIndex] & (-1L << fromIndex);
+        while (word == 0) {
+            if (++wordIndex == mask.length) {
+                return -1;
+            }
+            word = mask[wordIndex];
+        }
+        return (wordIndex << WORD_SHIFT) + Long.numberOfTrailingZeros(word);
+    }
+
+    /**
+     * @param cells - коллекция клеток
+     * @return маску коллекции или null, если коллекция маску не ведёт
+     */
+    public static @Nullable long[] of(final @NotNull Collection<Cell> cells) {
+        return cells instanceof IMaskedCells ? ((IMaskedCells) cells).getMask() : null;
+    }
+
+    /**
+     * @param board - борда игры
+     * @return пустое множество клеток, ведущее маску, если борда индексирована
+     */
+    public static @NotNull Set<Cell> newCellSet(final @NotNull IBoard board) {
+        return board instanceof ArrayBoard ? new MaskedCellSet((ArrayBoard) board) : new HashSet<>();
+    }
+
+    /**
+     * @param board - борда игры
+     * @return пустой список клеток, ведущий маску, если борда индексирована
+     */
+    public static @NotNull List<Cell> newCellList(final @NotNull IBoard board) {
+        return board instanceof ArrayBoard ? new MaskedCellList((ArrayBoard) board) : new LinkedList<>();
+    }
+
+    /**
+     * @param board - борда игры
+     * @param cells - клетки
+     * @return cells, если коллекция уже ведёт маску этой борды, иначе новое множество с теми же клетками
+     */
+    public static @NotNull Set<Cell> toCellSet(final @NotNull IBoard board, final @NotNull Set<Cell> cells) {
+        if (isMaskedFor(board, cells)) {
+            return cells;
+        }
+        final Set<Cell> cellSet = newCellSet(board);
+        cellSet.addAll(cells);
+        return cellSet;
+    }
+
+    /**
+     * @param board - борда игры
+     * @param cells - клетки
+     * @return cells, если коллекция уже ведёт маску этой борды, иначе новый список с теми же клетками
+     */
+    public static @NotNull List<Cell> toCellList(final @NotNull IBoard board, final @NotNull List<Cell> cells) {
+        if (isMaskedFor(board, cells)) {
+            return cells;
+        }
+        final List<Cell> cellList = newCellList(board);
+        cellList.addAll(cells);
+        return cellList;
+    }
+
+    /**
+     * @param board - борда игры
+     * @param cells - клетки
+     * @return true, если коллекции не нужна перестройка под борду
+     */
+    private static boolean isMaskedFor(final @NotNull IBoard board, final @NotNull Collection<Cell> cells) {
+        if (cells instanceof IMaskedCells) {
+            return ((IMaskedCells) cells).getBoard() == board;
+        }
+        return !(board instanceof ArrayBoard);
+    }
+}
@@ -0,0 +1,31 @@
+package io.neolab.internship.coins.server.game.board;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Коллекция клеток, которая при каждом изменении обновляет свою маску (см. CellMask)
+ */
+public interface IMaskedCells {
+    /**
+     * @return борду, по индексам которой ведётся маска
+     */
+    @NotNull ArrayBoard getBoard();
+
+    /**
+     * @return маску клеток коллекции; изменять её нельзя
+     */
+    @NotNull long[] getMask();
+
+    /**
+     * @return true, если в коллекции есть клетки не с борды (их нет в маске)
+     */
+    boolean hasUnmaskedCells();
+
+    /**
+     * Удалить из коллекции клетки маски
+     *
+     * @param mask - маска удаляемых клеток той же борды
+     * @return true, если коллекция изменилась
+     */
+    boolean removeMasked(final @NotNull long[] mask);
+}
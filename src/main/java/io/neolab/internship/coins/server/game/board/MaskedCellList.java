@@ -0,0 +1,170 @@
+package io.neolab.internship.coins.server.game.board;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.AbstractSequentialList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.ListIterator;
+
+/**
+ * Список клеток с маской: клетки хранятся в LinkedList (порядок прежний), а маска обновляется
+ * в каждом изменяющем методе. Список допускает повторы, поэтому для каждой клетки считается число её вхождений
+ */
+public class MaskedCellList extends AbstractSequentialList<Cell> implements IMaskedCells, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final @NotNull ArrayBoard board;
+    private final @NotNull LinkedList<Cell> cells = new LinkedList<>();
+    private final @NotNull long[] mask;
+    private final @NotNull int[] counts; // индекс клетки -> число её вхождений в список
+    private int unmaskedCount = 0; // число клеток не с борды
+
+    /**
+     * @param board - борда, по индексам которой ведётся маска
+     */
+    public MaskedCellList(final @NotNull ArrayBoard board) {
+        this.board = board;
+        this.mask = CellMask.newMask(board.getCellsCount());
+        this.counts = new int[board.getCellsCount()];
+    }
+
+    @Override
+    public @NotNull ArrayBoard getBoard() {
+        return board;
+    }
+
+    @Override
+    public @NotNull long[] getMask() {
+        return mask;
+    }
+
+    @Override
+    public boolean hasUnmaskedCells() {
+        return unmaskedCount > 0;
+    }
+
+    @Override
+    public int size() {
+        return cells.size();
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        if (!(o instanceof Cell)) {
+            return false;
+        }
+        final int index = board.getIndexByCell((Cell) o);
+        return index >= 0 ? CellMask.get(mask, index) : unmaskedCount > 0 && cells.contains(o);
+    }
+
+    @Override
+    public boolean add(final @NotNull Cell cell) {
+        cells.add(cell);
+        count(cell);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        cells.clear();
+        Arrays.fill(mask, 0);
+        Arrays.fill(counts, 0);
+        unmaskedCount = 0;
+    }
+
+    @Override
+    public boolean removeMasked(final @NotNull long[] mask) {
+        if (!CellMask.intersects(this.mask, mask)) {
+            return false;
+        }
+        final Iterator<Cell> iterator = iterator();
+        while (iterator.hasNext()) {
+            final int index = board.getIndexByCell(iterator.next());
+            if (index >= 0 && CellMask.get(mask, index)) {
+                iterator.remove();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public @NotNull ListIterator<Cell> listIterator(final int index) {
+        final ListIterator<Cell> iterator = cells.listIterator(index);
+        return new ListIterator<>() {
+            private Cell lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Cell next() {
+                lastReturned = iterator.next();
+                return lastReturned;
+            }
+
+            @Override
+            public boolean hasPrevious() {
+                return iterator.hasPrevious();
+            }
+
+            @Override
+            public Cell previous() {
+                lastReturned = iterator.previous();
+                return lastReturned;
+            }
+
+            @Override
+            public int nextIndex() {
+                return iterator.nextIndex();
+            }
+
+            @Override
+            public int previousIndex() {
+                return iterator.previousIndex();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                uncount(lastReturned);
+            }
+
+            @Override
+            public void set(final @NotNull Cell cell) {
+                iterator.set(cell);
+                uncount(lastReturned);
+                count(cell);
+                lastReturned = cell;
+            }
+
+            @Override
+            public void add(final @NotNull Cell cell) {
+                iterator.add(cell);
+                count(cell);
+            }
+        };
+    }
+
+    private void count(final @NotNull Cell cell) {
+        final int index = board.getIndexByCell(cell);
+        if (index < 0) {
+            unmaskedCount++;
+        } else if (counts[index]++ == 0) {
+            CellMask.set(mask, index);
+        }
+    }
+
+    private void uncount(final @NotNull Cell cell) {
+        final int index = board.getIndexByCell(cell);
+        if (index < 0) {
+            unmaskedCount--;
+        } else if (--counts[index] == 0) {
+            CellMask.clear(mask, index);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package io.neolab.internship.coins.server.game.board;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Множество клеток с маской: клетки хранятся в HashSet (порядок обхода прежний),
+ * а маска обновляется в каждом изменяющем методе, включая удаление через итератор
+ */
+public class MaskedCellSet extends AbstractSet<Cell> implements IMaskedCells, Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final @NotNull ArrayBoard board;
+    private final @NotNull Set<Cell> cells = new HashSet<>();
+    private final @NotNull long[] mask;
+    private int unmaskedCount = 0; // число клеток не с борды
+
+    /**
+     * @param board - борда, по индексам которой ведётся маска
+     */
+    public MaskedCellSet(final @NotNull ArrayBoard board) {
+        this.board = board;
+        this.mask = CellMask.newMask(board.getCellsCount());
+    }
+
+    @Override
+    public @NotNull ArrayBoard getBoard() {
+        return board;
+    }
+
+    @Override
+    public @NotNull long[] getMask() {
+        return mask;
+    }
+
+    @Override
+    public boolean hasUnmaskedCells() {
+        return unmaskedCount > 0;
+    }
+
+    @Override
+    public int size() {
+        return cells.size();
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return cells.contains(o);
+    }
+
+    @Override
+    public boolean add(final @NotNull Cell cell) {
+        if (!cells.add(cell)) {
+            return false;
+        }
+        final int index = board.getIndexByCell(cell);
+        if (index >= 0) {
+            CellMask.set(mask, index);
+        } else {
+            unmaskedCount++;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        if (!cells.remove(o)) {
+            return false;
+        }
+        unmask((Cell) o);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        cells.clear();
+        Arrays.fill(mask, 0);
+        unmaskedCount = 0;
+    }
+
+    @Override
+    public boolean removeMasked(final @NotNull long[] mask) {
+        if (!CellMask.intersects(this.mask, mask)) {
+            return false;
+        }
+        final Iterator<Cell> iterator = iterator();
+        while (iterator.hasNext()) {
+            final int index = board.getIndexByCell(iterator.next());
+            if (index >= 0 && CellMask.get(mask, index)) {
+                iterator.remove();
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public @NotNull Iterator<Cell> iterator() {
+        final Iterator<Cell> iterator = cells.iterator();
+        return new Iterator<>() {
+            private Cell lastReturned;
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Cell next() {
+                lastReturned = iterator.next();
+                return lastReturned;
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                unmask(lastReturned);
+            }
+        };
+    }
+
+    private void unmask(final @NotNull Cell cell) {
+        final int index = board.getIndexByCell(cell);
+        if (index >= 0) {
+            CellMask.clear(mask, index);
+        } else {
+            unmaskedCount--;
+        }
+    }
+}
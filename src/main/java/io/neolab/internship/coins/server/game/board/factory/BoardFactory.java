@@ -3,6 +3,7 @@ package io.neolab.internship.coins.server.game.board.factory;
 import io.neolab.internship.coins.exceptions.CoinsException;
 import io.neolab.internship.coins.exceptions.CoinsErrorCode;
 import io.neolab.internship.coins.server.game.board.*;
+import io.neolab.internship.coins.utils.RandomGenerator;
 import org.apache.commons.collections4.BidiMap;
 import org.apache.commons.collections4.bidimap.DualHashBidiMap;
 import org.jetbrains.annotations.NotNull;
@@ -11,7 +12,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
 
 public class BoardFactory implements IBoardFactory {
     private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(BoardFactory.class);
@@ -24,7 +24,7 @@ public class BoardFactory implements IBoardFactory {
      *
      * @param boardSizeX высота
      * @param boardSizeY ширина
-     * @return new Board
+     * @return new ArrayBoard
      */
     @Override
     public @NotNull IBoard generateBoard(final int boardSizeX, final int boardSizeY) throws CoinsException {
@@ -50,7 +50,7 @@ public class BoardFactory implements IBoardFactory {
          * Обозначение: m - грибы, M - горы, L - земля, W - вода
          */
         LOGGER.info(logBoardString.toString());
-        return new Board(boardSizeX, boardSizeY, positionToCellMap);
+        return new ArrayBoard(boardSizeX, boardSizeY, positionToCellMap);
     }
 
     /**
@@ -64,14 +64,13 @@ public class BoardFactory implements IBoardFactory {
      * @return допустимый индекс, по которому в листе можно взять тип клетки
      */
     private int getAllowedCellTypeIndex(final @NotNull List<CellType> cellTypes, final int cellAmount) {
-        final Random random = new Random();
         final int cellTypesAmount = cellTypes.size();
         /*Взятие остатка для случая нечетного количества клеток*/
         final int cellTypesAmountRange = cellAmount / cellTypesAmount + cellAmount % cellTypesAmount;
         int randomCellTypeIndex = -1;
         boolean isCellTypeAvailable = false;
         while (!isCellTypeAvailable) {
-            randomCellTypeIndex = random.nextInt(cellTypesAmount);
+            randomCellTypeIndex = RandomGenerator.chooseNumber(cellTypesAmount);
             final CellType currentCellType = cellTypes.get(randomCellTypeIndex);
             isCellTypeAvailable = positionToCellMap
                     .values()
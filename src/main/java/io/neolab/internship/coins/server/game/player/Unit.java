@@ -9,6 +9,12 @@ import org.jetbrains.annotations.NotNull;
 import java.io.Serializable;
 import java.util.Objects;
 
+/**
+ * Юнит - объект только с id. Клетки и игроки хранят списки юнитов, потому что id юнитов передаются
+ * по протоколу (игра, разницы состояний) и участвуют в контрольных точках и хэше Зобриста.
+ * Ответы игроков при этом применяются как количества: захват и распределение берут столько доступных юнитов
+ * игрока, сколько указано в ответе, поэтому от бота важен только размер списков юнитов
+ */
 public class Unit implements Serializable {
     @JsonProperty
     private final int id;
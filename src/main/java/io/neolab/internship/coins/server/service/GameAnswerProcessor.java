@@ -12,6 +12,7 @@ import io.neolab.internship.coins.server.game.feature.GameFeatures;
 import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.server.game.player.Race;
 import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.server.service.event.GameEvents;
 import io.neolab.internship.coins.utils.AvailabilityType;
 import io.neolab.internship.coins.utils.Pair;
 import org.jetbrains.annotations.NotNull;
@@ -38,6 +39,9 @@ public class GameAnswerProcessor {
      */
     public static void process(final @NotNull PlayerQuestion playerQuestion, final @Nullable Answer answer)
             throws CoinsException {
+        LOGGER.debug("{} answer: {} ", playerQuestion.getPlayerQuestionType(), answer);
+        validate(playerQuestion, answer);
+        LOGGER.debug("Answer is valid");
         final IGame currentGame = playerQuestion.getGame();
         final Player player = playerQuestion.getPlayer();
         switch (playerQuestion.getPlayerQuestionType()) {
@@ -67,22 +71,57 @@ public class GameAnswerProcessor {
         }
     }
 
+    /**
+     * Проверить ответ игрока, не применяя его. Это те же проверки, что проходит ответ в process,
+     * поэтому партии без сервера могут отвергать ответы ботов по правилам сервера
+     *
+     * @param playerQuestion - вопрос игроку
+     * @param answer         - ответ игрока
+     * @throws CoinsException в случае невалидности ответа
+     */
+    public static void validate(final @NotNull PlayerQuestion playerQuestion, final @Nullable Answer answer)
+            throws CoinsException {
+        final IGame currentGame = playerQuestion.getGame();
+        final Player player = playerQuestion.getPlayer();
+        switch (playerQuestion.getPlayerQuestionType()) {
+            case DECLINE_RACE: {
+                GameValidator.validateDeclineRaceAnswer((DeclineRaceAnswer) answer);
+                break;
+            }
+            case CHANGE_RACE: {
+                GameValidator.validateChangeRaceAnswer((ChangeRaceAnswer) answer, currentGame.getRacesPool());
+                break;
+            }
+            case CATCH_CELL: {
+                GameValidator.validateCatchCellAnswer((CatchCellAnswer) answer, currentGame.getOwnToCells().get(player),
+                        currentGame.getBoard(), currentGame.getPlayerToAchievableCells().get(player),
+                        player.getUnitsByState(AvailabilityType.AVAILABLE), currentGame.getGameFeatures(), player);
+                break;
+            }
+            case DISTRIBUTION_UNITS: {
+                final int playerUnitsAmount = player.getUnitsByState(AvailabilityType.AVAILABLE).size()
+                        + player.getUnitsByState(AvailabilityType.NOT_AVAILABLE).size();
+                GameValidator.validateDistributionUnitsAnswer((DistributionUnitsAnswer) answer,
+                        currentGame.getBoard(), currentGame.getOwnToCells().get(player), playerUnitsAmount);
+                break;
+            }
+            default: {
+                throw new CoinsException(CoinsErrorCode.QUESTION_TYPE_NOT_FOUND);
+            }
+        }
+    }
+
     /**
      * Процесс ухода в упадок
      *
      * @param answer          - ответ
      * @param player          - игрок
      * @param controlledCells - подконтрольные игроку клетки
-     * @throws CoinsException при невалидном ответе
      */
     private static void declineRaceProcess(final @Nullable Answer answer, final @NotNull Player player,
-                                           final @NotNull List<Cell> controlledCells)
-            throws CoinsException {
+                                           final @NotNull List<Cell> controlledCells) {
         final DeclineRaceAnswer declineRaceAnswer = (DeclineRaceAnswer) answer;
-        LOGGER.debug("Decline race answer: {} ", declineRaceAnswer);
-        GameValidator.validateDeclineRaceAnswer(declineRaceAnswer);
-        LOGGER.debug("Answer is valid");
-        if (declineRaceAnswer.isDeclineRace()) {
+        if (Objects.requireNonNull(declineRaceAnswer).isDeclineRace()) {
             declineRace(player, controlledCells);
         }
     }
@@ -95,6 +134,7 @@ public class GameAnswerProcessor {
      */
     private static void declineRace(final @NotNull Player player, final @NotNull List<Cell> controlledCells) {
         GameLogger.printDeclineRaceLog(player);
+        GameEvents.declineRace(player, controlledCells.size());
         controlledCells.clear();
     }
 
@@ -104,15 +144,10 @@ public class GameAnswerProcessor {
      * @param answer    - ответ
      * @param player    - игрок
      * @param racesPool - пул рас
-     * @throws CoinsException при невалидном ответе
      */
     private static void changeRaceProcess(final @Nullable Answer answer, final @NotNull Player player,
-                                          final @NotNull List<Race> racesPool)
-            throws CoinsException {
+                                          final @NotNull List<Race> racesPool) {
         final ChangeRaceAnswer changeRaceAnswer = (ChangeRaceAnswer) answer;
-        LOGGER.debug("Change race answer: {} ", changeRaceAnswer);
-        GameValidator.validateChangeRaceAnswer(changeRaceAnswer, racesPool);
-        LOGGER.debug("Answer is valid");
         changeRace(player, Objects.requireNonNull(changeRaceAnswer).getNewRace(), racesPool, true);
     }
 
@@ -158,6 +193,7 @@ public class GameAnswerProcessor {
 
         if (isLoggingTurnOn) {
             GameLogger.printChooseRaceLog(player, newRace);
+            GameEvents.raceChosen(player, newRace);
         }
     }
 
@@ -172,7 +208,6 @@ public class GameAnswerProcessor {
      * @param feudalToCells   - отображение игроков во множества приносящих им монеты клеток
      * @param transitCells    - список транзитных клеток игрока
      * @param achievableCells - множество достижимых за одних ход игроком клеток
-     * @throws CoinsException в случае если ответ невалиден
      */
     private static void captureCellProcess(final @Nullable Answer answer,
                                            final @NotNull Player player,
@@ -181,16 +216,8 @@ public class GameAnswerProcessor {
                                            final @NotNull Map<Player, List<Cell>> ownToCells,
                                            final @NotNull Map<Player, Set<Cell>> feudalToCells,
                                            final @NotNull List<Cell> transitCells,
-                                           final @NotNull Set<Cell> achievableCells)
-            throws CoinsException {
-
+                                           final @NotNull Set<Cell> achievableCells) {
         final CatchCellAnswer catchCellAnswer = (CatchCellAnswer) answer;
-        LOGGER.debug("Catch cell answer: {} ", catchCellAnswer);
-        final List<Cell> controlledCells = ownToCells.get(player); //список подконтрольных клеток для игрока
-        final List<Unit> availableUnits = player.getUnitsByState(AvailabilityType.AVAILABLE);
-        GameValidator.validateCatchCellAnswer(catchCellAnswer, controlledCells, board,
-                achievableCells, availableUnits, gameFeatures, player);
-        LOGGER.debug("Answer is valid");
         final Pair<Position, List<Unit>> resolution =
                 Objects.requireNonNull(Objects.requireNonNull(catchCellAnswer).getResolution());
         final Cell captureCell = Objects.requireNonNull(board.getCellByPosition(resolution.getFirst()));
@@ -247,6 +274,9 @@ public class GameAnswerProcessor {
         final int bonusAttack = getBonusAttackToCatchCell(player, gameFeatures, captureCell, isLoggingTurnOn);
         catchCell(player, captureCell, neighboringCells, units.subList(0, unitsCountNeededToCatch - bonusAttack),
                 units, gameFeatures, ownToCells, feudalToCells, transitCells, isLoggingTurnOn);
+        if (isLoggingTurnOn) {
+            GameEvents.cellCaptured(player, board.getPositionByCell(captureCell), units.size());
+        }
         updateAchievableCellsAfterCatchCell(board, captureCell, controlledCells, achievableCells);
     }
 
@@ -258,20 +288,12 @@ public class GameAnswerProcessor {
      * @param board           - борда
      * @param controlledCells - список подконтрольных игроку клеток
      * @param feudalCells     - клетки, приносящие монетки игроку
-     * @throws CoinsException в случае если ответ невалиден
      */
     private static void distributionUnitsProcess(final @Nullable Answer answer, final @NotNull Player player,
                                                  final @NotNull IBoard board,
                                                  final @NotNull List<Cell> controlledCells,
-                                                 final @NotNull Set<Cell> feudalCells)
-            throws CoinsException {
+                                                 final @NotNull Set<Cell> feudalCells) {
         final DistributionUnitsAnswer distributionUnitsAnswer = (DistributionUnitsAnswer) answer;
-        LOGGER.debug("Distribution units answer: {} ", distributionUnitsAnswer);
-        final int playerUnitsAmount = player.getUnitsByState(AvailabilityType.AVAILABLE).size()
-                + player.getUnitsByState(AvailabilityType.NOT_AVAILABLE).size();
-        GameValidator.validateDistributionUnitsAnswer(distributionUnitsAnswer, board,
-                controlledCells, playerUnitsAmount);
-        LOGGER.debug("Answer is valid");
         distributionUnits(player, controlledCells, feudalCells,
                 Objects.requireNonNull(Objects.requireNonNull(distributionUnitsAnswer).getResolutions()), board,
                 true);
@@ -302,6 +324,7 @@ public class GameAnswerProcessor {
         resolutions.forEach((position, units) -> {
             if (isLoggingTurnOn) {
                 GameLogger.printCellDefendingLog(player, units.size(), position);
+                GameEvents.unitsDistributed(player, position, units.size());
             }
             GameLoopProcessor.protectCell(player, Objects.requireNonNull(board.getCellByPosition(position)),
                     new LinkedList<>(player.getUnitsByState(AvailabilityType.AVAILABLE).subList(0, units.size())),
@@ -6,6 +6,7 @@ import io.neolab.internship.coins.server.game.player.Race;
 import io.neolab.internship.coins.server.game.board.Cell;
 import io.neolab.internship.coins.server.game.board.CellType;
 import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.service.event.GameEvents;
 import io.neolab.internship.coins.utils.AvailabilityType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -18,7 +19,8 @@ import java.util.Objects;
 import java.util.Set;
 
 /**
- * Класс, содержащий основные функции вывода логов
+ * Класс, содержащий основные функции вывода логов.
+ * Логи игры выводятся, только если в логе событий текущего потока включены текстовые логи (GameEvents)
  */
 public class GameLogger {
     private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(GameLogger.class);
@@ -38,6 +40,9 @@ public class GameLogger {
      * @param game - созданная игра
      */
     public static void printGameCreatedLog(final @NotNull IGame game) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("---");
         LOGGER.debug("Game is created: ");
         LOGGER.debug("Board: {} ", game.getBoard());
@@ -50,6 +55,9 @@ public class GameLogger {
      * Вывод лога о выборе в начале игры
      */
     public static void printStartGameChoiceLog() {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("--------------------------------------------------");
         LOGGER.info("Choice at the beginning of the game");
     }
@@ -61,6 +69,9 @@ public class GameLogger {
      * @param newRace - новая раса игрока
      */
     public static void printChooseRaceLog(final @NotNull Player player, final @NotNull Race newRace) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("* Player {} choose race {} *", player.getNickname(), newRace);
     }
 
@@ -68,6 +79,9 @@ public class GameLogger {
      * Вывод лога в начале игры
      */
     public static void printStartGame() {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("--------------------------------------------------");
         LOGGER.info("* Game is started *");
     }
@@ -78,6 +92,9 @@ public class GameLogger {
      * @param currentRound - номер текущего раунда
      */
     public static void printRoundBeginLog(final int currentRound) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("--------------------------------------------------");
         LOGGER.info("Round {} ", currentRound);
     }
@@ -88,6 +105,9 @@ public class GameLogger {
      * @param player - игрок, который обновляется
      */
     public static void printRoundBeginUpdateLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("Player {} is updated in round begin ", player.getNickname());
     }
 
@@ -97,6 +117,9 @@ public class GameLogger {
      * @param player - игрок, который обновляется
      */
     public static void printRoundEndUpdateLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("Player {} is updated in round end ", player.getNickname());
     }
 
@@ -106,6 +129,9 @@ public class GameLogger {
      * @param player - следующий игрок
      */
     public static void printNextPlayerLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("Next player: {} ", player.getNickname());
     }
 
@@ -115,6 +141,9 @@ public class GameLogger {
      * @param player - игрок в упадке
      */
     public static void printDeclineRaceLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("* Player {} in decline of race! *", player.getNickname());
     }
 
@@ -126,6 +155,9 @@ public class GameLogger {
      */
     public static void printUpdateAchievableCellsLog(final @NotNull Player player,
                                                      final @NotNull Set<Cell> achievableCells) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("Player {} updated his achievable cells: {} ", player.getNickname(), achievableCells);
     }
 
@@ -135,6 +167,9 @@ public class GameLogger {
      * @param player - игрок, начинающий захватывать клетки
      */
     public static void printBeginCatchCellsLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("=================================");
         LOGGER.debug("* Player {} captures cells! *", player.getNickname());
     }
@@ -146,6 +181,9 @@ public class GameLogger {
      * @param cellPosition - позиция клетки на борде
      */
     public static void printCellTryEnterLog(final @NotNull Player player, final @NotNull Position cellPosition) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} try enter to his cell {} ", player.getNickname(), cellPosition);
     }
 
@@ -156,6 +194,9 @@ public class GameLogger {
      * @param unitsCount - выбранное число юнитов
      */
     public static void printCellTryEnterUnitsQuantityLog(final @NotNull Player player, final int unitsCount) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} try enter to his cell units in quantity {} ", player.getNickname(), unitsCount);
     }
 
@@ -165,6 +206,9 @@ public class GameLogger {
      * @param player - игрок, который не смог войти в свою клетку
      */
     public static void printCellNotEnteredLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("The cell is not entered. The player {} retreated ", player.getNickname());
     }
 
@@ -175,6 +219,9 @@ public class GameLogger {
      * @param cell   - клетка игрока
      */
     public static void printAfterCellEnteringLog(final @NotNull Player player, final @NotNull Cell cell) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("+++++++++++++++++++++++++++++++");
         LOGGER.debug("Cell after entering: ");
         printCellInformationLog(cell);
@@ -189,6 +236,9 @@ public class GameLogger {
      * @param cells - список клеток
      */
     public static void printAfterWithdrawCellsLog(final @NotNull List<Cell> cells) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Cells after withdraw of units: ");
         cells.forEach(GameLogger::printCellInformationLog);
     }
@@ -199,6 +249,9 @@ public class GameLogger {
      * @param cell - клетка
      */
     public static void printCellInformationLog(final @NotNull Cell cell) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("--- CellType: {} ", cell.getType().getTitle());
         LOGGER.debug("--- Race: {} ", cell.getRace() != null ? cell.getRace().getTitle() : "NULL");
         LOGGER.debug("--- Feudal: {} ", cell.getFeudal() != null ? cell.getFeudal().getNickname() : "NULL");
@@ -211,6 +264,9 @@ public class GameLogger {
      * @param player - игрок
      */
     public static void printPlayerUnitsInformationLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("--- Available units: {} ", player.getUnitStateToUnits().get(AvailabilityType.AVAILABLE));
         LOGGER.debug("--- Not available units: {} ", player.getUnitStateToUnits().get(AvailabilityType.NOT_AVAILABLE));
     }
@@ -222,6 +278,9 @@ public class GameLogger {
      * @param cellPosition - позиция клетки на борде
      */
     public static void printCellCatchAttemptLog(final @NotNull Player player, final @NotNull Position cellPosition) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} catch attempt the cell {} ", player.getNickname(), cellPosition);
     }
 
@@ -232,6 +291,9 @@ public class GameLogger {
      * @param unitsCount - выбранное число юнитов
      */
     public static void printCatchCellUnitsQuantityLog(final @NotNull Player aggressor, final int unitsCount) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} capture units in quantity {} ", aggressor.getNickname(), unitsCount);
     }
 
@@ -241,6 +303,9 @@ public class GameLogger {
      * @param player - игрок, который не смог захватить клетку
      */
     public static void printCatchCellNotCapturedLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("The cell is not captured. The aggressor {} retreated ", player.getNickname());
     }
 
@@ -252,6 +317,9 @@ public class GameLogger {
      */
     public static void printCatchCellDefenseFeatureLog(final @Nullable Player defendingPlayer,
                                                        final @NotNull Cell catchingCell) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player stumbled upon a defense of {} in cellType {} of defending player {}",
                 catchingCell.getRace(), catchingCell.getType(),
                 defendingPlayer != null ? defendingPlayer.getNickname() : "NULL");
@@ -263,6 +331,9 @@ public class GameLogger {
      * @param unitsCountNeededToCatch - число юнитов, необходимое для захвата клетки
      */
     public static void printCatchCellCountNeededLog(final int unitsCountNeededToCatch) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Units count needed to catch: {} ", unitsCountNeededToCatch);
     }
 
@@ -274,6 +345,9 @@ public class GameLogger {
      */
     public static void printCatchCellCatchingFeatureLog(final @NotNull Player player,
                                                         final @NotNull Cell catchingCell) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} took advantage of the feature race {} and cellType of catchCell {}",
                 player.getNickname(), Objects.requireNonNull(player.getRace()).getTitle(),
                 catchingCell.getType().getTitle());
@@ -285,6 +359,9 @@ public class GameLogger {
      * @param bonusAttack - бонус к силе атаки
      */
     public static void printCatchCellBonusAttackLog(final int bonusAttack) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Bonus attack: {} ", bonusAttack);
     }
 
@@ -294,6 +371,9 @@ public class GameLogger {
      * @param player - игрок, захвативший клетку
      */
     public static void printCapturedCellLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("Cell is captured of player {} ", player.getNickname());
     }
 
@@ -304,6 +384,9 @@ public class GameLogger {
      * @param deadUnitsCount - число погибших юнитов игрока
      */
     public static void printCatchCellUnitsDiedLog(final @NotNull Player player, final int deadUnitsCount) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("{} units of player {} died ", deadUnitsCount, player.getNickname());
     }
 
@@ -314,6 +397,9 @@ public class GameLogger {
      * @param catchingCell - захваченная клетка
      */
     public static void printAfterCellCatchingLog(final @NotNull Player player, final @NotNull Cell catchingCell) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("+++++++++++++++++++++++++++++++");
         LOGGER.debug("Cell after catching: ");
         printCellInformationLog(catchingCell);
@@ -330,6 +416,9 @@ public class GameLogger {
      *                     (т. е. те клетки, которые принадлежат игроку, но не приносят ему монет)
      */
     public static void printTransitCellsLog(final @NotNull Player player, final @NotNull List<Cell> transitCells) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("* Transit cells of player {}: ", player.getNickname());
         transitCells.forEach(GameLogger::printCellInformationLog);
     }
@@ -340,6 +429,9 @@ public class GameLogger {
      * @param player - игрок, чьи транзитные клетки мы логгируем
      */
     public static void printBeginUnitsDistributionLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("=======================================");
         LOGGER.debug("* Player {} is distributes units! *", player.getNickname());
     }
@@ -350,6 +442,9 @@ public class GameLogger {
      * @param player - игрок, который освободил свои транзитные клетки
      */
     public static void printFreedTransitCellsLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} freed his transit cells ", player.getNickname());
     }
 
@@ -362,6 +457,9 @@ public class GameLogger {
      */
     public static void printCellDefendingLog(final @NotNull Player player, final int unitsCount,
                                              final @NotNull Position position) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} protects by {} units the cell in position {}",
                 player.getNickname(), unitsCount, position);
     }
@@ -373,6 +471,9 @@ public class GameLogger {
      * @param protectedCell - клетка, в которую распределили юнитов
      */
     public static void printCellAfterDefendingLog(final @NotNull Player player, final @NotNull Cell protectedCell) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Cell after defending: ");
         printCellInformationLog(protectedCell);
         LOGGER.debug("Player {} after defending: ", player.getNickname());
@@ -385,6 +486,9 @@ public class GameLogger {
      * @param player - игрок, завершивший фазу распределения войск
      */
     public static void printAfterDistributedUnitsLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.info("Player {} distributed units ", player.getNickname());
     }
 
@@ -396,6 +500,9 @@ public class GameLogger {
      */
     public static void printPlayerCoinsCountByCellUpdatingLog(final @NotNull Player player,
                                                               final @NotNull Position cellPosition) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} update coins by cell in position {} ", player.getNickname(), cellPosition);
     }
 
@@ -407,6 +514,9 @@ public class GameLogger {
      */
     public static void printPlayerCoinsCountByCellTypeUpdatingLog(final @NotNull Player player,
                                                                   final @NotNull CellType cellType) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} update coins by cellType {} ", player.getNickname(), cellType.getTitle());
     }
 
@@ -418,6 +528,9 @@ public class GameLogger {
      */
     public static void printPlayerCoinsCountByCellTypeGroupUpdatingLog(final @NotNull Player player,
                                                                        final @NotNull CellType cellType) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} update coins by group cellType {} ", player.getNickname(), cellType.getTitle());
     }
 
@@ -427,6 +540,9 @@ public class GameLogger {
      * @param player - игрок, у которого обновилось число монет
      */
     public static void printPlayerCoinsCountUpdatingLog(final @NotNull Player player) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("Player {} updated coins count. Now he has {} ", player.getNickname(), player.getCoins());
     }
 
@@ -442,6 +558,9 @@ public class GameLogger {
     public static void printRoundEndLog(final int currentRound, final @NotNull List<Player> playerList,
                                         final @NotNull Map<Player, List<Cell>> ownToCells,
                                         final @NotNull Map<Player, Set<Cell>> feudalToCells) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("* Round {} is end! *", currentRound);
         LOGGER.debug("* Players after {} rounds:", currentRound);
         printPlayersInformation(playerList, ownToCells, feudalToCells);
@@ -457,6 +576,9 @@ public class GameLogger {
     public static void printPlayersInformation(final @NotNull List<Player> playerList,
                                                final @NotNull Map<Player, List<Cell>> ownToCells,
                                                final @NotNull Map<Player, Set<Cell>> feudalToCells) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
 
         playerList.forEach(player ->
                 LOGGER.debug("Player {}: [ coins {}, feudal for: {} cells, controlled: {} cells ] ",
@@ -472,6 +594,9 @@ public class GameLogger {
      */
     public static void printResultsInGameEnd(final @NotNull List<Player> winners,
                                              final @NotNull List<Player> playerList) {
+        if (!GameEvents.isTextLogOn()) {
+            return;
+        }
         LOGGER.debug("* Finalize *");
         LOGGER.info("---------------------------------------");
         LOGGER.info("Game OVER !!!");
@@ -1,8 +1,11 @@
 package io.neolab.internship.coins.server.service;
 
+import io.neolab.internship.coins.server.game.board.ArrayBoard;
 import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.CellMask;
 import io.neolab.internship.coins.server.game.board.CellType;
 import io.neolab.internship.coins.server.game.board.IBoard;
+import io.neolab.internship.coins.server.game.board.IMaskedCells;
 import io.neolab.internship.coins.server.game.board.Position;
 import io.neolab.internship.coins.server.game.feature.CoefficientlyFeature;
 import io.neolab.internship.coins.server.game.feature.Feature;
@@ -10,7 +13,9 @@ import io.neolab.internship.coins.server.game.feature.FeatureType;
 import io.neolab.internship.coins.server.game.feature.GameFeatures;
 import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.server.service.event.GameEvents;
 import io.neolab.internship.coins.utils.AvailabilityType;
+import io.neolab.internship.coins.utils.CompositionIterator;
 import io.neolab.internship.coins.utils.ListProcessor;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
@@ -65,6 +70,38 @@ public class GameLoopProcessor {
                 GameLoopProcessor.updateNeighboringCellsIfNecessary(board, neighboringCell));
     }
 
+    /**
+     * Разбить клетки игрока на классы равноценных при распределении юнитов: у клеток одного класса один тип,
+     * они обе на краю борды или обе не на краю, и напасть на них в свой ход могут одни и те же соперники
+     *
+     * @param board      - борда
+     * @param ownToCells - клетки каждого игрока
+     * @param player     - игрок, распределяющий юнитов
+     * @param cells      - клетки игрока
+     * @return номер класса каждой клетки (см. CompositionIterator.getClasses)
+     */
+    public static @NotNull int[] getDistributionClasses(final @NotNull IBoard board,
+                                                        final @NotNull Map<Player, List<Cell>> ownToCells,
+                                                        final @NotNull Player player,
+                                                        final @NotNull List<Cell> cells) {
+        final Set<Cell> edgeCells = new HashSet<>(board.getEdgeCells());
+        final Map<Cell, Set<Player>> cellToAttackers = new HashMap<>(cells.size());
+        ownToCells.forEach((opponent, opponentCells) -> {
+            if (opponent.equals(player)) {
+                return;
+            }
+            final Set<Cell> achievableCells = new HashSet<>();
+            updateAchievableCells(opponent, board, achievableCells, opponentCells, false);
+            cells.forEach(cell -> {
+                if (achievableCells.contains(cell)) {
+                    cellToAttackers.computeIfAbsent(cell, key -> new HashSet<>()).add(opponent);
+                }
+            });
+        });
+        return CompositionIterator.getClasses(cells, cell -> Arrays.asList(cell.getType(), edgeCells.contains(cell),
+                cellToAttackers.getOrDefault(cell, Collections.emptySet())));
+    }
+
     /**
      * Метод для получения достижимых в один ход игроком клеток, не подконтрольных ему
      *
@@ -79,7 +116,12 @@ public class GameLoopProcessor {
                                              final @NotNull List<Cell> controlledCells,
                                              final boolean isLoggingTurnOn) {
         achievableCells.clear();
-        if (controlledCells.isEmpty()) {
+        if (board instanceof ArrayBoard) { // достижимые клетки - объединение масок соседей
+            final ArrayBoard arrayBoard = (ArrayBoard) board;
+            arrayBoard.addCells(controlledCells.isEmpty()
+                    ? arrayBoard.getEdgeMask()
+                    : arrayBoard.getNeighbourhoodMask(controlledCells), achievableCells);
+        } else if (controlledCells.isEmpty()) {
             achievableCells.addAll(board.getEdgeCells());
             board.getEdgeCells().forEach(edgeCell -> updateNeighboringCellsIfNecessary(board, edgeCell));
         } else {
@@ -311,27 +353,20 @@ public class GameLoopProcessor {
                                                          final @NotNull List<Cell> catchingCellNeighboringCells,
                                                          final @NotNull Cell catchingCell,
                                                          final @NotNull List<Cell> controlledCells) {
-        final List<Cell> boardEdgeCells = board.getEdgeCells();
+        final Set<Unit> neighboringCellsUnits = new HashSet<>();
+        catchingCellNeighboringCells.forEach(neighboringCell ->
+                neighboringCellsUnits.addAll(neighboringCell.getUnits()));
+        final Map<Unit, Cell> unitToControlledCell = isEdgeCell(board, catchingCell)
+                ? getUnitToCell(controlledCells)
+                : null;
         final Iterator<Unit> iterator = units.iterator();
         while (iterator.hasNext()) {
-            boolean unitAvailableForCapture = false;
             final Unit unit = iterator.next();
-            for (final Cell neighboringCell : catchingCellNeighboringCells) {
-                if (neighboringCell.getUnits().contains(unit)) {
-                    unitAvailableForCapture = true;
-                    break;
-                }
-            }
-            if (boardEdgeCells.contains(catchingCell) && !unitAvailableForCapture) {
-                unitAvailableForCapture = true;
-                for (final Cell controlledCell : controlledCells) {
-                    if (controlledCell.getUnits().contains(unit)) {
-                        if (!catchingCellNeighboringCells.contains(controlledCell)) {
-                            unitAvailableForCapture = false;
-                        }
-                        break;
-                    }
-                }
+            boolean unitAvailableForCapture = neighboringCellsUnits.contains(unit);
+            if (unitToControlledCell != null && !unitAvailableForCapture) {
+                final Cell controlledCell = unitToControlledCell.get(unit);
+                unitAvailableForCapture =
+                        controlledCell == null || catchingCellNeighboringCells.contains(controlledCell);
             }
             if (!unitAvailableForCapture) {
                 iterator.remove();
@@ -339,6 +374,29 @@ public class GameLoopProcessor {
         }
     }
 
+    /**
+     * @param cells - клетки
+     * @return отображение юнитов в первую из клеток, в которой они стоят
+     */
+    private static @NotNull Map<Unit, Cell> getUnitToCell(final @NotNull List<Cell> cells) {
+        final Map<Unit, Cell> unitToCell = new HashMap<>();
+        cells.forEach(cell -> cell.getUnits().forEach(unit -> unitToCell.putIfAbsent(unit, cell)));
+        return unitToCell;
+    }
+
+    /**
+     * @param board - борда
+     * @param cell  - клетка
+     * @return true, если клетка крайняя на борде
+     */
+    private static boolean isEdgeCell(final @NotNull IBoard board, final @NotNull Cell cell) {
+        if (board instanceof ArrayBoard) {
+            final int index = ((ArrayBoard) board).getIndexByCell(cell);
+            return index >= 0 && ((ArrayBoard) board).isEdgeCell(index);
+        }
+        return board.getEdgeCells().contains(cell);
+    }
+
     /**
      * Вывести юнитов с клеток
      *
@@ -351,9 +409,9 @@ public class GameLoopProcessor {
     private static void withdrawUnits(final @NotNull List<Cell> cells, final @NotNull List<Cell> controlledCells,
                                       final @NotNull Set<Cell> feudalCells,
                                       final boolean isLoggingTurOn, final @NotNull List<Unit>... units) {
-        cells.forEach(cell ->
-                cell.getUnits().removeIf(unit ->
-                        Arrays.stream(units).anyMatch(unitsList -> unitsList.contains(unit))));
+        final Set<Unit> withdrawnUnits = new HashSet<>();
+        Arrays.stream(units).forEach(withdrawnUnits::addAll);
+        cells.forEach(cell -> cell.getUnits().removeIf(withdrawnUnits::contains));
         loseCells(cells, controlledCells, feudalCells);
         if (isLoggingTurOn) {
             GameLogger.printAfterWithdrawCellsLog(cells);
@@ -369,8 +427,12 @@ public class GameLoopProcessor {
      */
     public static void loseCells(final @NotNull List<Cell> cells,
                                  final @NotNull List<Cell> controlledCells, final @NotNull Set<Cell> feudalCells) {
+        if (isMaskedTogether(controlledCells, feudalCells)) {
+            loseMaskedCells(cells, controlledCells, feudalCells);
+            return;
+        }
         final Iterator<Cell> iterator = cells.iterator();
-        final List<Cell> lostCells = new LinkedList<>();
+        final Set<Cell> lostCells = new HashSet<>();
         while (iterator.hasNext()) {
             final Cell cell = iterator.next();
             if (cell.getUnits().isEmpty()) {
@@ -378,8 +440,55 @@ public class GameLoopProcessor {
                 cell.setFeudal(null);
             }
         }
+        if (lostCells.isEmpty()) {
+            return;
+        }
         feudalCells.removeAll(lostCells);
-        controlledCells.removeAll(lostCells);
+        controlledCells.removeIf(lostCells::contains);
+    }
+
+    /**
+     * Потерять клетки, на которых нет юнитов игрока: потерянные клетки собираются в маску
+     * и удаляются из коллекций по маске. Клетки не с борды удаляются, как раньше, через множество
+     *
+     * @param cells           - клетки, которые необходимо проверить на то, потеряны ли они
+     * @param controlledCells - подконтрольные клетки игрока (ведут маску)
+     * @param feudalCells     - клетки, приносящие монеты игроку (ведут маску)
+     */
+    private static void loseMaskedCells(final @NotNull List<Cell> cells, final @NotNull List<Cell> controlledCells,
+                                        final @NotNull Set<Cell> feudalCells) {
+        final ArrayBoard board = ((IMaskedCells) controlledCells).getBoard();
+        final long[] lostMask = CellMask.newMask(board.getCellsCount());
+        Set<Cell> lostUnmaskedCells = null;
+        for (final Cell cell : cells) {
+            if (cell.getUnits().isEmpty()) {
+                cell.setFeudal(null);
+                final int index = board.getIndexByCell(cell);
+                if (index >= 0) {
+                    CellMask.set(lostMask, index);
+                } else {
+                    lostUnmaskedCells = lostUnmaskedCells != null ? lostUnmaskedCells : new HashSet<>();
+                    lostUnmaskedCells.add(cell);
+                }
+            }
+        }
+        ((IMaskedCells) feudalCells).removeMasked(lostMask);
+        ((IMaskedCells) controlledCells).removeMasked(lostMask);
+        if (lostUnmaskedCells != null) {
+            feudalCells.removeAll(lostUnmaskedCells);
+            controlledCells.removeIf(lostUnmaskedCells::contains);
+        }
+    }
+
+    /**
+     * @param first  - коллекция клеток
+     * @param second - коллекция клеток
+     * @return true, если обе коллекции ведут маски по одной раскладке борды
+     */
+    private static boolean isMaskedTogether(final @NotNull Collection<Cell> first,
+                                            final @NotNull Collection<Cell> second) {
+        return first instanceof IMaskedCells && second instanceof IMaskedCells
+                && ((IMaskedCells) first).getBoard().isSameLayout(((IMaskedCells) second).getBoard());
     }
 
     /**
@@ -391,7 +500,7 @@ public class GameLoopProcessor {
     private static void makeAvailableUnitsToNotAvailable(final @NotNull Player player,
                                                          final @NotNull List<Unit> units) {
         player.getUnitsByState(AvailabilityType.NOT_AVAILABLE).addAll(units);
-        player.getUnitsByState(AvailabilityType.AVAILABLE).removeAll(units);
+        player.getUnitsByState(AvailabilityType.AVAILABLE).removeAll(new HashSet<>(units));
     }
 
     /**
@@ -506,7 +615,11 @@ public class GameLoopProcessor {
         }
 
         /* Игрок покидает каждую транзитную клетку */
-        controlledCells.removeIf(transitCells::contains);
+        if (isMaskedTogether(controlledCells, transitCells) && !((IMaskedCells) transitCells).hasUnmaskedCells()) {
+            ((IMaskedCells) controlledCells).removeMasked(((IMaskedCells) transitCells).getMask());
+        } else if (!transitCells.isEmpty()) {
+            controlledCells.removeIf(new HashSet<>(transitCells)::contains);
+        }
         transitCells.forEach(transitCell -> transitCell.getUnits().clear());
         transitCells.clear();
 
@@ -572,6 +685,7 @@ public class GameLoopProcessor {
         });
         if (isLoggedOn) {
             GameLogger.printPlayerCoinsCountUpdatingLog(player);
+            GameEvents.coinsUpdated(player);
         }
     }
 
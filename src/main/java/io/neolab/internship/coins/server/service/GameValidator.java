@@ -18,6 +18,7 @@ import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -79,6 +80,7 @@ class GameValidator {
      *                        несуществующая позиция - WRONG_POSITION,
      *                        недостижимая клетка - INVALID_ACHIEVABLE_CELL,
      *                        нет доступных юнитов - NO_AVAILABLE_UNITS,
+     *                        в ответе больше юнитов, чем доступных у игрока - NOT_ENOUGH_UNITS,
      *                        недостаточно юнитов для захвата - CELL_CAPTURE_IMPOSSIBLE
      */
     static void validateCatchCellAnswer(final @Nullable CatchCellAnswer answer,
@@ -104,8 +106,12 @@ class GameValidator {
             throw new CoinsException(CoinsErrorCode.ANSWER_VALIDATION_NO_AVAILABLE_UNITS);
         }
         final List<Unit> units = answer.getResolution().getSecond();
+        //игрок хочет направить больше юнитов, чем у него доступно
+        if (units.size() > availableUnits.size()) {
+            throw new CoinsException(CoinsErrorCode.ANSWER_VALIDATION_NOT_ENOUGH_UNITS);
+        }
         if (controlledCells.contains(cellForAttempt)) {
-            if (cellForAttempt.getUnits().stream().anyMatch(units::contains)) {
+            if (cellForAttempt.getUnits().stream().anyMatch(new HashSet<>(units)::contains)) {
                 throw new CoinsException(CoinsErrorCode.ANSWER_VALIDATION_ENTER_CELL_INVALID_UNITS);
             }
             if (units.size() < cellForAttempt.getType().getCatchDifficulty()) {
@@ -0,0 +1,78 @@
+package io.neolab.internship.coins.server.service.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Игровое событие. Объекты событий заранее созданы в кольцевом буфере GameEventLog
+ * и переиспользуются, поэтому публикация события ничего не выделяет в куче
+ */
+public class GameEvent {
+    public static final int NO_VALUE = -1;
+
+    private long timeMillis;
+    private int gameId;
+    private int round;
+    private @Nullable GameEventType type;
+    private int playerId;
+    private int x;
+    private int y;
+    private int value;
+
+    void set(final long timeMillis, final int gameId, final int round, final @NotNull GameEventType type,
+             final int playerId, final int x, final int y, final int value) {
+        this.timeMillis = timeMillis;
+        this.gameId = gameId;
+        this.round = round;
+        this.type = type;
+        this.playerId = playerId;
+        this.x = x;
+        this.y = y;
+        this.value = value;
+    }
+
+    public long getTimeMillis() {
+        return timeMillis;
+    }
+
+    public int getGameId() {
+        return gameId;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    public @Nullable GameEventType getType() {
+        return type;
+    }
+
+    public int getPlayerId() {
+        return playerId;
+    }
+
+    public int getX() {
+        return x;
+    }
+
+    public int getY() {
+        return y;
+    }
+
+    public int getValue() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "GameEvent{" +
+                "gameId=" + gameId +
+                ", round=" + round +
+                ", type=" + type +
+                ", playerId=" + playerId +
+                ", x=" + x +
+                ", y=" + y +
+                ", value=" + value +
+                '}';
+    }
+}
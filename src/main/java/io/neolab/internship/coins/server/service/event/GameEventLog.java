@@ -0,0 +1,199 @@
+package io.neolab.internship.coins.server.service.event;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Поток событий игр одного лобби. События публикуются в кольцевой буфер заранее созданных объектов
+ * и пишутся в приёмник отдельным потоком, поэтому поток игры не ждёт ни форматирования, ни диска.
+ * Публикует события один поток (поток лобби). Если буфер заполнен, событие отбрасывается и учитывается
+ * в getDroppedEventsCount: игра не должна тормозить из-за логов
+ */
+public class GameEventLog implements AutoCloseable {
+    private static final @NotNull Logger LOGGER = LoggerFactory.getLogger(GameEventLog.class);
+    public static final int DEFAULT_CAPACITY = 4096;
+    /* Поток записи будится публикацией; таймаут страхует от пропущенного пробуждения (публикация без барьера) */
+    private static final long IDLE_PARK_NANOS = 10_000_000;
+
+    private final @NotNull GameEventVerbosity verbosity;
+    private final @Nullable IGameEventSink sink; // null - события не пишутся (OFF)
+    private final @NotNull GameEvent[] events;
+    private final int mask;
+
+    private final @NotNull AtomicLong publishedSequence = new AtomicLong(-1); // номер последнего события в буфере
+    private final @NotNull AtomicLong writtenSequence = new AtomicLong(-1); // номер последнего записанного
+    private final @NotNull AtomicLong droppedEventsCount = new AtomicLong();
+    private final @Nullable Thread writerThread;
+    private volatile boolean isClosed = false;
+    private volatile boolean isWriterParked = false; // поток записи ждёт событий
+
+    /* Меняются только потоком, публикующим события */
+    private int gameId = GameEvent.NO_VALUE;
+    private int round = GameEvent.NO_VALUE;
+
+    /**
+     * @param name      - имя лога (для имени потока записи)
+     * @param verbosity - подробность логгирования
+     * @param sink      - приёмник событий (не нужен при OFF)
+     * @param capacity  - размер буфера (округляется вверх до степени двойки)
+     */
+    public GameEventLog(final @NotNull String name, final @NotNull GameEventVerbosity verbosity,
+                        final @Nullable IGameEventSink sink, final int capacity) {
+        this.verbosity = verbosity;
+        this.sink = verbosity == GameEventVerbosity.OFF ? null : sink;
+        this.events = new GameEvent[Integer.highestOneBit(Math.max(1, capacity - 1)) << 1];
+        this.mask = events.length - 1;
+        for (int i = 0; i < events.length; i++) {
+            events[i] = new GameEvent();
+        }
+        if (this.sink != null) {
+            writerThread = new Thread(this::writeEvents, "game-events-" + name);
+            writerThread.setDaemon(true);
+            writerThread.start();
+        } else {
+            writerThread = null;
+        }
+    }
+
+    public @NotNull GameEventVerbosity getVerbosity() {
+        return verbosity;
+    }
+
+    /**
+     * @return включены ли текстовые логи игры
+     */
+    public boolean isTextLogOn() {
+        return verbosity == GameEventVerbosity.FULL;
+    }
+
+    /**
+     * Начать новую игру: следующие события относятся к ней
+     *
+     * @param gameId - id игры
+     */
+    void beginGame(final int gameId) {
+        this.gameId = gameId;
+        this.round = GameEvent.NO_VALUE;
+    }
+
+    /**
+     * Начать новый раунд: следующие события относятся к нему
+     *
+     * @param round - номер раунда
+     */
+    void beginRound(final int round) {
+        this.round = round;
+    }
+
+    /**
+     * Опубликовать событие
+     *
+     * @param type     - тип события
+     * @param playerId - id игрока или GameEvent.NO_VALUE
+     * @param x        - координата клетки или GameEvent.NO_VALUE
+     * @param y        - координата клетки или GameEvent.NO_VALUE
+     * @param value    - значение события (см. GameEventType) или GameEvent.NO_VALUE
+     */
+    void publish(final @NotNull GameEventType type, final int playerId, final int x, final int y, final int value) {
+        if (sink == null || isClosed) {
+            return;
+        }
+        final long sequence = publishedSequence.get() + 1;
+        if (sequence - writtenSequence.get() > events.length) {
+            droppedEventsCount.incrementAndGet();
+            return;
+        }
+        events[(int) (sequence & mask)].set(System.currentTimeMillis(), gameId, round, type, playerId, x, y, value);
+        publishedSequence.lazySet(sequence); // событие видно потоку записи только после заполнения
+        if (isWriterParked) {
+            LockSupport.unpark(writerThread);
+        }
+    }
+
+    /**
+     * Цикл потока записи: пишет опубликованные события, а когда их нет - сбрасывает приёмник и ждёт,
+     * пока publish или close его не разбудят
+     */
+    private void writeEvents() {
+        long written = writtenSequence.get();
+        boolean isFlushNeeded = false;
+        while (true) {
+            final boolean isClosing = isClosed; // читаем до publishedSequence: после закрытия публикаций нет
+            final long published = publishedSequence.get();
+            if (published == written) {
+                if (isFlushNeeded) {
+                    isFlushNeeded = false;
+                    flushSink();
+                }
+                if (isClosing) {
+                    return;
+                }
+                isWriterParked = true;
+                if (publishedSequence.get() == written && !isClosed) { // повторная проверка после флага
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                isWriterParked = false;
+                continue;
+            }
+            while (written < published) {
+                written++;
+                writeEvent(events[(int) (written & mask)]);
+            }
+            writtenSequence.lazySet(written); // освобождаем места в буфере
+            isFlushNeeded = true;
+        }
+    }
+
+    private void writeEvent(final @NotNull GameEvent event) {
+        try {
+            Objects.requireNonNull(sink).write(event);
+        } catch (final IOException exception) {
+            droppedEventsCount.incrementAndGet();
+            LOGGER.error("Game event is not written: {}", event, exception);
+        }
+    }
+
+    private void flushSink() {
+        try {
+            Objects.requireNonNull(sink).flush();
+        } catch (final IOException exception) {
+            LOGGER.error("Game events are not flushed", exception);
+        }
+    }
+
+    /**
+     * @return число событий, отброшенных из-за заполненного буфера или ошибки записи
+     */
+    public long getDroppedEventsCount() {
+        return droppedEventsCount.get();
+    }
+
+    /**
+     * Дописать все опубликованные события и закрыть приёмник
+     */
+    @Override
+    public void close() {
+        isClosed = true;
+        if (writerThread == null) {
+            return;
+        }
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (final InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            Objects.requireNonNull(sink).close();
+        } catch (final IOException exception) {
+            LOGGER.error("Game events sink is not closed", exception);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package io.neolab.internship.coins.server.service.event;
+
+/**
+ * Тип игрового события. Для каждого типа указано, что лежит в полях события
+ * (не указанные поля - GameEvent.NO_VALUE)
+ */
+public enum GameEventType {
+    GAME_CREATED, // x, y - размеры борды, value - число игроков
+    ROUND_BEGIN,
+    RACE_CHOSEN, // player, value - порядковый номер расы
+    DECLINE_RACE, // player, value - число потерянных клеток
+    CELL_CAPTURED, // player, x, y - позиция клетки, value - число вошедших юнитов
+    UNITS_DISTRIBUTED, // player, x, y - позиция клетки, value - число юнитов в клетке
+    COINS_UPDATED, // player, value - число монет после обновления
+    GAME_OVER, // player, value - итоговое число монет
+}
@@ -0,0 +1,10 @@
+package io.neolab.internship.coins.server.service.event;
+
+/**
+ * Подробность логгирования игр лобби
+ */
+public enum GameEventVerbosity {
+    OFF, // ни событий, ни текстовых логов игры
+    EVENTS, // только поток событий
+    FULL, // поток событий и текстовые логи игры (GameLogger, сообщения клиентам целиком)
+}
@@ -0,0 +1,124 @@
+package io.neolab.internship.coins.server.service.event;
+
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Публикация игровых событий в лог событий текущего потока (лобби привязывает свой лог к своему потоку).
+ * Если лог не привязан (партии без сервера, тесты), события никуда не пишутся, а текстовые логи включены
+ */
+public class GameEvents {
+    private static final @NotNull ThreadLocal<GameEventLog> CURRENT_LOG = new ThreadLocal<>();
+
+    /**
+     * Привязать лог событий к текущему потоку
+     *
+     * @param gameEventLog - лог событий (null - отвязать)
+     */
+    public static void setCurrentLog(final @Nullable GameEventLog gameEventLog) {
+        if (gameEventLog != null) {
+            CURRENT_LOG.set(gameEventLog);
+        } else {
+            CURRENT_LOG.remove();
+        }
+    }
+
+    /**
+     * @return включены ли текстовые логи игры в текущем потоке
+     */
+    public static boolean isTextLogOn() {
+        final GameEventLog gameEventLog = CURRENT_LOG.get();
+        return gameEventLog == null || gameEventLog.isTextLogOn();
+    }
+
+    /**
+     * @param gameId       - id игры
+     * @param boardSizeX   - ширина борды
+     * @param boardSizeY   - высота борды
+     * @param playersCount - число игроков
+     */
+    public static void gameCreated(final int gameId, final int boardSizeX, final int boardSizeY,
+                                   final int playersCount) {
+        final GameEventLog gameEventLog = CURRENT_LOG.get();
+        if (gameEventLog != null) {
+            gameEventLog.beginGame(gameId);
+            gameEventLog.publish(GameEventType.GAME_CREATED, GameEvent.NO_VALUE, boardSizeX, boardSizeY,
+                    playersCount);
+        }
+    }
+
+    /**
+     * @param round - номер начавшегося раунда
+     */
+    public static void roundBegin(final int round) {
+        final GameEventLog gameEventLog = CURRENT_LOG.get();
+        if (gameEventLog != null) {
+            gameEventLog.beginRound(round);
+            gameEventLog.publish(GameEventType.ROUND_BEGIN, GameEvent.NO_VALUE, GameEvent.NO_VALUE,
+                    GameEvent.NO_VALUE, GameEvent.NO_VALUE);
+        }
+    }
+
+    /**
+     * @param player  - игрок
+     * @param newRace - выбранная раса
+     */
+    public static void raceChosen(final @NotNull Player player, final @NotNull Race newRace) {
+        publish(GameEventType.RACE_CHOSEN, player, null, newRace.ordinal());
+    }
+
+    /**
+     * @param player         - игрок, ушедший в упадок
+     * @param lostCellsCount - число клеток, над которыми игрок потерял контроль
+     */
+    public static void declineRace(final @NotNull Player player, final int lostCellsCount) {
+        publish(GameEventType.DECLINE_RACE, player, null, lostCellsCount);
+    }
+
+    /**
+     * @param player     - игрок, захвативший клетку
+     * @param position   - позиция клетки
+     * @param unitsCount - число юнитов, отправленных на захват
+     */
+    public static void cellCaptured(final @NotNull Player player, final @Nullable Position position,
+                                    final int unitsCount) {
+        publish(GameEventType.CELL_CAPTURED, player, position, unitsCount);
+    }
+
+    /**
+     * @param player     - игрок, распределивший юнитов
+     * @param position   - позиция клетки
+     * @param unitsCount - число юнитов в клетке
+     */
+    public static void unitsDistributed(final @NotNull Player player, final @NotNull Position position,
+                                        final int unitsCount) {
+        publish(GameEventType.UNITS_DISTRIBUTED, player, position, unitsCount);
+    }
+
+    /**
+     * @param player - игрок, у которого обновилось число монет
+     */
+    public static void coinsUpdated(final @NotNull Player player) {
+        publish(GameEventType.COINS_UPDATED, player, null, player.getCoins());
+    }
+
+    /**
+     * @param player - игрок, закончивший игру
+     */
+    public static void gameOver(final @NotNull Player player) {
+        publish(GameEventType.GAME_OVER, player, null, player.getCoins());
+    }
+
+    private static void publish(final @NotNull GameEventType type, final @NotNull Player player,
+                                final @Nullable Position position, final int value) {
+        final GameEventLog gameEventLog = CURRENT_LOG.get();
+        if (gameEventLog != null) {
+            gameEventLog.publish(type, player.getId(),
+                    position != null ? position.getX() : GameEvent.NO_VALUE,
+                    position != null ? position.getY() : GameEvent.NO_VALUE, value);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.neolab.internship.coins.server.service.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Приёмник событий. Вызывается только из потока записи GameEventLog
+ */
+public interface IGameEventSink extends Flushable, Closeable {
+    /**
+     * Записать событие. Объект события переиспользуется после вызова, хранить его нельзя
+     *
+     * @param event - событие
+     * @throws IOException при ошибке записи
+     */
+    void write(final @NotNull GameEvent event) throws IOException;
+}
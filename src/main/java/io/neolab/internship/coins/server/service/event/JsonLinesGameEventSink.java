@@ -0,0 +1,65 @@
+package io.neolab.internship.coins.server.service.event;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Запись событий в формате JSON Lines: одно событие - одна строка.
+ * Строка собирается в переиспользуемом буфере, позиция не пишется, если её нет
+ */
+public class JsonLinesGameEventSink implements IGameEventSink {
+    private final @NotNull Writer writer;
+    private final @NotNull StringBuilder line = new StringBuilder(128);
+    private char[] chars = new char[128];
+
+    public JsonLinesGameEventSink(final @NotNull Writer writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * @param fileName - имя файла (события дописываются в конец)
+     * @return приёмник, пишущий в файл
+     * @throws IOException если файл не удалось открыть
+     */
+    public static @NotNull JsonLinesGameEventSink toFile(final @NotNull String fileName) throws IOException {
+        return new JsonLinesGameEventSink(new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(fileName, true), StandardCharsets.UTF_8)));
+    }
+
+    @Override
+    public void write(final @NotNull GameEvent event) throws IOException {
+        line.setLength(0);
+        line.append("{\"time\":").append(event.getTimeMillis())
+                .append(",\"game\":").append(event.getGameId())
+                .append(",\"round\":").append(event.getRound())
+                .append(",\"type\":\"").append(event.getType()).append('"');
+        appendField("player", event.getPlayerId());
+        appendField("x", event.getX());
+        appendField("y", event.getY());
+        appendField("value", event.getValue());
+        line.append("}\n");
+        if (chars.length < line.length()) {
+            chars = new char[line.length()];
+        }
+        line.getChars(0, line.length(), chars, 0);
+        writer.write(chars, 0, line.length());
+    }
+
+    private void appendField(final @NotNull String name, final int value) {
+        if (value != GameEvent.NO_VALUE) {
+            line.append(",\"").append(name).append("\":").append(value);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -14,9 +14,9 @@ public class ClientServerProcessor {
      * @return поток ввода
      * @throws IOException при ошибке открытия потока ввода
      */
-    public static @NotNull BufferedReader initReaderBySocket(final @NotNull Socket socket)
+    public static @NotNull InputStream initInputStreamBySocket(final @NotNull Socket socket)
             throws IOException {
-        return new BufferedReader(new InputStreamReader(socket.getInputStream()));
+        return new BufferedInputStream(socket.getInputStream());
     }
 
     /**
@@ -26,20 +26,8 @@ public class ClientServerProcessor {
      * @return поток вывода
      * @throws IOException при ошибке открытия потока вывода
      */
-    public static @NotNull BufferedWriter initWriterBySocket(final @NotNull Socket socket)
+    public static @NotNull OutputStream initOutputStreamBySocket(final @NotNull Socket socket)
             throws IOException {
-        return new BufferedWriter(new OutputStreamWriter(socket.getOutputStream()));
-    }
-
-    /**
-     * Отправить сообщение
-     *
-     * @param out  - поток вывода
-     * @param json - строка (json), которую нужно отправить
-     * @throws IOException при ошибке отправки сообщения
-     */
-    public static void sendMessage(final @NotNull BufferedWriter out, final @NotNull String json) throws IOException {
-        out.write(json + "\n");
-        out.flush();
+        return new BufferedOutputStream(socket.getOutputStream());
     }
 }
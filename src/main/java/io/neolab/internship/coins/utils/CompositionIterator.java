@@ -0,0 +1,247 @@
+package io.neolab.internship.coins.utils;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.IntBuffer;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Перебор разбиений числа sum на partsCount слагаемых не меньше minPart (композиций) без построения их списка.
+ * Используется для распределения юнитов по клеткам: слагаемое с номером i - число юнитов в i-й клетке.
+ * Части одного класса (например, клетки одного типа) считаются равноценными: из разбиений, отличающихся
+ * только перестановкой таких частей, выдаётся одно - то, в котором части класса не возрастают.
+ * Разбиения выдаются в обратном лексикографическом порядке в одном и том же массиве,
+ * поэтому сохранять его нужно копией
+ */
+public class CompositionIterator implements Iterator<int[]> {
+    private static final int SAMPLE_ATTEMPTS_FACTOR = 4; // во сколько раз больше случайных разбиений пробуем
+
+    private final int minPart;
+    private final @NotNull int[] prevSameClassIndexes; // индекс предыдущей части того же класса или -1
+    private final @NotNull int[] parts;
+    private @Nullable int[] nextParts;
+
+    /**
+     * @param sum        - разбиваемое число
+     * @param partsCount - число частей
+     * @param minPart    - наименьшая часть
+     * @param classes    - классы частей (null - все части различны)
+     */
+    public CompositionIterator(final int sum, final int partsCount, final int minPart,
+                               final @Nullable int[] classes) {
+        this.minPart = minPart;
+        this.prevSameClassIndexes = getPrevSameClassIndexes(partsCount, classes);
+        this.parts = new int[partsCount];
+        if (partsCount > 0 && sum >= partsCount * minPart) {
+            nextParts = new int[partsCount];
+            Arrays.fill(nextParts, minPart);
+            nextParts[0] = sum - (partsCount - 1) * minPart;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        return nextParts != null;
+    }
+
+    @Override
+    public @NotNull int[] next() {
+        if (nextParts == null) {
+            throw new NoSuchElementException();
+        }
+        System.arraycopy(nextParts, 0, parts, 0, parts.length);
+        do {
+            if (!moveToNext(nextParts)) {
+                nextParts = null;
+            }
+        } while (nextParts != null && !isCanonical(nextParts));
+        return parts;
+    }
+
+    /**
+     * Перейти к следующему разбиению: уменьшить самую правую часть (кроме последней), которую можно уменьшить,
+     * а всё, что правее неё, собрать в соседнюю с ней часть
+     *
+     * @param current - текущее разбиение (меняется)
+     * @return true, если следующее разбиение есть
+     */
+    private boolean moveToNext(final @NotNull int[] current) {
+        int rest = current[current.length - 1] - minPart;
+        for (int i = current.length - 2; i >= 0; i--) {
+            if (current[i] > minPart) {
+                current[i]--;
+                current[i + 1] = minPart + rest + 1;
+                for (int j = i + 2; j < current.length; j++) {
+                    current[j] = minPart;
+                }
+                return true;
+            }
+            rest += current[i] - minPart;
+        }
+        return false;
+    }
+
+    /**
+     * @param current - разбиение
+     * @return true, если части каждого класса в разбиении не возрастают
+     */
+    private boolean isCanonical(final @NotNull int[] current) {
+        for (int i = 0; i < current.length; i++) {
+            if (prevSameClassIndexes[i] >= 0 && current[prevSameClassIndexes[i]] < current[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Упорядочить части каждого класса по невозрастанию, не трогая их позиций
+     *
+     * @param current - разбиение (меняется)
+     */
+    private void makeCanonical(final @NotNull int[] current) {
+        for (int i = 1; i < current.length; i++) { // сортировка вставками внутри классов
+            for (int j = i; prevSameClassIndexes[j] >= 0 && current[prevSameClassIndexes[j]] < current[j];
+                 j = prevSameClassIndexes[j]) {
+                final int part = current[j];
+                current[j] = current[prevSameClassIndexes[j]];
+                current[prevSameClassIndexes[j]] = part;
+            }
+        }
+    }
+
+    /**
+     * @return случайное разбиение в том же виде, в каком их выдаёт перебор (новый массив),
+     * или null, если разбиений нет
+     */
+    private @Nullable int[] random(final int sum) {
+        final int partsCount = parts.length;
+        final int free = sum - partsCount * minPart; // сколько раздаём сверх minPart
+        if (partsCount == 0 || free < 0) {
+            return null;
+        }
+        // выбираем partsCount - 1 перегородок среди free + partsCount - 1 мест (выборка по порядку, алгоритм S)
+        final int[] composition = new int[partsCount];
+        final int placesCount = free + partsCount - 1;
+        int barsLeft = partsCount - 1;
+        int part = 0;
+        int partIndex = 0;
+        for (int place = 0; place < placesCount; place++) {
+            if (RandomGenerator.chooseNumber(placesCount - place) < barsLeft) {
+                composition[partIndex++] = minPart + part;
+                part = 0;
+                barsLeft--;
+            } else {
+                part++;
+            }
+        }
+        composition[partIndex] = minPart + part;
+        makeCanonical(composition);
+        return composition;
+    }
+
+    /**
+     * Все разбиения потоком
+     *
+     * @param sum        - разбиваемое число
+     * @param partsCount - число частей
+     * @param minPart    - наименьшая часть
+     * @param classes    - классы частей (null - все части различны)
+     * @return поток разбиений (массив переиспользуется, см. описание класса)
+     */
+    public static @NotNull Stream<int[]> stream(final int sum, final int partsCount, final int minPart,
+                                                final @Nullable int[] classes) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(
+                new CompositionIterator(sum, partsCount, minPart, classes),
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Не больше maxCount различных разбиений потоком. Если всех разбиений (без учёта классов)
+     * не больше maxCount, они перебираются, иначе выбираются случайно
+     *
+     * @param sum        - разбиваемое число
+     * @param partsCount - число частей
+     * @param minPart    - наименьшая часть
+     * @param classes    - классы частей (null - все части различны)
+     * @param maxCount   - наибольшее число разбиений
+     * @return поток разбиений (массив переиспользуется, см. описание класса)
+     */
+    public static @NotNull Stream<int[]> limitedStream(final int sum, final int partsCount, final int minPart,
+                                                       final @Nullable int[] classes, final int maxCount) {
+        if (getCompositionsCount(sum - partsCount * minPart, partsCount, maxCount) <= maxCount) {
+            return stream(sum, partsCount, minPart, classes);
+        }
+        final CompositionIterator iterator = new CompositionIterator(sum, partsCount, minPart, classes);
+        final Set<IntBuffer> sampled = new HashSet<>();
+        return Stream.generate(() -> Objects.requireNonNull(iterator.random(sum)))
+                .limit((long) maxCount * SAMPLE_ATTEMPTS_FACTOR)
+                .filter(composition -> sampled.add(IntBuffer.wrap(composition)))
+                .limit(maxCount);
+    }
+
+    /**
+     * Разбить элементы на классы
+     *
+     * @param items      - элементы
+     * @param classifier - признак, по которому элементы равноценны
+     * @param <T>        - тип элемента
+     * @param <K>        - тип признака
+     * @return номер класса каждого элемента
+     */
+    public static <T, K> @NotNull int[] getClasses(final @NotNull List<T> items,
+                                                   final @NotNull Function<T, K> classifier) {
+        final Map<K, Integer> keyToClass = new HashMap<>();
+        final int[] classes = new int[items.size()];
+        int i = 0;
+        for (final T item : items) {
+            classes[i++] = keyToClass.computeIfAbsent(classifier.apply(item), key -> keyToClass.size());
+        }
+        return classes;
+    }
+
+    /**
+     * @param partsCount - число частей
+     * @param classes    - классы частей или null
+     * @return индекс предыдущей части того же класса для каждой части (-1, если её нет)
+     */
+    private static @NotNull int[] getPrevSameClassIndexes(final int partsCount, final @Nullable int[] classes) {
+        final int[] prevSameClassIndexes = new int[partsCount];
+        Arrays.fill(prevSameClassIndexes, -1);
+        if (classes == null) {
+            return prevSameClassIndexes;
+        }
+        final Map<Integer, Integer> lastIndexes = new HashMap<>();
+        for (int i = 0; i < partsCount; i++) {
+            final Integer prevIndex = lastIndexes.put(classes[i], i);
+            prevSameClassIndexes[i] = prevIndex != null ? prevIndex : -1;
+        }
+        return prevSameClassIndexes;
+    }
+
+    /**
+     * Число разбиений free на partsCount неотрицательных частей: C(free + partsCount - 1, partsCount - 1)
+     *
+     * @param free       - разбиваемое число
+     * @param partsCount - число частей
+     * @param bound      - граница, выше которой точное значение не нужно
+     * @return число разбиений или значение больше bound
+     */
+    private static long getCompositionsCount(final int free, final int partsCount, final int bound) {
+        if (partsCount == 0 || free < 0) {
+            return 0;
+        }
+        long count = 1;
+        for (int i = 1; i < partsCount; i++) { // C(free + i, i) = C(free + i - 1, i - 1) * (free + i) / i
+            count = count * (free + i) / i;
+            if (count > bound) {
+                return count;
+            }
+        }
+        return count;
+    }
+}
@@ -1,9 +1,11 @@
 package io.neolab.internship.coins.utils;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
 public class IdGenerator {
-    private static int currentId = 0;
+    private static final AtomicInteger currentId = new AtomicInteger(); // без блокировки: id берут параллельные партии
 
-    public static synchronized int getCurrentId() {
-        return ++currentId;
+    public static int getCurrentId() {
+        return currentId.incrementAndGet();
     }
 }
@@ -50,6 +50,16 @@ public class RandomGenerator {
         return random.nextInt(bound);
     }
 
+    /**
+     * Задать начальное значение генератора, чтобы повторить ту же последовательность выборов
+     * (например, ту же борду и ту же партию в бенчмарках)
+     *
+     * @param seed - начальное значение
+     */
+    public static synchronized void setSeed(final long seed) {
+        random.setSeed(seed);
+    }
+
     /**
      * Подбрасываем монетку
      *
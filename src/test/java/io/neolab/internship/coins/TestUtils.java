@@ -52,4 +52,37 @@ public class TestUtils {
         return positionCellBidiMap.getKey(cells.get(0));
     }
 
+    /**
+     * @param game - игра
+     * @return описание всего изменяемого состояния игры (для сравнения состояний до и после отката)
+     */
+    protected static @NotNull String describeGameState(final @NotNull IGame game) {
+        final StringBuilder description = new StringBuilder("round=" + game.getCurrentRound());
+        game.getBoard().getPositionToCellMap().forEach((position, cell) ->
+                description.append('\n').append(position).append(' ').append(cell.getRace())
+                        .append(" feudal=").append(cell.getFeudal() == null ? null : cell.getFeudal().getId())
+                        .append(" units=").append(unitIds(cell.getUnits())));
+        game.getPlayers().forEach(player -> {
+            description.append('\n').append(player.getId()).append(' ').append(player.getRace())
+                    .append(" coins=").append(player.getCoins());
+            for (final AvailabilityType availabilityType : AvailabilityType.values()) {
+                description.append(' ').append(availabilityType)
+                        .append('=').append(unitIds(player.getUnitsByState(availabilityType)));
+            }
+            description.append(" own=").append(cellIds(game.getOwnToCells().get(player)))
+                    .append(" transit=").append(cellIds(game.getPlayerToTransitCells().get(player)))
+                    .append(" feudal=").append(new TreeSet<>(cellIds(game.getFeudalToCells().get(player))))
+                    .append(" achievable=")
+                    .append(new TreeSet<>(cellIds(game.getPlayerToAchievableCells().get(player))));
+        });
+        return description.append("\npool=").append(game.getRacesPool()).toString();
+    }
+
+    private static @NotNull List<Integer> unitIds(final @NotNull Collection<Unit> units) {
+        return units.stream().map(Unit::getId).collect(Collectors.toList());
+    }
+
+    private static @NotNull List<Integer> cellIds(final @NotNull Collection<Cell> cells) {
+        return cells.stream().map(Cell::getId).collect(Collectors.toList());
+    }
 }
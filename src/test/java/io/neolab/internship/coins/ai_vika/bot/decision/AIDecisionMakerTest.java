@@ -0,0 +1,106 @@
+package io.neolab.internship.coins.ai_vika.bot.decision;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.ai_vika.bot.AIBot;
+import io.neolab.internship.coins.ai_vika.bot.decision.model.DistributionUnitsDecision;
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.ai_vika.bot.utils.AIDecisionMakerUtils;
+import io.neolab.internship.coins.ai_vika.bot.utils.ExecutorServiceProcessor;
+import io.neolab.internship.coins.bim.bot.ai.SelfPlayEngine;
+import io.neolab.internship.coins.client.bot.IBot;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import io.neolab.internship.coins.utils.RandomGenerator;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class AIDecisionMakerTest extends TestUtils {
+    private static final int MAX_NODES_AMOUNT = 10_000;
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+        executor = ExecutorServiceProcessor.createDaemonThreadPool(2, "ai-decision-maker-test");
+    }
+
+    @AfterClass
+    public static void after() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * @return игра в начале второго раунда: у игроков уже есть клетки
+     */
+    private static IGame playFirstRound() throws AIBotException, CoinsException {
+        RandomGenerator.setSeed(17);
+        return SelfPlayEngine.playRounds(3, 4, Arrays.asList(new AIBot(executor, 0), new AIBot(executor, 0)), 1);
+    }
+
+    @Test
+    public void depthOneDistributionSearchesOnlyCurrentTurnTest() throws AIBotException, CoinsException {
+        final IGame game = playFirstRound();
+        final Player player = game.getPlayers().get(0);
+        final List<Cell> controlledCells = game.getOwnToCells().get(player);
+        assertFalse(controlledCells.isEmpty());
+        final int unitsAmount = player.getUnitsByState(AvailabilityType.AVAILABLE).size()
+                + player.getUnitsByState(AvailabilityType.NOT_AVAILABLE).size();
+        final long combinationsAmount = AIDecisionMakerUtils.getDistributionUnitsCombinations(
+                game, player, controlledCells, unitsAmount, MAX_NODES_AMOUNT).count();
+
+        final AIDecisionMaker decisionMaker = new AIDecisionMaker(1, MAX_NODES_AMOUNT, 2, executor, 0);
+        final DistributionUnitsDecision decision =
+                (DistributionUnitsDecision) decisionMaker.getDistributionUnitsDecision(player, game);
+
+        /* на глубине 1 каждый вариант оценивается сразу после распределения, без ходов соперника */
+        assertEquals(combinationsAmount, decisionMaker.getSearchCounters().getGameCopiesCount());
+        for (final Map.Entry<Position, List<Unit>> entry : decision.getResolutions().entrySet()) {
+            assertTrue(controlledCells.contains(game.getBoard().getCellByPosition(entry.getKey())));
+            assertTrue(entry.getValue().size() <= unitsAmount);
+        }
+    }
+
+    @Test
+    public void timeoutReturnsDecisionTest() throws AIBotException, CoinsException {
+        final IGame game = playFirstRound();
+        final Player player = game.getPlayers().get(0);
+        final long timeoutMillis = 50;
+        final AIDecisionMaker decisionMaker = new AIDecisionMaker(3, AIDecisionMaker.DEFAULT_MAX_NODES_AMOUNT, 2,
+                executor, timeoutMillis);
+        final long startNanos = System.nanoTime();
+        assertNotNull(decisionMaker.getDeclineRaceDecision(player, game));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos) < 60 * timeoutMillis);
+    }
+
+    @Test
+    public void botsDecideConcurrentlyOnOneExecutorTest() throws Exception {
+        final IGame game = playFirstRound();
+        final ExecutorService botThreads = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<Boolean>> choices = new ArrayList<>(2);
+            for (int i = 0; i < 2; i++) {
+                final IGame gameCopy = game.getCopy();
+                final Player player = gameCopy.getPlayers().get(i);
+                final IBot bot = new AIBot(executor, 0);
+                choices.add(botThreads.submit(() -> bot.declineRaceChoose(player, gameCopy)));
+            }
+            for (final Future<Boolean> choice : choices) {
+                assertNotNull(choice.get(60, TimeUnit.SECONDS));
+            }
+        } finally {
+            botThreads.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package io.neolab.internship.coins.bim.bot;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.bim.bot.ai.SelfPlayEngine;
+import io.neolab.internship.coins.client.bot.IBot;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.utils.RandomGenerator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class SmartBotTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    @Test
+    public void continueTreeOnNextTurnTest() throws AIBotException, CoinsException {
+        RandomGenerator.setSeed(3);
+        try (final SmartBot bot = new SmartBot(2, FunctionType.MAX_VALUE, SearchType.TREE, 0, 1)) {
+            final IGame game = SelfPlayEngine.playRounds(3, 4, Collections.singletonList((IBot) bot), 1);
+            assertFalse(bot.isLastTreeContinued()); // первый ход: прошлого дерева нет
+            bot.declineRaceChoose(game.getPlayers().get(0), game);
+            assertTrue(bot.isLastTreeContinued());
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.ai.model.action.*;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class AlphaBetaSearcherTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    /**
+     * @return игру, в которой у первого игрока выбрана раса и начат раунд
+     */
+    private static IGame startGame() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = getSomePlayer(game);
+        ReversibleMoveProcessor.makeMove(game, player, new ChangeRaceAction(game.getRacesPool().get(0)));
+        game.incrementCurrentRound();
+        GameLoopProcessor.playerRoundBeginUpdate(player, false);
+        return game;
+    }
+
+    @Test
+    public void chooseRaceBeforeGameTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final String expected = describeGameState(game);
+        final AlphaBetaSearcher searcher = new AlphaBetaSearcher(FunctionType.MIN_MAX_VALUE_DIFFERENCE);
+        final Action action = searcher.chooseChangeRace(game, getSomePlayer(game), game.getPlayers().size());
+        assertNotNull(action);
+        assertTrue(game.getRacesPool().contains(((ChangeRaceAction) action).getNewRace()));
+        assertTrue(searcher.getVisitedNodesCount() > 0);
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void chooseDeclineRaceTest() throws CoinsException {
+        final IGame game = startGame();
+        final String expected = describeGameState(game);
+        final Action action = new AlphaBetaSearcher(FunctionType.MAX_VALUE).chooseDeclineRace(game,
+                getSomePlayer(game), 2);
+        assertNotNull(action);
+        assertFalse(((DeclineRaceAction) action).isDeclineRace()); // в первом раунде упадок невозможен
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void chooseCatchCellTest() throws CoinsException {
+        final IGame game = startGame();
+        final Player player = getSomePlayer(game);
+        final Set<Cell> prevCatchCells = new HashSet<>();
+        final String expected = describeGameState(game);
+        final Action action = new AlphaBetaSearcher(FunctionType.MIN_MAX_PERCENT)
+                .chooseCatchCell(game, player, 2, prevCatchCells);
+        assertNotNull(action);
+        final Position position = ((CatchCellAction) action).getResolution().getFirst();
+        assertTrue(game.getPlayerToAchievableCells().get(player).contains(game.getBoard().getCellByPosition(position)));
+        assertTrue(prevCatchCells.isEmpty());
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void chooseDistributionUnitsTest() throws CoinsException {
+        final IGame game = startGame();
+        final Player player = getSomePlayer(game);
+        final AlphaBetaSearcher searcher = new AlphaBetaSearcher(FunctionType.MIN_MAX_VALUE);
+        ReversibleMoveProcessor.makeMove(game, player,
+                searcher.chooseCatchCell(game, player, 2, new HashSet<>()));
+        SimulationTreeCreatingProcessor.updateGameAfterCatchCellsEnd(game, player);
+        final String expected = describeGameState(game);
+        final Action action = searcher.chooseDistributionUnits(game, player, 2);
+        assertNotNull(action);
+        ((DistributionUnitsAction) action).getResolutions().keySet().forEach(position ->
+                assertTrue(game.getOwnToCells().get(player).contains(game.getBoard().getCellByPosition(position))));
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void iterativeDeepeningReachesMaxDepthTest() throws CoinsException {
+        final IGame game = startGame();
+        final String expected = describeGameState(game);
+        final AlphaBetaSearcher searcher = new AlphaBetaSearcher(FunctionType.MIN_MAX_VALUE_DIFFERENCE, 60_000);
+        final Action action = searcher.chooseCatchCell(game, getSomePlayer(game), 2, new HashSet<>());
+        assertNotNull(action);
+        assertEquals(2, searcher.getReachedDepth());
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void iterativeDeepeningStopsOnTimeTest() throws CoinsException {
+        final IGame game = startGame();
+        final String expected = describeGameState(game);
+        final AlphaBetaSearcher searcher = new AlphaBetaSearcher(FunctionType.MIN_MAX_VALUE_DIFFERENCE, 50);
+        final Action action = searcher.chooseCatchCell(game, getSomePlayer(game), 20, new HashSet<>());
+        assertNotNull(action);
+        assertTrue(searcher.getReachedDepth() < 20);
+        assertEquals(expected, describeGameState(game));
+    }
+}
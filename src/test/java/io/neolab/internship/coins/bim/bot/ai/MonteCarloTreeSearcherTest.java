@@ -0,0 +1,124 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.ai.model.action.*;
+import io.neolab.internship.coins.client.bot.metrics.SearchCounters;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class MonteCarloTreeSearcherTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    /**
+     * @return игру, в которой у первого игрока выбрана раса и начат раунд
+     */
+    private static IGame startGame() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = getSomePlayer(game);
+        ReversibleMoveProcessor.makeMove(game, player, new ChangeRaceAction(game.getRacesPool().get(0)));
+        game.incrementCurrentRound();
+        GameLoopProcessor.playerRoundBeginUpdate(player, false);
+        return game;
+    }
+
+    @Test
+    public void chooseRaceBeforeGameTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final String expected = describeGameState(game);
+        try (final MonteCarloTreeSearcher searcher = new MonteCarloTreeSearcher(100, 0, 2)) {
+            final Action action = searcher.chooseChangeRace(game, getSomePlayer(game));
+            assertNotNull(action);
+            assertTrue(game.getRacesPool().contains(((ChangeRaceAction) action).getNewRace()));
+            assertEquals(100, searcher.getLastIterationsCount());
+            final SearchCounters searchCounters = searcher.getSearchCounters();
+            assertEquals(2, searchCounters.getGameCopiesCount()); // по копии на исполнителя
+            assertTrue(searchCounters.getExpandedNodesCount() > 0);
+            assertEquals(searchCounters.getExpandedNodesCount() + 2, searchCounters.getTreeNodesCount());
+        }
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void chooseCatchCellTest() throws CoinsException {
+        final IGame game = startGame();
+        final Player player = getSomePlayer(game);
+        final Set<Cell> prevCatchCells = new HashSet<>();
+        final String expected = describeGameState(game);
+        final Action action;
+        try (final MonteCarloTreeSearcher searcher = new MonteCarloTreeSearcher(200, 0, 4)) {
+            action = searcher.chooseCatchCell(game, player, prevCatchCells);
+        }
+        assertNotNull(action);
+        final CatchCellAction catchCellAction = (CatchCellAction) action;
+        if (catchCellAction.getResolution() != null) {
+            assertTrue(game.getPlayerToAchievableCells().get(player)
+                    .contains(game.getBoard().getCellByPosition(catchCellAction.getResolution().getFirst())));
+        }
+        assertTrue(prevCatchCells.isEmpty());
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void chooseDistributionUnitsTest() throws CoinsException {
+        final IGame game = startGame();
+        final Player player = getSomePlayer(game);
+        ReversibleMoveProcessor.makeMove(game, player,
+                new AlphaBetaSearcher(FunctionType.MAX_VALUE).chooseCatchCell(game, player, 1, new HashSet<>()));
+        SimulationTreeCreatingProcessor.updateGameAfterCatchCellsEnd(game, player);
+        final String expected = describeGameState(game);
+        final Action action;
+        try (final MonteCarloTreeSearcher searcher = new MonteCarloTreeSearcher(100, 0, 1)) {
+            action = searcher.chooseDistributionUnits(game, player);
+        }
+        assertNotNull(action);
+        ((DistributionUnitsAction) action).getResolutions().keySet().forEach(position ->
+                assertTrue(game.getOwnToCells().get(player).contains(game.getBoard().getCellByPosition(position))));
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void injectedPoolTest() throws CoinsException {
+        final IGame game = startGame();
+        final ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            try (final MonteCarloTreeSearcher searcher = new MonteCarloTreeSearcher(50, 0, 2, pool)) {
+                assertNotNull(searcher.chooseCatchCell(game, getSomePlayer(game), new HashSet<>()));
+                assertEquals(50, searcher.getLastIterationsCount());
+            }
+            assertFalse(pool.isShutdown()); // чужой пул поисковик не закрывает
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void timeBudgetTest() throws CoinsException {
+        final IGame game = startGame();
+        final String expected = describeGameState(game);
+        try (final MonteCarloTreeSearcher searcher = new MonteCarloTreeSearcher(0, 100, 2)) {
+            final long start = System.currentTimeMillis();
+            final Action action = searcher.chooseCatchCell(game, getSomePlayer(game), new HashSet<>());
+            assertNotNull(action);
+            assertTrue(searcher.getLastIterationsCount() > 0);
+            assertTrue(System.currentTimeMillis() - start < 5_000);
+        }
+        assertEquals(expected, describeGameState(game));
+    }
+}
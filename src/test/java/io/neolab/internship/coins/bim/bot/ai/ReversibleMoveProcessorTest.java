@@ -0,0 +1,174 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.ai.model.NodeTree;
+import io.neolab.internship.coins.bim.bot.ai.model.action.CatchCellAction;
+import io.neolab.internship.coins.bim.bot.ai.model.action.ChangeRaceAction;
+import io.neolab.internship.coins.bim.bot.ai.model.action.DeclineRaceAction;
+import io.neolab.internship.coins.bim.bot.ai.model.action.DistributionUnitsAction;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.GameCheckpoint;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.ZobristHash;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import io.neolab.internship.coins.utils.Pair;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ReversibleMoveProcessorTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    /**
+     * @return игру, в которой у первого игрока выбрана раса и начат раунд
+     */
+    private static IGame startGame() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = getSomePlayer(game);
+        ReversibleMoveProcessor.makeMove(game, player, new ChangeRaceAction(game.getRacesPool().get(0)));
+        game.incrementCurrentRound();
+        GameLoopProcessor.playerRoundBeginUpdate(player, false);
+        return game;
+    }
+
+    /**
+     * @param game   - игра
+     * @param player - игрок
+     * @param index  - индекс крайней клетки
+     * @return захват крайней клетки всеми доступными юнитами
+     */
+    private static CatchCellAction catchEdgeCellAction(final IGame game, final Player player, final int index) {
+        final Cell cell = game.getBoard().getEdgeCells().get(index);
+        return new CatchCellAction(new Pair<>(game.getBoard().getPositionByCell(cell),
+                new LinkedList<>(player.getUnitsByState(AvailabilityType.AVAILABLE))));
+    }
+
+    @Test
+    public void unmakeChangeRaceTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = getSomePlayer(game);
+        final String expected = describeGameState(game);
+        final GameCheckpoint undo =
+                ReversibleMoveProcessor.makeMove(game, player, new ChangeRaceAction(game.getRacesPool().get(0)));
+        assertNotNull(player.getRace());
+        ReversibleMoveProcessor.unmakeMove(undo);
+        assertNull(player.getRace());
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void unmakeDeclineRaceTest() throws CoinsException {
+        final IGame game = startGame();
+        final Player player = getSomePlayer(game);
+        GameLoopProcessor.makeAllUnitsSomeState(player, AvailabilityType.NOT_AVAILABLE);
+        final String expected = describeGameState(game);
+        final GameCheckpoint undo = ReversibleMoveProcessor.makeMove(game, player, new DeclineRaceAction(false));
+        assertNotEquals(expected, describeGameState(game));
+        ReversibleMoveProcessor.unmakeMove(undo);
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void unmakeCatchCellTest() throws CoinsException {
+        final IGame game = startGame();
+        final Player player = getSomePlayer(game);
+        final String expected = describeGameState(game);
+        final GameCheckpoint undo =
+                ReversibleMoveProcessor.makeMove(game, player, catchEdgeCellAction(game, player, 0));
+        assertEquals(1, game.getOwnToCells().get(player).size());
+        ReversibleMoveProcessor.unmakeMove(undo);
+        assertTrue(game.getOwnToCells().get(player).isEmpty());
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void unmakeDistributionUnitsTest() throws CoinsException {
+        final IGame game = startGame();
+        final Player player = getSomePlayer(game);
+        ReversibleMoveProcessor.makeMove(game, player, catchEdgeCellAction(game, player, 0));
+        final Cell cell = game.getOwnToCells().get(player).get(0);
+        final String expected = describeGameState(game);
+        final Map<Position, List<Unit>> resolutions = new HashMap<>();
+        resolutions.put(game.getBoard().getPositionByCell(cell), new LinkedList<>(
+                player.getUnitsByState(AvailabilityType.NOT_AVAILABLE).subList(0, 1)));
+        final GameCheckpoint undo =
+                ReversibleMoveProcessor.makeMove(game, player, new DistributionUnitsAction(resolutions));
+        assertNotEquals(expected, describeGameState(game));
+        ReversibleMoveProcessor.unmakeMove(undo);
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void unmakeNestedMovesTest() throws CoinsException {
+        final IGame game = startGame();
+        final Player player = getSomePlayer(game);
+        final Player opponent = game.getPlayers().get(1);
+        final String expected = describeGameState(game);
+        final GameCheckpoint undo1 =
+                ReversibleMoveProcessor.makeMove(game, player, catchEdgeCellAction(game, player, 0));
+        final String afterFirstMove = describeGameState(game);
+        final GameCheckpoint undo2 =
+                ReversibleMoveProcessor.makeMove(game, opponent, new ChangeRaceAction(game.getRacesPool().get(0)));
+        GameLoopProcessor.playerRoundBeginUpdate(opponent, false);
+        final GameCheckpoint undo3 =
+                ReversibleMoveProcessor.makeMove(game, opponent, catchEdgeCellAction(game, opponent, 5));
+        ReversibleMoveProcessor.unmakeMove(undo3);
+        ReversibleMoveProcessor.unmakeMove(undo2);
+        assertEquals(afterFirstMove, describeGameState(game));
+        ReversibleMoveProcessor.unmakeMove(undo1);
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void incrementalHashTest() throws CoinsException {
+        final IGame game = startGame();
+        final Player player = getSomePlayer(game);
+        final Player opponent = game.getPlayers().get(1);
+        final long expected = ZobristHash.hash(game, null);
+        final ReversibleMove move1 =
+                ReversibleMoveProcessor.makeMove(game, player, catchEdgeCellAction(game, player, 0), expected);
+        assertEquals(ZobristHash.hash(game, null), move1.getHash());
+        final ReversibleMove move2 = ReversibleMoveProcessor.makeMove(game, opponent,
+                new ChangeRaceAction(game.getRacesPool().get(0)), move1.getHash());
+        assertEquals(ZobristHash.hash(game, null), move2.getHash());
+        GameLoopProcessor.playerRoundBeginUpdate(opponent, false);
+        final long opponentHash = ZobristHash.hash(game, null);
+        final ReversibleMove move3 = ReversibleMoveProcessor.makeMove(game, opponent,
+                catchEdgeCellAction(game, opponent, 5), opponentHash);
+        assertEquals(ZobristHash.hash(game, null), move3.getHash());
+        final ReversibleMove move4 = ReversibleMoveProcessor.makeMove(game, player,
+                new ChangeRaceAction(game.getRacesPool().get(0)), move3.getHash()); // игрок освобождает клетку
+        assertEquals(ZobristHash.hash(game, null), move4.getHash());
+
+        assertEquals(move3.getHash(), ReversibleMoveProcessor.unmakeMove(move4));
+        assertEquals(opponentHash, ReversibleMoveProcessor.unmakeMove(move3));
+        assertEquals(opponentHash, ZobristHash.hash(game, null));
+        ReversibleMoveProcessor.unmakeMove(move2);
+        assertEquals(expected, ReversibleMoveProcessor.unmakeMove(move1));
+        assertEquals(expected, ZobristHash.hash(game, null));
+    }
+
+    @Test
+    public void createTreeKeepsGameTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final String expected = describeGameState(game);
+        final NodeTree tree = new SimulationTreeCreator(FunctionType.MAX_VALUE)
+                .createTree(game, getSomePlayer(game), 2);
+        assertFalse(tree.getEdges().isEmpty());
+        assertEquals(expected, describeGameState(game));
+    }
+}
@@ -0,0 +1,68 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.client.bot.IBot;
+import io.neolab.internship.coins.client.bot.SimpleBot;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.utils.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class SelfPlayEngineTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    @Test
+    public void playTest() throws InterruptedException {
+        final List<Supplier<IBot>> botFactories = Arrays.asList(SimpleBot::new, SimpleBot::new);
+        final SelfPlayResult result = new SelfPlayEngine(botFactories, 2).play(8);
+        assertEquals(2, result.getBotsCount());
+        assertEquals(0, result.getFailedGamesCount());
+        assertEquals(8, result.getGamesCount());
+        final long winsCount = result.getWinsCount(0) + result.getWinsCount(1);
+        assertTrue(winsCount >= result.getGamesCount()); // при ничьей побеждают оба
+        assertTrue(winsCount <= 2 * result.getGamesCount());
+        assertTrue(result.getElapsedNanos() > 0);
+    }
+
+    @Test
+    public void playWithoutSeatsRotationTest() throws InterruptedException {
+        final List<Supplier<IBot>> botFactories = Arrays.asList(SimpleBot::new, SimpleBot::new);
+        final SelfPlayResult result = new SelfPlayEngine(botFactories, 2, 2, 1, false).play(3);
+        assertEquals(0, result.getFailedGamesCount());
+        assertEquals(3, result.getGamesCount());
+        final long winsCount = result.getWinsCount(0) + result.getWinsCount(1);
+        assertTrue(winsCount >= result.getGamesCount() && winsCount <= 2 * result.getGamesCount());
+        assertTrue(result.getAverageCoins(0) >= 0);
+    }
+
+    @Test
+    public void playWithRejectedAnswersTest() throws InterruptedException {
+        final Supplier<IBot> cheaterFactory = () -> new SimpleBot() {
+            @Override
+            public @Nullable Pair<Position, List<Unit>> chooseCatchingCell(final @NotNull Player player,
+                                                                           final @NotNull IGame game) {
+                return new Pair<>(new Position(100, 100), Collections.emptyList()); // клетки нет на доске
+            }
+        };
+        final List<Supplier<IBot>> botFactories = Arrays.asList(cheaterFactory, SimpleBot::new);
+        final SelfPlayResult result = new SelfPlayEngine(botFactories, 2).play(2);
+        assertEquals(0, result.getFailedGamesCount());
+        assertEquals(2, result.getGamesCount());
+    }
+}
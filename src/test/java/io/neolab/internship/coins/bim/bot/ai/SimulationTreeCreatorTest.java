@@ -0,0 +1,131 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.ai.evaluation.CoinsEvaluator;
+import io.neolab.internship.coins.bim.bot.ai.model.Edge;
+import io.neolab.internship.coins.bim.bot.ai.model.NodeTree;
+import io.neolab.internship.coins.bim.bot.ai.model.action.Action;
+import io.neolab.internship.coins.bim.bot.ai.model.action.ActionType;
+import io.neolab.internship.coins.bim.bot.ai.model.action.ChangeRaceAction;
+import io.neolab.internship.coins.client.bot.metrics.SearchCounters;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import io.neolab.internship.coins.utils.RandomGenerator;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.Assert.*;
+
+public class SimulationTreeCreatorTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    /**
+     * Построить дерево до начала игры и проверить, что у каждой расы ровно одна дуга от корня
+     *
+     * @param creator - построитель дерева
+     * @return дерево
+     */
+    private static NodeTree createTreeBeforeGame(final SimulationTreeCreator creator) throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final String expected = describeGameState(game);
+        final NodeTree tree = creator.createTree(game, getSomePlayer(game), 2);
+        final List<Race> races = new ArrayList<>(tree.getEdges().size());
+        for (final Edge edge : tree.getEdges()) {
+            races.add(((ChangeRaceAction) Objects.requireNonNull(edge.getAction())).getNewRace());
+        }
+        assertFalse(races.isEmpty());
+        assertEquals(new HashSet<>(races).size(), races.size());
+        assertEquals(expected, describeGameState(game));
+        return tree;
+    }
+
+    @Test
+    public void singleThreadPoolTest() throws CoinsException {
+        try (final SimulationTreeCreator creator = new SimulationTreeCreator(FunctionType.MAX_VALUE, 1)) {
+            createTreeBeforeGame(creator);
+        }
+    }
+
+    @Test
+    public void injectedPoolTest() throws CoinsException {
+        final ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            try (final SimulationTreeCreator creator = new SimulationTreeCreator(FunctionType.MAX_VALUE, pool,
+                    new CoinsEvaluator(), new SearchCounters())) {
+                createTreeBeforeGame(creator);
+            }
+            assertFalse(pool.isShutdown()); // чужой пул построитель не закрывает
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void creatorsInParallelTest() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<NodeTree>> futures = new ArrayList<>(2);
+            for (int i = 0; i < 2; i++) {
+                futures.add(executor.submit(() ->
+                        createTreeBeforeGame(new SimulationTreeCreator(FunctionType.MAX_VALUE, 2))));
+            }
+            for (final Future<NodeTree> future : futures) {
+                assertFalse(future.get(60, TimeUnit.SECONDS).getEdges().isEmpty());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @param action - действие
+     * @return описание действия без номеров юнитов: ответы применяются как количества юнитов
+     */
+    private static String describeAction(final Action action) {
+        return String.valueOf(action).replaceAll("id=\\d+", "");
+    }
+
+    @Test
+    public void continuedTreeMatchesNewTreeTest() throws CoinsException {
+        RandomGenerator.setSeed(5);
+        final IGame game = GameInitializer.gameInit(3, 4, 1);
+        final Player player = game.getPlayers().get(0);
+        TurnState state = MonteCarloProcessor.applyAction(game, new TurnState(player, ActionType.CHANGE_RACE),
+                new ChangeRaceAction(Race.ELF), null);
+        final SimulationTreeCreator creator = new SimulationTreeCreator(FunctionType.MAX_VALUE, 1);
+        NodeTree node = creator.createTree(game, player, 2);
+        while (Objects.requireNonNull(node.getAction(0)).getType() != ActionType.DISTRIBUTION_UNITS) {
+            state = MonteCarloProcessor.applyAction(game, state, Objects.requireNonNull(node.getAction(0)), null);
+            node = node.getChild(0);
+        }
+        final IGame prevGame = game.getCopy();
+        final Action prevAction = Objects.requireNonNull(node.getAction(0));
+        final NodeTree subtree = node.getChild(0);
+        state = MonteCarloProcessor.applyAction(game, state, prevAction, null);
+        assertEquals(ActionType.DECLINE_RACE, state.getActionType());
+
+        final String expected = describeGameState(prevGame);
+        final NodeTree continuedTree = creator.continueTree(subtree, prevGame, prevAction, game, player, 2);
+        assertNotNull(continuedTree);
+        assertEquals(expected, describeGameState(prevGame));
+        final NodeTree newTree = new SimulationTreeCreator(FunctionType.MAX_VALUE, 1).createTree(game, player, 2);
+        assertEquals(newTree.getEdgesCount(), continuedTree.getEdgesCount());
+        for (int i = 0; i < newTree.getEdgesCount(); i++) {
+            assertEquals(describeAction(newTree.getAction(i)), describeAction(continuedTree.getAction(i)));
+        }
+        assertArrayEquals(newTree.getWinsCount(), continuedTree.getWinsCount());
+        assertArrayEquals(newTree.getMaxCoinsCount(), continuedTree.getMaxCoinsCount());
+        assertArrayEquals(newTree.getMinCoinsCount(), continuedTree.getMinCoinsCount());
+    }
+}
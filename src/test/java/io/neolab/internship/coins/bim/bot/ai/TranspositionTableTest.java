@@ -0,0 +1,60 @@
+package io.neolab.internship.coins.bim.bot.ai;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.bim.bot.ai.model.NodeTree;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.Collections;
+
+import static org.junit.Assert.*;
+
+public class TranspositionTableTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    private static NodeTree createNodeTree(final int casesCount) {
+        return new NodeTree(Collections.emptyList(), null, casesCount, null, null, null);
+    }
+
+    @Test
+    public void getPutTest() {
+        final TranspositionTable table = new TranspositionTable(16);
+        final NodeTree nodeTree = createNodeTree(1);
+        assertNull(table.get(42, 1));
+        table.put(42, 1, nodeTree);
+        assertSame(nodeTree, table.get(42, 1));
+        assertNull(table.get(42, 2));
+        assertNull(table.get(43, 1));
+        table.clear();
+        assertNull(table.get(42, 1));
+    }
+
+    @Test
+    public void capacityTest() {
+        assertEquals(16, new TranspositionTable(16).getCapacity());
+        assertEquals(32, new TranspositionTable(17).getCapacity());
+        assertEquals(2, new TranspositionTable(1).getCapacity());
+    }
+
+    @Test
+    public void replacementTest() {
+        final TranspositionTable table = new TranspositionTable(2); // одна корзина
+        final NodeTree depth1 = createNodeTree(1);
+        final NodeTree depth2 = createNodeTree(2);
+        final NodeTree depth3 = createNodeTree(3);
+        table.put(1, 1, depth1);
+        table.put(3, 3, depth3);
+        table.put(2, 2, depth2); // вытесняет самую глубокую запись
+        assertSame(depth1, table.get(1, 1));
+        assertNull(table.get(3, 3));
+        assertSame(depth2, table.get(2, 2));
+        table.put(5, 5, createNodeTree(5)); // глубже всех записей - не сохраняется
+        assertNull(table.get(5, 5));
+        assertSame(depth1, table.get(1, 1));
+        assertSame(depth2, table.get(2, 2));
+    }
+}
@@ -0,0 +1,78 @@
+package io.neolab.internship.coins.bim.bot.ai.evaluation;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.ai.AlphaBetaSearcher;
+import io.neolab.internship.coins.bim.bot.ai.model.action.Action;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class IncomeEvaluatorTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    private static Cell getSomeCell(final IGame game) {
+        return Objects.requireNonNull(game.getBoard().getCellByPosition(0, 0));
+    }
+
+    @Test
+    public void evaluateLastRoundTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = getSomePlayer(game);
+        player.setCoins(7);
+        game.getOwnToCells().get(player).add(getSomeCell(game));
+        assertEquals(7, new IncomeEvaluator(game.getCurrentRound()).evaluate(game, player));
+    }
+
+    @Test
+    public void evaluateIncomeTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = getSomePlayer(game);
+        final IncomeEvaluator evaluator = new IncomeEvaluator(game.getCurrentRound() + 3);
+        final int withoutCells = evaluator.evaluate(game, player);
+        assertTrue(withoutCells >= player.getCoins());
+
+        final Cell cell = getSomeCell(game);
+        game.getOwnToCells().get(player).add(cell);
+        assertEquals(withoutCells, evaluator.evaluate(game, player)); // монеты приносят только клетки феодала
+        game.getFeudalToCells().get(player).add(cell);
+        final String expected = describeGameState(game);
+        assertTrue(evaluator.evaluate(game, player) >= withoutCells + 3 * cell.getType().getCoinYield());
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void opponentCellBeneficialTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = getSomePlayer(game);
+        final Player opponent = game.getPlayers().stream()
+                .filter(item -> !item.equals(player))
+                .findFirst()
+                .orElseThrow();
+        final Cell cell = getSomeCell(game);
+        cell.setFeudal(opponent);
+        assertTrue(new IncomeEvaluator().isCellBeneficial(game, player, cell));
+    }
+
+    @Test
+    public void searchWithEvaluatorTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final String expected = describeGameState(game);
+        final Action action = new AlphaBetaSearcher(FunctionType.MIN_MAX_VALUE_DIFFERENCE, 0, new IncomeEvaluator())
+                .chooseChangeRace(game, getSomePlayer(game), game.getPlayers().size());
+        assertNotNull(action);
+        assertEquals(expected, describeGameState(game));
+    }
+}
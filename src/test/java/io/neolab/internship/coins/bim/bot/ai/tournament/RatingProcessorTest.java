@@ -0,0 +1,57 @@
+package io.neolab.internship.coins.bim.bot.ai.tournament;
+
+import io.neolab.internship.coins.TestUtils;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class RatingProcessorTest extends TestUtils {
+    private static final List<String> NAMES = Arrays.asList("A", "B", "C");
+
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    @Test
+    public void noGamesTest() {
+        final List<Rating> ratings = RatingProcessor.computeRatings(NAMES, new double[3][3], new int[3][3]);
+        ratings.forEach(rating -> assertEquals(RatingProcessor.BASE_RATING, rating.getValue(), 1E-6));
+        assertFalse(RatingProcessor.isSeparated(ratings));
+    }
+
+    @Test
+    public void orderTest() {
+        final double[][] scores = {{0, 15, 20}, {5, 0, 15}, {0, 5, 0}};
+        final int[][] gamesCounts = {{0, 20, 20}, {20, 0, 20}, {20, 20, 0}};
+        final List<Rating> ratings = RatingProcessor.computeRatings(NAMES, scores, gamesCounts);
+        assertEquals("A", ratings.get(0).getName());
+        assertEquals("B", ratings.get(1).getName());
+        assertEquals("C", ratings.get(2).getName());
+        assertEquals(35, ratings.get(0).getScore(), 1E-9);
+        assertEquals(40, ratings.get(0).getGamesCount());
+        ratings.forEach(rating -> assertTrue(rating.getMargin() > 0));
+    }
+
+    @Test
+    public void sweepIsFiniteTest() {
+        final double[][] scores = {{0, 10, 0}, {0, 0, 0}, {0, 0, 0}};
+        final int[][] gamesCounts = {{0, 10, 0}, {10, 0, 0}, {0, 0, 0}};
+        final List<Rating> ratings = RatingProcessor.computeRatings(NAMES, scores, gamesCounts);
+        ratings.forEach(rating -> assertTrue(Double.isFinite(rating.getValue())));
+        assertEquals("A", ratings.get(0).getName());
+        assertEquals("B", ratings.get(2).getName());
+    }
+
+    @Test
+    public void separationTest() {
+        final double[][] scores = {{0, 190, 200}, {10, 0, 190}, {0, 10, 0}};
+        final int[][] gamesCounts = {{0, 200, 200}, {200, 0, 200}, {200, 200, 0}};
+        assertTrue(RatingProcessor.isSeparated(RatingProcessor.computeRatings(NAMES, scores, gamesCounts)));
+    }
+}
@@ -0,0 +1,48 @@
+package io.neolab.internship.coins.bim.bot.ai.tournament;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.client.bot.IBot;
+import io.neolab.internship.coins.client.bot.SimpleBot;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.Assert.*;
+
+public class TournamentTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    private static Map<String, Supplier<IBot>> createRoster(final int count) {
+        final Map<String, Supplier<IBot>> roster = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            roster.put("SimpleBot" + i, SimpleBot::new);
+        }
+        return roster;
+    }
+
+    @Test
+    public void roundRobinTest() throws InterruptedException {
+        final TournamentResult result = new Tournament(createRoster(3), PairingType.ROUND_ROBIN, 2, 2).play();
+        assertEquals(3, result.getRatings().size());
+        assertEquals(2, result.getRoundsCount()); // раньше двух туров турнир не останавливается
+        assertEquals(0, result.getFailedGamesCount());
+        assertEquals(result.getRoundsCount() * 3 * 2, result.getGamesCount()); // 3 пары по 2 партии за тур
+    }
+
+    @Test
+    public void swissOddRosterTest() throws InterruptedException {
+        final TournamentResult result = new Tournament(createRoster(5), PairingType.SWISS, 3, 2).play();
+        assertEquals(5, result.getRatings().size());
+        assertTrue(result.getRoundsCount() >= 2 && result.getRoundsCount() <= 3);
+        assertEquals(0, result.getFailedGamesCount());
+        assertEquals(result.getRoundsCount() * 2 * 2, result.getGamesCount()); // 2 пары по 2 партии, один без пары
+        result.getRatings().forEach(rating -> assertTrue(rating.getGamesCount() <= 3 * 2));
+    }
+}
@@ -0,0 +1,55 @@
+package io.neolab.internship.coins.client.bot.metrics;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.ai_vika.bot.exception.AIBotException;
+import io.neolab.internship.coins.bim.bot.FunctionType;
+import io.neolab.internship.coins.bim.bot.SearchType;
+import io.neolab.internship.coins.bim.bot.SmartBot;
+import io.neolab.internship.coins.client.bot.SimpleBot;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionType;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import static org.junit.Assert.*;
+
+public class MeasuredBotTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    @Test
+    public void simpleBotTest() throws CoinsException, AIBotException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = game.getPlayers().get(0);
+        final BotMetrics metrics = new BotMetrics();
+        final MeasuredBot bot = new MeasuredBot(new SimpleBot(), metrics);
+        assertNotNull(bot.chooseRace(player, game));
+        bot.declineRaceChoose(player, game);
+        bot.declineRaceChoose(player, game);
+        assertEquals(1, metrics.getLatencies(PlayerQuestionType.CHANGE_RACE).getCount());
+        assertEquals(2, metrics.getLatencies(PlayerQuestionType.DECLINE_RACE).getCount());
+        assertEquals(0, metrics.getLatencies(PlayerQuestionType.CATCH_CELL).getCount());
+        assertEquals(0, metrics.getExpandedNodes(PlayerQuestionType.DECLINE_RACE).getMax());
+        assertTrue(metrics.getReport().contains("DECLINE_RACE: count=2"));
+    }
+
+    @Test
+    public void smartBotSearchCountersTest() throws CoinsException, AIBotException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = game.getPlayers().get(0);
+        final BotMetrics metrics = new BotMetrics();
+        final SmartBot smartBot = new SmartBot(1, FunctionType.MAX_VALUE, SearchType.ALPHA_BETA, 0, 1);
+        final MeasuredBot bot = new MeasuredBot(smartBot, metrics);
+        bot.chooseRace(player, game);
+        final Histogram expandedNodes = metrics.getExpandedNodes(PlayerQuestionType.CHANGE_RACE);
+        assertEquals(1, expandedNodes.getCount());
+        assertTrue(expandedNodes.getMax() > 0);
+        assertEquals(smartBot.getSearchCounters().getExpandedNodesCount(), expandedNodes.getMax());
+    }
+}
@@ -0,0 +1,192 @@
+package io.neolab.internship.coins.common.communication;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.common.message.client.ClientMessage;
+import io.neolab.internship.coins.common.message.client.ClientMessageType;
+import io.neolab.internship.coins.common.message.client.GameReadyMessage;
+import io.neolab.internship.coins.common.message.client.answer.*;
+import io.neolab.internship.coins.common.message.server.GameOverMessage;
+import io.neolab.internship.coins.common.message.server.ServerMessage;
+import io.neolab.internship.coins.common.message.server.ServerMessageType;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestion;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionType;
+import io.neolab.internship.coins.common.serialization.codec.MessageCodec;
+import io.neolab.internship.coins.common.serialization.codec.MessageCodecType;
+import io.neolab.internship.coins.common.synchronization.GameStateTracker;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import io.neolab.internship.coins.utils.Pair;
+import org.jetbrains.annotations.NotNull;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StreamCorruptedException;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class MessageCodecTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    @Test
+    public void testClientMessages() throws IOException {
+        final Map<Position, List<Unit>> resolutions = new HashMap<>();
+        resolutions.put(new Position(1, 2), Arrays.asList(new Unit(5), new Unit(7)));
+        final List<ClientMessage> messages = Arrays.asList(
+                new ClientMessage(ClientMessageType.DISCONNECTED),
+                new GameReadyMessage(MessageCodecType.BINARY),
+                new CatchCellAnswer(new Pair<>(new Position(0, 3), Collections.singletonList(new Unit(1)))),
+                new CatchCellAnswer(null),
+                new ChangeRaceAnswer(Race.ELF),
+                new DeclineRaceAnswer(true),
+                new DistributionUnitsAnswer(resolutions),
+                new NicknameAnswer("игрок"));
+        for (final MessageCodecType codecType : MessageCodecType.values()) {
+            for (final ClientMessage expected : messages) {
+                final ByteArrayOutputStream out = new ByteArrayOutputStream();
+                codecType.getCodec().writeClientMessage(out, expected);
+                assertEquals(expected, codecType.getCodec().readClientMessage(toInput(out)));
+            }
+        }
+    }
+
+    @Test
+    public void testPlayerQuestion() throws IOException, CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = getSomePlayer(game);
+        player.setRace(Race.ORC);
+        player.increaseCoins(4);
+        final Cell cell = game.getBoard().getEdgeCells().get(0);
+        cell.setFeudal(player);
+        cell.getUnits().add(new Unit());
+        game.getOwnToCells().get(player).add(cell);
+        game.getFeudalToCells().get(player).add(cell);
+        final PlayerQuestion expected =
+                new PlayerQuestion(ServerMessageType.GAME_QUESTION, PlayerQuestionType.CATCH_CELL, game, player, 3);
+        for (final MessageCodecType codecType : MessageCodecType.values()) {
+            final PlayerQuestion actual = (PlayerQuestion) transfer(codecType.getCodec(), expected);
+            assertEquals(expected.getPlayerQuestionType(), actual.getPlayerQuestionType());
+            assertEquals(expected.getStateVersion(), actual.getStateVersion());
+            assertEquals(player, actual.getPlayer());
+            final IGame actualGame = actual.getGame();
+            assertEquals(game.getBoard().getPositionToCellMap(), actualGame.getBoard().getPositionToCellMap());
+            assertEquals(game.getBoard().getEdgeCells(), actualGame.getBoard().getEdgeCells());
+            assertEquals(game.getFeudalToCells(), actualGame.getFeudalToCells());
+            assertEquals(game.getOwnToCells(), actualGame.getOwnToCells());
+            assertEquals(game.getPlayerToTransitCells(), actualGame.getPlayerToTransitCells());
+            assertEquals(game.getPlayerToAchievableCells(), actualGame.getPlayerToAchievableCells());
+            assertEquals(game.getGameFeatures(), actualGame.getGameFeatures());
+            assertEquals(game.getRacesPool(), actualGame.getRacesPool());
+            final Player actualPlayer = actualGame.getPlayers().get(0);
+            assertEquals(player.getRace(), actualPlayer.getRace());
+            assertEquals(player.getCoins(), actualPlayer.getCoins());
+            assertEquals(player.getUnitStateToUnits(), actualPlayer.getUnitStateToUnits());
+            final Cell actualCell = actualGame.getBoard().getCellByPosition(game.getBoard().getPositionByCell(cell));
+            assertEquals(cell.getUnits(), Objects.requireNonNull(actualCell).getUnits());
+            assertEquals(player, actualCell.getFeudal());
+        }
+    }
+
+    @Test
+    public void testPlayerQuestionDelta() throws IOException, CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = getSomePlayer(game);
+        final PlayerQuestion question =
+                new PlayerQuestion(ServerMessageType.GAME_QUESTION, PlayerQuestionType.CATCH_CELL, game, player);
+        final GameStateTracker tracker = new GameStateTracker();
+        tracker.toMessage(question);
+        player.getUnitsByState(AvailabilityType.AVAILABLE).add(new Unit());
+        game.getRacesPool().remove(0);
+        final ServerMessage expected = tracker.toMessage(question);
+        for (final MessageCodecType codecType : MessageCodecType.values()) {
+            assertEquals(expected, transfer(codecType.getCodec(), expected));
+        }
+    }
+
+    @Test
+    public void testGameOverMessage() throws IOException, CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final ServerMessage expected = new GameOverMessage(ServerMessageType.GAME_OVER,
+                Collections.singletonList(getSomePlayer(game)), game.getPlayers());
+        for (final MessageCodecType codecType : MessageCodecType.values()) {
+            assertEquals(expected, transfer(codecType.getCodec(), expected));
+        }
+    }
+
+    @Test
+    public void testSeveralMessagesInStream() throws IOException {
+        for (final MessageCodecType codecType : MessageCodecType.values()) {
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            codecType.getCodec().writeServerMessage(out, new ServerMessage(ServerMessageType.NICKNAME));
+            codecType.getCodec().writeServerMessage(out, new ServerMessage(ServerMessageType.GAME_OVER));
+            final InputStream in = toInput(out);
+            assertEquals(ServerMessageType.NICKNAME, codecType.getCodec().readServerMessage(in).getServerMessageType());
+            assertEquals(ServerMessageType.GAME_OVER, codecType.getCodec().readServerMessage(in).getServerMessageType());
+            try {
+                codecType.getCodec().readServerMessage(in);
+                fail();
+            } catch (final EOFException ignored) {
+            }
+        }
+    }
+
+    @Test
+    public void testBinaryRejectsMalformedInput() {
+        final MessageCodec codec = MessageCodecType.BINARY.getCodec();
+        final List<int[]> frames = Arrays.asList(
+                new int[]{0x80, 0x80, 0x80, 0x80, 0x80, 0x01}, // слишком длинный varint длины
+                new int[]{0xFF, 0xFF, 0xFF, 0xFF, 0x0F}, // отрицательная длина
+                new int[]{0xFF, 0xFF, 0xFF, 0xFF, 0x07}, // длина больше допустимой
+                new int[]{2, 3, 100}, // ChangeRaceAnswer с несуществующей расой
+                new int[]{6, 6, 0xFF, 0xFF, 0xFF, 0xFF, 0x0F}, // NicknameAnswer с отрицательной длиной строки
+                new int[]{3, 5, 0xFF, 0x7F}, // DistributionUnitsAnswer с размером больше сообщения
+                new int[]{2, 6, 5}); // NicknameAnswer со строкой за концом сообщения
+        for (final int[] frame : frames) {
+            final byte[] bytes = new byte[frame.length];
+            for (int i = 0; i < frame.length; i++) {
+                bytes[i] = (byte) frame[i];
+            }
+            assertThrows(StreamCorruptedException.class,
+                    () -> codec.readClientMessage(new ByteArrayInputStream(bytes)));
+        }
+    }
+
+    @Test
+    public void testBinaryIsSmaller() throws IOException, CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final ServerMessage question = new PlayerQuestion(ServerMessageType.GAME_QUESTION,
+                PlayerQuestionType.CATCH_CELL, game, getSomePlayer(game));
+        final ByteArrayOutputStream json = new ByteArrayOutputStream();
+        MessageCodecType.JSON.getCodec().writeServerMessage(json, question);
+        final ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        MessageCodecType.BINARY.getCodec().writeServerMessage(binary, question);
+        assertTrue(binary.size() * 10 < json.size());
+    }
+
+    private static @NotNull ServerMessage transfer(final @NotNull MessageCodec codec,
+                                                   final @NotNull ServerMessage message) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        codec.writeServerMessage(out, message);
+        return codec.readServerMessage(toInput(out));
+    }
+
+    private static @NotNull InputStream toInput(final @NotNull ByteArrayOutputStream out) {
+        return new ByteArrayInputStream(out.toByteArray());
+    }
+}
@@ -0,0 +1,157 @@
+package io.neolab.internship.coins.common.synchronization;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.common.message.server.ServerMessage;
+import io.neolab.internship.coins.common.message.server.ServerMessageType;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestion;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionDelta;
+import io.neolab.internship.coins.common.message.server.question.PlayerQuestionType;
+import io.neolab.internship.coins.common.message.server.state.CellState;
+import io.neolab.internship.coins.common.message.server.state.PlayerCellsState;
+import io.neolab.internship.coins.common.message.server.state.PlayerState;
+import io.neolab.internship.coins.common.serialization.Communication;
+import io.neolab.internship.coins.exceptions.CoinsErrorCode;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameAnswerProcessor;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.Objects;
+
+import static org.junit.Assert.*;
+
+public class GameStateSynchronizationTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    @Test
+    public void testFirstQuestionIsSnapshot() throws CoinsException, JsonProcessingException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final GameStateTracker tracker = new GameStateTracker();
+        final ServerMessage message = tracker.toMessage(getQuestion(game));
+        assertTrue(message instanceof PlayerQuestion);
+        assertTrue(transfer(message) instanceof PlayerQuestion);
+    }
+
+    @Test
+    public void testNextQuestionIsDelta() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final GameStateTracker tracker = new GameStateTracker();
+        tracker.toMessage(getQuestion(game));
+        final ServerMessage message = tracker.toMessage(getQuestion(game));
+        assertTrue(message instanceof PlayerQuestionDelta);
+        final PlayerQuestionDelta delta = (PlayerQuestionDelta) message;
+        assertEquals(ServerMessageType.GAME_QUESTION_DELTA, delta.getServerMessageType());
+        assertTrue(delta.getDelta().getCells().isEmpty());
+        assertTrue(delta.getDelta().getPlayers().isEmpty());
+        assertTrue(delta.getDelta().getPlayersCells().isEmpty());
+        assertNull(delta.getDelta().getRacesPool());
+    }
+
+    @Test
+    public void testNewGameIsSnapshot() throws CoinsException {
+        final GameStateTracker tracker = new GameStateTracker();
+        tracker.toMessage(getQuestion(GameInitializer.gameInit(3, 4, 2)));
+        assertTrue(tracker.toMessage(getQuestion(GameInitializer.gameInit(3, 4, 2))) instanceof PlayerQuestion);
+    }
+
+    @Test
+    public void testDeltaRestoresGame() throws CoinsException, JsonProcessingException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final GameStateTracker tracker = new GameStateTracker();
+        final GameStateSynchronizer synchronizer = new GameStateSynchronizer();
+        synchronizer.applySnapshot((PlayerQuestion) transfer(tracker.toMessage(getQuestion(game))));
+
+        final Player player = getSomePlayer(game);
+        GameAnswerProcessor.changeRace(player, game.getRacesPool().get(0), game.getRacesPool(), false);
+        final Cell cell = game.getBoard().getEdgeCells().get(0);
+        cell.getUnits().add(player.getUnitsByState(AvailabilityType.AVAILABLE).get(0));
+        cell.setFeudal(player);
+        cell.setRace(player.getRace());
+        game.getOwnToCells().get(player).add(cell);
+        game.getFeudalToCells().get(player).add(cell);
+        player.increaseCoins(3);
+        game.incrementCurrentRound();
+
+        final ServerMessage message = transfer(tracker.toMessage(getQuestion(game)));
+        assertTrue(message instanceof PlayerQuestionDelta);
+        final PlayerQuestion actual = synchronizer.applyDelta((PlayerQuestionDelta) message);
+        assertEquals(player, actual.getPlayer());
+        assertGameStateEquals(game, actual.getGame());
+    }
+
+    @Test
+    public void testBotMutatesGameBetweenQuestions() throws CoinsException, JsonProcessingException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final GameStateTracker tracker = new GameStateTracker();
+        final GameStateSynchronizer synchronizer = new GameStateSynchronizer();
+        final PlayerQuestion first =
+                synchronizer.applySnapshot((PlayerQuestion) transfer(tracker.toMessage(getQuestion(game))));
+
+        /* Бот меняет полученную игру, как при симуляции ходов */
+        final IGame botGame = first.getGame();
+        final Player botPlayer = first.getPlayer();
+        final Cell botCell = botGame.getBoard().getEdgeCells().get(0);
+        botCell.getUnits().addAll(botPlayer.getUnitsByState(AvailabilityType.AVAILABLE));
+        botPlayer.getUnitsByState(AvailabilityType.AVAILABLE).clear();
+        botCell.setFeudal(botPlayer);
+        botGame.getOwnToCells().get(botPlayer).add(botCell);
+        botGame.getRacesPool().clear();
+        botGame.incrementCurrentRound();
+
+        final Player player = getSomePlayer(game);
+        player.increaseCoins(2);
+        final PlayerQuestion second =
+                synchronizer.applyDelta((PlayerQuestionDelta) transfer(tracker.toMessage(getQuestion(game))));
+        assertGameStateEquals(game, second.getGame());
+        assertNotSame(botGame, second.getGame());
+    }
+
+    @Test
+    public void testDeltaWithoutSnapshot() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final GameStateTracker tracker = new GameStateTracker();
+        tracker.toMessage(getQuestion(game));
+        final PlayerQuestionDelta delta = (PlayerQuestionDelta) tracker.toMessage(getQuestion(game));
+        try {
+            new GameStateSynchronizer().applyDelta(delta);
+            fail();
+        } catch (final CoinsException exception) {
+            assertEquals(CoinsErrorCode.STATE_VERSION_MISMATCH, exception.getErrorCode());
+        }
+    }
+
+    private static @NotNull PlayerQuestion getQuestion(final @NotNull IGame game) {
+        return new PlayerQuestion(ServerMessageType.GAME_QUESTION, PlayerQuestionType.CATCH_CELL,
+                game, getSomePlayer(game));
+    }
+
+    private static @NotNull ServerMessage transfer(final @NotNull ServerMessage message)
+            throws JsonProcessingException {
+        return Communication.deserializeServerMessage(Communication.serializeServerMessage(message));
+    }
+
+    private static void assertGameStateEquals(final @NotNull IGame expected, final @NotNull IGame actual) {
+        assertEquals(expected.getCurrentRound(), actual.getCurrentRound());
+        assertEquals(expected.getRacesPool(), actual.getRacesPool());
+        for (final Cell cell : expected.getBoard().getPositionToCellMap().values()) {
+            final Cell actualCell = actual.getBoard().getCellByPosition(expected.getBoard().getPositionByCell(cell));
+            assertEquals(CellState.of(cell), CellState.of(Objects.requireNonNull(actualCell)));
+        }
+        for (final Player player : expected.getPlayers()) {
+            final Player actualPlayer = actual.getPlayers().get(expected.getPlayers().indexOf(player));
+            assertEquals(PlayerState.of(player), PlayerState.of(actualPlayer));
+            assertEquals(PlayerCellsState.of(expected, player), PlayerCellsState.of(actual, actualPlayer));
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.neolab.internship.coins.server.game;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.IBoard;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.server.service.GameAnswerProcessor;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GameCheckpointTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    /**
+     * Сыграть по одному захвату каждым игроком и начислить монеты
+     *
+     * @param game - игра
+     */
+    private static void playRound(final IGame game) {
+        game.incrementCurrentRound();
+        final IBoard board = game.getBoard();
+        for (final Player player : game.getPlayers()) {
+            GameAnswerProcessor.changeRace(player, game.getRacesPool().get(0), game.getRacesPool(), false);
+            GameLoopProcessor.playerRoundBeginUpdate(player, false);
+            final Cell catchingCell = board.getEdgeCells().stream()
+                    .filter(cell -> game.getOwnToCells().values().stream()
+                            .noneMatch(ownCells -> ownCells.contains(cell)))
+                    .findFirst()
+                    .orElseThrow();
+            final List<Unit> units = new LinkedList<>(player.getUnitsByState(AvailabilityType.AVAILABLE));
+            GameLoopProcessor.catchCell(player, catchingCell, new LinkedList<>(),
+                    GameLoopProcessor.getTiredUnits(units, 1), GameLoopProcessor.getRemainingAvailableUnits(units, 1),
+                    game.getGameFeatures(), game.getOwnToCells(), game.getFeudalToCells(),
+                    game.getPlayerToTransitCells().get(player), false);
+            GameLoopProcessor.updateAchievableCells(player, board, game.getPlayerToAchievableCells().get(player),
+                    game.getOwnToCells().get(player), false);
+            GameLoopProcessor.updateCoinsCount(player, game.getFeudalToCells().get(player),
+                    game.getGameFeatures(), board, false);
+        }
+    }
+
+    @Test
+    public void restoreReturnsStateTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        playRound(game);
+        final String expected = describeGameState(game);
+        final GameCheckpoint checkpoint = game.createCheckpoint();
+        playRound(game);
+        assertNotEquals(expected, describeGameState(game));
+        checkpoint.restore();
+        assertEquals(expected, describeGameState(game));
+    }
+
+    @Test
+    public void restoreKeepsObjectsTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = game.getPlayers().get(0);
+        final List<Cell> controlledCells = game.getOwnToCells().get(player);
+        final Cell cell = game.getBoard().getCellByPosition(0, 0);
+        final GameCheckpoint checkpoint = game.createCheckpoint();
+        playRound(game);
+        checkpoint.restore();
+        assertSame(game, checkpoint.getGame());
+        assertSame(player, game.getPlayers().get(0));
+        assertSame(controlledCells, game.getOwnToCells().get(player));
+        assertSame(cell, game.getBoard().getCellByPosition(0, 0));
+        assertTrue(controlledCells.isEmpty());
+    }
+
+    @Test
+    public void restoreMatchesCopyTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        playRound(game);
+        final IGame copy = game.getCopy();
+        final GameCheckpoint checkpoint = game.createCheckpoint();
+        playRound(game);
+        playRound(game);
+        checkpoint.restore();
+        assertEquals(copy, game);
+        assertEquals(describeGameState(copy), describeGameState(game));
+    }
+}
@@ -0,0 +1,116 @@
+package io.neolab.internship.coins.server.game;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.server.service.GameAnswerProcessor;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import io.neolab.internship.coins.utils.AvailabilityType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ZobristHashTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    /**
+     * @return игру, в которой у первого игрока выбрана раса и начат раунд
+     */
+    private static IGame startGame() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(3, 4, 2);
+        final Player player = getSomePlayer(game);
+        GameAnswerProcessor.changeRace(player, game.getRacesPool().get(0), game.getRacesPool(), false);
+        game.incrementCurrentRound();
+        GameLoopProcessor.playerRoundBeginUpdate(player, false);
+        return game;
+    }
+
+    /**
+     * @param game  - игра
+     * @param index - индекс первого юнита
+     * @return два доступных юнита первого игрока
+     */
+    private static List<Unit> getTwoUnits(final IGame game, final int index) {
+        return new LinkedList<>(getSomePlayer(game).getUnitsByState(AvailabilityType.AVAILABLE)
+                .subList(index, index + 2));
+    }
+
+    /**
+     * Захватить крайнюю клетку двумя юнитами первого игрока, первый из которых устаёт
+     *
+     * @param game      - игра
+     * @param edgeIndex - индекс крайней клетки
+     * @param units     - два доступных юнита игрока
+     */
+    private static void catchEdgeCell(final IGame game, final int edgeIndex, final List<Unit> units) {
+        final Player player = getSomePlayer(game);
+        GameLoopProcessor.catchCell(player, game.getBoard().getEdgeCells().get(edgeIndex), new LinkedList<>(),
+                new LinkedList<>(units.subList(0, 1)), new LinkedList<>(units.subList(1, 2)),
+                game.getGameFeatures(), game.getOwnToCells(), game.getFeudalToCells(),
+                game.getPlayerToTransitCells().get(player), false);
+    }
+
+    @Test
+    public void copyHasSameHashTest() throws CoinsException {
+        final IGame game = startGame();
+        catchEdgeCell(game, 0, getTwoUnits(game, 0));
+        final IGame copy = game.getCopy();
+        assertEquals(ZobristHash.hash(game, getSomePlayer(game)), ZobristHash.hash(copy, getSomePlayer(copy)));
+        assertNotEquals(ZobristHash.hash(game, getSomePlayer(game)),
+                ZobristHash.hash(game, game.getPlayers().get(1)));
+    }
+
+    @Test
+    public void captureOrderTest() throws CoinsException {
+        final IGame game = startGame();
+        final IGame copy = game.getCopy();
+        final List<Unit> gameUnits1 = getTwoUnits(game, 0);
+        final List<Unit> gameUnits2 = getTwoUnits(game, 2);
+        final List<Unit> copyUnits1 = getTwoUnits(copy, 0);
+        final List<Unit> copyUnits2 = getTwoUnits(copy, 2);
+        catchEdgeCell(game, 0, gameUnits1);
+        catchEdgeCell(game, 5, gameUnits2);
+        catchEdgeCell(copy, 5, copyUnits2);
+        assertNotEquals(ZobristHash.hash(game, null), ZobristHash.hash(copy, null));
+        catchEdgeCell(copy, 0, copyUnits1);
+        assertEquals(new HashSet<>(game.getOwnToCells().get(getSomePlayer(game))),
+                new HashSet<>(copy.getOwnToCells().get(getSomePlayer(copy))));
+        assertEquals(ZobristHash.hash(game, null), ZobristHash.hash(copy, null));
+    }
+
+    @Test
+    public void restoreReturnsHashTest() throws CoinsException {
+        final IGame game = startGame();
+        final long expected = ZobristHash.hash(game, null);
+        final GameCheckpoint checkpoint = game.createCheckpoint();
+        catchEdgeCell(game, 0, getTwoUnits(game, 0));
+        assertNotEquals(expected, ZobristHash.hash(game, null));
+        checkpoint.restore();
+        assertEquals(expected, ZobristHash.hash(game, null));
+    }
+
+    @Test
+    public void positionIgnoresUnitsStateTest() throws CoinsException {
+        final IGame game = startGame();
+        final long expected = ZobristHash.hashPosition(game);
+        final long expectedHash = ZobristHash.hash(game, null);
+        GameLoopProcessor.makeAllUnitsSomeState(getSomePlayer(game), AvailabilityType.NOT_AVAILABLE);
+        assertNotEquals(expectedHash, ZobristHash.hash(game, null));
+        assertEquals(expected, ZobristHash.hashPosition(game));
+        GameLoopProcessor.makeAllUnitsSomeState(getSomePlayer(game), AvailabilityType.AVAILABLE);
+        catchEdgeCell(game, 0, getTwoUnits(game, 0));
+        assertNotEquals(expected, ZobristHash.hashPosition(game));
+    }
+}
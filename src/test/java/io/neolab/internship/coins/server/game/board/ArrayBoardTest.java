@@ -0,0 +1,158 @@
+package io.neolab.internship.coins.server.game.board;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.common.serialization.Communication;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.board.factory.BoardFactory;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import org.apache.commons.collections4.BidiMap;
+import org.apache.commons.collections4.bidimap.DualHashBidiMap;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ArrayBoardTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    private static ArrayBoard generateArrayBoard(final int sizeX, final int sizeY) throws CoinsException {
+        return (ArrayBoard) new BoardFactory().generateBoard(sizeX, sizeY);
+    }
+
+    private static List<Cell> expectedNeighbours(final IBoard board, final Cell cell) {
+        final List<Cell> neighbours = new LinkedList<>();
+        Position.getAllNeighboringPositions(board.getPositionByCell(cell)).forEach(position -> {
+            final Cell neighbour = board.getCellByPosition(position);
+            if (neighbour != null) {
+                neighbours.add(neighbour);
+            }
+        });
+        return neighbours;
+    }
+
+    @Test
+    public void lookupsMatchBoardTest() throws CoinsException {
+        final ArrayBoard arrayBoard = generateArrayBoard(3, 4);
+        final BidiMap<Position, Cell> map = new DualHashBidiMap<>();
+        arrayBoard.getPositionToCellMap().forEach(map::put);
+        final Board board = new Board(3, 4, map);
+
+        assertEquals(board, arrayBoard);
+        assertEquals(arrayBoard, board);
+        assertEquals(board.hashCode(), arrayBoard.hashCode());
+        assertEquals(board.getEdgeCells(), arrayBoard.getEdgeCells());
+        map.forEach((position, cell) -> {
+            assertSame(cell, arrayBoard.getCellByPosition(position));
+            assertSame(cell, arrayBoard.getCellByPosition(position.getX(), position.getY()));
+            assertEquals(position, arrayBoard.getPositionByCell(cell));
+            assertEquals(expectedNeighbours(board, cell), arrayBoard.getNeighboringCells(cell));
+        });
+        assertNull(arrayBoard.getCellByPosition(-1, 0));
+        assertNull(arrayBoard.getCellByPosition(3, 0));
+        assertNull(arrayBoard.getCellByPosition(0, 4));
+    }
+
+    @Test
+    public void indexesTest() throws CoinsException {
+        final ArrayBoard board = generateArrayBoard(4, 5);
+        assertEquals(20, board.getCellsCount());
+        for (int index = 0; index < board.getCellsCount(); index++) {
+            final Cell cell = board.getCellByIndex(index);
+            assertEquals(index, board.getIndexByCell(cell));
+            final Position position = board.getPositionByCell(cell);
+            assertEquals(index, position.getX() * board.getSizeY() + position.getY());
+            assertEquals(board.getEdgeCells().contains(cell), board.isEdgeCell(index));
+            assertEquals(Objects.requireNonNull(board.getNeighboringCells(cell)).size(),
+                    board.getNeighbourIndexes(index).length);
+        }
+        assertEquals(-1, board.getIndexByCell(new Cell(CellType.LAND)));
+        assertNull(board.getNeighboringCells(new Cell(CellType.LAND)));
+    }
+
+    @Test
+    public void degenerateSizesTest() {
+        for (final int[] sizes : new int[][]{{1, 4}, {4, 1}, {1, 1}}) {
+            final BidiMap<Position, Cell> map = new DualHashBidiMap<>();
+            for (int x = 0; x < sizes[0]; x++) {
+                for (int y = 0; y < sizes[1]; y++) {
+                    map.put(new Position(x, y), new Cell(CellType.LAND));
+                }
+            }
+            final ArrayBoard board = new ArrayBoard(sizes[0], sizes[1], map);
+            assertEquals(new HashSet<>(map.values()), new HashSet<>(board.getEdgeCells()));
+            assertEquals(map.size(), board.getEdgeCells().size());
+            for (int index = 0; index < board.getCellsCount(); index++) {
+                assertTrue(board.isEdgeCell(index));
+            }
+        }
+    }
+
+    @Test
+    public void copyTest() throws CoinsException {
+        final ArrayBoard board = generateArrayBoard(3, 4);
+        final IBoard copy = board.getCopy();
+        assertEquals(board, copy);
+        board.getPositionToCellMap().forEach((position, cell) -> {
+            final Cell copyCell = copy.getCellByPosition(position);
+            assertNotSame(cell, copyCell);
+            assertEquals(cell, copyCell);
+            Objects.requireNonNull(copy.getNeighboringCells(cell))
+                    .forEach(neighbour -> assertSame(neighbour, copy.getCellByPosition(
+                            copy.getPositionByCell(neighbour))));
+        });
+        copy.getEdgeCells().forEach(cell -> assertSame(cell, copy.getCellByPosition(copy.getPositionByCell(cell))));
+    }
+
+    @Test
+    public void serializesAsBoardTest() throws CoinsException, JsonProcessingException {
+        final ArrayBoard board = generateArrayBoard(3, 4);
+        final String json = Communication.getMapper().writeValueAsString(board);
+        final IBoard actual = Communication.getMapper().readValue(json, IBoard.class);
+        assertTrue(actual instanceof Board);
+        assertEquals(board, actual);
+        assertEquals(board.getEdgeCells(), actual.getEdgeCells());
+    }
+
+    @Test
+    public void masksTest() throws CoinsException {
+        final ArrayBoard board = generateArrayBoard(4, 5);
+        final Set<Cell> edgeCells = new HashSet<>();
+        board.addCells(board.getEdgeMask(), edgeCells);
+        assertEquals(new HashSet<>(board.getEdgeCells()), edgeCells);
+        for (int index = 0; index < board.getCellsCount(); index++) {
+            final Cell cell = board.getCellByIndex(index);
+            final List<Cell> neighbours = new LinkedList<>();
+            board.addCells(board.getNeighbourMask(index), neighbours);
+            assertEquals(new HashSet<>(Objects.requireNonNull(board.getNeighboringCells(cell))),
+                    new HashSet<>(neighbours));
+            assertArrayEquals(board.getNeighbourMask(index), board.toMask(neighbours));
+        }
+        assertTrue(CellMask.isEmpty(board.toMask(List.of(new Cell(CellType.LAND)))));
+    }
+
+    @Test
+    public void achievableCellsMatchBoardTest() throws CoinsException {
+        final ArrayBoard arrayBoard = generateArrayBoard(4, 5);
+        final BidiMap<Position, Cell> map = new DualHashBidiMap<>();
+        arrayBoard.getPositionToCellMap().forEach(map::put);
+        final Board board = new Board(4, 5, map);
+        final Player player = new Player("F1");
+        final List<Cell> controlledCells = new LinkedList<>();
+        for (int index = 0; index <= arrayBoard.getCellsCount(); index += 7) {
+            final Set<Cell> expected = new HashSet<>();
+            GameLoopProcessor.updateAchievableCells(player, board, expected, controlledCells, false);
+            final Set<Cell> actual = new HashSet<>();
+            GameLoopProcessor.updateAchievableCells(player, arrayBoard, actual, controlledCells, false);
+            assertEquals(expected, actual);
+            controlledCells.add(arrayBoard.getCellByIndex(index));
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package io.neolab.internship.coins.server.game.board;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.exceptions.CoinsException;
+import io.neolab.internship.coins.server.game.GameCheckpoint;
+import io.neolab.internship.coins.server.game.IGame;
+import io.neolab.internship.coins.server.game.board.factory.BoardFactory;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Unit;
+import io.neolab.internship.coins.server.service.GameInitializer;
+import io.neolab.internship.coins.server.service.GameLoopProcessor;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class MaskedCellsTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    private static ArrayBoard generateArrayBoard() throws CoinsException {
+        return (ArrayBoard) new BoardFactory().generateBoard(4, 5);
+    }
+
+    private static void assertMaskMatches(final ArrayBoard board, final Collection<Cell> cells) {
+        assertArrayEquals(board.toMask(cells), CellMask.of(cells));
+    }
+
+    @Test
+    public void maskFollowsListChangesTest() throws CoinsException {
+        final ArrayBoard board = generateArrayBoard();
+        final List<Cell> cells = new MaskedCellList(board);
+        final Random random = new Random(7);
+        for (int step = 0; step < 500; step++) {
+            final Cell cell = board.getCellByIndex(random.nextInt(board.getCellsCount()));
+            switch (random.nextInt(6)) {
+                case 0:
+                case 1:
+                    cells.add(cell); // допускаются повторы
+                    break;
+                case 2:
+                    cells.remove(cell);
+                    break;
+                case 3:
+                    cells.removeIf(item -> item.getId() % 3 == 0);
+                    break;
+                case 4:
+                    if (!cells.isEmpty()) {
+                        cells.set(random.nextInt(cells.size()), cell);
+                    }
+                    break;
+                default:
+                    ((IMaskedCells) cells).removeMasked(board.getNeighbourMask(board.getIndexByCell(cell)));
+            }
+            assertMaskMatches(board, cells);
+        }
+        cells.clear();
+        assertTrue(CellMask.isEmpty(Objects.requireNonNull(CellMask.of(cells))));
+    }
+
+    @Test
+    public void maskFollowsSetChangesTest() throws CoinsException {
+        final ArrayBoard board = generateArrayBoard();
+        final Set<Cell> cells = new MaskedCellSet(board);
+        final Random random = new Random(11);
+        for (int step = 0; step < 500; step++) {
+            final Cell cell = board.getCellByIndex(random.nextInt(board.getCellsCount()));
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    cells.add(cell);
+                    break;
+                case 2:
+                    cells.remove(cell);
+                    break;
+                default:
+                    final Iterator<Cell> iterator = cells.iterator();
+                    if (iterator.hasNext()) {
+                        iterator.next();
+                        iterator.remove();
+                    }
+            }
+            assertMaskMatches(board, cells);
+        }
+    }
+
+    @Test
+    public void gameKeepsMasksThroughCopyAndRestoreTest() throws CoinsException {
+        final IGame game = GameInitializer.gameInit(4, 5, 2);
+        final ArrayBoard board = (ArrayBoard) game.getBoard();
+        final Player player = game.getPlayers().get(0);
+        final GameCheckpoint checkpoint = game.createCheckpoint();
+        game.getOwnToCells().get(player).add(board.getCellByIndex(3));
+        game.getFeudalToCells().get(player).add(board.getCellByIndex(3));
+        assertMaskMatches(board, game.getOwnToCells().get(player));
+
+        final IGame copy = game.getCopy();
+        final Player playerCopy = copy.getPlayers().get(0);
+        assertTrue(copy.getOwnToCells().get(playerCopy) instanceof IMaskedCells);
+        assertMaskMatches((ArrayBoard) copy.getBoard(), copy.getOwnToCells().get(playerCopy));
+        assertMaskMatches((ArrayBoard) copy.getBoard(), copy.getFeudalToCells().get(playerCopy));
+
+        checkpoint.restore();
+        assertTrue(game.getOwnToCells().get(player).isEmpty());
+        assertMaskMatches(board, game.getOwnToCells().get(player));
+        assertMaskMatches(board, game.getFeudalToCells().get(player));
+    }
+
+    @Test
+    public void maskedLoseAndFreeCellsMatchPlainTest() throws CoinsException {
+        final ArrayBoard board = generateArrayBoard();
+        final List<Cell> plainControlled = new LinkedList<>();
+        final Set<Cell> plainFeudal = new HashSet<>();
+        final List<Cell> plainTransit = new LinkedList<>();
+        final List<Cell> maskedControlled = new MaskedCellList(board);
+        final Set<Cell> maskedFeudal = new MaskedCellSet(board);
+        final List<Cell> maskedTransit = new MaskedCellList(board);
+        for (int index = 0; index < board.getCellsCount(); index++) {
+            final Cell cell = board.getCellByIndex(index);
+            if (index % 2 == 0) {
+                cell.getUnits().add(new Unit());
+            }
+            plainControlled.add(cell);
+            maskedControlled.add(cell);
+            if (index % 3 == 0) {
+                plainTransit.add(cell);
+                maskedTransit.add(cell);
+            } else {
+                plainFeudal.add(cell);
+                maskedFeudal.add(cell);
+            }
+        }
+        GameLoopProcessor.loseCells(new LinkedList<>(plainControlled), plainControlled, plainFeudal);
+        GameLoopProcessor.loseCells(new LinkedList<>(maskedControlled), maskedControlled, maskedFeudal);
+        assertEquals(plainControlled, maskedControlled);
+        assertEquals(plainFeudal, maskedFeudal);
+        assertMaskMatches(board, maskedControlled);
+        assertMaskMatches(board, maskedFeudal);
+
+        final Player player = new Player("F1");
+        GameLoopProcessor.freeTransitCells(player, plainTransit, plainControlled, false);
+        GameLoopProcessor.freeTransitCells(player, maskedTransit, maskedControlled, false);
+        assertEquals(plainControlled, maskedControlled);
+        assertMaskMatches(board, maskedControlled);
+        assertTrue(CellMask.isEmpty(Objects.requireNonNull(CellMask.of(maskedTransit))));
+    }
+}
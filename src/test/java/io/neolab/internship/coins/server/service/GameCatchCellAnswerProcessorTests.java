@@ -10,6 +10,7 @@ import io.neolab.internship.coins.exceptions.CoinsErrorCode;
 import io.neolab.internship.coins.server.game.IGame;
 import io.neolab.internship.coins.server.game.player.Player;
 import io.neolab.internship.coins.server.game.player.Race;
+import io.neolab.internship.coins.server.game.player.Unit;
 import io.neolab.internship.coins.server.game.board.Cell;
 import io.neolab.internship.coins.server.game.board.CellType;
 import io.neolab.internship.coins.server.game.board.IBoard;
@@ -20,6 +21,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.slf4j.MDC;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -105,6 +107,27 @@ public class GameCatchCellAnswerProcessorTests extends GameAnswerProcessorTests
         assertEquals(CoinsErrorCode.ANSWER_VALIDATION_CELL_CAPTURE_IMPOSSIBLE, exception.getErrorCode());
     }
 
+    @Test
+    public void catchCellMoreUnitsThanAvailableTest() throws CoinsException {
+        final IGame game = gameInit(2, 2, 2);
+        final Player player = getSomePlayer(game);
+        player.setRace(Race.UNDEAD);
+        setPlayerUnits(player, 1, AvailabilityType.AVAILABLE);
+
+        final IBoard board = game.getBoard();
+        final Cell landCell = getCellFromBoardByCellType(CellType.LAND, board);
+        game.getPlayerToAchievableCells().put(player, getAchievableCellSet(landCell));
+
+        final PlayerQuestion question = new PlayerQuestion(ServerMessageType.GAME_QUESTION,
+                PlayerQuestionType.CATCH_CELL, game, player);
+        final Answer catchCellAnswer = new CatchCellAnswer(new Pair<>(board.getPositionByCell(landCell),
+                Arrays.asList(new Unit(), new Unit(), new Unit())));
+
+        final CoinsException exception = assertThrows(CoinsException.class,
+                () -> GameAnswerProcessor.process(question, catchCellAnswer));
+        assertEquals(CoinsErrorCode.ANSWER_VALIDATION_NOT_ENOUGH_UNITS, exception.getErrorCode());
+    }
+
     @Test
     public void catchControlledCellLandNotEnoughUnitsTest() throws CoinsException {
         final IGame game = gameInit(2, 2, 2);
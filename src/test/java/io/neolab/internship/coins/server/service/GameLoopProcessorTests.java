@@ -325,4 +325,69 @@ public class GameLoopProcessorTests extends TestUtils {
         addCellsToList(expected, cell1, cell2);
         assertEquals(expected, controlledCells);
     }
+
+    @Test
+    public void testRemoveNotAvailableForCaptureUnits() throws CoinsException {
+        final IBoard board = new BoardFactory().generateBoard(4, 4);
+        final Cell neighboringCell = board.getCellByPosition(1, 2);
+        final Cell farCell = board.getCellByPosition(3, 0);
+        final Unit neighboringUnit = new Unit();
+        final Unit farUnit = new Unit();
+        final Unit freeUnit = new Unit();
+        neighboringCell.getUnits().add(neighboringUnit);
+        farCell.getUnits().add(farUnit);
+        final List<Cell> controlledCells = new LinkedList<>();
+        addCellsToList(controlledCells, neighboringCell, farCell);
+
+        final List<Unit> innerCellUnits = new LinkedList<>(List.of(neighboringUnit, farUnit, freeUnit));
+        GameLoopProcessor.removeNotAvailableForCaptureUnits(board, innerCellUnits, List.of(neighboringCell),
+                Objects.requireNonNull(board.getCellByPosition(1, 1)), controlledCells);
+        assertEquals(List.of(neighboringUnit), innerCellUnits);
+
+        final List<Unit> edgeCellUnits = new LinkedList<>(List.of(neighboringUnit, farUnit, freeUnit));
+        GameLoopProcessor.removeNotAvailableForCaptureUnits(board, edgeCellUnits, List.of(neighboringCell),
+                Objects.requireNonNull(board.getCellByPosition(0, 3)), controlledCells);
+        assertEquals(List.of(neighboringUnit, freeUnit), edgeCellUnits);
+    }
+
+    @Test
+    public void testDistributionClassesSplitCellsByAttackers() throws CoinsException {
+        final IBoard board = new BoardFactory().generateBoard(5, 5);
+        final List<Cell> interiorCells = new ArrayList<>();
+        for (int x = 1; x < 4; x++) {
+            for (int y = 1; y < 4; y++) {
+                interiorCells.add(board.getCellByPosition(x, y));
+            }
+        }
+        Cell first = null;
+        Cell second = null;
+        for (int i = 0; i < interiorCells.size() && first == null; i++) {
+            for (int j = i + 1; j < interiorCells.size() && first == null; j++) {
+                if (interiorCells.get(i).getType() == interiorCells.get(j).getType()) {
+                    first = interiorCells.get(i);
+                    second = interiorCells.get(j);
+                }
+            }
+        }
+        assertNotNull(first); // внутренних клеток больше, чем типов клеток
+        final Player player = new Player("F1");
+        final Player opponent = new Player("F2");
+        final List<Cell> cells = List.of(first, Objects.requireNonNull(second));
+        final Map<Player, List<Cell>> ownToCells = new HashMap<>();
+        ownToCells.put(player, new LinkedList<>(cells));
+        ownToCells.put(opponent, new LinkedList<>());
+        final int[] classes = GameLoopProcessor.getDistributionClasses(board, ownToCells, player, cells);
+        assertEquals(classes[0], classes[1]); // соперник без клеток заходит только с края борды
+
+        final Cell firstCell = first;
+        final Cell secondCell = second;
+        final List<Cell> secondNeighbours = Objects.requireNonNull(board.getNeighboringCells(secondCell));
+        final Cell opponentCell = Objects.requireNonNull(board.getNeighboringCells(firstCell)).stream()
+                .filter(cell -> cell != secondCell && !secondNeighbours.contains(cell))
+                .findAny()
+                .orElseThrow();
+        ownToCells.get(opponent).add(opponentCell);
+        final int[] attackedClasses = GameLoopProcessor.getDistributionClasses(board, ownToCells, player, cells);
+        assertNotEquals(attackedClasses[0], attackedClasses[1]);
+    }
 }
@@ -0,0 +1,128 @@
+package io.neolab.internship.coins.server.service.event;
+
+import io.neolab.internship.coins.TestUtils;
+import io.neolab.internship.coins.server.game.board.Position;
+import io.neolab.internship.coins.server.game.player.Player;
+import io.neolab.internship.coins.server.game.player.Race;
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.slf4j.MDC;
+
+import java.io.StringWriter;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class GameEventLogTest extends TestUtils {
+    @BeforeClass
+    public static void before() {
+        MDC.put("logFileName", testFileName);
+    }
+
+    @After
+    public void after() {
+        GameEvents.setCurrentLog(null);
+    }
+
+    @Test
+    public void eventsAreWrittenInOrderTest() {
+        final StringWriter writer = new StringWriter();
+        final Player player = new Player("F1");
+        try (final GameEventLog gameEventLog = new GameEventLog("test", GameEventVerbosity.EVENTS,
+                new JsonLinesGameEventSink(writer), GameEventLog.DEFAULT_CAPACITY)) {
+            GameEvents.setCurrentLog(gameEventLog);
+            GameEvents.gameCreated(7, 3, 4, 2);
+            GameEvents.roundBegin(1);
+            GameEvents.raceChosen(player, Race.ELF);
+            GameEvents.cellCaptured(player, new Position(1, 2), 3);
+            player.setCoins(5);
+            GameEvents.coinsUpdated(player);
+        }
+        final String[] lines = writer.toString().split("\n");
+        assertEquals(5, lines.length);
+        assertTrue(lines[0].matches("\\{\"time\":\\d+,\"game\":7,\"round\":-1,\"type\":\"GAME_CREATED\","
+                + "\"x\":3,\"y\":4,\"value\":2}"));
+        assertTrue(lines[1].contains("\"round\":1,\"type\":\"ROUND_BEGIN\"}"));
+        assertTrue(lines[2].endsWith("\"type\":\"RACE_CHOSEN\",\"player\":" + player.getId()
+                + ",\"value\":" + Race.ELF.ordinal() + "}"));
+        assertTrue(lines[3].endsWith("\"type\":\"CELL_CAPTURED\",\"player\":" + player.getId()
+                + ",\"x\":1,\"y\":2,\"value\":3}"));
+        assertTrue(lines[4].contains("\"game\":7,\"round\":1,\"type\":\"COINS_UPDATED\""));
+        assertTrue(lines[4].endsWith("\"value\":5}"));
+    }
+
+    @Test
+    public void verbosityTest() {
+        assertTrue(GameEvents.isTextLogOn()); // без лога - как раньше
+        final StringWriter writer = new StringWriter();
+        try (final GameEventLog gameEventLog = new GameEventLog("test", GameEventVerbosity.OFF,
+                new JsonLinesGameEventSink(writer), GameEventLog.DEFAULT_CAPACITY)) {
+            GameEvents.setCurrentLog(gameEventLog);
+            assertFalse(GameEvents.isTextLogOn());
+            GameEvents.roundBegin(1);
+        }
+        assertTrue(writer.toString().isEmpty());
+        try (final GameEventLog gameEventLog = new GameEventLog("test", GameEventVerbosity.FULL,
+                null, GameEventLog.DEFAULT_CAPACITY)) {
+            GameEvents.setCurrentLog(gameEventLog);
+            assertTrue(GameEvents.isTextLogOn());
+            GameEvents.roundBegin(1); // без приёмника событие просто не пишется
+        }
+    }
+
+    @Test
+    public void fullBufferDropsEventsTest() throws InterruptedException {
+        final CountDownLatch writerBlocked = new CountDownLatch(1);
+        final CountDownLatch writerReleased = new CountDownLatch(1);
+        final AtomicInteger writtenCount = new AtomicInteger();
+        final int eventsCount = 20;
+        try (final GameEventLog gameEventLog = new GameEventLog("test", GameEventVerbosity.EVENTS,
+                new BlockingSink(writerBlocked, writerReleased, writtenCount), 4)) {
+            GameEvents.setCurrentLog(gameEventLog);
+            GameEvents.roundBegin(1);
+            writerBlocked.await(); // поток записи взял первое событие и ждёт
+            for (int i = 1; i < eventsCount; i++) {
+                GameEvents.roundBegin(i + 1);
+            }
+            assertEquals(eventsCount - 4, gameEventLog.getDroppedEventsCount()); // в буфере 4 места
+            writerReleased.countDown();
+        }
+        assertEquals(4, writtenCount.get());
+    }
+
+    private static class BlockingSink implements IGameEventSink {
+        private final @NotNull CountDownLatch writerBlocked;
+        private final @NotNull CountDownLatch writerReleased;
+        private final @NotNull AtomicInteger writtenCount;
+
+        private BlockingSink(final @NotNull CountDownLatch writerBlocked,
+                             final @NotNull CountDownLatch writerReleased,
+                             final @NotNull AtomicInteger writtenCount) {
+            this.writerBlocked = writerBlocked;
+            this.writerReleased = writerReleased;
+            this.writtenCount = writtenCount;
+        }
+
+        @Override
+        public void write(final @NotNull GameEvent event) {
+            writerBlocked.countDown();
+            try {
+                writerReleased.await();
+            } catch (final InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            writtenCount.incrementAndGet();
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package io.neolab.internship.coins.utils;
+
+import io.neolab.internship.coins.server.game.board.Cell;
+import io.neolab.internship.coins.server.game.board.CellType;
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.*;
+
+public class CompositionIteratorTest {
+    private static List<List<Integer>> toLists(final int sum, final int partsCount, final int minPart,
+                                               final int[] classes) {
+        return CompositionIterator.stream(sum, partsCount, minPart, classes)
+                .map(composition -> Arrays.stream(composition).boxed().collect(Collectors.toList()))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testAllCompositions() {
+        final List<List<Integer>> compositions = toLists(4, 3, 0, null);
+        assertEquals(15, compositions.size());
+        assertEquals(15, new HashSet<>(compositions).size());
+        assertEquals(Arrays.asList(4, 0, 0), compositions.get(0));
+        assertEquals(Arrays.asList(0, 0, 4), compositions.get(compositions.size() - 1));
+        compositions.forEach(composition ->
+                assertEquals(4, composition.stream().mapToInt(Integer::intValue).sum()));
+    }
+
+    @Test
+    public void testMinPart() {
+        final List<List<Integer>> compositions = toLists(5, 3, 1, null);
+        assertEquals(6, compositions.size());
+        compositions.forEach(composition -> assertTrue(composition.stream().allMatch(part -> part >= 1)));
+    }
+
+    @Test
+    public void testNoCompositions() {
+        assertTrue(toLists(2, 3, 1, null).isEmpty());
+        assertTrue(toLists(2, 0, 0, null).isEmpty());
+    }
+
+    @Test
+    public void testEquivalentParts() {
+        final List<List<Integer>> compositions = toLists(4, 3, 0, new int[]{0, 0, 1});
+        assertEquals(9, compositions.size());
+        compositions.forEach(composition -> assertTrue(composition.get(0) >= composition.get(1)));
+    }
+
+    @Test
+    public void testLimitedStreamSampling() {
+        final int[] classes = {0, 1, 0, 1, 2, 2};
+        final List<List<Integer>> compositions = CompositionIterator.limitedStream(20, 6, 0, classes, 10)
+                .map(composition -> Arrays.stream(composition).boxed().collect(Collectors.toList()))
+                .collect(Collectors.toList());
+        assertFalse(compositions.isEmpty());
+        assertTrue(compositions.size() <= 10);
+        assertEquals(compositions.size(), new HashSet<>(compositions).size());
+        compositions.forEach(composition -> {
+            assertEquals(20, composition.stream().mapToInt(Integer::intValue).sum());
+            assertTrue(composition.get(0) >= composition.get(2));
+            assertTrue(composition.get(1) >= composition.get(3));
+            assertTrue(composition.get(4) >= composition.get(5));
+        });
+    }
+
+    @Test
+    public void testLimitedStreamEnumeration() {
+        assertEquals(15, CompositionIterator.limitedStream(4, 3, 0, null, 15).count());
+    }
+
+    @Test
+    public void testGetClasses() {
+        final List<Cell> cells = new LinkedList<>();
+        cells.add(new Cell(CellType.LAND));
+        cells.add(new Cell(CellType.MUSHROOM));
+        cells.add(new Cell(CellType.LAND));
+        assertArrayEquals(new int[]{0, 1, 0}, CompositionIterator.getClasses(cells, Cell::getType));
+    }
+}